@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.util.BlockingTaskExecutor;
+import com.linecorp.armeria.server.Server;
+
+/**
+ * Compares the {@link BlockingWebClient} calls made from virtual threads with the asynchronous
+ * {@link WebClient} calls. Virtual threads are available since Java 21; platform threads are used instead
+ * on the older versions.
+ */
+@State(Scope.Benchmark)
+public class BlockingWebClientBenchmark {
+
+    private Server server;
+    private WebClient client;
+    private BlockingWebClient blockingClient;
+    private BlockingTaskExecutor virtualThreadExecutor;
+
+    @Param("100")
+    private int numRequests;
+
+    @Setup
+    public void setUp() {
+        server = Server.builder()
+                       .service("/hello", (ctx, req) -> HttpResponse.of("Hello, Armeria!"))
+                       .build();
+        server.start().join();
+        client = WebClient.of("h2c://127.0.0.1:" + server.activeLocalPort());
+        blockingClient = client.blocking();
+        virtualThreadExecutor = BlockingTaskExecutor.builder()
+                                                    .threadNamePrefix("benchmark-virtual-thread")
+                                                    .useVirtualThreads(true)
+                                                    .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        virtualThreadExecutor.shutdown();
+        server.stop().join();
+    }
+
+    @Benchmark
+    public void async(Blackhole bh) {
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<AggregatedHttpResponse>[] futures = new CompletableFuture[numRequests];
+        for (int i = 0; i < numRequests; i++) {
+            futures[i] = client.get("/hello").aggregate();
+        }
+        for (CompletableFuture<AggregatedHttpResponse> future : futures) {
+            bh.consume(future.join());
+        }
+    }
+
+    @Benchmark
+    public void blockingOnVirtualThreads(Blackhole bh) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(numRequests);
+        for (int i = 0; i < numRequests; i++) {
+            virtualThreadExecutor.execute(() -> {
+                try {
+                    bh.consume(blockingClient.get("/hello"));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+}
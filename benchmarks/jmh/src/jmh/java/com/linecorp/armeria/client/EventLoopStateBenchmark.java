@@ -17,6 +17,7 @@ package com.linecorp.armeria.client;
 
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -25,40 +26,61 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
 
+import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.util.EventLoopGroups;
+import com.linecorp.armeria.common.util.ReleasableHolder;
 
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 
 @State(Scope.Benchmark)
 public class EventLoopStateBenchmark {
+    private static final int NUM_COLD_ENDPOINTS = 16;
+
+    public enum StateType {
+        ARRAY,
+        HEAP,
+        LOAD_AWARE
+    }
+
     private AbstractEventLoopState state;
     private AbstractEventLoopEntry[] acquired;
     private EventLoopGroup eventLoopGroup;
+    private DefaultEventLoopScheduler skewedScheduler;
+    private final List<ReleasableHolder<EventLoop>> hotAcquired = new ArrayList<>();
+    private final Endpoint[] coldEndpoints = new Endpoint[NUM_COLD_ENDPOINTS];
 
     @Param({ "32", "64", "128", "256" })
     private int maxNumEventLoops;
-    @Param({ "true", "false" })
-    private boolean arrayBased;
+    @Param
+    private StateType stateType;
 
     @Setup
     public void setUp() {
         acquired = new AbstractEventLoopEntry[maxNumEventLoops];
 
         eventLoopGroup = EventLoopGroups.newEventLoopGroup(maxNumEventLoops);
+        final boolean loadAware = stateType == StateType.LOAD_AWARE;
         final DefaultEventLoopScheduler scheduler = new DefaultEventLoopScheduler(
-                eventLoopGroup, maxNumEventLoops, maxNumEventLoops, ImmutableList.of());
+                eventLoopGroup, maxNumEventLoops, maxNumEventLoops, ImmutableList.of(), loadAware);
         final List<EventLoop> eventLoops = Streams.stream(eventLoopGroup)
                                                   .map(EventLoop.class::cast)
                                                   .collect(toImmutableList());
-        if (arrayBased) {
-            state = new ArrayBasedEventLoopState(eventLoops, maxNumEventLoops, scheduler);
-        } else {
-            state = new HeapBasedEventLoopState(eventLoops, maxNumEventLoops, scheduler);
+        switch (stateType) {
+            case ARRAY:
+                state = new ArrayBasedEventLoopState(eventLoops, maxNumEventLoops, scheduler);
+                break;
+            case HEAP:
+                state = new HeapBasedEventLoopState(eventLoops, maxNumEventLoops, scheduler);
+                break;
+            case LOAD_AWARE:
+                state = new LoadAwareEventLoopState(eventLoops, maxNumEventLoops, scheduler);
+                break;
         }
 
         // Acquire as many as the number of eventLoops so that the active request of all states are
@@ -66,10 +88,25 @@ public class EventLoopStateBenchmark {
         for (int i = 0; i < maxNumEventLoops; i++) {
             state.acquire();
         }
+
+        // A few hot endpoints hold many requests with one event loop per endpoint, e.g. busy HTTP/2
+        // connections, while the other endpoints come and go.
+        skewedScheduler = new DefaultEventLoopScheduler(eventLoopGroup, 1, 1, ImmutableList.of(), loadAware);
+        for (int i = 0; i < 4; i++) {
+            final Endpoint hotEndpoint = Endpoint.of("hot" + i + ".com");
+            for (int j = 0; j < 1000; j++) {
+                hotAcquired.add(skewedScheduler.acquire(SessionProtocol.H2C, hotEndpoint, hotEndpoint));
+            }
+        }
+        for (int i = 0; i < NUM_COLD_ENDPOINTS; i++) {
+            coldEndpoints[i] = Endpoint.of("cold" + i + ".com");
+        }
     }
 
     @TearDown
     public void tearDown() {
+        hotAcquired.forEach(ReleasableHolder::release);
+        hotAcquired.clear();
         eventLoopGroup.shutdownGracefully();
     }
 
@@ -92,4 +129,14 @@ public class EventLoopStateBenchmark {
             acquired[i].release();
         }
     }
+
+    @Benchmark
+    public void skewedEndpoints(Blackhole bh) {
+        for (Endpoint endpoint : coldEndpoints) {
+            final ReleasableHolder<EventLoop> holder =
+                    skewedScheduler.acquire(SessionProtocol.H2C, endpoint, endpoint);
+            bh.consume(holder.get());
+            holder.release();
+        }
+    }
 }
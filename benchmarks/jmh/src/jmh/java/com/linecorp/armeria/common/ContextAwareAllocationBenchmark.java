@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Microbenchmarks for the allocations of propagating a {@link RequestContext} through the callbacks of
+ * the typical decorator chains. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}:
+ * <pre>{@code
+ * $ ./gradlew :benchmarks:jmh:jmh -Pjmh.includes=ContextAwareAllocationBenchmark -Pjmh.profilers=gc
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+public class ContextAwareAllocationBenchmark {
+
+    private static final ServiceRequestContext ctx =
+            ServiceRequestContext.builder(HttpRequest.of(HttpMethod.GET, "/")).build();
+
+    private static final Executor contextAwareExecutor = ctx.makeContextAware(MoreExecutors.directExecutor());
+
+    /**
+     * A decorator which transforms the result of the delegate and then records it, e.g.
+     * {@code delegate.serve(...).thenApply(...).whenComplete(...)}.
+     */
+    @Benchmark
+    public void futureChain(Blackhole bh) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        ctx.makeContextAware(future)
+           .thenApply(String::length)
+           .thenApply(length -> length + 1)
+           .whenComplete((length, cause) -> bh.consume(length));
+        future.complete("armeria");
+    }
+
+    /**
+     * Nested decorators, each of which chains a callback to the future returned by the inner one.
+     */
+    @Benchmark
+    public void nestedFutureChain(Blackhole bh) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> decorated = ctx.makeContextAware(future);
+        for (int i = 0; i < 4; i++) {
+            decorated = decorated.thenApply(str -> str);
+        }
+        decorated.whenComplete((str, cause) -> bh.consume(str));
+        future.complete("armeria");
+    }
+
+    /**
+     * A decorator which hands a task which is already context-aware over to a context-aware executor.
+     */
+    @Benchmark
+    public void executeContextAwareTask(Blackhole bh) {
+        contextAwareExecutor.execute(ctx.makeContextAware(() -> bh.consume(ctx)));
+    }
+
+    @Benchmark
+    public void executeTask(Blackhole bh) {
+        contextAwareExecutor.execute(() -> bh.consume(ctx));
+    }
+}
@@ -21,6 +21,8 @@ import java.util.Map;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.infra.Blackhole;
 
+import com.google.common.collect.Iterables;
+
 import io.netty.handler.codec.http.QueryStringDecoder;
 
 /**
@@ -32,6 +34,10 @@ public class QueryStringDecoderBenchmark {
     private static final String UNICODE_PARAMS = QueryStringEncoderBenchmark.UNICODE_PARAMS.toQueryString();
     private static final String MIXED_PARAMS = QueryStringEncoderBenchmark.MIXED_PARAMS.toQueryString();
     private static final String LONG_PARAMS = QueryStringEncoderBenchmark.LONG_PARAMS.toQueryString();
+    private static final String LONG_PARAMS_FIRST_NAME =
+            Iterables.getFirst(QueryStringEncoderBenchmark.LONG_PARAMS.names(), null);
+    private static final String LONG_PARAMS_LAST_NAME =
+            Iterables.getLast(QueryStringEncoderBenchmark.LONG_PARAMS.names());
 
     @Benchmark
     public void armeriaAscii(Blackhole bh) {
@@ -53,6 +59,28 @@ public class QueryStringDecoderBenchmark {
         bh.consume(QueryParams.fromQueryString(LONG_PARAMS));
     }
 
+    @Benchmark
+    public void armeriaLongGetOne(Blackhole bh) {
+        // Look up a single parameter, e.g. a search API which reads only the keyword.
+        bh.consume(QueryParams.fromQueryString(LONG_PARAMS).get(LONG_PARAMS_FIRST_NAME));
+    }
+
+    @Benchmark
+    public void armeriaLongGetTwo(Blackhole bh) {
+        final QueryParams params = QueryParams.fromQueryString(LONG_PARAMS);
+        bh.consume(params.get(LONG_PARAMS_FIRST_NAME));
+        bh.consume(params.get(LONG_PARAMS_LAST_NAME));
+    }
+
+    @Benchmark
+    public void armeriaLongIterate(Blackhole bh) {
+        // Decode all parameters, e.g. a service which logs or copies all of them.
+        QueryParams.fromQueryString(LONG_PARAMS).forEach((name, value) -> {
+            bh.consume(name);
+            bh.consume(value);
+        });
+    }
+
     @Benchmark
     public void nettyAscii(Blackhole bh) {
         bh.consume(nettyDecode(ASCII_PARAMS));
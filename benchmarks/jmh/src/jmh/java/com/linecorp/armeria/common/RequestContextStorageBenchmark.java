@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.shared.EventLoopJmhExecutor;
+
+import io.netty.util.concurrent.FastThreadLocal;
+
+/**
+ * Microbenchmarks for the push and pop of {@link RequestContextStorage#threadLocal()} on an event loop
+ * thread, which stores the {@link RequestContext} in a field of the thread, compared with the storages
+ * backed by a {@link FastThreadLocal} and a {@link ThreadLocal}.
+ */
+@Fork(jvmArgsAppend = { EventLoopJmhExecutor.JVM_ARG_1, EventLoopJmhExecutor.JVM_ARG_2 })
+@State(Scope.Benchmark)
+public class RequestContextStorageBenchmark {
+
+    private static final RequestContextStorage eventLoopThreadField = RequestContextStorage.threadLocal();
+    private static final RequestContextStorage fastThreadLocal = new FastThreadLocalStorage();
+    private static final RequestContextStorage jdkThreadLocal = new JdkThreadLocalStorage();
+
+    private static final RequestContext reqCtx1 = newCtx("/1");
+    private static final RequestContext reqCtx2 = newCtx("/2");
+    private static final RequestContext reqCtx3 = newCtx("/3");
+
+    private static ServiceRequestContext newCtx(String path) {
+        return ServiceRequestContext.builder(HttpRequest.of(HttpMethod.GET, path))
+                                    .build();
+    }
+
+    @Benchmark
+    public void eventLoopThreadField() {
+        pushAndPop(eventLoopThreadField);
+    }
+
+    @Benchmark
+    public void fastThreadLocal() {
+        pushAndPop(fastThreadLocal);
+    }
+
+    @Benchmark
+    public void jdkThreadLocal() {
+        pushAndPop(jdkThreadLocal);
+    }
+
+    /**
+     * Pushes and pops the contexts as nested context-aware callbacks of a decorated pipeline do.
+     */
+    @Benchmark
+    public RequestContext eventLoopThreadField_nested() {
+        return nestedPushAndPop(eventLoopThreadField);
+    }
+
+    @Benchmark
+    public RequestContext fastThreadLocal_nested() {
+        return nestedPushAndPop(fastThreadLocal);
+    }
+
+    @Benchmark
+    public RequestContext jdkThreadLocal_nested() {
+        return nestedPushAndPop(jdkThreadLocal);
+    }
+
+    private static void pushAndPop(RequestContextStorage storage) {
+        final RequestContext oldCtx = storage.push(reqCtx1);
+        storage.pop(reqCtx1, oldCtx);
+    }
+
+    private static RequestContext nestedPushAndPop(RequestContextStorage storage) {
+        final RequestContext oldCtx1 = storage.push(reqCtx1);
+        final RequestContext oldCtx2 = storage.push(reqCtx2);
+        final RequestContext oldCtx3 = storage.push(reqCtx3);
+        final RequestContext current = storage.currentOrNull();
+        storage.pop(reqCtx3, oldCtx3);
+        storage.pop(reqCtx2, oldCtx2);
+        storage.pop(reqCtx1, oldCtx1);
+        return current;
+    }
+
+    /**
+     * The {@link RequestContextStorage} which always uses a {@link FastThreadLocal}.
+     */
+    private static final class FastThreadLocalStorage implements RequestContextStorage {
+
+        private static final FastThreadLocal<RequestContext> context = new FastThreadLocal<>();
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends RequestContext> T push(RequestContext toPush) {
+            final RequestContext oldCtx = context.get();
+            context.set(toPush);
+            return (T) oldCtx;
+        }
+
+        @Override
+        public void pop(RequestContext current, @Nullable RequestContext toRestore) {
+            context.set(toRestore);
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends RequestContext> T currentOrNull() {
+            return (T) context.get();
+        }
+    }
+
+    /**
+     * The {@link RequestContextStorage} which uses a JDK {@link ThreadLocal}.
+     */
+    private static final class JdkThreadLocalStorage implements RequestContextStorage {
+
+        private static final ThreadLocal<RequestContext> context = new ThreadLocal<>();
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends RequestContext> T push(RequestContext toPush) {
+            final RequestContext oldCtx = context.get();
+            context.set(toPush);
+            return (T) oldCtx;
+        }
+
+        @Override
+        public void pop(RequestContext current, @Nullable RequestContext toRestore) {
+            context.set(toRestore);
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends RequestContext> T currentOrNull() {
+            return (T) context.get();
+        }
+    }
+}
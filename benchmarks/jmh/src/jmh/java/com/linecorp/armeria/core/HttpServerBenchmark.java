@@ -18,6 +18,7 @@ package com.linecorp.armeria.core;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Param;
@@ -28,8 +29,10 @@ import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
+import com.linecorp.armeria.client.ClientFactory;
 import com.linecorp.armeria.client.Clients;
 import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpResponseWriter;
@@ -66,6 +69,8 @@ public class HttpServerBenchmark {
 
     private Server server;
     private WebClient webClient;
+    private ClientFactory pipeliningClientFactory;
+    private WebClient pipeliningWebClient;
 
     @Param
     private Protocol protocol;
@@ -73,6 +78,12 @@ public class HttpServerBenchmark {
     @Param("100")
     private int chunkCount;
 
+    @Param("16")
+    private int pipelineDepth;
+
+    @Param({ "false", "true" })
+    private boolean http1FlushConsolidation;
+
     @Setup
     public void startServer() throws Exception {
         final byte[] plaintext = "Hello, World!".getBytes(StandardCharsets.UTF_8);
@@ -95,6 +106,7 @@ public class HttpServerBenchmark {
                            return writer;
                        })
                        .requestTimeout(Duration.ZERO)
+                       .http1FlushConsolidation(http1FlushConsolidation)
                        .meterRegistry(NoopMeterRegistry.get())
                        .build();
         server.start().join();
@@ -104,10 +116,18 @@ public class HttpServerBenchmark {
         webClient = Clients.newClient("none+" + protocol.uriText() + "://127.0.0.1:" +
                                       httpPort.localAddress().getPort() + '/',
                                       WebClient.class);
+        pipeliningClientFactory = ClientFactory.builder()
+                                               .useHttp1Pipelining(true)
+                                               .build();
+        pipeliningWebClient = WebClient.builder("none+" + protocol.uriText() + "://127.0.0.1:" +
+                                                httpPort.localAddress().getPort() + '/')
+                                       .factory(pipeliningClientFactory)
+                                       .build();
     }
 
     @TearDown
     public void stopServer() throws Exception {
+        pipeliningClientFactory.close();
         server.stop().join();
     }
 
@@ -128,6 +148,22 @@ public class HttpServerBenchmark {
                          }));
     }
 
+    /**
+     * Sends {@link #pipelineDepth} requests at once with HTTP/1.1 pipelining enabled, which is what load
+     * balancers and benchmark tools usually do with keep-alive connections.
+     */
+    @Benchmark
+    public void pipelined(Blackhole bh) throws Exception {
+        @SuppressWarnings("unchecked")
+        final CompletableFuture<AggregatedHttpResponse>[] futures = new CompletableFuture[pipelineDepth];
+        for (int i = 0; i < pipelineDepth; i++) {
+            futures[i] = pipeliningWebClient.get("/plaintext").aggregate();
+        }
+        for (CompletableFuture<AggregatedHttpResponse> future : futures) {
+            bh.consume(future.join());
+        }
+    }
+
     @Benchmark
     public void streaming(Blackhole bh) throws Exception {
         bh.consume(webClient.get("/streaming").aggregate().join());
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.core;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.google.common.base.Strings;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+import com.linecorp.armeria.common.util.TransportType;
+import com.linecorp.armeria.server.Server;
+
+/**
+ * Compares the {@link TransportType}s with the scenarios of {@link HttpServerBenchmark} and
+ * {@code WebClientIntegrationBenchmark}. Because the {@link TransportType} is chosen once per JVM, each
+ * {@link TransportType} is benchmarked by its own subclass which runs in a JVM forked with
+ * {@code -Dcom.linecorp.armeria.transportType}.
+ *
+ * <p>Run with {@code ./gradlew :benchmarks:jmh:jmh -Pjmh.includes=TransportTypeBenchmark}. The io_uring
+ * specific flags, such as {@code -Dcom.linecorp.armeria.ioUringRingSize}, can be specified with
+ * {@code -Pjmh.jvmargs}. Note that a benchmark fails if its {@link TransportType} is not available on
+ * the current platform, e.g. epoll and io_uring on macOS.
+ */
+@State(Scope.Benchmark)
+public abstract class TransportTypeBenchmark {
+
+    // JMH bug prevents it from using enums that override toString() (it should use name() instead...).
+    public enum Protocol {
+        H2C(SessionProtocol.H2C),
+        H1C(SessionProtocol.H1C);
+
+        private final SessionProtocol sessionProtocol;
+
+        Protocol(SessionProtocol sessionProtocol) {
+            this.sessionProtocol = sessionProtocol;
+        }
+
+        String uriText() {
+            return sessionProtocol.uriText();
+        }
+    }
+
+    @Fork(jvmArgsAppend = "-Dcom.linecorp.armeria.transportType=nio")
+    public static class Nio extends TransportTypeBenchmark {
+        @Override
+        TransportType transportType() {
+            return TransportType.NIO;
+        }
+    }
+
+    @Fork(jvmArgsAppend = "-Dcom.linecorp.armeria.transportType=epoll")
+    public static class Epoll extends TransportTypeBenchmark {
+        @Override
+        TransportType transportType() {
+            return TransportType.EPOLL;
+        }
+    }
+
+    @Fork(jvmArgsAppend = "-Dcom.linecorp.armeria.transportType=io_uring")
+    public static class IoUring extends TransportTypeBenchmark {
+        @Override
+        TransportType transportType() {
+            return TransportType.IO_URING;
+        }
+    }
+
+    private Server server;
+    private ClientFactory clientFactory;
+    private WebClient webClient;
+    private String body;
+
+    @Param
+    private Protocol protocol;
+
+    abstract TransportType transportType();
+
+    @Setup
+    public void setUp() {
+        final TransportType transportType = transportType();
+        if (Flags.transportType() != transportType) {
+            // Flags falls back to the default when the specified transport type is not available.
+            throw new IllegalStateException(transportType + " is not available: " +
+                                            transportType.unavailabilityCause());
+        }
+
+        final byte[] plaintext = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+        server = Server.builder()
+                       .service("/empty", (ctx, req) -> HttpResponse.of(HttpStatus.OK))
+                       .service("/plaintext", (ctx, req) -> HttpResponse
+                               .of(HttpStatus.OK, MediaType.PLAIN_TEXT_UTF_8, plaintext))
+                       .service("/post", (ctx, req) -> HttpResponse.of(
+                               req.aggregate().thenApply(agg -> HttpResponse.of(agg.contentUtf8()))))
+                       .requestTimeout(Duration.ZERO)
+                       .meterRegistry(NoopMeterRegistry.get())
+                       .build();
+        server.start().join();
+
+        clientFactory = ClientFactory.builder()
+                                     .meterRegistry(NoopMeterRegistry.get())
+                                     .build();
+        webClient = WebClient.builder(protocol.uriText() + "://127.0.0.1:" + server.activeLocalPort())
+                             .factory(clientFactory)
+                             .responseTimeout(Duration.ZERO)
+                             .build();
+        body = Strings.repeat("a", 1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientFactory.close();
+        server.stop().join();
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse empty() {
+        return webClient.get("/empty").aggregate().join();
+    }
+
+    @Threads(Threads.MAX)
+    @Benchmark
+    public AggregatedHttpResponse plainText() {
+        return webClient.get("/plaintext").aggregate().join();
+    }
+
+    @Benchmark
+    public AggregatedHttpResponse postRequest() {
+        return webClient.post("/post", body).aggregate().join();
+    }
+}
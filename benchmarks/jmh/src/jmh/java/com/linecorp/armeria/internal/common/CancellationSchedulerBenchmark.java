@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.internal.common;
+
+import static com.linecorp.armeria.internal.common.CancellationScheduler.noopCancellationTask;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.linecorp.armeria.common.util.TimeoutMode;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+
+/**
+ * Microbenchmarks for scheduling and cancelling timeouts with {@link DefaultCancellationScheduler}
+ * while an event loop has many long-lived requests, e.g. streaming or long-polling requests.
+ */
+@State(Scope.Benchmark)
+public class CancellationSchedulerBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long LONG_TIMEOUT_NANOS = SECONDS.toNanos(600);
+    private static final long TIMEOUT_NANOS = SECONDS.toNanos(10);
+
+    @Param({ "1000", "100000" })
+    private int numLongLivedRequests;
+
+    @Param({ "false", "true" })
+    private boolean useTimerWheel;
+
+    private EventLoop eventLoop;
+    private final List<DefaultCancellationScheduler> longLivedRequests = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        eventLoop = new DefaultEventLoop();
+        eventLoop.submit(() -> {
+            for (int i = 0; i < numLongLivedRequests; i++) {
+                final DefaultCancellationScheduler scheduler =
+                        new DefaultCancellationScheduler(LONG_TIMEOUT_NANOS, true, useTimerWheel);
+                scheduler.initAndStart(eventLoop, noopCancellationTask);
+                longLivedRequests.add(scheduler);
+            }
+        }).get();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        eventLoop.submit(() -> longLivedRequests.forEach(DefaultCancellationScheduler::clearTimeout)).get();
+        longLivedRequests.clear();
+        eventLoop.shutdownGracefully().sync();
+    }
+
+    /**
+     * Simulates short requests which schedule, extend and clear their timeouts.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void shortLivedRequests() throws Exception {
+        eventLoop.submit(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final DefaultCancellationScheduler scheduler =
+                        new DefaultCancellationScheduler(TIMEOUT_NANOS, true, useTimerWheel);
+                scheduler.initAndStart(eventLoop, noopCancellationTask);
+                scheduler.setTimeoutNanos(TimeoutMode.EXTEND, TIMEOUT_NANOS);
+                scheduler.clearTimeout();
+            }
+        }).get();
+    }
+
+    /**
+     * Simulates the long-lived requests which reset their timeouts whenever they receive a message.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void resetLongLivedRequests() throws Exception {
+        eventLoop.submit(() -> {
+            final int size = longLivedRequests.size();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                longLivedRequests.get(i % size).setTimeoutNanos(TimeoutMode.SET_FROM_NOW, LONG_TIMEOUT_NANOS);
+            }
+        }).get();
+    }
+}
@@ -36,6 +36,8 @@ public class RequestTargetBenchmark {
 
     private String path1;
     private String path2;
+    private String pathWithQuery;
+    private String encodedPath;
 
     @Setup(Level.Invocation)
     @SuppressWarnings("StringOperationCanBeSimplified")
@@ -43,6 +45,8 @@ public class RequestTargetBenchmark {
         // Create a new String for paths every time to avoid constant folding.
         path1 = new String("/armeria/services/hello-world");
         path2 = new String("/armeria/services/goodbye-world");
+        pathWithQuery = new String("/armeria/services/hello-world?name=armeria&greeting=hello");
+        encodedPath = new String("/armeria/services/hello%20world?name=armeria+project");
     }
 
     @Benchmark
@@ -62,6 +66,18 @@ public class RequestTargetBenchmark {
         return parsed;
     }
 
+    @Benchmark
+    @Fork(jvmArgsAppend = NO_CACHE_JVM_OPTS)
+    public RequestTarget serverUncachedWithQuery() {
+        return RequestTarget.forServer(pathWithQuery);
+    }
+
+    @Benchmark
+    @Fork(jvmArgsAppend = NO_CACHE_JVM_OPTS)
+    public RequestTarget serverUncachedPercentEncoded() {
+        return RequestTarget.forServer(encodedPath);
+    }
+
     @Benchmark
     public RequestTarget serverCachedAndUncached(Blackhole bh) {
         return doServerCachedAndUncached(bh);
@@ -26,12 +26,14 @@ import com.linecorp.armeria.common.logging.RequestLogBuilder;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.common.metric.NoopMeterRegistry;
+import com.linecorp.armeria.internal.common.metric.RequestMetricSupport.ServiceMeterBindings;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
 public class RequestMetricSupportBenchmark {
 
     private static final MeterIdPrefixFunction PREFIX_FUNC = MeterIdPrefixFunction.ofDefault("benchmark");
     private static final RequestLog REQUEST_LOG;
+    private static final ServiceMeterBindings BINDINGS = new ServiceMeterBindings();
 
     static {
         final RequestLogBuilder builder =
@@ -55,4 +57,10 @@ public class RequestMetricSupportBenchmark {
                                        String.class,
                                        (u1, u2) -> "foo");
     }
+
+    @Benchmark
+    public Object lookUpPreBoundMeters() {
+        // Compare with registerSameTags(), which creates a prefix with the tags for every request.
+        return BINDINGS.binding(REQUEST_LOG);
+    }
 }
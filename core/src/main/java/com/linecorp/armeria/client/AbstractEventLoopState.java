@@ -29,6 +29,9 @@ abstract class AbstractEventLoopState {
 
     static AbstractEventLoopState of(List<EventLoop> eventLoops, int maxNumEventLoops,
                                      DefaultEventLoopScheduler scheduler) {
+        if (scheduler.isLoadAware()) {
+            return new LoadAwareEventLoopState(eventLoops, maxNumEventLoops, scheduler);
+        }
         if (maxNumEventLoops == 1) {
             return new OneEventLoopState(eventLoops, scheduler);
         } else if (maxNumEventLoops <= 128) {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.ContextAwareEventLoop;
+import com.linecorp.armeria.common.HttpObject;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.internal.common.HttpMessageAggregator;
+
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * Aggregates an {@link HttpResponse} while blocking the current thread, without allocating
+ * {@link java.util.concurrent.CompletableFuture}s. The current thread is parked with {@link LockSupport}
+ * rather than blocked on a monitor, so that a virtual thread is unmounted from its carrier thread while
+ * waiting.
+ */
+final class BlockingResponseAggregator implements Subscriber<HttpObject> {
+
+    static AggregatedHttpResponse aggregate(HttpResponse response) {
+        final BlockingResponseAggregator aggregator = new BlockingResponseAggregator();
+        EventExecutor executor = response.defaultSubscriberExecutor();
+        if (executor instanceof ContextAwareEventLoop) {
+            // The objects are only collected in the event loop, so no context needs to be pushed.
+            executor = ((ContextAwareEventLoop) executor).withoutContext();
+        }
+        response.subscribe(aggregator, executor);
+        return aggregator.await();
+    }
+
+    private final Thread waiter = Thread.currentThread();
+    private final List<HttpObject> objects = new ArrayList<>(4);
+    @Nullable
+    private Throwable cause;
+    private volatile boolean done;
+
+    private BlockingResponseAggregator() {}
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        s.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(HttpObject obj) {
+        objects.add(obj);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        cause = t;
+        done = true;
+        LockSupport.unpark(waiter);
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        LockSupport.unpark(waiter);
+    }
+
+    private AggregatedHttpResponse await() {
+        boolean interrupted = false;
+        while (!done) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                // Wait uninterruptibly as CompletableFuture.join() does.
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            waiter.interrupt();
+        }
+
+        // The writes to 'cause' and 'objects' happen before the volatile write to 'done'.
+        try {
+            if (cause != null) {
+                throw cause;
+            }
+            return HttpMessageAggregator.aggregateResponse(objects, null);
+        } catch (Throwable t) {
+            return Exceptions.throwUnsafely(Exceptions.peel(t));
+        }
+    }
+}
@@ -123,6 +123,7 @@ public final class ClientFactoryBuilder implements TlsSetters {
     private int maxNumEventLoopsPerEndpoint;
     private int maxNumEventLoopsPerHttp1Endpoint;
     private final List<ToIntFunction<Endpoint>> maxNumEventLoopsFunctions = new ArrayList<>();
+    private boolean loadAwareEventLoopScheduling;
     private boolean tlsNoVerifySet;
     private final Set<String> insecureHosts = new HashSet<>();
 
@@ -163,7 +164,7 @@ public final class ClientFactoryBuilder implements TlsSetters {
             Function<? super EventLoopGroup, ? extends EventLoopScheduler> eventLoopSchedulerFactory) {
         requireNonNull(eventLoopSchedulerFactory, "eventLoopSchedulerFactory");
         checkState(maxNumEventLoopsPerHttp1Endpoint == 0 && maxNumEventLoopsPerEndpoint == 0 &&
-                   maxNumEventLoopsFunctions.isEmpty(),
+                   maxNumEventLoopsFunctions.isEmpty() && !loadAwareEventLoopScheduling,
                    "Cannot set eventLoopSchedulerFactory when maxEventLoop per endpoint is specified.");
         option(ClientFactoryOptions.EVENT_LOOP_SCHEDULER_FACTORY, eventLoopSchedulerFactory);
         return this;
@@ -221,6 +222,24 @@ public final class ClientFactoryBuilder implements TlsSetters {
         return this;
     }
 
+    /**
+     * Sets whether an {@link EventLoop} is assigned to a connection by the load of the {@link EventLoop}
+     * measured across all {@link Endpoint}s instead of by the number of the requests to each {@link Endpoint}.
+     * The load of an {@link EventLoop} is measured by the number of its active requests, its pending tasks and
+     * the CPU utilization of its thread. When enabled, new connections are moved away from the hot
+     * {@link EventLoop}s, e.g. the ones which handle busy HTTP/2 connections, and the load of each
+     * {@link EventLoop} is reported as {@code armeria.client.event.loop.*} meters.
+     * The maximum number of {@link EventLoop}s per {@link Endpoint} is still respected.
+     * This option is disabled by default.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder loadAwareEventLoopScheduling(boolean loadAwareEventLoopScheduling) {
+        checkState(!options.containsKey(ClientFactoryOptions.EVENT_LOOP_SCHEDULER_FACTORY),
+                   "loadAwareEventLoopScheduling() and eventLoopSchedulerFactory() are mutually exclusive.");
+        this.loadAwareEventLoopScheduling = loadAwareEventLoopScheduling;
+        return this;
+    }
+
     /**
      * Sets the timeout of a socket connection attempt.
      */
@@ -548,6 +567,21 @@ public final class ClientFactoryBuilder implements TlsSetters {
         return this;
     }
 
+    /**
+     * Sets the maximum size the HTTP/2 connection-level and stream-level flow-control windows are grown to
+     * as the bandwidth-delay product of a connection is estimated from the round trip time of PING frames.
+     * The windows start from {@link #http2InitialConnectionWindowSize(int)} and
+     * {@link #http2InitialStreamWindowSize(int)}, and never shrink. {@code 0} disables the auto-tuning.
+     * Defaults to {@link Flags#defaultHttp2MaxFlowControlWindowSize()}.
+     */
+    @UnstableApi
+    public ClientFactoryBuilder http2MaxFlowControlWindowSize(int http2MaxFlowControlWindowSize) {
+        checkArgument(http2MaxFlowControlWindowSize >= 0,
+                      "http2MaxFlowControlWindowSize: %s (expected: >= 0)", http2MaxFlowControlWindowSize);
+        option(ClientFactoryOptions.HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE, http2MaxFlowControlWindowSize);
+        return this;
+    }
+
     /**
      * Sets the
      * <a href="https://datatracker.ietf.org/doc/html/rfc7540#section-6.5.2">SETTINGS_MAX_FRAME_SIZE</a>
@@ -880,7 +914,7 @@ public final class ClientFactoryBuilder implements TlsSetters {
             final Function<? super EventLoopGroup, ? extends EventLoopScheduler> eventLoopSchedulerFactory =
                     eventLoopGroup -> new DefaultEventLoopScheduler(
                             eventLoopGroup, maxNumEventLoopsPerEndpoint, maxNumEventLoopsPerHttp1Endpoint,
-                            maxNumEventLoopsFunctions);
+                            maxNumEventLoopsFunctions, loadAwareEventLoopScheduling);
             return ClientFactoryOptions.EVENT_LOOP_SCHEDULER_FACTORY.newValue(eventLoopSchedulerFactory);
         });
 
@@ -978,6 +1012,9 @@ public final class ClientFactoryBuilder implements TlsSetters {
         if (!maxNumEventLoopsFunctions.isEmpty()) {
             helper.add("maxNumEventLoopsFunctions", maxNumEventLoopsFunctions);
         }
+        if (loadAwareEventLoopScheduling) {
+            helper.add("loadAwareEventLoopScheduling", true);
+        }
 
         return helper.toString();
     }
@@ -123,6 +123,15 @@ public final class ClientFactoryOptions
             ClientFactoryOption.define("HTTP2_INITIAL_STREAM_WINDOW_SIZE",
                                        Flags.defaultHttp2InitialStreamWindowSize());
 
+    /**
+     * The maximum size the HTTP/2 connection-level and stream-level flow-control windows are grown to
+     * as the bandwidth-delay product of a connection is estimated. {@code 0} disables the auto-tuning.
+     */
+    @UnstableApi
+    public static final ClientFactoryOption<Integer> HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE =
+            ClientFactoryOption.define("HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE",
+                                       Flags.defaultHttp2MaxFlowControlWindowSize());
+
     /**
      * The <a href="https://datatracker.ietf.org/doc/html/rfc7540#section-6.5.2">SETTINGS_MAX_FRAME_SIZE</a>
      * that indicates the size of the largest frame payload that this client is willing to receive.
@@ -436,6 +445,16 @@ public final class ClientFactoryOptions
         return get(HTTP2_INITIAL_STREAM_WINDOW_SIZE);
     }
 
+    /**
+     * Returns the maximum size the HTTP/2 connection-level and stream-level flow-control windows are grown to
+     * as the bandwidth-delay product of a connection is estimated. {@code 0} means the windows are not
+     * auto-tuned.
+     */
+    @UnstableApi
+    public int http2MaxFlowControlWindowSize() {
+        return get(HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE);
+    }
+
     /**
      * Returns the <a href="https://datatracker.ietf.org/doc/html/rfc7540#section-6.5.2">SETTINGS_MAX_FRAME_SIZE</a>
      * that indicates the size of the largest frame payload that this client is willing to receive.
@@ -40,9 +40,12 @@ import com.google.common.collect.Streams;
 import com.linecorp.armeria.client.endpoint.EndpointGroup;
 import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.util.ReleasableHolder;
 import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 
@@ -70,6 +73,12 @@ final class DefaultEventLoopScheduler implements EventLoopScheduler {
 
     private final List<ToIntFunction<Endpoint>> maxNumEventLoopsFunctions;
 
+    /**
+     * The {@link EventLoopLoad}s of {@link #eventLoops}, which are used only when load-aware.
+     */
+    @Nullable
+    private final List<EventLoopLoad> loads;
+
     private int cleanupCounter;
 
     @SuppressWarnings("FieldMayBeFinal")
@@ -81,6 +90,13 @@ final class DefaultEventLoopScheduler implements EventLoopScheduler {
     DefaultEventLoopScheduler(EventLoopGroup eventLoopGroup, int maxNumEventLoopsPerEndpoint,
                               int maxNumEventLoopsPerHttp1Endpoint,
                               List<ToIntFunction<Endpoint>> maxNumEventLoopsFunctions) {
+        this(eventLoopGroup, maxNumEventLoopsPerEndpoint, maxNumEventLoopsPerHttp1Endpoint,
+             maxNumEventLoopsFunctions, false);
+    }
+
+    DefaultEventLoopScheduler(EventLoopGroup eventLoopGroup, int maxNumEventLoopsPerEndpoint,
+                              int maxNumEventLoopsPerHttp1Endpoint,
+                              List<ToIntFunction<Endpoint>> maxNumEventLoopsFunctions, boolean loadAware) {
         eventLoops = Streams.stream(eventLoopGroup)
                             .map(EventLoop.class::cast)
                             .collect(toImmutableList());
@@ -100,6 +116,78 @@ final class DefaultEventLoopScheduler implements EventLoopScheduler {
                     Math.min(maxNumEventLoopsPerHttp1Endpoint, eventLoopSize);
         }
         this.maxNumEventLoopsFunctions = ImmutableList.copyOf(maxNumEventLoopsFunctions);
+
+        if (loadAware) {
+            final ImmutableList.Builder<EventLoopLoad> loadsBuilder =
+                    ImmutableList.builderWithExpectedSize(eventLoopSize);
+            for (int i = 0; i < eventLoopSize; i++) {
+                loadsBuilder.add(new EventLoopLoad(eventLoops.get(i), i));
+            }
+            loads = loadsBuilder.build();
+        } else {
+            loads = null;
+        }
+    }
+
+    boolean isLoadAware() {
+        return loads != null;
+    }
+
+    /**
+     * Returns the least loaded {@link EventLoopLoad} among the ones whose index is not marked in
+     * {@code excluded}, or {@code null} if all {@link EventLoopLoad}s are excluded.
+     */
+    @Nullable
+    EventLoopLoad leastLoaded(boolean[] excluded) {
+        assert loads != null;
+        // Start from a random index so that the ties are broken evenly.
+        final int size = loads.size();
+        final int start = ThreadLocalRandom.current().nextInt(size);
+        EventLoopLoad best = null;
+        double bestLoad = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            final int index = (start + i) % size;
+            if (excluded[index]) {
+                continue;
+            }
+            final EventLoopLoad load = loads.get(index);
+            final double value = load.load();
+            if (value < bestLoad) {
+                bestLoad = value;
+                best = load;
+            }
+        }
+        return best;
+    }
+
+    @VisibleForTesting
+    List<EventLoopLoad> loads() {
+        assert loads != null;
+        return loads;
+    }
+
+    /**
+     * Registers the gauges which report the load of each {@link EventLoop} if load-aware.
+     */
+    void registerMetrics(MeterRegistry registry, MeterIdPrefix idPrefix) {
+        if (loads == null) {
+            return;
+        }
+        for (EventLoopLoad load : loads) {
+            final String index = String.valueOf(load.index());
+            Gauge.builder(idPrefix.name("event.loop.load"), load, EventLoopLoad::load)
+                 .tags(idPrefix.tags("event.loop", index))
+                 .register(registry);
+            Gauge.builder(idPrefix.name("event.loop.active.requests"), load, EventLoopLoad::activeRequests)
+                 .tags(idPrefix.tags("event.loop", index))
+                 .register(registry);
+            Gauge.builder(idPrefix.name("event.loop.pending.tasks"), load, EventLoopLoad::pendingTasks)
+                 .tags(idPrefix.tags("event.loop", index))
+                 .register(registry);
+            Gauge.builder(idPrefix.name("event.loop.cpu.utilization"), load, EventLoopLoad::cpuUtilization)
+                 .tags(idPrefix.tags("event.loop", index))
+                 .register(registry);
+        }
     }
 
     /**
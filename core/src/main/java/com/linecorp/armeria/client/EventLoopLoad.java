@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * The load of an {@link EventLoop} measured across all endpoints, which is used by
+ * {@link LoadAwareEventLoopState}. The load is the product of:
+ * <ul>
+ *   <li>the number of the active requests and the pending tasks of the {@link EventLoop}, plus one, and</li>
+ *   <li>one plus the CPU utilization of the {@link EventLoop} thread, which ranges from {@code 0} to
+ *       {@code 1}</li>
+ * </ul>
+ * so that an {@link EventLoop} whose CPU is busy, e.g. due to hot HTTP/2 connections or other tasks, is
+ * avoided even if it has the same number of active requests as others.
+ *
+ * <p>The pending tasks and the CPU utilization are sampled at most once per
+ * {@value #SAMPLE_INTERVAL_MILLIS} milliseconds by the thread which acquires an {@link EventLoop}.
+ */
+final class EventLoopLoad {
+
+    private static final AtomicLongFieldUpdater<EventLoopLoad> lastSampleTimeNanosUpdater =
+            AtomicLongFieldUpdater.newUpdater(EventLoopLoad.class, "lastSampleTimeNanos");
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 1000;
+    private static final long SAMPLE_INTERVAL_NANOS = Duration.ofMillis(SAMPLE_INTERVAL_MILLIS).toNanos();
+
+    @Nullable
+    private static final ThreadMXBean threadMxBean;
+
+    static {
+        ThreadMXBean bean = null;
+        try {
+            bean = ManagementFactory.getThreadMXBean();
+            if (!bean.isThreadCpuTimeSupported() || !bean.isThreadCpuTimeEnabled()) {
+                bean = null;
+            }
+        } catch (Throwable ignored) {
+            // CPU time is not available in this environment.
+        }
+        threadMxBean = bean;
+    }
+
+    private final EventLoop eventLoop;
+    private final int index;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+
+    private volatile long threadId = -1;
+    private volatile int pendingTasks;
+    private volatile double cpuUtilization;
+    private long lastCpuTimeNanos = -1;
+    @SuppressWarnings("FieldMayBeFinal")
+    private volatile long lastSampleTimeNanos = System.nanoTime();
+
+    EventLoopLoad(EventLoop eventLoop, int index) {
+        this.eventLoop = eventLoop;
+        this.index = index;
+        if (threadMxBean != null) {
+            try {
+                eventLoop.execute(() -> threadId = Thread.currentThread().getId());
+            } catch (RejectedExecutionException ignored) {
+                // The event loop is shutting down.
+            }
+        }
+    }
+
+    EventLoop eventLoop() {
+        return eventLoop;
+    }
+
+    int index() {
+        return index;
+    }
+
+    int activeRequests() {
+        return activeRequests.get();
+    }
+
+    void incrementActiveRequests() {
+        activeRequests.incrementAndGet();
+    }
+
+    void decrementActiveRequests() {
+        activeRequests.decrementAndGet();
+    }
+
+    int pendingTasks() {
+        return pendingTasks;
+    }
+
+    double cpuUtilization() {
+        return cpuUtilization;
+    }
+
+    /**
+     * Returns the load of the {@link EventLoop}. Lower is better.
+     */
+    double load() {
+        maybeSample();
+        return (activeRequests.get() + pendingTasks + 1) * (1 + cpuUtilization);
+    }
+
+    private void maybeSample() {
+        final long lastSampleTimeNanos = this.lastSampleTimeNanos;
+        final long currentTimeNanos = System.nanoTime();
+        final long elapsedNanos = currentTimeNanos - lastSampleTimeNanos;
+        if (elapsedNanos < SAMPLE_INTERVAL_NANOS ||
+            !lastSampleTimeNanosUpdater.compareAndSet(this, lastSampleTimeNanos, currentTimeNanos)) {
+            return;
+        }
+        sample(elapsedNanos);
+    }
+
+    @VisibleForTesting
+    void sample(long elapsedNanos) {
+        if (eventLoop instanceof SingleThreadEventExecutor) {
+            pendingTasks = ((SingleThreadEventExecutor) eventLoop).pendingTasks();
+        }
+
+        final long threadId = this.threadId;
+        if (threadMxBean == null || threadId < 0) {
+            return;
+        }
+        final long cpuTimeNanos = threadMxBean.getThreadCpuTime(threadId);
+        if (cpuTimeNanos < 0) {
+            // The thread has been terminated.
+            cpuUtilization = 0;
+            return;
+        }
+        final long lastCpuTimeNanos = this.lastCpuTimeNanos;
+        this.lastCpuTimeNanos = cpuTimeNanos;
+        if (lastCpuTimeNanos >= 0 && elapsedNanos > 0) {
+            cpuUtilization = Math.min(1.0, (double) (cpuTimeNanos - lastCpuTimeNanos) / elapsedNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("index", index)
+                          .add("activeRequests", activeRequests)
+                          .add("pendingTasks", pendingTasks)
+                          .add("cpuUtilization", cpuUtilization)
+                          .toString();
+    }
+}
@@ -21,8 +21,10 @@ import static com.linecorp.armeria.internal.common.KeepAliveHandlerUtil.needsKee
 import com.google.common.collect.ImmutableList;
 
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.metric.MoreMeters;
 import com.linecorp.armeria.internal.common.AbstractHttp2ConnectionHandler;
+import com.linecorp.armeria.internal.common.Http2BdpEstimator;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
 
@@ -47,7 +49,8 @@ final class Http2ClientConnectionHandler extends AbstractHttp2ConnectionHandler
               newKeepAliveHandler(encoder, channel, clientFactory, protocol));
         this.clientFactory = clientFactory;
 
-        responseDecoder = new Http2ResponseDecoder(channel, encoder(), clientFactory, keepAliveHandler());
+        responseDecoder = new Http2ResponseDecoder(channel, encoder(), clientFactory, keepAliveHandler(),
+                                                   newBdpEstimator(encoder, clientFactory, protocol));
         connection().addListener(responseDecoder);
         decoder().frameListener(responseDecoder);
     }
@@ -77,6 +80,17 @@ final class Http2ClientConnectionHandler extends AbstractHttp2ConnectionHandler
                 keepAliveOnPing);
     }
 
+    @Nullable
+    private static Http2BdpEstimator newBdpEstimator(
+            Http2ConnectionEncoder encoder, HttpClientFactory clientFactory, SessionProtocol protocol) {
+        final int maxWindowSize = clientFactory.http2MaxFlowControlWindowSize();
+        if (maxWindowSize == 0) {
+            return null;
+        }
+        return new Http2BdpEstimator(encoder, maxWindowSize, clientFactory.meterRegistry(),
+                                     "armeria.client.connections", protocol);
+    }
+
     Http2ResponseDecoder responseDecoder() {
         return responseDecoder;
     }
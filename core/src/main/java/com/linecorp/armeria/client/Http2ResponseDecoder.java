@@ -34,6 +34,7 @@ import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.stream.ClosedStreamException;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+import com.linecorp.armeria.internal.common.Http2BdpEstimator;
 import com.linecorp.armeria.internal.common.Http2GoAwayHandler;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
@@ -62,16 +63,21 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
     private final Http2ConnectionEncoder encoder;
     private final Http2GoAwayHandler goAwayHandler;
     private final KeepAliveHandler keepAliveHandler;
+    @Nullable
+    private final Http2BdpEstimator bdpEstimator;
 
     Http2ResponseDecoder(Channel channel, Http2ConnectionEncoder encoder, HttpClientFactory clientFactory,
-                         KeepAliveHandler keepAliveHandler) {
+                         KeepAliveHandler keepAliveHandler, @Nullable Http2BdpEstimator bdpEstimator) {
         super(channel,
-              InboundTrafficController.ofHttp2(channel, clientFactory.http2InitialConnectionWindowSize()));
+              InboundTrafficController.ofHttp2(channel, Math.max(
+                      clientFactory.http2InitialConnectionWindowSize(),
+                      clientFactory.http2MaxFlowControlWindowSize())));
         conn = encoder.connection();
         this.encoder = encoder;
         assert keepAliveHandler instanceof Http2ClientKeepAliveHandler ||
                keepAliveHandler instanceof NoopKeepAliveHandler;
         this.keepAliveHandler = keepAliveHandler;
+        this.bdpEstimator = bdpEstimator;
         goAwayHandler = new Http2GoAwayHandler();
     }
 
@@ -240,6 +246,9 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
         keepAliveChannelRead();
 
         final int dataLength = data.readableBytes();
+        if (bdpEstimator != null) {
+            bdpEstimator.onDataRead(ctx, dataLength + padding);
+        }
         final HttpResponseWrapper res = getResponse(streamIdToId(streamId));
         if (res == null || !res.isOpen()) {
             if (conn.streamMayHaveExisted(streamId)) {
@@ -328,7 +337,10 @@ final class Http2ResponseDecoder extends AbstractHttpResponseDecoder implements
     }
 
     @Override
-    public void onPingAckRead(ChannelHandlerContext ctx, long data) {
+    public void onPingAckRead(ChannelHandlerContext ctx, long data) throws Http2Exception {
+        if (bdpEstimator != null && bdpEstimator.onPingAckRead(ctx, data)) {
+            return;
+        }
         if (keepAliveHandler.isHttp2()) {
             keepAliveHandler.onPingAck(data);
         }
@@ -106,6 +106,7 @@ final class HttpClientFactory implements ClientFactory {
     private final AddressResolverGroup<InetSocketAddress> addressResolverGroup;
     private final int http2InitialConnectionWindowSize;
     private final int http2InitialStreamWindowSize;
+    private final int http2MaxFlowControlWindowSize;
     private final int http2MaxFrameSize;
     private final long http2MaxHeaderListSize;
     private final int http1MaxInitialLineLength;
@@ -188,6 +189,7 @@ final class HttpClientFactory implements ClientFactory {
 
         http2InitialConnectionWindowSize = options.http2InitialConnectionWindowSize();
         http2InitialStreamWindowSize = options.http2InitialStreamWindowSize();
+        http2MaxFlowControlWindowSize = options.http2MaxFlowControlWindowSize();
         http2MaxFrameSize = options.http2MaxFrameSize();
         http2MaxHeaderListSize = options.http2MaxHeaderListSize();
         pingIntervalMillis = options.pingIntervalMillis();
@@ -211,6 +213,10 @@ final class HttpClientFactory implements ClientFactory {
 
         clientDelegate = new HttpClientDelegate(this, addressResolverGroup);
         RequestTargetCache.registerClientMetrics(meterRegistry);
+        if (eventLoopScheduler instanceof DefaultEventLoopScheduler) {
+            ((DefaultEventLoopScheduler) eventLoopScheduler).registerMetrics(
+                    meterRegistry, new MeterIdPrefix("armeria.client"));
+        }
     }
 
     /**
@@ -243,6 +249,10 @@ final class HttpClientFactory implements ClientFactory {
         return http2InitialStreamWindowSize;
     }
 
+    int http2MaxFlowControlWindowSize() {
+        return http2MaxFlowControlWindowSize;
+    }
+
     int http2MaxFrameSize() {
         return http2MaxFrameSize;
     }
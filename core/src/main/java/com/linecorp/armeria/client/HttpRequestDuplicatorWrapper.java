@@ -52,6 +52,11 @@ final class HttpRequestDuplicatorWrapper implements HttpRequestDuplicator {
         return delegate.duplicate(newHeaders);
     }
 
+    @Override
+    public HttpRequest duplicatePrefix(long maxLength) {
+        return HttpRequest.of(headers, delegate.duplicatePrefix(maxLength));
+    }
+
     @Override
     public void close() {
         delegate.close();
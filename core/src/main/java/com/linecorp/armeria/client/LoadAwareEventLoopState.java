@@ -0,0 +1,191 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.linecorp.armeria.client;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.netty.channel.EventLoop;
+
+/**
+ * An {@link AbstractEventLoopState} which chooses an {@link EventLoop} by the {@link EventLoopLoad} measured
+ * across all endpoints rather than by the number of the requests to a single endpoint.
+ * An {@link EventLoop} is assigned to an endpoint lazily, choosing the least loaded one.
+ * When all assigned {@link EventLoop}s are much more loaded than an unassigned one, an assigned
+ * {@link EventLoop} which has no active requests to the endpoint is replaced with the unassigned one,
+ * so that new connections are migrated away from the hot {@link EventLoop}s.
+ */
+final class LoadAwareEventLoopState extends AbstractEventLoopState {
+
+    /**
+     * An unassigned {@link EventLoop} replaces an idle assigned one only when the assigned one is more loaded
+     * than this times the load of the unassigned one, to avoid moving connections back and forth.
+     */
+    private static final double MIGRATION_THRESHOLD = 2.0;
+
+    private final AbstractEventLoopEntry[] entries;
+    private final boolean[] assigned;
+    private int entriesSize;
+    private int allActiveRequests;
+
+    LoadAwareEventLoopState(List<EventLoop> eventLoops, int maxNumEventLoops,
+                            DefaultEventLoopScheduler scheduler) {
+        super(eventLoops, scheduler);
+        entries = new AbstractEventLoopEntry[maxNumEventLoops];
+        assigned = new boolean[eventLoops.size()];
+    }
+
+    @Override
+    AbstractEventLoopEntry acquire() {
+        lock();
+        try {
+            final AbstractEventLoopEntry e = targetEntry();
+            e.incrementActiveRequests();
+            allActiveRequests++;
+            return e;
+        } finally {
+            unlock();
+        }
+    }
+
+    private AbstractEventLoopEntry targetEntry() {
+        int bestIndex = -1;
+        double bestLoad = Double.MAX_VALUE;
+        int idleIndex = -1;
+        double idleLoad = -1;
+        for (int i = 0; i < entriesSize; i++) {
+            final Entry e = (Entry) entries[i];
+            final double load = e.load.load();
+            if (load < bestLoad) {
+                bestLoad = load;
+                bestIndex = i;
+            }
+            if (e.activeRequests() == 0 && load > idleLoad) {
+                // The most loaded entry which can be migrated.
+                idleLoad = load;
+                idleIndex = i;
+            }
+        }
+
+        final EventLoopLoad candidate = scheduler().leastLoaded(assigned);
+        if (candidate == null) {
+            // All event loops are assigned already.
+            assert bestIndex >= 0;
+            return entries[bestIndex];
+        }
+
+        final double candidateLoad = candidate.load();
+        if (entriesSize < entries.length) {
+            if (bestIndex < 0 || candidateLoad < bestLoad) {
+                return addEntry(entriesSize++, candidate);
+            }
+            return entries[bestIndex];
+        }
+
+        if (idleIndex >= 0 && bestLoad > candidateLoad * MIGRATION_THRESHOLD) {
+            assigned[((Entry) entries[idleIndex]).load.index()] = false;
+            return addEntry(idleIndex, candidate);
+        }
+        return entries[bestIndex];
+    }
+
+    private AbstractEventLoopEntry addEntry(int index, EventLoopLoad load) {
+        final Entry e = new Entry(this, load, index);
+        entries[index] = e;
+        assigned[load.index()] = true;
+        return e;
+    }
+
+    @Override
+    void release(AbstractEventLoopEntry e) {
+        lock();
+        try {
+            e.decrementActiveRequests();
+            if (--allActiveRequests == 0) {
+                setLastActivityTimeNanos();
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    AbstractEventLoopEntry[] entries() {
+        lock();
+        try {
+            return Arrays.copyOf(entries, entriesSize);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    int allActiveRequests() {
+        return allActiveRequests;
+    }
+
+    private static final class Entry extends AbstractEventLoopEntry {
+
+        private final EventLoopLoad load;
+        private final int id;
+
+        private int activeRequests;
+
+        Entry(AbstractEventLoopState parent, EventLoopLoad load, int id) {
+            super(parent, load.eventLoop());
+            this.load = load;
+            this.id = id;
+        }
+
+        @Override
+        int activeRequests() {
+            return activeRequests;
+        }
+
+        @Override
+        void incrementActiveRequests() {
+            activeRequests++;
+            load.incrementActiveRequests();
+        }
+
+        @Override
+        void decrementActiveRequests() {
+            activeRequests--;
+            load.decrementActiveRequests();
+        }
+
+        @Override
+        int id() {
+            return id;
+        }
+
+        @Override
+        int index() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        void setIndex(int index) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toString() {
+            return "(" + id + ", " + activeRequests + ", " + load.index() + ')';
+        }
+    }
+}
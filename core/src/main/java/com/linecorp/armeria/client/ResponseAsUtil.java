@@ -27,6 +27,7 @@ import com.linecorp.armeria.common.AggregatedHttpResponse;
 import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
+import com.linecorp.armeria.internal.common.JavaVersionSpecific;
 
 final class ResponseAsUtil {
 
@@ -39,6 +40,10 @@ final class ResponseAsUtil {
                 @Override
                 public AggregatedHttpResponse as(HttpResponse response) {
                     requireNonNull(response, "response");
+                    if (JavaVersionSpecific.get().isVirtualThread(Thread.currentThread())) {
+                        // Park the virtual thread without the overhead of CompletableFutures.
+                        return BlockingResponseAggregator.aggregate(response);
+                    }
                     try {
                         return response.aggregate().join();
                     } catch (Exception ex) {
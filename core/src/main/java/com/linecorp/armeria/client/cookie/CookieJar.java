@@ -20,12 +20,21 @@ import java.net.URI;
 
 import com.linecorp.armeria.common.Cookie;
 import com.linecorp.armeria.common.Cookies;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 
 /**
  * A {@link Cookie} container for a client.
  */
 public interface CookieJar {
 
+    /**
+     * Returns a new {@link CookieJarBuilder} which creates an in-memory {@link CookieJar}.
+     */
+    @UnstableApi
+    static CookieJarBuilder builder() {
+        return new CookieJarBuilder();
+    }
+
     /**
      * Returns the unexpired {@link Cookies} for the specified {@link URI}.
      */
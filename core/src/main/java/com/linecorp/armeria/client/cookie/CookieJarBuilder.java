@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.cookie;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.linecorp.armeria.common.Cookie;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A builder for creating a new in-memory {@link CookieJar}.
+ */
+@UnstableApi
+public final class CookieJarBuilder {
+
+    private CookiePolicy cookiePolicy = CookiePolicy.acceptOriginOnly();
+    private int maxNumCookies = Integer.MAX_VALUE;
+
+    CookieJarBuilder() {}
+
+    /**
+     * Sets the {@link CookiePolicy} which determines whether a {@link Cookie} is accepted.
+     * If unspecified, {@link CookiePolicy#acceptOriginOnly()} is used.
+     */
+    public CookieJarBuilder cookiePolicy(CookiePolicy cookiePolicy) {
+        this.cookiePolicy = requireNonNull(cookiePolicy, "cookiePolicy");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of {@link Cookie}s the {@link CookieJar} holds. When the limit is exceeded,
+     * the {@link Cookie}s which have not been used recently are evicted. If unspecified, the number of
+     * {@link Cookie}s is not limited.
+     */
+    public CookieJarBuilder maxNumCookies(int maxNumCookies) {
+        checkArgument(maxNumCookies > 0, "maxNumCookies: %s (expected: > 0)", maxNumCookies);
+        this.maxNumCookies = maxNumCookies;
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link CookieJar} based on the properties of this builder.
+     */
+    public CookieJar build() {
+        return new DefaultCookieJar(cookiePolicy, maxNumCookies);
+    }
+}
@@ -19,14 +19,19 @@ package com.linecorp.armeria.client.cookie;
 import static java.util.Objects.requireNonNull;
 
 import java.net.URI;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ascii;
 import com.google.common.base.Strings;
 
 import com.linecorp.armeria.common.Cookie;
@@ -34,51 +39,81 @@ import com.linecorp.armeria.common.CookieBuilder;
 import com.linecorp.armeria.common.Cookies;
 import com.linecorp.armeria.common.Scheme;
 import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
 
 import io.netty.util.NetUtil;
-import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 
 /**
  * A default in-memory {@link CookieJar} implementation.
+ *
+ * <p>The cookies are indexed by their domains, so that {@link #get(URI)} looks up only the domains which
+ * match the host, i.e. the host itself and its parent domains, rather than scanning all domains.
+ * {@link #get(URI)} doesn't acquire any lock unless it finds an expired or evicted cookie to clean up.
+ * {@link #set(URI, Iterable, long)} locks only the domains of the specified cookies.</p>
+ *
+ * <p>If the maximum number of cookies is specified, the cookies which have not been used recently are
+ * evicted when the limit is exceeded. The expired cookies are removed when they are looked up.</p>
  */
 final class DefaultCookieJar implements CookieJar {
 
-    private final Object2LongOpenHashMap<Cookie> store;
     /**
-     * Used to find cookies for a host that matches a domain. For example, if there is a domain example.com,
-     * host example.com or foo.example.com will match all cookies in that entry.
+     * The cookies keyed by their names, domains and paths.
+     */
+    private final Cache<CookieKey, CookieEntry> store;
+    /**
+     * The keys of the cookies in {@link #store}, grouped by their domains. A host matches the cookies in
+     * the entries of the host itself and its parent domains, e.g. host {@code foo.example.com} matches
+     * the entries of {@code foo.example.com} and {@code example.com}.
+     */
+    private final ConcurrentHashMap<String, DomainCookies> domains = new ConcurrentHashMap<>();
+    /**
+     * The keys of the cookies evicted from {@link #store}, which have to be removed from {@link #domains}.
      */
-    private final Map<String, Set<Cookie>> filter;
+    private final Queue<CookieKey> evictedKeys = new ConcurrentLinkedQueue<>();
     private final CookiePolicy cookiePolicy;
-    private final ReentrantLock lock;
 
     DefaultCookieJar() {
         this(CookiePolicy.acceptOriginOnly());
     }
 
     DefaultCookieJar(CookiePolicy cookiePolicy) {
+        this(cookiePolicy, Integer.MAX_VALUE);
+    }
+
+    DefaultCookieJar(CookiePolicy cookiePolicy, int maxNumCookies) {
         this.cookiePolicy = cookiePolicy;
-        store = new Object2LongOpenHashMap<>();
-        filter = new HashMap<>();
-        lock = new ReentrantShortLock();
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (maxNumCookies != Integer.MAX_VALUE) {
+            builder.maximumSize(maxNumCookies);
+        }
+        // Evict synchronously so that the number of cookies never exceeds the limit.
+        store = builder.executor(Runnable::run)
+                       .<CookieKey, CookieEntry>removalListener((key, value, cause) -> {
+                           if (key != null && cause == RemovalCause.SIZE) {
+                               evictedKeys.add(key);
+                           }
+                       })
+                       .build();
     }
 
     @Override
     public Cookies get(URI uri) {
         requireNonNull(uri, "uri");
-        if (store.isEmpty()) {
+        if (domains.isEmpty()) {
             return Cookies.of();
         }
-        final String host = uri.getHost();
+        final String host = Ascii.toLowerCase(uri.getHost());
         final String path = uri.getPath().isEmpty() ? "/" : uri.getPath();
         final boolean secure = isSecure(uri.getScheme());
+        final long currentTimeMillis = System.currentTimeMillis();
         final Set<Cookie> cookies = new HashSet<>();
-        lock.lock();
-        try {
-            filterGet(cookies, host, path, secure);
-        } finally {
-            lock.unlock();
+        filterGet(cookies, host, host, path, secure, currentTimeMillis);
+        if (!NetUtil.isValidIpV4Address(host) && !NetUtil.isValidIpV6Address(host)) {
+            // Look up the parent domains, e.g. 'example.com' and 'com' for 'foo.example.com'.
+            for (int i = host.indexOf('.'); i >= 0; i = host.indexOf('.', i + 1)) {
+                filterGet(cookies, host.substring(i + 1), host, path, secure, currentTimeMillis);
+            }
         }
         return Cookies.of(cookies);
     }
@@ -87,37 +122,31 @@ final class DefaultCookieJar implements CookieJar {
     public void set(URI uri, Iterable<? extends Cookie> cookies, long createdTimeMillis) {
         requireNonNull(uri, "uri");
         requireNonNull(cookies, "cookies");
-        lock.lock();
-        try {
-            for (Cookie cookie : cookies) {
-                cookie = ensureDomainAndPath(cookie, uri);
-                // remove similar cookie if present
-                store.removeLong(cookie);
-                if ((cookie.maxAge() == Cookie.UNDEFINED_MAX_AGE || cookie.maxAge() > 0) &&
-                    cookiePolicy.accept(uri, cookie)) {
-                    store.put(cookie, createdTimeMillis);
-                    final Set<Cookie> cookieSet = filter.computeIfAbsent(cookie.domain(), s -> new HashSet<>());
-                    // remove similar cookie if present
-                    cookieSet.remove(cookie);
-                    cookieSet.add(cookie);
-                }
+        removeEvictedKeys();
+        for (Cookie cookie : cookies) {
+            cookie = ensureDomainAndPath(cookie, uri);
+            final CookieKey key = new CookieKey(cookie);
+            if ((cookie.maxAge() == Cookie.UNDEFINED_MAX_AGE || cookie.maxAge() > 0) &&
+                cookiePolicy.accept(uri, cookie)) {
+                put(key, new CookieEntry(cookie, createdTimeMillis));
+            } else {
+                // Remove the similar cookie if present.
+                remove(key);
             }
-        } finally {
-            lock.unlock();
         }
     }
 
     @Override
     public CookieState state(Cookie cookie, long currentTimeMillis) {
         requireNonNull(cookie, "cookie");
-        lock.lock();
-        final long createdTimeMillis = store.getOrDefault(cookie, Long.MIN_VALUE);
-        lock.unlock();
-        if (createdTimeMillis == Long.MIN_VALUE) {
+        if (cookie.domain() == null || cookie.path() == null) {
+            return CookieState.NON_EXISTENT;
+        }
+        final CookieEntry entry = store.getIfPresent(new CookieKey(cookie));
+        if (entry == null || !entry.cookie.equals(cookie)) {
             return CookieState.NON_EXISTENT;
         }
-        return isExpired(cookie, createdTimeMillis, currentTimeMillis) ?
-               CookieState.EXPIRED : CookieState.EXISTENT;
+        return entry.isExpired(currentTimeMillis) ? CookieState.EXPIRED : CookieState.EXISTENT;
     }
 
     /**
@@ -154,29 +183,91 @@ final class DefaultCookieJar implements CookieJar {
         return cb.build();
     }
 
-    private void filterGet(Set<Cookie> cookies, String host, String path, boolean secure) {
-        final long currentTimeMillis = System.currentTimeMillis();
-        for (Map.Entry<String, Set<Cookie>> entry : filter.entrySet()) {
-            if (domainMatches(entry.getKey(), host)) {
-                final Iterator<Cookie> it = entry.getValue().iterator();
-                while (it.hasNext()) {
-                    final Cookie cookie = it.next();
-                    final long createdTimeMillis = store.getOrDefault(cookie, Long.MIN_VALUE);
-                    if (createdTimeMillis == Long.MIN_VALUE) {
-                        // the cookie has been removed from the main store so remove it from filter also
-                        it.remove();
-                        break;
-                    }
-                    if (isExpired(cookie, createdTimeMillis, currentTimeMillis)) {
-                        it.remove();
-                        store.removeLong(cookie);
-                        break;
-                    }
-                    if (cookieMatches(cookie, host, path, secure)) {
-                        cookies.add(cookie);
-                    }
+    private void filterGet(Set<Cookie> cookies, String domain, String host, String path, boolean secure,
+                           long currentTimeMillis) {
+        final DomainCookies domainCookies = domains.get(domain);
+        if (domainCookies == null) {
+            return;
+        }
+        for (CookieKey key : domainCookies.keys) {
+            final CookieEntry entry = store.getIfPresent(key);
+            if (entry == null) {
+                // The cookie has been evicted from the store, so remove it from the domain also.
+                removeIfAbsent(key, null);
+                continue;
+            }
+            if (entry.isExpired(currentTimeMillis)) {
+                removeIfAbsent(key, entry);
+                continue;
+            }
+            if (cookieMatches(entry.cookie, host, path, secure)) {
+                cookies.add(entry.cookie);
+            }
+        }
+    }
+
+    private void put(CookieKey key, CookieEntry entry) {
+        for (;;) {
+            final DomainCookies domainCookies = domains.computeIfAbsent(key.domain, DomainCookies::new);
+            domainCookies.lock.lock();
+            try {
+                if (domainCookies.removed) {
+                    // Removed from the map while acquiring the lock; retry with a new one.
+                    continue;
                 }
+                store.put(key, entry);
+                domainCookies.keys.add(key);
+                return;
+            } finally {
+                domainCookies.lock.unlock();
+            }
+        }
+    }
+
+    private void remove(CookieKey key) {
+        final DomainCookies domainCookies = domains.get(key.domain);
+        if (domainCookies == null) {
+            // A cookie is always put into the store after its domain is added.
+            return;
+        }
+        domainCookies.lock.lock();
+        try {
+            store.invalidate(key);
+            domainCookies.remove(key);
+        } finally {
+            domainCookies.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the specified {@link CookieKey} from its domain if it's not in the store anymore, e.g. evicted.
+     * If {@code expired} is not {@code null}, it's removed from the store first unless it has been replaced.
+     */
+    private void removeIfAbsent(CookieKey key, @Nullable CookieEntry expired) {
+        final DomainCookies domainCookies = domains.get(key.domain);
+        if (domainCookies == null) {
+            return;
+        }
+        domainCookies.lock.lock();
+        try {
+            if (expired != null) {
+                store.asMap().remove(key, expired);
             }
+            if (!store.asMap().containsKey(key)) {
+                domainCookies.remove(key);
+            }
+        } finally {
+            domainCookies.lock.unlock();
+        }
+    }
+
+    private void removeEvictedKeys() {
+        for (;;) {
+            final CookieKey key = evictedKeys.poll();
+            if (key == null) {
+                break;
+            }
+            removeIfAbsent(key, null);
         }
     }
 
@@ -191,19 +282,6 @@ final class DefaultCookieJar implements CookieJar {
         return parsedProtocol != null && parsedProtocol.isTls();
     }
 
-    private static boolean isExpired(Cookie cookie, long createdTimeMillis, long currentTimeMillis) {
-        final long timePassed = currentTimeMillis - createdTimeMillis;
-        return cookie.maxAge() != Cookie.UNDEFINED_MAX_AGE && timePassed > cookie.maxAge() * 1000;
-    }
-
-    private static boolean domainMatches(String domain, String host) {
-        if (domain.equalsIgnoreCase(host)) {
-            return true;
-        }
-        return host.endsWith(domain) && host.charAt(host.length() - domain.length() - 1) == '.' &&
-               !NetUtil.isValidIpV4Address(host) && !NetUtil.isValidIpV6Address(host);
-    }
-
     private static boolean cookieMatches(Cookie cookie, String host, String path, boolean secure) {
         // if a cookie is host-only, host and domain have to be identical
         final boolean satisfiedHostOnly = !cookie.isHostOnly() || host.equalsIgnoreCase(cookie.domain());
@@ -213,4 +291,89 @@ final class DefaultCookieJar implements CookieJar {
         final boolean pathMatched = path.startsWith(cookiePath);
         return satisfiedHostOnly && satisfiedSecure && pathMatched;
     }
+
+    /**
+     * The identity of a {@link Cookie}. A {@link Cookie} replaces the existing one with the same name, domain
+     * and path, as defined in <a href="https://datatracker.ietf.org/doc/html/rfc6265#section-5.3">RFC 6265,
+     * section 5.3</a>.
+     */
+    private static final class CookieKey {
+
+        private final String name;
+        private final String domain;
+        private final String path;
+
+        CookieKey(Cookie cookie) {
+            name = cookie.name();
+            final String domain = cookie.domain();
+            final String path = cookie.path();
+            assert domain != null && path != null;
+            this.domain = Ascii.toLowerCase(domain);
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CookieKey)) {
+                return false;
+            }
+            final CookieKey that = (CookieKey) o;
+            return name.equals(that.name) && domain.equals(that.domain) && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, domain, path);
+        }
+    }
+
+    private static final class CookieEntry {
+
+        final Cookie cookie;
+        final long createdTimeMillis;
+
+        CookieEntry(Cookie cookie, long createdTimeMillis) {
+            this.cookie = cookie;
+            this.createdTimeMillis = createdTimeMillis;
+        }
+
+        boolean isExpired(long currentTimeMillis) {
+            final long timePassed = currentTimeMillis - createdTimeMillis;
+            return cookie.maxAge() != Cookie.UNDEFINED_MAX_AGE && timePassed > cookie.maxAge() * 1000;
+        }
+    }
+
+    /**
+     * The keys of the cookies of a domain. The keys are read without a lock and updated with the lock
+     * acquired.
+     */
+    private final class DomainCookies {
+
+        final String domain;
+        final Set<CookieKey> keys = ConcurrentHashMap.newKeySet();
+        final ReentrantLock lock = new ReentrantShortLock();
+        /**
+         * Whether this has been removed from {@code domains} because it became empty. Guarded by {@link #lock}.
+         */
+        boolean removed;
+
+        DomainCookies(String domain) {
+            this.domain = domain;
+        }
+
+        /**
+         * Removes the specified {@link CookieKey}, and removes this from {@code domains} if empty.
+         * Must be called with the {@link #lock} acquired.
+         */
+        void remove(CookieKey key) {
+            keys.remove(key);
+            if (keys.isEmpty() && !removed) {
+                removed = true;
+                domains.remove(domain, this);
+            }
+        }
+    }
 }
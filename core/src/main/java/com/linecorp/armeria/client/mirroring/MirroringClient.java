@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.mirroring;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.ClientRequestContextCaptor;
+import com.linecorp.armeria.client.Clients;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.client.SimpleDecoratingHttpClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.ByteBufAccessMode;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpHeaders;
+import com.linecorp.armeria.common.HttpObject;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpRequestWriter;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.NoopSubscriber;
+import com.linecorp.armeria.common.util.Sampler;
+
+/**
+ * Decorates an {@link HttpClient} to mirror a sampled share of the {@link HttpRequest}s to another
+ * {@link WebClient}, e.g. a canary cluster. The mirrored requests never affect the primary requests:
+ * <ul>
+ *   <li>The content of a request is shared with the mirrored request by reference count as the primary
+ *       request publishes it, so the primary request is neither delayed nor buffered.</li>
+ *   <li>A mirrored request is aborted when it falls behind the primary request by more than
+ *       {@link MirroringClientBuilder#maxPendingBytes(long)}, instead of backpressuring the primary
+ *       request.</li>
+ *   <li>The number of the in-flight mirrored requests is limited by
+ *       {@link MirroringClientBuilder#maxConcurrency(int)}. A request is not mirrored when the limit is
+ *       reached.</li>
+ *   <li>The responses of the mirrored requests are discarded.</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * WebClient canary = WebClient.of("http://canary.example.com");
+ * WebClient client =
+ *     WebClient.builder("http://production.example.com")
+ *              .decorator(MirroringClient.builder(canary)
+ *                                        .sampler(Sampler.random(0.01f))
+ *                                        .meterRegistry(meterRegistry)
+ *                                        .newDecorator())
+ *              .build();
+ * }</pre>
+ */
+public final class MirroringClient extends SimpleDecoratingHttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(MirroringClient.class);
+
+    /**
+     * Returns a new {@link HttpClient} decorator which mirrors all requests to the specified
+     * {@link WebClient} with the default limits.
+     */
+    public static Function<? super HttpClient, MirroringClient> newDecorator(WebClient mirrorClient) {
+        return builder(mirrorClient).newDecorator();
+    }
+
+    /**
+     * Returns a newly-created {@link MirroringClientBuilder} which mirrors requests to the specified
+     * {@link WebClient}.
+     */
+    public static MirroringClientBuilder builder(WebClient mirrorClient) {
+        return new MirroringClientBuilder(requireNonNull(mirrorClient, "mirrorClient"));
+    }
+
+    private final WebClient mirrorClient;
+    private final Sampler<? super ClientRequestContext> sampler;
+    private final int maxConcurrency;
+    private final long maxPendingBytes;
+    @Nullable
+    private final MirroringMetrics metrics;
+
+    private final AtomicInteger numInFlight = new AtomicInteger();
+
+    MirroringClient(HttpClient delegate, WebClient mirrorClient, Sampler<? super ClientRequestContext> sampler,
+                    int maxConcurrency, long maxPendingBytes, @Nullable MirroringMetrics metrics) {
+        super(delegate);
+        this.mirrorClient = mirrorClient;
+        this.sampler = sampler;
+        this.maxConcurrency = maxConcurrency;
+        this.maxPendingBytes = maxPendingBytes;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public HttpResponse execute(ClientRequestContext ctx, HttpRequest req) throws Exception {
+        if (!sampler.isSampled(ctx)) {
+            return unwrap().execute(ctx, req);
+        }
+        if (numInFlight.incrementAndGet() > maxConcurrency) {
+            numInFlight.decrementAndGet();
+            if (metrics != null) {
+                metrics.skipped();
+            }
+            return unwrap().execute(ctx, req);
+        }
+
+        final RequestHeaders mirrorHeaders = req.headers().toBuilder()
+                                                .removeAndThen(HttpHeaderNames.AUTHORITY)
+                                                .removeAndThen(HttpHeaderNames.HOST)
+                                                .build();
+        final HttpRequestWriter mirrorReq = HttpRequest.streaming(mirrorHeaders);
+        final Tee tee = new Tee(mirrorReq);
+        final HttpRequest primaryReq = HttpRequest.of(req.headers(), req.peek(tee));
+        primaryReq.whenComplete().handle((unused, cause) -> {
+            if (cause == null) {
+                mirrorReq.close();
+            } else {
+                mirrorReq.abort(cause);
+            }
+            return null;
+        });
+        ctx.updateRequest(primaryReq);
+
+        // Send the mirrored request from a separate task without any context,
+        // so that it neither delays the primary request nor inherits its context.
+        ctx.eventLoop().withoutContext().execute(() -> mirror(ctx, tee.pendingRequest()));
+        return unwrap().execute(ctx, primaryReq);
+    }
+
+    private void mirror(ClientRequestContext primaryCtx, HttpRequest mirrorReq) {
+        final HttpResponse mirrorRes;
+        final ClientRequestContext mirrorCtx;
+        try (ClientRequestContextCaptor captor = Clients.newContextCaptor()) {
+            mirrorRes = mirrorClient.execute(mirrorReq);
+            mirrorCtx = captor.getOrNull();
+        } catch (Throwable cause) {
+            numInFlight.decrementAndGet();
+            mirrorReq.abort(cause);
+            logger.debug("Failed to send a mirrored request: {}", mirrorReq, cause);
+            return;
+        }
+
+        mirrorRes.subscribe(NoopSubscriber.get());
+        mirrorRes.whenComplete().handle((unused1, unused2) -> {
+            numInFlight.decrementAndGet();
+            return null;
+        });
+        if (metrics != null) {
+            metrics.mirrored();
+            if (mirrorCtx != null) {
+                metrics.compare(primaryCtx, mirrorCtx);
+            }
+        }
+    }
+
+    /**
+     * Writes the {@link HttpObject}s published to the primary request to the mirrored request, sharing the
+     * pooled content by reference count, until the mirrored request falls behind.
+     */
+    private final class Tee implements Consumer<HttpObject> {
+
+        private final HttpRequestWriter mirrorReq;
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private boolean dropped;
+
+        Tee(HttpRequestWriter mirrorReq) {
+            this.mirrorReq = mirrorReq;
+        }
+
+        /**
+         * Returns the mirrored request which decreases the pending bytes as it is consumed.
+         */
+        HttpRequest pendingRequest() {
+            return mirrorReq.peekData(data -> pendingBytes.addAndGet(-data.length()));
+        }
+
+        @Override
+        public void accept(HttpObject obj) {
+            if (dropped) {
+                return;
+            }
+            if (!mirrorReq.isOpen()) {
+                // The mirrored request was aborted or failed. Stop duplicating the content.
+                dropped = true;
+                return;
+            }
+            if (obj instanceof HttpData) {
+                final HttpData data = (HttpData) obj;
+                if (pendingBytes.addAndGet(data.length()) > maxPendingBytes) {
+                    dropped = true;
+                    mirrorReq.abort(MirroredRequestDroppedException.INSTANCE);
+                    if (metrics != null) {
+                        metrics.dropped();
+                    }
+                    return;
+                }
+                final HttpData shared;
+                if (data.isPooled()) {
+                    shared = HttpData.wrap(data.byteBuf(ByteBufAccessMode.RETAINED_DUPLICATE))
+                                     .withEndOfStream(data.isEndOfStream());
+                } else {
+                    shared = data;
+                }
+                // tryWrite() releases 'shared' when it fails, so it must not be released again here.
+                // Otherwise, the content of the primary request would be released as well because
+                // they share the reference count.
+                if (!mirrorReq.tryWrite(shared)) {
+                    dropped = true;
+                }
+            } else if (obj instanceof HttpHeaders) {
+                if (!mirrorReq.tryWrite((HttpHeaders) obj)) {
+                    dropped = true;
+                }
+            }
+        }
+    }
+
+    private static final class MirroredRequestDroppedException extends RuntimeException {
+
+        private static final long serialVersionUID = -3127605713394545387L;
+
+        static final MirroredRequestDroppedException INSTANCE = new MirroredRequestDroppedException();
+
+        private MirroredRequestDroppedException() {
+            super("The mirrored request fell behind the primary request.", null, false, false);
+        }
+    }
+}
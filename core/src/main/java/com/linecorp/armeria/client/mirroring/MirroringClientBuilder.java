@@ -0,0 +1,119 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.mirroring;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.client.HttpClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.util.Sampler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds a new {@link MirroringClient} or its decorator function.
+ */
+public final class MirroringClientBuilder {
+
+    static final int DEFAULT_MAX_CONCURRENCY = 64;
+    static final long DEFAULT_MAX_PENDING_BYTES = 1024 * 1024;
+    private static final MeterIdPrefix DEFAULT_METER_ID_PREFIX = new MeterIdPrefix("armeria.client.mirroring");
+
+    private final WebClient mirrorClient;
+    private Sampler<? super ClientRequestContext> sampler = Sampler.always();
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private long maxPendingBytes = DEFAULT_MAX_PENDING_BYTES;
+    @Nullable
+    private MeterRegistry meterRegistry;
+    private MeterIdPrefix meterIdPrefix = DEFAULT_METER_ID_PREFIX;
+
+    MirroringClientBuilder(WebClient mirrorClient) {
+        this.mirrorClient = mirrorClient;
+    }
+
+    /**
+     * Sets the {@link Sampler} which determines whether a request is mirrored.
+     * If unspecified, all requests are mirrored as long as the concurrency limit allows.
+     */
+    public MirroringClientBuilder sampler(Sampler<? super ClientRequestContext> sampler) {
+        this.sampler = requireNonNull(sampler, "sampler");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of the in-flight mirrored requests. A sampled request is not mirrored
+     * if the limit is reached. If unspecified, {@value #DEFAULT_MAX_CONCURRENCY} is used.
+     */
+    public MirroringClientBuilder maxConcurrency(int maxConcurrency) {
+        checkArgument(maxConcurrency > 0, "maxConcurrency: %s (expected: > 0)", maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes the mirrored request is allowed to fall behind the primary request.
+     * A mirrored request which has not consumed more than this number of bytes of the content published
+     * to the primary request is aborted. If unspecified, {@value #DEFAULT_MAX_PENDING_BYTES} is used.
+     */
+    public MirroringClientBuilder maxPendingBytes(long maxPendingBytes) {
+        checkArgument(maxPendingBytes > 0, "maxPendingBytes: %s (expected: > 0)", maxPendingBytes);
+        this.maxPendingBytes = maxPendingBytes;
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterRegistry} which records the number of the mirrored, skipped and dropped
+     * requests and compares the status and the latency of the mirrored responses with the primary
+     * responses. If unspecified, no metrics are recorded.
+     */
+    public MirroringClientBuilder meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = requireNonNull(meterRegistry, "meterRegistry");
+        return this;
+    }
+
+    /**
+     * Sets the {@link MeterIdPrefix} of the metrics recorded when {@link #meterRegistry(MeterRegistry)}
+     * is specified. If unspecified, {@code "armeria.client.mirroring"} is used.
+     */
+    public MirroringClientBuilder meterIdPrefix(MeterIdPrefix meterIdPrefix) {
+        this.meterIdPrefix = requireNonNull(meterIdPrefix, "meterIdPrefix");
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link MirroringClient} decorating {@code delegate} based on the properties
+     * of this builder.
+     */
+    public MirroringClient build(HttpClient delegate) {
+        requireNonNull(delegate, "delegate");
+        final MirroringMetrics metrics =
+                meterRegistry != null ? new MirroringMetrics(meterRegistry, meterIdPrefix) : null;
+        return new MirroringClient(delegate, mirrorClient, sampler, maxConcurrency, maxPendingBytes, metrics);
+    }
+
+    /**
+     * Returns a newly-created {@link MirroringClient} decorator based on the properties of this builder.
+     */
+    public Function<? super HttpClient, MirroringClient> newDecorator() {
+        return this::build;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.mirroring;
+
+import java.util.concurrent.TimeUnit;
+
+import com.linecorp.armeria.client.ClientRequestContext;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.logging.RequestLog;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the outcome of the mirrored requests and the differences between the responses of the primary
+ * requests and the mirrored requests.
+ */
+final class MirroringMetrics {
+
+    private final Counter mirrored;
+    private final Counter skipped;
+    private final Counter dropped;
+    private final Counter statusMatched;
+    private final Counter statusMismatched;
+    private final Timer slower;
+    private final Timer faster;
+
+    MirroringMetrics(MeterRegistry registry, MeterIdPrefix idPrefix) {
+        final String requests = idPrefix.name("requests");
+        mirrored = registry.counter(requests, idPrefix.tags("result", "mirrored"));
+        skipped = registry.counter(requests, idPrefix.tags("result", "skipped"));
+        dropped = registry.counter(requests, idPrefix.tags("result", "dropped"));
+
+        final String status = idPrefix.name("status");
+        statusMatched = registry.counter(status, idPrefix.tags("result", "matched"));
+        statusMismatched = registry.counter(status, idPrefix.tags("result", "mismatched"));
+
+        final String latencyDelta = idPrefix.name("latency.delta");
+        slower = Timer.builder(latencyDelta)
+                      .tags(idPrefix.tags("direction", "slower"))
+                      .register(registry);
+        faster = Timer.builder(latencyDelta)
+                      .tags(idPrefix.tags("direction", "faster"))
+                      .register(registry);
+    }
+
+    /**
+     * Increments the number of the requests which have been mirrored.
+     */
+    void mirrored() {
+        mirrored.increment();
+    }
+
+    /**
+     * Increments the number of the requests which have not been mirrored due to the concurrency limit.
+     */
+    void skipped() {
+        skipped.increment();
+    }
+
+    /**
+     * Increments the number of the mirrored requests aborted because they fell behind.
+     */
+    void dropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Compares the status and the latency of the mirrored request with the primary request when both of
+     * them are complete. The requests which failed without a response are not compared.
+     */
+    void compare(ClientRequestContext primaryCtx, ClientRequestContext mirrorCtx) {
+        primaryCtx.log().whenComplete().thenAcceptBoth(mirrorCtx.log().whenComplete(), this::compare);
+    }
+
+    private void compare(RequestLog primaryLog, RequestLog mirrorLog) {
+        if (primaryLog.responseCause() != null || mirrorLog.responseCause() != null) {
+            return;
+        }
+        final HttpStatus primaryStatus = primaryLog.responseHeaders().status();
+        final HttpStatus mirrorStatus = mirrorLog.responseHeaders().status();
+        if (primaryStatus.equals(mirrorStatus)) {
+            statusMatched.increment();
+        } else {
+            statusMismatched.increment();
+        }
+
+        final long deltaNanos = mirrorLog.totalDurationNanos() - primaryLog.totalDurationNanos();
+        if (deltaNanos >= 0) {
+            slower.record(deltaNanos, TimeUnit.NANOSECONDS);
+        } else {
+            faster.record(-deltaNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
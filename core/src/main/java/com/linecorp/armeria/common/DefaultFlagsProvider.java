@@ -93,6 +93,13 @@ final class DefaultFlagsProvider implements FlagsProvider {
     static final String FILE_SERVICE_CACHE_SPEC = "maximumSize=1024";
     static final String DNS_CACHE_SPEC = "maximumSize=4096";
     static final long DEFAULT_UNHANDLED_EXCEPTIONS_REPORT_INTERVAL_MILLIS = 10000;
+    static final long DEFAULT_MULTIPART_MAX_IN_MEMORY_LENGTH = 256 * 1024; // 256KiB
+    static final long MULTIPART_MAX_TOTAL_IN_MEMORY_LENGTH = 64 * 1024 * 1024; // 64MiB
+    static final boolean USE_CANCELLATION_TIMER_WHEEL = false;
+    static final long DEFAULT_CANCELLATION_TIMER_WHEEL_TICK_MILLIS = 10;
+    static final int DEFAULT_IO_URING_RING_SIZE = 0; // 0 means the io_uring transport default
+    static final int DEFAULT_IO_URING_IOSQE_ASYNC_THRESHOLD = -1; // -1 means the io_uring transport default
+    static final int DEFAULT_HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE = 0; // 0 disables the auto-tuning
 
     private DefaultFlagsProvider() {}
 
@@ -479,4 +486,39 @@ final class DefaultFlagsProvider implements FlagsProvider {
     public DistributionStatisticConfig distributionStatisticConfig() {
         return DistributionStatisticConfigUtil.DEFAULT_DIST_STAT_CFG;
     }
+
+    @Override
+    public Long defaultMultipartMaxInMemoryLength() {
+        return DEFAULT_MULTIPART_MAX_IN_MEMORY_LENGTH;
+    }
+
+    @Override
+    public Long multipartMaxTotalInMemoryLength() {
+        return MULTIPART_MAX_TOTAL_IN_MEMORY_LENGTH;
+    }
+
+    @Override
+    public Boolean useCancellationTimerWheel() {
+        return USE_CANCELLATION_TIMER_WHEEL;
+    }
+
+    @Override
+    public Long cancellationTimerWheelTickMillis() {
+        return DEFAULT_CANCELLATION_TIMER_WHEEL_TICK_MILLIS;
+    }
+
+    @Override
+    public Integer ioUringRingSize() {
+        return DEFAULT_IO_URING_RING_SIZE;
+    }
+
+    @Override
+    public Integer ioUringIosqeAsyncThreshold() {
+        return DEFAULT_IO_URING_IOSQE_ASYNC_THRESHOLD;
+    }
+
+    @Override
+    public Integer defaultHttp2MaxFlowControlWindowSize() {
+        return DEFAULT_HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE;
+    }
 }
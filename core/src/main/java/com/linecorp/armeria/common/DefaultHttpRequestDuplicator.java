@@ -34,12 +34,17 @@ final class DefaultHttpRequestDuplicator
     private final RequestHeaders headers;
 
     DefaultHttpRequestDuplicator(HttpRequest req, EventExecutor executor, long maxRequestLength) {
+        this(req, executor, maxRequestLength, 0);
+    }
+
+    DefaultHttpRequestDuplicator(HttpRequest req, EventExecutor executor, long maxRequestLength,
+                                 long maxInMemoryRequestLength) {
         super(requireNonNull(req, "req"), obj -> {
             if (obj instanceof HttpData) {
                 return ((HttpData) obj).length();
             }
             return 0;
-        }, executor, maxRequestLength);
+        }, executor, maxRequestLength, maxInMemoryRequestLength);
         headers = req.headers();
     }
 
@@ -59,6 +64,11 @@ final class DefaultHttpRequestDuplicator
         return new DuplicatedHttpRequest(super.duplicate(), newHeaders);
     }
 
+    @Override
+    public HttpRequest duplicatePrefix(long maxLength) {
+        return new DuplicatedHttpRequest(super.duplicatePrefix(maxLength), headers);
+    }
+
     private class DuplicatedHttpRequest
             extends StreamMessageWrapper<HttpObject> implements HttpRequest {
 
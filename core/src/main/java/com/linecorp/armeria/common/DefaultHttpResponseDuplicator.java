@@ -45,6 +45,11 @@ final class DefaultHttpResponseDuplicator
         return new DuplicatedHttpResponse(super.duplicate());
     }
 
+    @Override
+    public HttpResponse duplicatePrefix(long maxLength) {
+        return new DuplicatedHttpResponse(super.duplicatePrefix(maxLength));
+    }
+
     private class DuplicatedHttpResponse
             extends StreamMessageWrapper<HttpObject> implements HttpResponse {
 
@@ -412,6 +412,33 @@ public final class Flags {
     private static final DistributionStatisticConfig DISTRIBUTION_STATISTIC_CONFIG =
             getValue(FlagsProvider::distributionStatisticConfig, "distributionStatisticConfig");
 
+    private static final long DEFAULT_MULTIPART_MAX_IN_MEMORY_LENGTH =
+            getValue(FlagsProvider::defaultMultipartMaxInMemoryLength, "defaultMultipartMaxInMemoryLength",
+                     value -> value >= 0);
+
+    private static final long MULTIPART_MAX_TOTAL_IN_MEMORY_LENGTH =
+            getValue(FlagsProvider::multipartMaxTotalInMemoryLength, "multipartMaxTotalInMemoryLength",
+                     value -> value >= 0);
+
+    private static final boolean USE_CANCELLATION_TIMER_WHEEL =
+            getValue(FlagsProvider::useCancellationTimerWheel, "useCancellationTimerWheel");
+
+    private static final long CANCELLATION_TIMER_WHEEL_TICK_MILLIS =
+            getValue(FlagsProvider::cancellationTimerWheelTickMillis, "cancellationTimerWheelTickMillis",
+                     value -> value > 0);
+
+    private static final int IO_URING_RING_SIZE =
+            getValue(FlagsProvider::ioUringRingSize, "ioUringRingSize",
+                     value -> value >= 0);
+
+    private static final int IO_URING_IOSQE_ASYNC_THRESHOLD =
+            getValue(FlagsProvider::ioUringIosqeAsyncThreshold, "ioUringIosqeAsyncThreshold",
+                     value -> value >= -1);
+
+    private static final int DEFAULT_HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE =
+            getValue(FlagsProvider::defaultHttp2MaxFlowControlWindowSize,
+                     "defaultHttp2MaxFlowControlWindowSize", value -> value >= 0);
+
     /**
      * Returns the specification of the {@link Sampler} that determines whether to retain the stack
      * trace of the exceptions that are thrown frequently by Armeria. A sampled exception will have the stack
@@ -1539,6 +1566,120 @@ public final class Flags {
         return DISTRIBUTION_STATISTIC_CONFIG;
     }
 
+    /**
+     * Returns the default maximum number of bytes of the non-file parts of a {@code multipart/form-data}
+     * request which are aggregated in memory by an annotated service while the part is being received.
+     * A part larger than this threshold is spilled to a temporary file under
+     * {@link #defaultMultipartUploadsLocation()} so that a large or slow upload does not hold pooled
+     * buffers. The spilled part is read back into a {@link String} parameter once it is received
+     * completely, and the temporary file is removed.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_MULTIPART_MAX_IN_MEMORY_LENGTH}. Specify the
+     * {@code -Dcom.linecorp.armeria.defaultMultipartMaxInMemoryLength=<long>} JVM option to override
+     * the default value. {@code 0} means that every non-file part is spilled to a temporary file.</p>
+     */
+    @UnstableApi
+    public static long defaultMultipartMaxInMemoryLength() {
+        return DEFAULT_MULTIPART_MAX_IN_MEMORY_LENGTH;
+    }
+
+    /**
+     * Returns the maximum number of bytes which all in-flight {@code multipart/form-data} requests of
+     * a {@link com.linecorp.armeria.server.Server} are allowed to aggregate in memory in total.
+     * Once this budget is exhausted, the non-file parts are spilled to temporary files even if
+     * {@link #defaultMultipartMaxInMemoryLength()} is not exceeded.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#MULTIPART_MAX_TOTAL_IN_MEMORY_LENGTH}. Specify the
+     * {@code -Dcom.linecorp.armeria.multipartMaxTotalInMemoryLength=<long>} JVM option to override
+     * the default value.</p>
+     */
+    @UnstableApi
+    public static long multipartMaxTotalInMemoryLength() {
+        return MULTIPART_MAX_TOTAL_IN_MEMORY_LENGTH;
+    }
+
+    /**
+     * Returns whether the request and response timeouts are scheduled on a coarse hashed timing wheel
+     * bound to each event loop instead of being scheduled on the event loop one by one. The timing wheel
+     * schedules and cancels a timeout in {@code O(1)}, which reduces the overhead when a server or a
+     * client has a large number of long-lived requests, at the cost of firing a timeout up to
+     * {@link #cancellationTimerWheelTickMillis()} later.
+     *
+     * <p>This flag is disabled by default. Specify the
+     * {@code -Dcom.linecorp.armeria.useCancellationTimerWheel=true} JVM option to enable it.</p>
+     */
+    @UnstableApi
+    public static boolean useCancellationTimerWheel() {
+        return USE_CANCELLATION_TIMER_WHEEL;
+    }
+
+    /**
+     * Returns the duration of a tick in milliseconds of the timing wheel which schedules the request and
+     * response timeouts when {@link #useCancellationTimerWheel()} is enabled. A timeout may fire up to
+     * a tick later than its deadline.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_CANCELLATION_TIMER_WHEEL_TICK_MILLIS}. Specify the
+     * {@code -Dcom.linecorp.armeria.cancellationTimerWheelTickMillis=<long>} JVM option to override
+     * the default value.</p>
+     */
+    @UnstableApi
+    public static long cancellationTimerWheelTickMillis() {
+        return CANCELLATION_TIMER_WHEEL_TICK_MILLIS;
+    }
+
+    /**
+     * Returns the number of the submission queue entries of the io_uring of each event loop when
+     * {@link #transportType()} is {@link TransportType#IO_URING}. A larger ring lets an event loop batch
+     * more I/O operations into a single {@code io_uring_enter} system call.
+     * {@code 0} means the default of the io_uring transport, which is {@code 4096} unless
+     * {@code -Dio.netty.iouring.ringSize} is specified.
+     *
+     * <p>The default value of this flag is {@value DefaultFlagsProvider#DEFAULT_IO_URING_RING_SIZE}.
+     * Specify the {@code -Dcom.linecorp.armeria.ioUringRingSize=<integer>} JVM option to override
+     * the default value.</p>
+     */
+    @UnstableApi
+    public static int ioUringRingSize() {
+        return IO_URING_RING_SIZE;
+    }
+
+    /**
+     * Returns the number of the in-flight operations of an io_uring event loop above which the
+     * submissions are flagged with {@code IOSQE_ASYNC}, i.e. handed over to the kernel worker threads
+     * instead of being attempted inline, when {@link #transportType()} is {@link TransportType#IO_URING}.
+     * {@code 0} flags all submissions with {@code IOSQE_ASYNC}. {@code -1} means the default of
+     * the io_uring transport, which is {@code 25} unless {@code -Dio.netty.iouring.iosqeAsyncThreshold}
+     * is specified.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_IO_URING_IOSQE_ASYNC_THRESHOLD}. Specify the
+     * {@code -Dcom.linecorp.armeria.ioUringIosqeAsyncThreshold=<integer>} JVM option to override
+     * the default value.</p>
+     */
+    @UnstableApi
+    public static int ioUringIosqeAsyncThreshold() {
+        return IO_URING_IOSQE_ASYNC_THRESHOLD;
+    }
+
+    /**
+     * Returns the default maximum size the HTTP/2 connection-level and stream-level flow-control windows
+     * are grown to as the bandwidth-delay product of a connection is estimated from the round trip time
+     * of PING frames. The windows start from {@link #defaultHttp2InitialConnectionWindowSize()} and
+     * {@link #defaultHttp2InitialStreamWindowSize()} and never shrink. {@code 0} disables the auto-tuning.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE}. Specify the
+     * {@code -Dcom.linecorp.armeria.defaultHttp2MaxFlowControlWindowSize=<integer>} JVM option to
+     * override the default value.</p>
+     */
+    @UnstableApi
+    public static int defaultHttp2MaxFlowControlWindowSize() {
+        return DEFAULT_HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE;
+    }
+
     @Nullable
     private static String nullableCaffeineSpec(Function<FlagsProvider, String> method, String flagName) {
         return caffeineSpec(method, flagName, true);
@@ -1159,4 +1159,110 @@ public interface FlagsProvider {
     default DistributionStatisticConfig distributionStatisticConfig() {
         return null;
     }
+
+    /**
+     * Returns the default maximum number of bytes of the non-file parts of a {@code multipart/form-data}
+     * request which are aggregated in memory by an annotated service.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_MULTIPART_MAX_IN_MEMORY_LENGTH}. Specify the
+     * {@code -Dcom.linecorp.armeria.defaultMultipartMaxInMemoryLength=<long>} JVM option to override
+     * the default value.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Long defaultMultipartMaxInMemoryLength() {
+        return null;
+    }
+
+    /**
+     * Returns the maximum number of bytes which all in-flight {@code multipart/form-data} requests of
+     * a {@link com.linecorp.armeria.server.Server} are allowed to aggregate in memory in total.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#MULTIPART_MAX_TOTAL_IN_MEMORY_LENGTH}. Specify the
+     * {@code -Dcom.linecorp.armeria.multipartMaxTotalInMemoryLength=<long>} JVM option to override
+     * the default value.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Long multipartMaxTotalInMemoryLength() {
+        return null;
+    }
+
+    /**
+     * Returns whether the request and response timeouts are scheduled on a coarse hashed timing wheel
+     * bound to each event loop instead of being scheduled on the event loop one by one.
+     *
+     * <p>This flag is disabled by default. Specify the
+     * {@code -Dcom.linecorp.armeria.useCancellationTimerWheel=true} JVM option to enable it.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Boolean useCancellationTimerWheel() {
+        return null;
+    }
+
+    /**
+     * Returns the duration of a tick in milliseconds of the timing wheel which schedules the request and
+     * response timeouts when {@link Flags#useCancellationTimerWheel()} is enabled.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_CANCELLATION_TIMER_WHEEL_TICK_MILLIS}. Specify the
+     * {@code -Dcom.linecorp.armeria.cancellationTimerWheelTickMillis=<long>} JVM option to override
+     * the default value.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Long cancellationTimerWheelTickMillis() {
+        return null;
+    }
+
+    /**
+     * Returns the number of the submission queue entries of the io_uring of each event loop when
+     * {@link Flags#transportType()} is {@link TransportType#IO_URING}. {@code 0} means the default of
+     * the io_uring transport.
+     *
+     * <p>The default value of this flag is {@value DefaultFlagsProvider#DEFAULT_IO_URING_RING_SIZE}.
+     * Specify the {@code -Dcom.linecorp.armeria.ioUringRingSize=<integer>} JVM option to override
+     * the default value.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Integer ioUringRingSize() {
+        return null;
+    }
+
+    /**
+     * Returns the number of the in-flight operations of an io_uring event loop above which the
+     * submissions are flagged with {@code IOSQE_ASYNC} when {@link Flags#transportType()} is
+     * {@link TransportType#IO_URING}. {@code 0} flags all submissions with {@code IOSQE_ASYNC}.
+     * {@code -1} means the default of the io_uring transport.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_IO_URING_IOSQE_ASYNC_THRESHOLD}. Specify the
+     * {@code -Dcom.linecorp.armeria.ioUringIosqeAsyncThreshold=<integer>} JVM option to override
+     * the default value.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Integer ioUringIosqeAsyncThreshold() {
+        return null;
+    }
+
+    /**
+     * Returns the default maximum size the HTTP/2 connection-level and stream-level flow-control windows
+     * are grown to as the bandwidth-delay product of a connection is estimated. {@code 0} disables
+     * the auto-tuning.
+     *
+     * <p>The default value of this flag is
+     * {@value DefaultFlagsProvider#DEFAULT_HTTP2_MAX_FLOW_CONTROL_WINDOW_SIZE}. Specify the
+     * {@code -Dcom.linecorp.armeria.defaultHttp2MaxFlowControlWindowSize=<integer>} JVM option to
+     * override the default value.</p>
+     */
+    @Nullable
+    @UnstableApi
+    default Integer defaultHttp2MaxFlowControlWindowSize() {
+        return null;
+    }
 }
@@ -644,6 +644,26 @@ public interface HttpRequest extends Request, HttpMessage {
         return new DefaultHttpRequestDuplicator(this, executor, maxRequestLength);
     }
 
+    /**
+     * Returns a new {@link HttpRequestDuplicator} that duplicates this {@link HttpRequest} into one or
+     * more {@link HttpRequest}s, which publish the same elements, keeping up to the specified
+     * {@code maxInMemoryRequestLength} of the content in memory. The content beyond it is written to
+     * a temporary file and read back when the duplicated {@link HttpRequest}s publish it, so that a large
+     * request can be duplicated without holding it on the heap.
+     * Note that you cannot subscribe to this {@link HttpRequest} anymore after you call this method.
+     *
+     * @param executor the executor to duplicate
+     * @param maxRequestLength the maximum length of the request. {@code 0} disables the limit.
+     * @param maxInMemoryRequestLength the maximum length of the content kept in memory.
+     *                                 {@code 0} keeps all content in memory.
+     */
+    @UnstableApi
+    default HttpRequestDuplicator toDuplicator(EventExecutor executor, long maxRequestLength,
+                                               long maxInMemoryRequestLength) {
+        requireNonNull(executor, "executor");
+        return new DefaultHttpRequestDuplicator(this, executor, maxRequestLength, maxInMemoryRequestLength);
+    }
+
     /**
      * Returns a new {@link SplitHttpRequest} which splits a stream of {@link HttpObject}s into
      * {@link HttpData}s and an HTTP trailers.
@@ -20,8 +20,10 @@ import org.reactivestreams.Subscriber;
 
 import com.google.errorprone.annotations.CheckReturnValue;
 
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.stream.StreamMessageDuplicator;
 import com.linecorp.armeria.common.stream.SubscriptionOption;
+import com.linecorp.armeria.internal.common.stream.PrefixPublisher;
 
 /**
  * A duplicator that duplicates a {@link HttpRequest} into one or more {@link HttpRequest}s,
@@ -71,4 +73,20 @@ public interface HttpRequestDuplicator extends StreamMessageDuplicator<HttpObjec
      */
     @CheckReturnValue
     HttpRequest duplicate(RequestHeaders newHeaders);
+
+    /**
+     * Returns a new {@link HttpRequest} that publishes the leading {@link HttpData}s of the
+     * {@link HttpRequest} that this duplicator is created from, until their total length reaches
+     * the specified {@code maxLength}. The {@linkplain HttpHeaders trailers} are published only if
+     * the content is shorter than {@code maxLength}.
+     *
+     * @see StreamMessageDuplicator#duplicatePrefix(long)
+     */
+    @Override
+    @UnstableApi
+    @CheckReturnValue
+    default HttpRequest duplicatePrefix(long maxLength) {
+        final HttpRequest duplicate = duplicate();
+        return HttpRequest.of(duplicate.headers(), new PrefixPublisher<>(duplicate, maxLength));
+    }
 }
@@ -20,8 +20,10 @@ import org.reactivestreams.Subscriber;
 
 import com.google.errorprone.annotations.CheckReturnValue;
 
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.stream.StreamMessageDuplicator;
 import com.linecorp.armeria.common.stream.SubscriptionOption;
+import com.linecorp.armeria.internal.common.stream.PrefixPublisher;
 
 /**
  * A duplicator that duplicates a {@link HttpResponse} into one or more {@link HttpResponse}s,
@@ -59,4 +61,20 @@ public interface HttpResponseDuplicator extends StreamMessageDuplicator<HttpObje
     @Override
     @CheckReturnValue
     HttpResponse duplicate();
+
+    /**
+     * Returns a new {@link HttpResponse} that publishes the {@link ResponseHeaders} and the leading
+     * {@link HttpData}s of the {@link HttpResponse} that this duplicator is created from, until the total
+     * length of the {@link HttpData}s reaches the specified {@code maxLength}. The
+     * {@linkplain HttpHeaders trailers} are published only if the content is shorter than
+     * {@code maxLength}.
+     *
+     * @see StreamMessageDuplicator#duplicatePrefix(long)
+     */
+    @Override
+    @UnstableApi
+    @CheckReturnValue
+    default HttpResponse duplicatePrefix(long maxLength) {
+        return HttpResponse.of(new PrefixPublisher<>(duplicate(), maxLength));
+    }
 }
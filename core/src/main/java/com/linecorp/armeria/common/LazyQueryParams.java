@@ -0,0 +1,445 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common;
+
+import static com.linecorp.armeria.common.StringMultimap.fromObject;
+import static com.linecorp.armeria.common.StringMultimap.fromTimeMillis;
+import static com.linecorp.armeria.common.StringMultimap.toDouble;
+import static com.linecorp.armeria.common.StringMultimap.toFloat;
+import static com.linecorp.armeria.common.StringMultimap.toInteger;
+import static com.linecorp.armeria.common.StringMultimap.toLong;
+import static com.linecorp.armeria.common.StringMultimap.toTimeMillis;
+import static com.linecorp.armeria.internal.common.PercentDecoder.decodeComponent;
+import static com.linecorp.armeria.internal.common.util.StringUtil.toBoolean;
+import static java.util.Objects.requireNonNull;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.internal.common.util.StringUtil;
+
+import io.netty.util.AsciiString;
+
+/**
+ * A {@link QueryParams} backed by a raw query string. The offsets of the parameters are indexed in a single
+ * pass by {@link QueryStringDecoder}, and a parameter is decoded only when it is looked up by its name.
+ * The whole query string is decoded into a {@link DefaultQueryParams} only when the parameters are iterated
+ * or copied.
+ */
+final class LazyQueryParams implements QueryParams {
+
+    private final String query;
+
+    /**
+     * The offsets of the parameters. The {@code n}-th parameter is stored at {@code 3 * n} as
+     * the start of its name, the end of its name and the end of its value. The value starts right after
+     * the {@code '='} following the name, or is empty if the name is not followed by {@code '='}.
+     */
+    private final int[] offsets;
+    private final int size;
+
+    /**
+     * The indexes of the parameters whose names need to be decoded before compared, or {@code null} if none.
+     */
+    @Nullable
+    private final BitSet encodedNames;
+
+    @Nullable
+    private volatile QueryParams decoded;
+
+    LazyQueryParams(String query, int[] offsets, int size, @Nullable BitSet encodedNames) {
+        this.query = query;
+        this.offsets = offsets;
+        this.size = size;
+        this.encodedNames = encodedNames;
+    }
+
+    private String name(int index) {
+        final int offset = index * 3;
+        return decodeComponent(query, offsets[offset], offsets[offset + 1]);
+    }
+
+    private boolean nameEquals(int index, String name) {
+        if (encodedNames != null && encodedNames.get(index)) {
+            return name(index).equals(name);
+        }
+
+        final int offset = index * 3;
+        final int nameStart = offsets[offset];
+        final int nameLength = offsets[offset + 1] - nameStart;
+        return nameLength == name.length() && query.regionMatches(nameStart, name, 0, nameLength);
+    }
+
+    private String value(int index) {
+        final int offset = index * 3;
+        final int nameEnd = offsets[offset + 1];
+        final int end = offsets[offset + 2];
+        if (nameEnd == end) {
+            return "";
+        }
+        return decodeComponent(query, nameEnd + 1, end);
+    }
+
+    private QueryParams decoded() {
+        QueryParams decoded = this.decoded;
+        if (decoded == null) {
+            final QueryParamsBuilder builder = QueryParams.builder();
+            for (int i = 0; i < size; i++) {
+                builder.add(name(i), value(i));
+            }
+            this.decoded = decoded = builder.build();
+        }
+        return decoded;
+    }
+
+    @Nullable
+    @Override
+    public String get(String name) {
+        requireNonNull(name, "name");
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name)) {
+                return value(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String get(String name, String defaultValue) {
+        requireNonNull(defaultValue, "defaultValue");
+        final String value = get(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public String getLast(String name) {
+        requireNonNull(name, "name");
+        for (int i = size - 1; i >= 0; i--) {
+            if (nameEquals(i, name)) {
+                return value(i);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getLast(String name, String defaultValue) {
+        requireNonNull(defaultValue, "defaultValue");
+        final String value = getLast(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        requireNonNull(name, "name");
+        ImmutableList.Builder<String> builder = null;
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name)) {
+                if (builder == null) {
+                    builder = ImmutableList.builder();
+                }
+                builder.add(value(i));
+            }
+        }
+        return builder != null ? builder.build() : ImmutableList.of();
+    }
+
+    @Nullable
+    @Override
+    public Boolean getBoolean(String name) {
+        final String v = get(name);
+        return v != null ? toBoolean(v, false) : null;
+    }
+
+    @Override
+    public boolean getBoolean(String name, boolean defaultValue) {
+        final Boolean v = getBoolean(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Boolean getLastBoolean(String name) {
+        final String v = getLast(name);
+        return v != null ? toBoolean(v, false) : null;
+    }
+
+    @Override
+    public boolean getLastBoolean(String name, boolean defaultValue) {
+        final Boolean v = getLastBoolean(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Integer getInt(String name) {
+        return toInteger(get(name));
+    }
+
+    @Override
+    public int getInt(String name, int defaultValue) {
+        final Integer v = getInt(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Integer getLastInt(String name) {
+        return toInteger(getLast(name));
+    }
+
+    @Override
+    public int getLastInt(String name, int defaultValue) {
+        final Integer v = getLastInt(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Long getLong(String name) {
+        return toLong(get(name));
+    }
+
+    @Override
+    public long getLong(String name, long defaultValue) {
+        final Long v = getLong(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Long getLastLong(String name) {
+        return toLong(getLast(name));
+    }
+
+    @Override
+    public long getLastLong(String name, long defaultValue) {
+        final Long v = getLastLong(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Float getFloat(String name) {
+        return toFloat(get(name));
+    }
+
+    @Override
+    public float getFloat(String name, float defaultValue) {
+        final Float v = getFloat(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Float getLastFloat(String name) {
+        return toFloat(getLast(name));
+    }
+
+    @Override
+    public float getLastFloat(String name, float defaultValue) {
+        final Float v = getLastFloat(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Double getDouble(String name) {
+        return toDouble(get(name));
+    }
+
+    @Override
+    public double getDouble(String name, double defaultValue) {
+        final Double v = getDouble(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Double getLastDouble(String name) {
+        return toDouble(getLast(name));
+    }
+
+    @Override
+    public double getLastDouble(String name, double defaultValue) {
+        final Double v = getLastDouble(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Long getTimeMillis(String name) {
+        return toTimeMillis(get(name));
+    }
+
+    @Override
+    public long getTimeMillis(String name, long defaultValue) {
+        final Long v = getTimeMillis(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Nullable
+    @Override
+    public Long getLastTimeMillis(String name) {
+        return toTimeMillis(getLast(name));
+    }
+
+    @Override
+    public long getLastTimeMillis(String name, long defaultValue) {
+        final Long v = getLastTimeMillis(name);
+        return v != null ? v : defaultValue;
+    }
+
+    @Override
+    public boolean contains(String name) {
+        requireNonNull(name, "name");
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(String name, String value) {
+        requireNonNull(name, "name");
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name) && AsciiString.contentEquals(value(i), value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsObject(String name, Object value) {
+        requireNonNull(value, "value");
+        return contains(name, fromObject(value));
+    }
+
+    @Override
+    public boolean containsBoolean(String name, boolean value) {
+        requireNonNull(name, "name");
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name)) {
+                final Boolean maybeBoolean = toBoolean(value(i), false);
+                if (maybeBoolean != null && maybeBoolean == value) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsInt(String name, int value) {
+        return contains(name, StringUtil.toString(value));
+    }
+
+    @Override
+    public boolean containsLong(String name, long value) {
+        return contains(name, StringUtil.toString(value));
+    }
+
+    @Override
+    public boolean containsFloat(String name, float value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsDouble(String name, double value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsTimeMillis(String name, long value) {
+        return contains(name, fromTimeMillis(value));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Set<String> names() {
+        return decoded().names();
+    }
+
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+        return decoded().iterator();
+    }
+
+    @Override
+    public Iterator<String> valueIterator(String name) {
+        return getAll(name).iterator();
+    }
+
+    @Override
+    public void forEach(BiConsumer<String, String> action) {
+        decoded().forEach(action);
+    }
+
+    @Override
+    public void forEachValue(String name, Consumer<String> action) {
+        requireNonNull(name, "name");
+        requireNonNull(action, "action");
+        for (int i = 0; i < size; i++) {
+            if (nameEquals(i, name)) {
+                action.accept(value(i));
+            }
+        }
+    }
+
+    @Override
+    public QueryParamsBuilder toBuilder() {
+        return decoded().toBuilder();
+    }
+
+    @Override
+    public int hashCode() {
+        return decoded().hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof QueryParams && decoded().equals(o);
+    }
+
+    @Override
+    public String toString() {
+        return decoded().toString();
+    }
+}
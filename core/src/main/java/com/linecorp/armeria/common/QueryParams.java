@@ -26,7 +26,6 @@ import java.util.function.Consumer;
 import com.google.common.base.Strings;
 
 import com.linecorp.armeria.common.annotation.Nullable;
-import com.linecorp.armeria.internal.common.util.TemporaryThreadLocals;
 
 /**
  * Immutable HTTP query parameters.
@@ -322,10 +321,8 @@ public interface QueryParams extends QueryParamGetters {
             return of();
         }
 
-        try (TemporaryThreadLocals tempThreadLocals = TemporaryThreadLocals.acquire()) {
-            return QueryStringDecoder.decodeParams(tempThreadLocals,
-                                                   queryString, maxParams, semicolonAsSeparator);
-        }
+        // Decode the parameters lazily, because a service often looks up only a few of them.
+        return QueryStringDecoder.decodeParams(queryString, maxParams, semicolonAsSeparator);
     }
 
     /**
@@ -30,22 +30,27 @@
  */
 package com.linecorp.armeria.common;
 
-import static com.linecorp.armeria.internal.common.PercentDecoder.decodeComponent;
+import java.util.Arrays;
+import java.util.BitSet;
 
-import com.linecorp.armeria.internal.common.util.TemporaryThreadLocals;
+import com.linecorp.armeria.common.annotation.Nullable;
 
 final class QueryStringDecoder {
 
     // Forked from netty-4.1.43.
     // https://github.com/netty/netty/blob/7d6d953153697bd66c3b01ca8ec73c4494a81788/codec-http/src/main/java/io/netty/handler/codec/http/QueryStringDecoder.java
 
+    /**
+     * Indexes the parameters in the specified query string into a {@link LazyQueryParams}, which decodes
+     * a parameter only when it is accessed.
+     */
     @SuppressWarnings("checkstyle:FallThrough")
-    static QueryParams decodeParams(TemporaryThreadLocals tempThreadLocals,
-                                    String s, int paramsLimit, boolean semicolonAsSeparator) {
-        final QueryParamsBuilder params = QueryParams.builder();
+    static QueryParams decodeParams(String s, int paramsLimit, boolean semicolonAsSeparator) {
+        final Indexer indexer = new Indexer();
         final int len = s.length();
         int nameStart = 0;
         int valueStart = 0;
+        boolean nameEncoded = false;
         int i;
         loop:
         for (i = 0; i < len; i++) {
@@ -55,20 +60,26 @@ final class QueryStringDecoder {
                         valueStart = i + 1;
                     }
                     break;
+                case '%':
+                case '+':
+                    if (valueStart == 0) {
+                        nameEncoded = true;
+                    }
+                    break;
                 case ';':
                     if (!semicolonAsSeparator) {
                         continue;
                     }
                     // fall-through
                 case '&':
-                    if (addParam(tempThreadLocals, params, s, nameStart, valueStart, i) &&
-                        --paramsLimit == 0) {
+                    if (indexer.addParam(nameStart, valueStart, i, nameEncoded) && --paramsLimit == 0) {
                         // TODO(trustin): Tell a user that some parameters were skipped.
-                        return params.build();
+                        return indexer.build(s);
                     }
 
                     nameStart = i + 1;
                     valueStart = 0;
+                    nameEncoded = false;
                     break;
                 case '#':
                     break loop;
@@ -77,31 +88,46 @@ final class QueryStringDecoder {
             }
         }
 
-        addParam(tempThreadLocals, params, s, nameStart, valueStart, i);
-
-        return params.build();
+        indexer.addParam(nameStart, valueStart, i, nameEncoded);
+        return indexer.build(s);
     }
 
-    private static boolean addParam(TemporaryThreadLocals tempThreadLocals,
-                                    QueryParamsBuilder params,
-                                    String s, int nameStart, int valueStart, int end) {
-        if (nameStart == end) {
-            return false;
-        }
+    private QueryStringDecoder() {}
+
+    private static final class Indexer {
+
+        private int[] offsets = new int[24];
+        private int size;
+        @Nullable
+        private BitSet encodedNames;
 
-        final String name;
-        final String value;
-        if (valueStart == 0) {
-            name = decodeComponent(tempThreadLocals, s, nameStart, end);
-            value = "";
-        } else {
-            name = decodeComponent(tempThreadLocals, s, nameStart, valueStart - 1);
-            value = decodeComponent(tempThreadLocals, s, valueStart, end);
+        boolean addParam(int nameStart, int valueStart, int end, boolean nameEncoded) {
+            if (nameStart == end) {
+                return false;
+            }
+
+            final int offset = size * 3;
+            if (offset == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length << 1);
+            }
+            offsets[offset] = nameStart;
+            offsets[offset + 1] = valueStart == 0 ? end : valueStart - 1;
+            offsets[offset + 2] = end;
+            if (nameEncoded) {
+                if (encodedNames == null) {
+                    encodedNames = new BitSet();
+                }
+                encodedNames.set(size);
+            }
+            size++;
+            return true;
         }
 
-        params.add(name, value);
-        return true;
+        QueryParams build(String query) {
+            if (size == 0) {
+                return QueryParams.of();
+            }
+            return new LazyQueryParams(query, offsets, size, encodedNames);
+        }
     }
-
-    private QueryStringDecoder() {}
 }
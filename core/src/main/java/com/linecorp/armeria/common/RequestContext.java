@@ -652,17 +652,27 @@ public interface RequestContext extends Unwrappable {
 
     /**
      * Returns a {@link ContextAwareCallable} that makes sure the current {@link RequestContext} is
-     * set and then invokes the input {@code callable}.
+     * set and then invokes the input {@code callable}. The input {@code callable} is returned as it is
+     * if it is already a {@link ContextAwareCallable} of this {@link RequestContext}.
      */
     default <T> Callable<T> makeContextAware(Callable<T> callable) {
+        if (callable instanceof ContextAwareCallable &&
+            ((ContextAwareCallable<T>) callable).context() == this) {
+            return callable;
+        }
         return ContextAwareCallable.of(this, callable);
     }
 
     /**
      * Returns a {@link ContextAwareRunnable} that makes sure the current {@link RequestContext} is
-     * set and then invokes the input {@code runnable}.
+     * set and then invokes the input {@code runnable}. The input {@code runnable} is returned as it is
+     * if it is already a {@link ContextAwareRunnable} of this {@link RequestContext}.
      */
     default Runnable makeContextAware(Runnable runnable) {
+        if (runnable instanceof ContextAwareRunnable &&
+            ((ContextAwareRunnable) runnable).context() == this) {
+            return runnable;
+        }
         return ContextAwareRunnable.of(this, runnable);
     }
 
@@ -1071,7 +1071,7 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     // Conversion functions
 
     @Nullable
-    private static Integer toInteger(@Nullable String v) {
+    static Integer toInteger(@Nullable String v) {
         try {
             return v != null ? Integer.parseInt(v) : null;
         } catch (NumberFormatException ignore) {
@@ -1080,7 +1080,7 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     }
 
     @Nullable
-    private static Long toLong(@Nullable String v) {
+    static Long toLong(@Nullable String v) {
         try {
             return v != null ? Long.parseLong(v) : null;
         } catch (NumberFormatException ignore) {
@@ -1089,7 +1089,7 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     }
 
     @Nullable
-    private static Float toFloat(@Nullable String v) {
+    static Float toFloat(@Nullable String v) {
         try {
             return v != null ? Float.parseFloat(v) : null;
         } catch (NumberFormatException ignore) {
@@ -1098,7 +1098,7 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     }
 
     @Nullable
-    private static Double toDouble(@Nullable String v) {
+    static Double toDouble(@Nullable String v) {
         try {
             return v != null ? Double.parseDouble(v) : null;
         } catch (NumberFormatException ignore) {
@@ -1107,7 +1107,7 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
     }
 
     @Nullable
-    private static Long toTimeMillis(@Nullable String v) {
+    static Long toTimeMillis(@Nullable String v) {
         if (v == null) {
             return null;
         }
@@ -1123,11 +1123,11 @@ abstract class StringMultimap<IN_NAME extends CharSequence, NAME extends IN_NAME
         }
     }
 
-    private static String fromTimeMillis(long value) {
+    static String fromTimeMillis(long value) {
         return StringValueConverter.INSTANCE.convertTimeMillis(value);
     }
 
-    private static String fromObject(Object value) {
+    static String fromObject(Object value) {
         final String strVal = StringValueConverter.INSTANCE.convertObject(value);
         assert strVal != null : value + " converted to null.";
         return strVal;
@@ -492,6 +492,41 @@ final class SystemPropertyFlagsProvider implements FlagsProvider {
         return getLong("defaultUnhandledExceptionsReportIntervalMillis");
     }
 
+    @Override
+    public Long defaultMultipartMaxInMemoryLength() {
+        return getLong("defaultMultipartMaxInMemoryLength");
+    }
+
+    @Override
+    public Long multipartMaxTotalInMemoryLength() {
+        return getLong("multipartMaxTotalInMemoryLength");
+    }
+
+    @Override
+    public Boolean useCancellationTimerWheel() {
+        return getBoolean("useCancellationTimerWheel");
+    }
+
+    @Override
+    public Long cancellationTimerWheelTickMillis() {
+        return getLong("cancellationTimerWheelTickMillis");
+    }
+
+    @Override
+    public Integer ioUringRingSize() {
+        return getInt("ioUringRingSize");
+    }
+
+    @Override
+    public Integer ioUringIosqeAsyncThreshold() {
+        return getInt("ioUringIosqeAsyncThreshold");
+    }
+
+    @Override
+    public Integer defaultHttp2MaxFlowControlWindowSize() {
+        return getInt("defaultHttp2MaxFlowControlWindowSize");
+    }
+
     @Nullable
     private static Long getLong(String name) {
         return getAndParse(name, Long::parseLong);
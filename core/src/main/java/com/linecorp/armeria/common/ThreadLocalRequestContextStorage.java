@@ -20,10 +20,17 @@ import static com.linecorp.armeria.internal.common.RequestContextUtil.newIllegal
 import static java.util.Objects.requireNonNull;
 
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.internal.common.util.EventLoopThread;
 
 import io.netty.util.concurrent.FastThreadLocal;
 import io.netty.util.internal.InternalThreadLocalMap;
 
+/**
+ * The default {@link RequestContextStorage} which stores the {@link RequestContext} in a field of
+ * {@link EventLoopThread}, or in a {@link FastThreadLocal} for other threads. Accessing a field of the current
+ * thread avoids the lookup of the {@link InternalThreadLocalMap} and its indexed variables, which adds up
+ * because a {@link RequestContext} is pushed and popped whenever a context-aware callback runs.
+ */
 enum ThreadLocalRequestContextStorage implements RequestContextStorage {
 
     INSTANCE;
@@ -35,6 +42,13 @@ enum ThreadLocalRequestContextStorage implements RequestContextStorage {
     @SuppressWarnings("unchecked")
     public <T extends RequestContext> T push(RequestContext toPush) {
         requireNonNull(toPush, "toPush");
+        final Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            final EventLoopThread eventLoopThread = (EventLoopThread) thread;
+            final RequestContext oldCtx = eventLoopThread.requestContext();
+            eventLoopThread.requestContext(toPush);
+            return (T) oldCtx;
+        }
         final InternalThreadLocalMap map = InternalThreadLocalMap.get();
         final RequestContext oldCtx = context.get(map);
         context.set(map, toPush);
@@ -44,6 +58,16 @@ enum ThreadLocalRequestContextStorage implements RequestContextStorage {
     @Override
     public void pop(RequestContext current, @Nullable RequestContext toRestore) {
         requireNonNull(current, "current");
+        final Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            final EventLoopThread eventLoopThread = (EventLoopThread) thread;
+            final RequestContext contextInThread = eventLoopThread.requestContext();
+            if (contextInThread == null || current.unwrapAll() != contextInThread.unwrapAll()) {
+                throw newIllegalContextPoppingException(current, contextInThread);
+            }
+            eventLoopThread.requestContext(toRestore);
+            return;
+        }
         final InternalThreadLocalMap map = InternalThreadLocalMap.get();
         final RequestContext contextInThreadLocal = context.get(map);
         if (contextInThreadLocal == null || current.unwrapAll() != contextInThreadLocal.unwrapAll()) {
@@ -56,6 +80,10 @@ enum ThreadLocalRequestContextStorage implements RequestContextStorage {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends RequestContext> T currentOrNull() {
+        final Thread thread = Thread.currentThread();
+        if (thread instanceof EventLoopThread) {
+            return (T) ((EventLoopThread) thread).requestContext();
+        }
         return (T) context.get();
     }
 }
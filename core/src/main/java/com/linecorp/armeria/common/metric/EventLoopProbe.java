@@ -0,0 +1,267 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.metric;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.util.Ticker;
+import com.linecorp.armeria.internal.common.util.EventLoopLagProbe;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * A {@link MeterBinder} which periodically schedules a no-op task on each event loop of an
+ * {@link EventLoopGroup} and records how late the task ran, so that you can tell whether the event loops
+ * are blocked or overloaded. A lag longer than the slow threshold is counted as a spike, and the spike
+ * is attributed to a garbage collection if the JVM reported a GC pause while the task was waiting.
+ * The following stats are exported per registered {@link MeterIdPrefix}.
+ *
+ * <ul>
+ *   <li>"event.loop.lag" (timer) - the scheduling lag of the probe task, tagged with the index of the
+ *       event loop as {@code event.loop}</li>
+ *   <li>"event.loop.lag.spikes" (counter) - the number of the lags longer than the slow threshold,
+ *       tagged with {@code cause} which is either {@code gc} or {@code other}</li>
+ *   <li>"event.loop.task.duration" (timer) - the execution time of the tasks
+ *       {@linkplain #wrap(Runnable) wrapped} by this probe</li>
+ *   <li>"event.loop.long.tasks" (counter) - the number of the {@linkplain #wrap(Runnable) wrapped} tasks
+ *       which ran longer than the slow threshold</li>
+ * </ul>
+ *
+ * <p>The probe starts when it is bound to a {@link MeterRegistry} for the first time and stops when the
+ * {@link EventLoopGroup} is shut down. Note that a spike may be attributed to {@code other} if the GC
+ * notification is delivered after the probe task runs.
+ *
+ * <p>No {@link EventLoopGroup} is probed unless a probe is bound explicitly, e.g.
+ * <pre>{@code
+ * MoreMeterBinders.eventLoopProbe(CommonPools.workerGroup(), new MeterIdPrefix("armeria.netty.common"))
+ *                 .bindTo(Flags.meterRegistry());
+ * }</pre>
+ *
+ * @see MoreMeterBinders#eventLoopProbe(EventLoopGroup, MeterIdPrefix)
+ */
+@UnstableApi
+public final class EventLoopProbe implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopProbe.class);
+
+    static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(1);
+    static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofMillis(100);
+
+    private final EventLoopGroup eventLoopGroup;
+    private final MeterIdPrefix idPrefix;
+    private final long probeIntervalNanos;
+    private final long slowThresholdNanos;
+    private final List<EventExecutor> eventLoops;
+    private final List<Meters> meters = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    EventLoopProbe(EventLoopGroup eventLoopGroup, MeterIdPrefix idPrefix,
+                   Duration probeInterval, Duration slowThreshold) {
+        this.eventLoopGroup = requireNonNull(eventLoopGroup, "eventLoopGroup");
+        this.idPrefix = requireNonNull(idPrefix, "idPrefix");
+        probeIntervalNanos = requireNonNull(probeInterval, "probeInterval").toNanos();
+        slowThresholdNanos = requireNonNull(slowThreshold, "slowThreshold").toNanos();
+        eventLoops = ImmutableList.copyOf(eventLoopGroup);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        requireNonNull(registry, "registry");
+        meters.add(new Meters(registry, idPrefix, eventLoops.size()));
+        if (started.compareAndSet(false, true)) {
+            GcPauses.init();
+            for (int i = 0; i < eventLoops.size(); i++) {
+                new EventLoopLagProbe(eventLoops.get(i), Ticker.systemTicker(), probeIntervalNanos,
+                                      new LagRecorder(i)).start();
+            }
+        }
+    }
+
+    /**
+     * Returns a {@link Runnable} which runs the specified {@link Runnable} and records its execution time
+     * to the "event.loop.task.duration" timer. Wrap the tasks you submit to the event loops which may run
+     * long, so that you can find out whether they are the cause of the lags.
+     */
+    public Runnable wrap(Runnable task) {
+        requireNonNull(task, "task");
+        return () -> {
+            final long startNanos = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                recordTask(System.nanoTime() - startNanos);
+            }
+        };
+    }
+
+    @VisibleForTesting
+    void recordLag(int index, long lagNanos, boolean gcPaused) {
+        final boolean spike = lagNanos >= slowThresholdNanos;
+        for (Meters m : meters) {
+            m.lagTimers[index].record(lagNanos, TimeUnit.NANOSECONDS);
+            if (spike) {
+                (gcPaused ? m.gcSpikes : m.otherSpikes).increment();
+            }
+        }
+    }
+
+    private void recordTask(long durationNanos) {
+        final boolean longTask = durationNanos >= slowThresholdNanos;
+        for (Meters m : meters) {
+            m.taskTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            if (longTask) {
+                m.longTasks.increment();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("eventLoopGroup", eventLoopGroup)
+                          .add("idPrefix", idPrefix)
+                          .add("probeIntervalNanos", probeIntervalNanos)
+                          .add("slowThresholdNanos", slowThresholdNanos)
+                          .toString();
+    }
+
+    /**
+     * Records the lags measured by an {@link EventLoopLagProbe}, attributing a lag to a GC if the JVM
+     * reported a GC pause since the previous probe task.
+     */
+    private final class LagRecorder implements LongConsumer {
+
+        private final int index;
+        private long gcPauseMillis = GcPauses.totalMillis();
+
+        LagRecorder(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void accept(long lagNanos) {
+            final long gcPauseMillis = GcPauses.totalMillis();
+            recordLag(index, lagNanos, gcPauseMillis != this.gcPauseMillis);
+            this.gcPauseMillis = gcPauseMillis;
+        }
+    }
+
+    private static final class Meters {
+
+        final Timer[] lagTimers;
+        final Counter gcSpikes;
+        final Counter otherSpikes;
+        final Timer taskTimer;
+        final Counter longTasks;
+
+        Meters(MeterRegistry registry, MeterIdPrefix idPrefix, int numEventLoops) {
+            lagTimers = new Timer[numEventLoops];
+            final String lag = idPrefix.name("event.loop.lag");
+            for (int i = 0; i < numEventLoops; i++) {
+                lagTimers[i] = Timer.builder(lag)
+                                    .tags(idPrefix.tags())
+                                    .tag("event.loop", String.valueOf(i))
+                                    .register(registry);
+            }
+
+            final String spikes = idPrefix.name("event.loop.lag.spikes");
+            gcSpikes = registry.counter(spikes, tags(idPrefix, "cause", "gc"));
+            otherSpikes = registry.counter(spikes, tags(idPrefix, "cause", "other"));
+            taskTimer = Timer.builder(idPrefix.name("event.loop.task.duration"))
+                             .tags(idPrefix.tags())
+                             .register(registry);
+            longTasks = registry.counter(idPrefix.name("event.loop.long.tasks"), idPrefix.tags());
+        }
+
+        private static Tags tags(MeterIdPrefix idPrefix, String key, String value) {
+            return Tags.of(idPrefix.tags()).and(Tag.of(key, value));
+        }
+    }
+
+    /**
+     * Accumulates the GC pauses reported by the GC notifications of the JVM.
+     */
+    private static final class GcPauses {
+
+        private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
+        private static final LongAdder totalMillis = new LongAdder();
+
+        static {
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (!(bean instanceof NotificationEmitter)) {
+                    continue;
+                }
+                try {
+                    ((NotificationEmitter) bean).addNotificationListener((notification, unused) -> {
+                        if (!GC_NOTIFICATION.equals(notification.getType())) {
+                            return;
+                        }
+                        final Object userData = notification.getUserData();
+                        if (userData instanceof CompositeData) {
+                            final Object gcInfo = ((CompositeData) userData).get("gcInfo");
+                            if (gcInfo instanceof CompositeData) {
+                                final Object duration = ((CompositeData) gcInfo).get("duration");
+                                if (duration instanceof Number) {
+                                    // Count a GC even if it took less than a millisecond.
+                                    totalMillis.add(Math.max(1, ((Number) duration).longValue()));
+                                }
+                            }
+                        }
+                    }, null, null);
+                } catch (Exception e) {
+                    logger.debug("Failed to listen to the GC notifications of {}", bean.getName(), e);
+                }
+            }
+        }
+
+        static void init() {
+            // Register the listeners in the static initializer.
+        }
+
+        static long totalMillis() {
+            return totalMillis.sum();
+        }
+    }
+}
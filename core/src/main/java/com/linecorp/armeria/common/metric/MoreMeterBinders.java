@@ -16,12 +16,14 @@
 
 package com.linecorp.armeria.common.metric;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
 import java.io.InputStream;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
 
 import com.google.common.collect.ImmutableList;
 
@@ -67,6 +69,40 @@ public final class MoreMeterBinders {
         return new EventLoopMetrics(eventLoopGroup, meterIdPrefix);
     }
 
+    /**
+     * Returns a new {@link EventLoopProbe} which schedules a no-op task on each event loop of the specified
+     * {@link EventLoopGroup} every second and records the scheduling lag. A lag or a
+     * {@linkplain EventLoopProbe#wrap(Runnable) wrapped task} longer than 100 milliseconds is counted as
+     * slow. See {@link EventLoopProbe} for the exported stats.
+     */
+    @UnstableApi
+    public static EventLoopProbe eventLoopProbe(EventLoopGroup eventLoopGroup, MeterIdPrefix meterIdPrefix) {
+        return eventLoopProbe(eventLoopGroup, meterIdPrefix, EventLoopProbe.DEFAULT_PROBE_INTERVAL,
+                              EventLoopProbe.DEFAULT_SLOW_THRESHOLD);
+    }
+
+    /**
+     * Returns a new {@link EventLoopProbe} which schedules a no-op task on each event loop of the specified
+     * {@link EventLoopGroup} every {@code probeInterval} and records the scheduling lag. See
+     * {@link EventLoopProbe} for the exported stats.
+     *
+     * @param probeInterval the interval between the probe tasks of an event loop
+     * @param slowThreshold the lag or the execution time of a
+     *                      {@linkplain EventLoopProbe#wrap(Runnable) wrapped task} above which is
+     *                      counted as slow
+     */
+    @UnstableApi
+    public static EventLoopProbe eventLoopProbe(EventLoopGroup eventLoopGroup, MeterIdPrefix meterIdPrefix,
+                                                Duration probeInterval, Duration slowThreshold) {
+        requireNonNull(probeInterval, "probeInterval");
+        requireNonNull(slowThreshold, "slowThreshold");
+        checkArgument(!probeInterval.isNegative() && !probeInterval.isZero(),
+                      "probeInterval: %s (expected: > 0)", probeInterval);
+        checkArgument(!slowThreshold.isNegative() && !slowThreshold.isZero(),
+                      "slowThreshold: %s (expected: > 0)", slowThreshold);
+        return new EventLoopProbe(eventLoopGroup, meterIdPrefix, probeInterval, slowThreshold);
+    }
+
     /**
      * Returns a new {@link MeterBinder} to observe the specified {@link X509Certificate}'s validity.
      * The following stats are currently exported per registered {@link MeterIdPrefix}.
@@ -47,12 +47,14 @@ import com.google.common.math.LongMath;
 import com.spotify.futures.CompletableFutures;
 
 import com.linecorp.armeria.common.ByteBufAccessMode;
+import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.ContentTooLargeException;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.CompositeException;
 import com.linecorp.armeria.common.util.EventLoopCheckingFuture;
+import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.stream.AbortingSubscriber;
 import com.linecorp.armeria.internal.common.stream.NeverInvokedSubscriber;
 import com.linecorp.armeria.internal.common.stream.NoopSubscription;
@@ -91,21 +93,54 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
     public DefaultStreamMessageDuplicator(
             StreamMessage<T> upstream, SignalLengthGetter<? super T> signalLengthGetter,
             EventExecutor executor, long maxSignalLength) {
+        this(upstream, signalLengthGetter, executor, maxSignalLength, 0);
+    }
+
+    /**
+     * Creates a new instance which keeps up to the specified {@code maxInMemorySignalLength} in memory.
+     * Once the length of the signals held by this duplicator exceeds {@code maxInMemorySignalLength},
+     * the following {@link HttpData} signals are written to a temporary file, which is deleted when all
+     * the signals are cleaned up, and are read back when the duplicated streams publish them.
+     * The signals other than {@link HttpData} are always kept in memory.
+     *
+     * <p>The file is written and read by {@link CommonPools#blockingTaskExecutor()}. A spilled signal is
+     * kept in memory until it is written.
+     *
+     * @param maxSignalLength the maximum length of the signals. {@code 0} disables the limit.
+     * @param maxInMemorySignalLength the maximum length of the signals kept in memory.
+     *                                {@code 0} keeps all signals in memory.
+     */
+    public DefaultStreamMessageDuplicator(
+            StreamMessage<T> upstream, SignalLengthGetter<? super T> signalLengthGetter,
+            EventExecutor executor, long maxSignalLength, long maxInMemorySignalLength) {
         requireNonNull(upstream, "upstream");
         requireNonNull(signalLengthGetter, "signalLengthGetter");
         this.executor = requireNonNull(executor, "executor");
         checkArgument(maxSignalLength >= 0,
                       "maxSignalLength: %s (expected: >= 0)", maxSignalLength);
-        processor = new StreamMessageProcessor<>(this, upstream, signalLengthGetter, executor, maxSignalLength);
+        checkArgument(maxInMemorySignalLength >= 0,
+                      "maxInMemorySignalLength: %s (expected: >= 0)", maxInMemorySignalLength);
+        processor = new StreamMessageProcessor<>(this, upstream, signalLengthGetter, executor,
+                                                 maxSignalLength, maxInMemorySignalLength);
     }
 
     @Override
     public StreamMessage<T> duplicate() {
+        return duplicate0(Long.MAX_VALUE);
+    }
+
+    @Override
+    public StreamMessage<T> duplicatePrefix(long maxLength) {
+        checkArgument(maxLength > 0, "maxLength: %s (expected: > 0)", maxLength);
+        return duplicate0(maxLength);
+    }
+
+    private StreamMessage<T> duplicate0(long maxLength) {
         if (!processor.isDuplicable()) {
             throw new IllegalStateException("duplicator is closed.");
         }
         unsubscribedUpdater.incrementAndGet(this);
-        return new ChildStreamMessage<>(processor);
+        return new ChildStreamMessage<>(processor, maxLength);
     }
 
     /**
@@ -147,7 +182,10 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
         private final SignalLengthGetter<Object> signalLengthGetter;
         private final EventExecutor executor;
         private final int maxSignalLength;
+        private final int maxInMemorySignalLength;
         private int signalLength;
+        @Nullable
+        private volatile SignalSpillFile spillFile;
 
         private final Set<DownstreamSubscription<T>> downstreamSubscriptions =
                 Collections.newSetFromMap(new ConcurrentHashMap<>());
@@ -168,20 +206,24 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
         @SuppressWarnings("unchecked")
         StreamMessageProcessor(DefaultStreamMessageDuplicator<T> duplicator, StreamMessage<T> upstream,
                                SignalLengthGetter<?> signalLengthGetter,
-                               EventExecutor executor, long maxSignalLength) {
+                               EventExecutor executor, long maxSignalLength, long maxInMemorySignalLength) {
             this.duplicator = duplicator;
             this.upstream = upstream;
             this.signalLengthGetter = (SignalLengthGetter<Object>) signalLengthGetter;
             this.executor = executor;
-            if (maxSignalLength == 0 || maxSignalLength > Integer.MAX_VALUE) {
-                this.maxSignalLength = Integer.MAX_VALUE;
-            } else {
-                this.maxSignalLength = (int) maxSignalLength;
-            }
-            signals = new SignalQueue(this.signalLengthGetter);
+            this.maxSignalLength = toIntLength(maxSignalLength);
+            this.maxInMemorySignalLength = toIntLength(maxInMemorySignalLength);
+            signals = new SignalQueue(this::signalLength);
             upstream.subscribe(this, executor, CANCELLATION_AND_POOLED_OPTIONS);
         }
 
+        private static int toIntLength(long length) {
+            if (length == 0 || length > Integer.MAX_VALUE) {
+                return Integer.MAX_VALUE;
+            }
+            return (int) length;
+        }
+
         StreamMessage<T> upstream() {
             return upstream;
         }
@@ -235,6 +277,38 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
             }
         }
 
+        private Object spill(HttpData data) {
+            SignalSpillFile spillFile = this.spillFile;
+            if (spillFile == null) {
+                // Write in the blocking task executor so that the disk I/O does not block the event loop.
+                this.spillFile = spillFile = new SignalSpillFile(CommonPools.blockingTaskExecutor(),
+                                                                 upstream::abort);
+            }
+            // The segment releases the content once it is written.
+            return spillFile.write(data);
+        }
+
+        /**
+         * Returns the length of the specified signal in the {@link SignalQueue}.
+         */
+        int signalLength(Object signal) {
+            if (signal instanceof SignalSpillFile.Segment) {
+                return ((SignalSpillFile.Segment) signal).length();
+            }
+            if (signal instanceof CloseEvent) {
+                return 0;
+            }
+            return signalLengthGetter.length(signal);
+        }
+
+        private void clearSignals(@Nullable Throwable cause) {
+            signals.clear(cause);
+            final SignalSpillFile spillFile = this.spillFile;
+            if (spillFile != null) {
+                spillFile.close();
+            }
+        }
+
         private void doPushSignal(Object obj) {
             if (state == State.ABORTED) {
                 StreamMessageUtil.closeOrAbort(obj, abortCause);
@@ -256,6 +330,9 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                         return;
                     }
                     signalLength += dataLength;
+                    if (signalLength > maxInMemorySignalLength && obj instanceof HttpData) {
+                        obj = spill((HttpData) obj);
+                    }
                 }
             }
 
@@ -367,7 +444,7 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 // anymore and are guaranteed that the last unsubscribed downstream will run this cleanup logic.
                 state = State.ABORTED;
                 doCancelUpstreamSubscription();
-                signals.clear(null);
+                clearSignals(null);
             }
         }
 
@@ -422,7 +499,7 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 if (duplicator.unsubscribed == 0 && downstreamSubscriptions.isEmpty()) {
                     state = State.ABORTED;
                     doCancelUpstreamSubscription();
-                    signals.clear(null);
+                    clearSignals(null);
                 } else {
                     state = State.CLOSED;
                 }
@@ -459,7 +536,7 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
             downstreamSubscriptions.clear();
             CompletableFutures.successfulAsList(completionFutures, unused -> null)
                               .handle((unused1, unused2) -> {
-                                  signals.clear(cause);
+                                  clearSignals(cause);
                                   return null;
                               });
         }
@@ -474,6 +551,7 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 ChildStreamMessage.class, DownstreamSubscription.class, "subscription");
 
         private final StreamMessageProcessor<T> processor;
+        private final long maxLength;
 
         @Nullable
         @SuppressWarnings("unused")
@@ -481,8 +559,9 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
 
         private final CompletableFuture<Void> completionFuture = new EventLoopCheckingFuture<>();
 
-        ChildStreamMessage(StreamMessageProcessor<T> processor) {
+        ChildStreamMessage(StreamMessageProcessor<T> processor, long maxLength) {
             this.processor = processor;
+            this.maxLength = maxLength;
         }
 
         @Override
@@ -529,7 +608,7 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
             requireNonNull(subscriber, "subscriber");
             requireNonNull(executor, "executor");
             final DownstreamSubscription<T> subscription = new DownstreamSubscription<>(
-                    this, subscriber, processor, executor, withPooledObjects, notifyCancellation);
+                    this, subscriber, processor, executor, withPooledObjects, notifyCancellation, maxLength);
 
             if (!subscribe0(subscription)) {
                 final DownstreamSubscription<T> oldSubscription = this.subscription;
@@ -587,7 +666,7 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
 
             final DownstreamSubscription<T> newSubscription = new DownstreamSubscription<>(
                     this, AbortingSubscriber.get(cause), processor, ImmediateEventExecutor.INSTANCE,
-                    false, false);
+                    false, false, maxLength);
 
             if (!subscribe0(newSubscription)) {
                 currentSubscription = subscription;
@@ -616,6 +695,8 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
         private final EventExecutor executor;
         private final boolean withPooledObjects;
         private final boolean notifyCancellation;
+        private final long maxLength;
+        private long publishedLength;
 
         @SuppressWarnings("unused")
         private boolean invokedOnSubscribe;
@@ -634,15 +715,22 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
         private long cumulativeDemand;
         private boolean inOnNext;
 
+        // The content of the spilled signal at 'offset', read in advance from the file.
+        @Nullable
+        private HttpData spilledData;
+        private boolean readingSpilledData;
+
         DownstreamSubscription(ChildStreamMessage<T> streamMessage,
                                Subscriber<? super T> subscriber, StreamMessageProcessor<T> processor,
-                               EventExecutor executor, boolean withPooledObjects, boolean notifyCancellation) {
+                               EventExecutor executor, boolean withPooledObjects, boolean notifyCancellation,
+                               long maxLength) {
             this.streamMessage = streamMessage;
             this.subscriber = subscriber;
             this.processor = processor;
             this.executor = executor;
             this.withPooledObjects = withPooledObjects;
             this.notifyCancellation = notifyCancellation;
+            this.maxLength = maxLength;
         }
 
         CompletableFuture<Void> whenComplete() {
@@ -761,6 +849,11 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 return false;
             }
 
+            if (publishedLength >= maxLength) {
+                // Published the prefix and completed.
+                return false;
+            }
+
             if (offset == processor.upstreamOffset) {
                 // The subscriber read all signals published so far.
                 return false;
@@ -775,6 +868,14 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 return false;
             }
 
+            if (signal instanceof SignalSpillFile.Segment && spilledData == null) {
+                // Read the content without blocking the executor and signal again once it is read.
+                if (!readingSpilledData) {
+                    readSpilledData((SignalSpillFile.Segment) signal);
+                }
+                return false;
+            }
+
             for (;;) {
                 final long demand = this.demand;
                 if (demand == 0) {
@@ -789,8 +890,14 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 offset++;
                 @SuppressWarnings("unchecked")
                 T obj = (T) signal;
+                final int length = processor.signalLength(signal);
                 try {
-                    if (obj instanceof HttpData) {
+                    if (signal instanceof SignalSpillFile.Segment) {
+                        @SuppressWarnings("unchecked")
+                        final T read = (T) spilledData;
+                        spilledData = null;
+                        obj = read;
+                    } else if (obj instanceof HttpData) {
                         final HttpData data = (HttpData) obj;
                         if (data.isPooled()) {
                             if (withPooledObjects) {
@@ -840,10 +947,36 @@ public class DefaultStreamMessageDuplicator<T> implements StreamMessageDuplicato
                 } finally {
                     inOnNext = false;
                 }
+
+                if (maxLength != Long.MAX_VALUE) {
+                    publishedLength += length;
+                    if (publishedLength >= maxLength) {
+                        // Complete without waiting for the rest, so that the signals after the prefix
+                        // can be removed regardless of this subscription.
+                        processor.unsubscribe(this, null);
+                        return false;
+                    }
+                }
                 return true;
             }
         }
 
+        private void readSpilledData(SignalSpillFile.Segment segment) {
+            readingSpilledData = true;
+            segment.read().handle((data, cause) -> {
+                executor.execute(() -> {
+                    readingSpilledData = false;
+                    if (cause != null) {
+                        processor.unsubscribe(this, Exceptions.peel(cause));
+                    } else {
+                        spilledData = data;
+                        doSignal();
+                    }
+                });
+                return null;
+            });
+        }
+
         @Override
         public void cancel() {
             abort(subscriber instanceof AbortingSubscriber ? ((AbortingSubscriber<?>) subscriber).cause()
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.common.util.UnmodifiableFuture;
+
+/**
+ * A temporary file which keeps the {@link HttpData} signals of a {@link DefaultStreamMessageDuplicator}
+ * which exceed its in-memory limit. The file is created lazily and deleted when closed.
+ *
+ * <p>All file operations are done by the specified blocking {@link Executor}, so that neither the executor
+ * of the duplicator nor the executors of the subscribers are blocked by the disk I/O. The writes are
+ * serialized in the order of {@link #write(HttpData)}. A {@link Segment} keeps its {@link HttpData} until
+ * it is written, and the reads are served from memory until then. The reads of the written
+ * {@link Segment}s use the positional reads of {@link FileChannel}, which are safe to be done concurrently.
+ */
+final class SignalSpillFile implements SafeCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignalSpillFile.class);
+
+    private final Executor blockingExecutor;
+    private final Consumer<Throwable> writeFailureHandler;
+
+    // Accessed only by the serialized write tasks and the reads of the written segments.
+    @Nullable
+    private Path path;
+    @Nullable
+    private FileChannel channel;
+    private long position;
+    @Nullable
+    private volatile Throwable writeFailure;
+
+    // Guarded by 'this'.
+    private CompletableFuture<Void> lastTask = UnmodifiableFuture.completedFuture(null);
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param writeFailureHandler invoked with the cause when this file fails to be created or written.
+     *                            The {@link Segment}s which are not written cannot be read anymore.
+     */
+    SignalSpillFile(Executor blockingExecutor, Consumer<Throwable> writeFailureHandler) {
+        this.blockingExecutor = requireNonNull(blockingExecutor, "blockingExecutor");
+        this.writeFailureHandler = requireNonNull(writeFailureHandler, "writeFailureHandler");
+    }
+
+    /**
+     * Schedules appending the content of the specified {@link HttpData} to this file and returns
+     * the {@link Segment} which replaces it in the queue. The {@link Segment} takes the ownership of
+     * the specified {@link HttpData} and releases it once written.
+     */
+    Segment write(HttpData data) {
+        final Segment segment = new Segment(this, data);
+        synchronized (this) {
+            if (closed) {
+                synchronized (segment) {
+                    segment.release();
+                }
+                return segment;
+            }
+            lastTask = lastTask.thenRunAsync(() -> write(segment), blockingExecutor);
+        }
+        return segment;
+    }
+
+    private void write(Segment segment) {
+        final boolean closed;
+        synchronized (this) {
+            closed = this.closed;
+        }
+        final HttpData data;
+        synchronized (segment) {
+            if (closed || writeFailure != null) {
+                segment.release();
+                return;
+            }
+            data = segment.data;
+            assert data != null;
+        }
+
+        final long offset = position;
+        try {
+            if (channel == null) {
+                path = Files.createTempFile("armeria-duplicator-", ".tmp");
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                                           StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            final ByteBuffer buf = data.byteBuf().nioBuffer();
+            long pos = offset;
+            while (buf.hasRemaining()) {
+                pos += channel.write(buf, pos);
+            }
+            position = pos;
+        } catch (Throwable cause) {
+            writeFailure = cause;
+            if (channel == null && path != null) {
+                deleteQuietly(path);
+            }
+            synchronized (segment) {
+                segment.release();
+            }
+            writeFailureHandler.accept(cause);
+            return;
+        }
+
+        synchronized (segment) {
+            segment.offset = offset;
+            segment.release();
+        }
+    }
+
+    private CompletableFuture<HttpData> read(Segment segment) {
+        final long offset;
+        synchronized (segment) {
+            final HttpData data = segment.data;
+            if (data != null) {
+                // Not written yet.
+                return UnmodifiableFuture.completedFuture(
+                        HttpData.copyOf(data.byteBuf()).withEndOfStream(segment.endOfStream));
+            }
+            offset = segment.offset;
+        }
+        if (offset < 0) {
+            return UnmodifiableFuture.exceptionallyCompletedFuture(
+                    new IOException("Failed to spill " + segment, writeFailure));
+        }
+        // The 'channel' written before 'offset' is visible as well.
+        final FileChannel channel = this.channel;
+        assert channel != null;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read0(channel, offset, segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, blockingExecutor);
+    }
+
+    private HttpData read0(FileChannel channel, long offset, Segment segment) throws IOException {
+        final byte[] bytes = new byte[segment.length];
+        final ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long pos = offset;
+        while (buf.hasRemaining()) {
+            final int read = channel.read(buf, pos);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of " + path + " at " + pos);
+            }
+            pos += read;
+        }
+        return HttpData.wrap(bytes).withEndOfStream(segment.endOfStream);
+    }
+
+    /**
+     * Deletes this file after the pending write tasks are done. The content of the {@link Segment}s
+     * which have not been written yet is released without being written.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lastTask = lastTask.thenRunAsync(this::closeChannel, blockingExecutor);
+        }
+    }
+
+    private void closeChannel() {
+        final FileChannel channel = this.channel;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Unexpected exception while closing {}", path, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete {}", path, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("path", path)
+                          .add("position", position)
+                          .toString();
+    }
+
+    /**
+     * A placeholder of an {@link HttpData} in {@link DefaultStreamMessageDuplicator.SignalQueue} whose
+     * content is written to a {@link SignalSpillFile}.
+     */
+    static final class Segment {
+
+        private final SignalSpillFile file;
+        private final int length;
+        private final boolean endOfStream;
+
+        // Guarded by 'this'.
+        @Nullable
+        private HttpData data;
+        private long offset = -1;
+
+        private Segment(SignalSpillFile file, HttpData data) {
+            this.file = file;
+            this.data = data;
+            length = data.length();
+            endOfStream = data.isEndOfStream();
+        }
+
+        int length() {
+            return length;
+        }
+
+        /**
+         * Reads the content back into a new unpooled {@link HttpData}.
+         */
+        CompletableFuture<HttpData> read() {
+            return file.read(this);
+        }
+
+        /**
+         * Releases the content kept in memory. Must be called while holding the lock of this
+         * {@link Segment}.
+         */
+        private void release() {
+            final HttpData data = this.data;
+            if (data != null) {
+                this.data = null;
+                data.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                              .add("offset", offset)
+                              .add("length", length)
+                              .add("endOfStream", endOfStream)
+                              .toString();
+        }
+    }
+}
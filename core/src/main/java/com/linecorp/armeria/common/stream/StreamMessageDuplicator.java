@@ -20,7 +20,10 @@ import org.reactivestreams.Subscriber;
 
 import com.google.errorprone.annotations.CheckReturnValue;
 
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.internal.common.stream.PrefixPublisher;
 
 /**
  * A duplicator that duplicates a {@link StreamMessage} into one or more {@link StreamMessage}s,
@@ -62,6 +65,30 @@ public interface StreamMessageDuplicator<T> extends SafeCloseable {
     @CheckReturnValue
     StreamMessage<T> duplicate();
 
+    /**
+     * Returns a new {@link StreamMessage} that publishes the leading elements of the {@link StreamMessage}
+     * that this duplicator is created from, until the total length of the published elements reaches
+     * the specified {@code maxLength}, and then completes. The returned {@link StreamMessage} stops
+     * holding the elements after the prefix, so that they can be cleaned up as soon as the other duplicated
+     * streams consume them. This is useful for a subscriber which needs only the beginning of the stream,
+     * such as a content preview.
+     *
+     * <p>Note that the length of an element is measured by the {@link SignalLengthGetter} of this
+     * duplicator, and the element which makes the total length reach {@code maxLength} is published
+     * as a whole. The elements whose length is {@code 0}, such as the headers of an HTTP message, do not
+     * count.
+     *
+     * <p>The default implementation cuts a {@linkplain #duplicate() duplicated stream} at {@code maxLength}
+     * by cancelling it, measuring the length of {@link HttpData} elements only.
+     *
+     * @param maxLength the maximum length of the prefix. Must be greater than {@code 0}.
+     */
+    @UnstableApi
+    @CheckReturnValue
+    default StreamMessage<T> duplicatePrefix(long maxLength) {
+        return StreamMessage.of(new PrefixPublisher<>(duplicate(), maxLength));
+    }
+
     /**
      * Closes this duplicator and prevents it from further duplication. {@link #duplicate()} will raise
      * an {@link IllegalStateException} after this method is invoked.
@@ -26,8 +26,14 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.internal.common.JavaVersionSpecific;
+import com.linecorp.armeria.internal.common.util.VirtualThreadBlockingTaskExecutor;
 
 /**
  * A builder that is useful for creating a {@link ScheduledExecutorService}.
@@ -37,12 +43,15 @@ import com.linecorp.armeria.common.Flags;
  */
 public final class BlockingTaskExecutorBuilder {
 
+    private static final Logger logger = LoggerFactory.getLogger(BlockingTaskExecutorBuilder.class);
+
     private String threadNamePrefix = "armeria-blocking-tasks";
     private int numThreads = Flags.numCommonBlockingTaskThreads();
     private long keepAliveTimeMillis = 60 * 1000;
     private boolean daemon = true;
     private int priority = Thread.NORM_PRIORITY;
     private Function<? super Runnable, ? extends Runnable> taskFunction = Function.identity();
+    private boolean useVirtualThreads;
 
     BlockingTaskExecutorBuilder() {}
 
@@ -124,10 +133,35 @@ public final class BlockingTaskExecutorBuilder {
         return this;
     }
 
+    /**
+     * Sets whether to run each task in a new virtual thread instead of a pool of platform threads.
+     * Virtual threads are available since Java 21. If the current version of Java does not support
+     * virtual threads, a warning is logged and a pool of platform threads is used instead.
+     * Note that {@link #numThreads(int)}, {@link #keepAliveTimeMillis(long)}, {@link #daemon(boolean)}
+     * and {@link #priority(int)} are ignored for virtual threads.
+     */
+    @UnstableApi
+    public BlockingTaskExecutorBuilder useVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+        return this;
+    }
+
     /**
      * Returns a newly-created {@link BlockingTaskExecutor} with the properties given so far.
      */
     public BlockingTaskExecutor build() {
+        if (useVirtualThreads) {
+            final ThreadFactory virtualThreadFactory =
+                    JavaVersionSpecific.get().newVirtualThreadFactory(threadNamePrefix);
+            if (virtualThreadFactory != null) {
+                return new VirtualThreadBlockingTaskExecutor(virtualThreadFactory, threadNamePrefix,
+                                                             taskFunction);
+            }
+            logger.warn("Virtual threads are not supported by the current Java version ({}). " +
+                        "Using platform threads for: {}", System.getProperty("java.version"),
+                        threadNamePrefix);
+        }
+
         final ThreadFactory threadFactory = ThreadFactories.builder(threadNamePrefix)
                                                            .daemon(daemon)
                                                            .priority(priority)
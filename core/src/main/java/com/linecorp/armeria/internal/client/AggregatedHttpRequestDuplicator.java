@@ -16,6 +16,8 @@
 
 package com.linecorp.armeria.internal.client;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.linecorp.armeria.common.AggregatedHttpRequest;
 import com.linecorp.armeria.common.ByteBufAccessMode;
 import com.linecorp.armeria.common.HttpData;
@@ -43,13 +45,25 @@ public final class AggregatedHttpRequestDuplicator implements HttpRequestDuplica
 
     @Override
     public HttpRequest duplicate(RequestHeaders newHeaders) {
-        HttpData content = request.content();
-        if (!content.isPooled()) {
-            return HttpRequest.of(newHeaders, content, request.trailers());
+        return HttpRequest.of(newHeaders, duplicateContent(), request.trailers());
+    }
+
+    @Override
+    public HttpRequest duplicatePrefix(long maxLength) {
+        checkArgument(maxLength > 0, "maxLength: %s (expected: > 0)", maxLength);
+        if (request.content().length() < maxLength) {
+            return duplicate();
         }
+        // The content reaches the prefix length, so the trailers are not published.
+        return HttpRequest.of(request.headers(), duplicateContent());
+    }
 
-        content = HttpData.wrap(content.byteBuf(ByteBufAccessMode.RETAINED_DUPLICATE));
-        return HttpRequest.of(newHeaders, content, request.trailers());
+    private HttpData duplicateContent() {
+        final HttpData content = request.content();
+        if (!content.isPooled()) {
+            return content;
+        }
+        return HttpData.wrap(content.byteBuf(ByteBufAccessMode.RETAINED_DUPLICATE));
     }
 
     @Override
@@ -55,68 +55,89 @@ public abstract class AbstractContextAwareFuture<T>
         return context;
     }
 
+    // The callbacks push the context by themselves rather than delegating to a common method with a lambda,
+    // so that a callback allocates nothing but the SafeCloseable of RequestContext.push() when invoked.
+
     protected final Runnable makeContextAwareLoggingException(Runnable action) {
         requireNonNull(action, "action");
-        return () -> makeContextAwareLoggingException0(action);
+        return () -> {
+            final SafeCloseable handle = pushLoggingException();
+            try {
+                action.run();
+            } finally {
+                handle.close();
+            }
+        };
     }
 
     protected final <I> Consumer<I> makeContextAwareLoggingException(Consumer<I> action) {
         requireNonNull(action, "action");
-        return t -> makeContextAwareLoggingException0(() -> action.accept(t));
+        return t -> {
+            final SafeCloseable handle = pushLoggingException();
+            try {
+                action.accept(t);
+            } finally {
+                handle.close();
+            }
+        };
     }
 
     protected final <I, U> BiConsumer<I, U> makeContextAwareLoggingException(BiConsumer<I, U> action) {
         requireNonNull(action, "action");
-        return (t, u) -> makeContextAwareLoggingException0(() -> action.accept(t, u));
+        return (t, u) -> {
+            final SafeCloseable handle = pushLoggingException();
+            try {
+                action.accept(t, u);
+            } finally {
+                handle.close();
+            }
+        };
     }
 
     protected final <V> Supplier<V> makeContextAwareLoggingException(Supplier<? extends V> supplier) {
         requireNonNull(supplier, "supplier");
-        return () -> makeContextAwareLoggingException0(supplier);
+        return () -> {
+            final SafeCloseable handle = pushLoggingException();
+            try {
+                return supplier.get();
+            } finally {
+                handle.close();
+            }
+        };
     }
 
     protected final <I, R> Function<I, R> makeContextAwareLoggingException(Function<I, R> fn) {
         requireNonNull(fn, "fn");
-        return t -> makeContextAwareLoggingException0(() -> fn.apply(t));
+        return t -> {
+            final SafeCloseable handle = pushLoggingException();
+            try {
+                return fn.apply(t);
+            } finally {
+                handle.close();
+            }
+        };
     }
 
     protected final <I, U, V> BiFunction<I, U, V> makeContextAwareLoggingException(BiFunction<I, U, V> fn) {
         requireNonNull(fn, "fn");
-        return (t, u) -> makeContextAwareLoggingException0(() -> fn.apply(t, u));
+        return (t, u) -> {
+            final SafeCloseable handle = pushLoggingException();
+            try {
+                return fn.apply(t, u);
+            } finally {
+                handle.close();
+            }
+        };
     }
 
     @SuppressWarnings("MustBeClosedChecker")
-    private void makeContextAwareLoggingException0(Runnable action) {
-        final SafeCloseable handle;
+    private SafeCloseable pushLoggingException() {
         try {
-            handle = context.push();
+            return context.push();
         } catch (Throwable th) {
             logger.warn("An error occurred while pushing a context", th);
             throw th;
         }
-
-        try {
-            action.run();
-        } finally {
-            handle.close();
-        }
-    }
-
-    @SuppressWarnings("MustBeClosedChecker")
-    private <V> V makeContextAwareLoggingException0(Supplier<? extends V> fn) {
-        final SafeCloseable handle;
-        try {
-            handle = context.push();
-        } catch (Throwable th) {
-            logger.warn("An error occurred while pushing a context", th);
-            throw th;
-        }
-
-        try {
-            return fn.get();
-        } finally {
-            handle.close();
-        }
     }
 
     @Override
@@ -29,6 +29,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.math.LongMath;
 
 import com.linecorp.armeria.client.ResponseTimeoutException;
+import com.linecorp.armeria.common.ContextAwareEventLoop;
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.TimeoutException;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.TimeoutMode;
@@ -39,6 +41,7 @@ import com.linecorp.armeria.server.RequestTimeoutException;
 
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 
 final class DefaultCancellationScheduler implements CancellationScheduler {
 
@@ -83,6 +86,10 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
     @Nullable
     private ScheduledFuture<?> scheduledFuture;
     @Nullable
+    private TimeoutWheel timeoutWheel;
+    @Nullable
+    private TimeoutWheel.Timeout wheelTimeout;
+    @Nullable
     private volatile CancellationFuture whenCancelling;
     @Nullable
     private volatile CancellationFuture whenCancelled;
@@ -93,6 +100,7 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
     @SuppressWarnings("FieldMayBeFinal")
     private volatile long pendingTimeoutNanos;
     private final boolean server;
+    private final boolean useTimerWheel;
     @Nullable
     private Throwable cause;
 
@@ -102,9 +110,15 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
     }
 
     DefaultCancellationScheduler(long timeoutNanos, boolean server) {
+        this(timeoutNanos, server, Flags.useCancellationTimerWheel());
+    }
+
+    @VisibleForTesting
+    DefaultCancellationScheduler(long timeoutNanos, boolean server, boolean useTimerWheel) {
         this.timeoutNanos = timeoutNanos;
         pendingTimeoutNanos = timeoutNanos;
         this.server = server;
+        this.useTimerWheel = useTimerWheel;
     }
 
     /**
@@ -124,6 +138,14 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
     public void init(EventExecutor eventLoop) {
         checkState(this.eventLoop == null, "Can't init() more than once");
         this.eventLoop = eventLoop;
+        if (useTimerWheel) {
+            final EventExecutor unwrapped = eventLoop instanceof ContextAwareEventLoop ?
+                                            ((ContextAwareEventLoop) eventLoop).withoutContext() : eventLoop;
+            // Share a wheel only among the requests served by the same event loop thread.
+            if (unwrapped instanceof SingleThreadEventExecutor) {
+                timeoutWheel = TimeoutWheel.of(unwrapped);
+            }
+        }
     }
 
     @Override
@@ -144,8 +166,7 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
         startTimeNanos = System.nanoTime();
         if (timeoutNanos != 0) {
             state = State.SCHEDULED;
-            scheduledFuture =
-                    eventLoop.schedule(() -> invokeTask(null), timeoutNanos, NANOSECONDS);
+            scheduleTimeout(timeoutNanos);
         } else {
             state = State.INACTIVE;
         }
@@ -192,15 +213,35 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
         if (resetTimeout) {
             timeoutNanos = 0;
         }
-        assert scheduledFuture != null;
-        final boolean cancelled = scheduledFuture.cancel(false);
-        scheduledFuture = null;
+        final boolean cancelled = cancelScheduledTimeout();
         if (cancelled) {
             state = State.INACTIVE;
         }
         return cancelled;
     }
 
+    private void scheduleTimeout(long delayNanos) {
+        assert eventLoop != null;
+        if (timeoutWheel != null) {
+            wheelTimeout = timeoutWheel.schedule(() -> invokeTask(null), delayNanos);
+        } else {
+            scheduledFuture = eventLoop.schedule(() -> invokeTask(null), delayNanos, NANOSECONDS);
+        }
+    }
+
+    private boolean cancelScheduledTimeout() {
+        if (timeoutWheel != null) {
+            assert wheelTimeout != null;
+            final boolean cancelled = wheelTimeout.cancel();
+            wheelTimeout = null;
+            return cancelled;
+        }
+        assert scheduledFuture != null;
+        final boolean cancelled = scheduledFuture.cancel(false);
+        scheduledFuture = null;
+        return cancelled;
+    }
+
     @Override
     public void setTimeoutNanos(TimeoutMode mode, long timeoutNanos) {
         switch (mode) {
@@ -246,7 +287,7 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
         clearTimeout0(true);
         this.timeoutNanos = timeoutNanos;
         state = State.SCHEDULED;
-        scheduledFuture = eventLoop.schedule(() -> invokeTask(null), newTimeoutNanos, NANOSECONDS);
+        scheduleTimeout(newTimeoutNanos);
     }
 
     private void extendTimeoutNanos(long adjustmentNanos) {
@@ -279,7 +320,7 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
             return;
         }
         state = State.SCHEDULED;
-        scheduledFuture = eventLoop.schedule(() -> invokeTask(null), this.timeoutNanos, NANOSECONDS);
+        scheduleTimeout(this.timeoutNanos);
     }
 
     private void setTimeoutNanosFromNow(long timeoutNanos) {
@@ -318,7 +359,7 @@ final class DefaultCancellationScheduler implements CancellationScheduler {
         timeoutNanos = LongMath.saturatedAdd(newTimeoutNanos, passedTimeNanos);
 
         state = State.SCHEDULED;
-        scheduledFuture = eventLoop.schedule(() -> invokeTask(null), newTimeoutNanos, NANOSECONDS);
+        scheduleTimeout(newTimeoutNanos);
     }
 
     @Override
@@ -74,6 +74,32 @@ public final class DefaultRequestTarget implements RequestTarget {
      */
     private static final BitSet FRAGMENT_MUST_PRESERVE_ENCODING = PATH_MUST_PRESERVE_ENCODING;
 
+    /**
+     * The bit masks of the characters which appear in a server-side path as they are, i.e. without being
+     * normalized or re-encoded. The {@code n}-th bit of the low mask is set if the character {@code n} is
+     * clean and the {@code n}-th bit of the high mask is set if the character {@code n + 64} is clean.
+     * Note that {@code ';'} is not clean because matrix variables may have to be removed.
+     */
+    private static final long CLEAN_PATH_LOW_MASK = toMask(PATH_ALLOWED, 0, ";");
+    private static final long CLEAN_PATH_HIGH_MASK = toMask(PATH_ALLOWED, 64, ";");
+
+    /**
+     * The bit masks of the characters which appear in a server-side query as they are.
+     */
+    private static final long CLEAN_QUERY_LOW_MASK = toMask(QUERY_ALLOWED, 0, "");
+    private static final long CLEAN_QUERY_HIGH_MASK = toMask(QUERY_ALLOWED, 64, "");
+
+    private static long toMask(BitSet allowed, int offset, String excluded) {
+        long mask = 0;
+        for (int i = 0; i < 64; i++) {
+            final int c = offset + i;
+            if (allowed.get(c) && excluded.indexOf(c) < 0) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
     private static BitSet toBitSet(String chars) {
         final BitSet bitSet = new BitSet();
         for (int i = 0; i < chars.length(); i++) {
@@ -141,9 +167,96 @@ public final class DefaultRequestTarget implements RequestTarget {
             return cached;
         }
 
+        final RequestTarget clean = fastForServer(reqTarget, allowDoubleDotsInQueryString);
+        if (clean != null) {
+            return clean;
+        }
+
         return slowForServer(reqTarget, allowSemicolonInPathComponent, allowDoubleDotsInQueryString);
     }
 
+    /**
+     * Returns a {@link RequestTarget} without decoding and re-encoding the specified request target
+     * if it consists of the clean characters only and thus the normalization would yield the same path and
+     * query, which is the case for most requests. The path and query are the substrings of the specified
+     * request target, or the request target itself if there's no query.
+     *
+     * @return {@code null} if the request target has to be normalized by
+     *         {@link #slowForServer(String, boolean, boolean)}. It doesn't mean the request target is invalid.
+     */
+    @Nullable
+    private static RequestTarget fastForServer(String reqTarget, boolean allowDoubleDotsInQueryString) {
+        final int length = reqTarget.length();
+        if (length == 0 || reqTarget.charAt(0) != '/') {
+            return null;
+        }
+
+        // Let the intrinsified String.indexOf() find the delimiter and the patterns to normalize or reject.
+        final int queryPos = reqTarget.indexOf('?');
+        final int pathEnd = queryPos >= 0 ? queryPos : length;
+        final int consecutiveSlashesPos = reqTarget.indexOf("//");
+        if (consecutiveSlashesPos >= 0 && consecutiveSlashesPos < pathEnd) {
+            return null;
+        }
+        final int doubleDotsPos = reqTarget.indexOf("..");
+        if (doubleDotsPos >= 0 && (doubleDotsPos < pathEnd || !allowDoubleDotsInQueryString)) {
+            return null;
+        }
+
+        if (!isClean(reqTarget, 1, pathEnd, CLEAN_PATH_LOW_MASK, CLEAN_PATH_HIGH_MASK)) {
+            return null;
+        }
+
+        final String path;
+        final String query;
+        if (queryPos >= 0) {
+            if (!isClean(reqTarget, queryPos + 1, length, CLEAN_QUERY_LOW_MASK, CLEAN_QUERY_HIGH_MASK)) {
+                return null;
+            }
+            path = reqTarget.substring(0, queryPos);
+            query = reqTarget.substring(queryPos + 1);
+        } else {
+            path = reqTarget;
+            query = null;
+        }
+
+        return new DefaultRequestTarget(RequestTargetForm.ORIGIN, null, null, null, -1,
+                                        path, path, query, null);
+    }
+
+    /**
+     * Returns {@code true} if all characters in the specified range are in the specified masks.
+     * This method tests 8 characters at a time and accumulates the result into a {@code long}
+     * so that the loop has a single branch per 8 characters.
+     */
+    private static boolean isClean(String str, int start, int end, long lowMask, long highMask) {
+        long clean = 1;
+        int i = start;
+        for (final int blockEnd = end - 7; i < blockEnd; i += 8) {
+            clean &= cleanBit(str.charAt(i), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 1), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 2), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 3), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 4), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 5), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 6), lowMask, highMask) &
+                     cleanBit(str.charAt(i + 7), lowMask, highMask);
+            if (clean == 0) {
+                return false;
+            }
+        }
+        for (; i < end; i++) {
+            clean &= cleanBit(str.charAt(i), lowMask, highMask);
+        }
+        return clean != 0;
+    }
+
+    private static long cleanBit(char c, long lowMask, long highMask) {
+        // The shift distance of a long is masked to the lowest 6 bits, so we only need to choose the mask.
+        final long mask = c < 64 ? lowMask : c < 128 ? highMask : 0;
+        return (mask >>> c) & 1;
+    }
+
     /**
      * The main implementation of {@link RequestTarget#forClient(String, String)}.
      */
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.math.IntMath;
+
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.metric.MoreMeters;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionEncoder;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2Stream;
+
+/**
+ * Grows the HTTP/2 flow-control windows of a connection and its streams as the bandwidth-delay product (BDP)
+ * of the connection is estimated. A PING frame is sent when a DATA frame is received while no PING is
+ * outstanding, and the number of the bytes received until its ACK arrives is taken as a BDP sample. When the
+ * bandwidth observed has increased, the windows are grown to twice the sample up to
+ * {@code maxWindowSize}. The windows never shrink.
+ *
+ * <p>The estimated BDP and the adjusted window sizes are recorded as {@code <prefix>.http2.bdp} and
+ * {@code <prefix>.http2.window.size} respectively.
+ *
+ * <p>This class is <b>not</b> thread-safe and all methods are to be called from single thread such
+ * as {@link EventLoop}.
+ */
+public final class Http2BdpEstimator {
+
+    /**
+     * The payload of the PING frames sent by this estimator, which differs from the random payloads of the
+     * PING frames sent by {@link Http2KeepAliveHandler} with an overwhelming probability.
+     */
+    @VisibleForTesting
+    static final long BDP_PING_PAYLOAD = 0x42445050494e47L; // "BDPPING"
+
+    private final Http2ConnectionEncoder encoder;
+    private final int maxWindowSize;
+    private final DistributionSummary bdpSummary;
+    private final DistributionSummary windowSizeSummary;
+
+    private boolean pinging;
+    private long pingStartNanos;
+    private int dataSincePing;
+    private double lastBandwidth;
+
+    public Http2BdpEstimator(Http2ConnectionEncoder encoder, int maxWindowSize,
+                             MeterRegistry meterRegistry, String meterNamePrefix, SessionProtocol protocol) {
+        checkArgument(maxWindowSize > 0, "maxWindowSize: %s (expected: > 0)", maxWindowSize);
+        this.encoder = requireNonNull(encoder, "encoder");
+        this.maxWindowSize = maxWindowSize;
+        final List<Tag> tags = ImmutableList.of(Tag.of("protocol", protocol.uriText()));
+        bdpSummary = MoreMeters.newDistributionSummary(meterRegistry, meterNamePrefix + ".http2.bdp", tags);
+        windowSizeSummary = MoreMeters.newDistributionSummary(meterRegistry,
+                                                              meterNamePrefix + ".http2.window.size", tags);
+    }
+
+    /**
+     * Invoked when a DATA frame is received. Sends a PING frame if no PING is outstanding.
+     * The PING frame is flushed when the current read is complete.
+     */
+    public void onDataRead(ChannelHandlerContext ctx, int numBytes) {
+        if (!pinging) {
+            pinging = true;
+            dataSincePing = 0;
+            pingStartNanos = System.nanoTime();
+            encoder.writePing(ctx, false, BDP_PING_PAYLOAD, ctx.newPromise());
+        }
+        dataSincePing = IntMath.saturatedAdd(dataSincePing, numBytes);
+    }
+
+    /**
+     * Invoked when a PING ACK frame is received. Returns {@code false} if the PING was not sent by this
+     * estimator.
+     */
+    public boolean onPingAckRead(ChannelHandlerContext ctx, long data) throws Http2Exception {
+        if (data != BDP_PING_PAYLOAD || !pinging) {
+            return false;
+        }
+        pinging = false;
+
+        final int bdp = dataSincePing;
+        bdpSummary.record(bdp);
+
+        final long elapsedNanos = Math.max(System.nanoTime() - pingStartNanos, 1);
+        final double bandwidth = (double) bdp / elapsedNanos;
+        final int targetWindowSize = (int) Math.min(bdp * 2L, maxWindowSize);
+
+        final Http2Connection connection = encoder.connection();
+        final Http2LocalFlowController flowController = connection.local().flowController();
+        final Http2Stream connectionStream = connection.connectionStream();
+        final int currentWindowSize = flowController.initialWindowSize(connectionStream);
+        if (targetWindowSize <= currentWindowSize || bandwidth <= lastBandwidth) {
+            return true;
+        }
+
+        lastBandwidth = bandwidth;
+        flowController.incrementWindowSize(connectionStream, targetWindowSize - currentWindowSize);
+        if (targetWindowSize > flowController.initialWindowSize()) {
+            // The new initial window size is applied to the streams when the SETTINGS frame is acknowledged.
+            encoder.writeSettings(ctx, new Http2Settings().initialWindowSize(targetWindowSize),
+                                  ctx.newPromise());
+        }
+        windowSizeSummary.record(targetWindowSize);
+        return true;
+    }
+}
@@ -18,15 +18,21 @@ package com.linecorp.armeria.internal.common;
 
 import static java.util.Objects.requireNonNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.annotation.Nullable;
 
 /**
  * Contains APIs that are implemented differently based on the version of Java being run. This class implements
@@ -71,6 +77,53 @@ public class JavaVersionSpecific {
         return new ContextAwareFuture<>(requireNonNull(ctx, "ctx"));
     }
 
+    /**
+     * Returns a new {@link ThreadFactory} which creates virtual threads whose names start with
+     * the specified prefix, or {@code null} if the current version of Java does not support virtual threads.
+     */
+    @Nullable
+    public ThreadFactory newVirtualThreadFactory(String threadNamePrefix) {
+        return null;
+    }
+
+    @Nullable
+    static ThreadFactory java21VirtualThreadFactory(String threadNamePrefix) {
+        requireNonNull(threadNamePrefix, "threadNamePrefix");
+        // Use reflection because the build JDK may not have the virtual thread APIs.
+        // Thread.ofVirtual().name(threadNamePrefix + '-', 0).factory()
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Object namedBuilder = name.invoke(builder, threadNamePrefix + '-', 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder);
+        } catch (Throwable t) {
+            // Java 19 and 20 throw UnsupportedOperationException unless the preview features are enabled.
+            logger.debug("Virtual threads are not available:", t);
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the specified {@link Thread} is a virtual thread.
+     */
+    public boolean isVirtualThread(Thread thread) {
+        return false;
+    }
+
+    @Nullable
+    static MethodHandle java21IsVirtualMethodHandle() {
+        // Use a MethodHandle because the build JDK may not have the virtual thread APIs.
+        // Thread.isVirtual()
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+                                                            MethodType.methodType(boolean.class));
+        } catch (Throwable t) {
+            logger.debug("Thread.isVirtual() is not available:", t);
+            return null;
+        }
+    }
+
     long java9CurrentTimeMicros() {
         final Instant now = Clock.systemUTC().instant();
         return TimeUnit.SECONDS.toMicros(now.getEpochSecond()) +
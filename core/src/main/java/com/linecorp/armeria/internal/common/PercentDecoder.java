@@ -79,21 +79,68 @@ public final class PercentDecoder {
             return "";
         }
 
-        for (int i = from; i < toExcluded; i++) {
-            final char c = s.charAt(i);
-            if ((c & 0xFFF1) != 0x21) {
-                // We can skip with a single comparison because both
-                // '%' (0b00100101) and '+' (0b00101011) has the same five bits (0b0010xxx1).
-                continue;
+        final int encodedIndex = indexOfEncoded(s, from, toExcluded);
+        if (encodedIndex < 0) {
+            return s.substring(from, toExcluded);
+        }
+        return decodeUtf8Component(tempThreadLocals.charArray(toExcluded - from), s, from, toExcluded);
+    }
+
+    /**
+     * Decodes the specified string from the index of {@code from} to the index of {@code toExcluded} if it's
+     * <a href="https://datatracker.ietf.org/doc/html/rfc3986#section-2.1">Percent-Encoded</a>.
+     * Unlike {@link #decodeComponent(TemporaryThreadLocals, String, int, int)}, this method allocates
+     * a new buffer for decoding, so that it can be called while {@link TemporaryThreadLocals} is acquired.
+     */
+    public static String decodeComponent(String s, int from, int toExcluded) {
+        if (from == toExcluded) {
+            return "";
+        }
+
+        final int encodedIndex = indexOfEncoded(s, from, toExcluded);
+        if (encodedIndex < 0) {
+            return s.substring(from, toExcluded);
+        }
+        return decodeUtf8Component(new char[toExcluded - from], s, from, toExcluded);
+    }
+
+    /**
+     * Returns the index of the first {@code '%'} or {@code '+'} in the specified range, or {@code -1} if
+     * the range has nothing to decode.
+     */
+    private static int indexOfEncoded(String s, int from, int toExcluded) {
+        // Test 8 characters at a time with a single branch, because most components have nothing to decode.
+        int i = from;
+        for (final int blockEnd = toExcluded - 7; i < blockEnd; i += 8) {
+            final int needsDecoding = needsDecoding(s.charAt(i)) |
+                                      needsDecoding(s.charAt(i + 1)) |
+                                      needsDecoding(s.charAt(i + 2)) |
+                                      needsDecoding(s.charAt(i + 3)) |
+                                      needsDecoding(s.charAt(i + 4)) |
+                                      needsDecoding(s.charAt(i + 5)) |
+                                      needsDecoding(s.charAt(i + 6)) |
+                                      needsDecoding(s.charAt(i + 7));
+            if (needsDecoding != 0) {
+                break;
             }
+        }
 
-            // At this point, `c` is one of the following characters: # % ' ) + - /
-            if (c == '%' || c == '+') {
-                return decodeUtf8Component(tempThreadLocals.charArray(toExcluded - from), s, from, toExcluded);
+        for (; i < toExcluded; i++) {
+            if (needsDecoding(s.charAt(i)) != 0) {
+                return i;
             }
         }
+        return -1;
+    }
 
-        return s.substring(from, toExcluded);
+    /**
+     * Returns {@code 1} if the specified character is {@code '%'} or {@code '+'}, or {@code 0} otherwise,
+     * without branching.
+     */
+    private static int needsDecoding(char c) {
+        // '%' (0x25) and '+' (0x2B) are the bits 0x25 and 0x2B of the mask. The shift distance of a long is
+        // masked to the lowest 6 bits, so the characters greater than 0x3F have to be excluded separately.
+        return (int) (((1L << '%' | 1L << '+') >>> c) & (c >>> 6 == 0 ? 1 : 0));
     }
 
     private static String decodeUtf8Component(char[] buf, String s, int from, int toExcluded) {
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.math.LongMath;
+
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Ticker;
+
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * A coarse hashed timing wheel which is bound to an event loop. Unlike
+ * {@link EventExecutor#schedule(Runnable, long, TimeUnit)} whose cost is {@code O(log n)} for both scheduling
+ * and cancellation, a {@link Timeout} is scheduled and cancelled in {@code O(1)} by linking and unlinking
+ * it to and from a bucket. Only a single task is scheduled on the event loop for the next tick while
+ * there are pending {@link Timeout}s.
+ *
+ * <p>A {@link Timeout} never expires earlier than its delay but may expire up to a tick later.
+ * All methods except {@link #of(EventExecutor)} must be called from the event loop.
+ */
+final class TimeoutWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutWheel.class);
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final ConcurrentMap<EventExecutor, TimeoutWheel> wheels = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the {@link TimeoutWheel} bound to the specified event loop.
+     */
+    static TimeoutWheel of(EventExecutor eventLoop) {
+        final TimeoutWheel wheel = wheels.get(eventLoop);
+        if (wheel != null) {
+            return wheel;
+        }
+        return wheels.computeIfAbsent(eventLoop, key -> {
+            final long tickNanos = TimeUnit.MILLISECONDS.toNanos(Flags.cancellationTimerWheelTickMillis());
+            final TimeoutWheel newWheel = new TimeoutWheel(key, tickNanos, Ticker.systemTicker());
+            key.terminationFuture().addListener(unused -> wheels.remove(key));
+            return newWheel;
+        });
+    }
+
+    private final EventExecutor eventLoop;
+    private final long tickNanos;
+    private final Ticker ticker;
+    private final long startNanos;
+    private final Timeout[] buckets = new Timeout[WHEEL_SIZE];
+    private final Runnable tickTask = this::onTick;
+
+    /**
+     * The last tick whose bucket has been expired.
+     */
+    private long currentTick;
+    private int size;
+    @Nullable
+    private ScheduledFuture<?> tickFuture;
+
+    @VisibleForTesting
+    TimeoutWheel(EventExecutor eventLoop, long tickNanos, Ticker ticker) {
+        this.eventLoop = eventLoop;
+        this.tickNanos = tickNanos;
+        this.ticker = ticker;
+        startNanos = ticker.read();
+    }
+
+    /**
+     * Schedules the specified {@link Runnable} to be run after the specified delay.
+     */
+    Timeout schedule(Runnable task, long delayNanos) {
+        assert eventLoop.inEventLoop();
+        final long elapsedNanos = ticker.read() - startNanos;
+        // Round up so that a timeout never expires early.
+        long deadlineTick = LongMath.saturatedAdd(LongMath.saturatedAdd(elapsedNanos, delayNanos),
+                                                  tickNanos - 1) / tickNanos;
+        if (deadlineTick <= currentTick) {
+            deadlineTick = currentTick + 1;
+        }
+        final Timeout timeout = new Timeout(task, deadlineTick);
+        link(timeout);
+        if (tickFuture == null) {
+            scheduleTick(elapsedNanos);
+        }
+        return timeout;
+    }
+
+    @VisibleForTesting
+    int size() {
+        return size;
+    }
+
+    private void link(Timeout timeout) {
+        final int index = (int) (timeout.deadlineTick & WHEEL_MASK);
+        final Timeout head = buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+        timeout.linked = true;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        final Timeout prev = timeout.prev;
+        final Timeout next = timeout.next;
+        if (prev != null) {
+            prev.next = next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & WHEEL_MASK)] = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        size--;
+    }
+
+    private void scheduleTick(long elapsedNanos) {
+        final long nextTickNanos = (currentTick + 1) * tickNanos;
+        tickFuture = eventLoop.schedule(tickTask, Math.max(0, nextTickNanos - elapsedNanos), NANOSECONDS);
+    }
+
+    @VisibleForTesting
+    void onTick() {
+        tickFuture = null;
+        final long elapsedNanos = ticker.read() - startNanos;
+        final long nowTick = elapsedNanos / tickNanos;
+        if (nowTick <= currentTick) {
+            scheduleTick(elapsedNanos);
+            return;
+        }
+
+        // Visit each bucket at most once even if the event loop was blocked for more than a rotation.
+        final long lastTick = Math.min(nowTick, currentTick + WHEEL_SIZE);
+        List<Timeout> expired = null;
+        for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+            Timeout timeout = buckets[(int) (tick & WHEEL_MASK)];
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                // The timeouts which are a rotation or more away remain in the bucket.
+                if (timeout.deadlineTick <= nowTick) {
+                    unlink(timeout);
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = nowTick;
+
+        if (expired != null) {
+            // Run the tasks after unlinking all expired timeouts because a task may cancel other timeouts.
+            for (Timeout timeout : expired) {
+                timeout.run();
+            }
+        }
+        if (size > 0 && tickFuture == null) {
+            scheduleTick(ticker.read() - startNanos);
+        }
+    }
+
+    /**
+     * A handle of a task scheduled on a {@link TimeoutWheel}.
+     */
+    final class Timeout {
+
+        private final Runnable task;
+        private final long deadlineTick;
+        @Nullable
+        private Timeout prev;
+        @Nullable
+        private Timeout next;
+        private boolean linked;
+        private boolean done;
+
+        Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels this {@link Timeout}. Returns {@code false} if the task has been run or cancelled already.
+         */
+        boolean cancel() {
+            assert eventLoop.inEventLoop();
+            if (done) {
+                return false;
+            }
+            done = true;
+            if (linked) {
+                // Leave the tick task as it is. It is not rescheduled if the wheel is empty at the next tick.
+                unlink(this);
+            }
+            return true;
+        }
+
+        private void run() {
+            if (done) {
+                // Cancelled by another task which expired at the same tick.
+                return;
+            }
+            done = true;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                logger.warn("An exception was raised by a timeout task: {}", task, t);
+            }
+        }
+    }
+}
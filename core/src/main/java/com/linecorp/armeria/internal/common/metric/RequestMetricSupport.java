@@ -19,11 +19,15 @@ package com.linecorp.armeria.internal.common.metric;
 import static com.linecorp.armeria.common.metric.MoreMeters.newDistributionSummary;
 import static com.linecorp.armeria.common.metric.MoreMeters.newTimer;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 
 import com.linecorp.armeria.client.ResponseTimeoutException;
 import com.linecorp.armeria.client.WriteTimeoutException;
+import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.RequestContext;
 import com.linecorp.armeria.common.SuccessFunction;
 import com.linecorp.armeria.common.annotation.Nullable;
@@ -33,6 +37,8 @@ import com.linecorp.armeria.common.logging.RequestLogProperty;
 import com.linecorp.armeria.common.metric.MeterIdPrefix;
 import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.server.RequestTimeoutException;
+import com.linecorp.armeria.server.ServiceConfig;
+import com.linecorp.armeria.server.ServiceRequestContext;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
@@ -53,6 +59,22 @@ public final class RequestMetricSupport {
             RequestContext ctx, AttributeKey<Boolean> requestMetricsSetKey,
             MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
             SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig) {
+        setup(ctx, requestMetricsSetKey, meterIdPrefixFunction, server, successFunction,
+              distributionStatisticConfig, null);
+    }
+
+    /**
+     * Sets up request metrics. If {@link ServiceMeterBindings} is specified, the meters are looked up from
+     * the {@link ServiceMeterBindings} first, so that the {@link MeterIdPrefix} is not created for every
+     * request. The cached meters are shared by the requests with the same {@link ServiceConfig},
+     * {@link RequestLog#serviceName()}, {@link RequestLog#name()}, {@link HttpMethod} and response status,
+     * so the {@link MeterIdPrefixFunction} must not yield different {@link MeterIdPrefix}es for them.
+     */
+    public static void setup(
+            RequestContext ctx, AttributeKey<Boolean> requestMetricsSetKey,
+            MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
+            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig,
+            @Nullable ServiceMeterBindings bindings) {
         final Boolean isRequestMetricsSet = ctx.attr(requestMetricsSetKey);
 
         if (Boolean.TRUE.equals(isRequestMetricsSet)) {
@@ -66,42 +88,66 @@ public final class RequestMetricSupport {
                           RequestLogProperty.NAME,
                           RequestLogProperty.SESSION)
            .thenAccept(log -> onRequest(log, meterIdPrefixFunction, server, successFunction,
-                                        distributionStatisticConfig));
+                                        distributionStatisticConfig, bindings));
     }
 
     private static void onRequest(
             RequestLog log, MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
-            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig) {
+            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig,
+            @Nullable ServiceMeterBindings bindings) {
         final RequestContext ctx = log.context();
-        final MeterRegistry registry = ctx.meterRegistry();
+        final ServiceMeterBindings.Binding binding =
+                bindings != null && ctx instanceof ServiceRequestContext ? bindings.binding(log) : null;
+
+        ActiveRequestMetrics activeRequestMetrics = binding != null ? binding.activeRequestMetrics : null;
+        if (activeRequestMetrics == null) {
+            activeRequestMetrics = activeRequestMetrics(log, meterIdPrefixFunction);
+            if (binding != null) {
+                binding.activeRequestMetrics = activeRequestMetrics;
+            }
+        }
+        activeRequestMetrics.increment();
+        final ActiveRequestMetrics finalActiveRequestMetrics = activeRequestMetrics;
+        ctx.log().whenComplete().thenAccept(requestLog -> {
+            onResponse(requestLog, meterIdPrefixFunction, server, successFunction, distributionStatisticConfig,
+                       binding);
+            finalActiveRequestMetrics.decrement();
+        });
+    }
+
+    private static ActiveRequestMetrics activeRequestMetrics(RequestLog log,
+                                                             MeterIdPrefixFunction meterIdPrefixFunction) {
+        final MeterRegistry registry = log.context().meterRegistry();
         final MeterIdPrefix activeRequestsId =
                 meterIdPrefixFunction.activeRequestPrefix(registry, log).append("active.requests");
-
-        final ActiveRequestMetrics activeRequestMetrics = MicrometerUtil.register(
+        return MicrometerUtil.register(
                 registry, activeRequestsId, ActiveRequestMetrics.class,
                 (reg, prefix) ->
                         reg.gauge(prefix.name(), prefix.tags(),
                                   new ActiveRequestMetrics(), ActiveRequestMetrics::doubleValue));
-        activeRequestMetrics.increment();
-        ctx.log().whenComplete().thenAccept(requestLog -> {
-            onResponse(requestLog, meterIdPrefixFunction, server, successFunction, distributionStatisticConfig);
-            activeRequestMetrics.decrement();
-        });
     }
 
     private static void onResponse(
             RequestLog log, MeterIdPrefixFunction meterIdPrefixFunction, boolean server,
-            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig) {
+            SuccessFunction successFunction, DistributionStatisticConfig distributionStatisticConfig,
+            @Nullable ServiceMeterBindings.Binding binding) {
         final RequestContext ctx = log.context();
-        final MeterRegistry registry = ctx.meterRegistry();
-        final MeterIdPrefix idPrefix = meterIdPrefixFunction.completeRequestPrefix(registry, log);
         final boolean isSuccess = successFunction.isSuccess(ctx, log);
 
         if (server) {
-            final ServiceRequestMetrics metrics = MicrometerUtil.register(
-                    registry, idPrefix,
-                    ServiceRequestMetrics.class,
-                    (reg, idp) -> new DefaultServiceRequestMetrics(reg, idp, distributionStatisticConfig));
+            final int statusCode = log.responseHeaders().status().code();
+            ServiceRequestMetrics metrics = binding != null ? binding.serviceRequestMetrics(statusCode) : null;
+            if (metrics == null) {
+                final MeterRegistry registry = ctx.meterRegistry();
+                final MeterIdPrefix idPrefix = meterIdPrefixFunction.completeRequestPrefix(registry, log);
+                metrics = MicrometerUtil.register(
+                        registry, idPrefix,
+                        ServiceRequestMetrics.class,
+                        (reg, idp) -> new DefaultServiceRequestMetrics(reg, idp, distributionStatisticConfig));
+                if (binding != null) {
+                    binding.setServiceRequestMetrics(statusCode, metrics);
+                }
+            }
             updateMetrics(log, metrics, isSuccess);
             if (log.responseCause() instanceof RequestTimeoutException) {
                 metrics.requestTimeouts().increment();
@@ -109,6 +155,8 @@ public final class RequestMetricSupport {
             return;
         }
 
+        final MeterRegistry registry = ctx.meterRegistry();
+        final MeterIdPrefix idPrefix = meterIdPrefixFunction.completeRequestPrefix(registry, log);
         final ClientRequestMetrics metrics = MicrometerUtil.register(
                 registry, idPrefix,
                 ClientRequestMetrics.class,
@@ -178,6 +226,100 @@ public final class RequestMetricSupport {
 
     private RequestMetricSupport() {}
 
+    /**
+     * Caches the meters bound to each combination of a {@link ServiceConfig}, a
+     * {@link RequestLog#serviceName()}, a {@link RequestLog#name()}, an {@link HttpMethod} and a response
+     * status, so that the {@link MeterIdPrefix} and its tags are not created for every request. This must be
+     * used only when the {@link MeterIdPrefixFunction} yields the same {@link MeterIdPrefix} for the same
+     * combination, which is the case for {@link MeterIdPrefixFunction#ofDefault(String)}.
+     */
+    public static final class ServiceMeterBindings {
+
+        private static final HttpMethod[] methods = HttpMethod.values();
+        // 1xx, 2xx, ..., 9xx
+        private static final int NUM_STATUS_CLASSES = 10;
+        private static final int NUM_STATUS_CODES_PER_CLASS = 100;
+
+        private final ConcurrentMap<ServiceConfig,
+                ConcurrentMap<String, ConcurrentMap<String, AtomicReferenceArray<Binding>>>>
+                bindings = new ConcurrentHashMap<>();
+
+        /**
+         * Removes all cached meters. This method should be called when the {@link ServiceConfig}s are
+         * replaced, e.g. by {@code Server.reconfigure()}.
+         */
+        public void clear() {
+            bindings.clear();
+        }
+
+        Binding binding(RequestLog log) {
+            final ServiceConfig config = ((ServiceRequestContext) log.context()).config();
+            ConcurrentMap<String, ConcurrentMap<String, AtomicReferenceArray<Binding>>> byServiceName =
+                    bindings.get(config);
+            if (byServiceName == null) {
+                byServiceName = bindings.computeIfAbsent(config, unused -> new ConcurrentHashMap<>());
+            }
+            final String serviceName = log.serviceName();
+            ConcurrentMap<String, AtomicReferenceArray<Binding>> byName = byServiceName.get(serviceName);
+            if (byName == null) {
+                byName = byServiceName.computeIfAbsent(serviceName, unused -> new ConcurrentHashMap<>());
+            }
+            final String name = log.name();
+            AtomicReferenceArray<Binding> byMethod = byName.get(name);
+            if (byMethod == null) {
+                byMethod = byName.computeIfAbsent(name, unused -> new AtomicReferenceArray<>(methods.length));
+            }
+            final int index = log.context().method().ordinal();
+            final Binding binding = byMethod.get(index);
+            if (binding != null) {
+                return binding;
+            }
+            final Binding newBinding = new Binding();
+            if (byMethod.compareAndSet(index, null, newBinding)) {
+                return newBinding;
+            }
+            return byMethod.get(index);
+        }
+
+        static final class Binding {
+
+            @Nullable
+            volatile ActiveRequestMetrics activeRequestMetrics;
+
+            private final AtomicReferenceArray<AtomicReferenceArray<ServiceRequestMetrics>> byStatusClass =
+                    new AtomicReferenceArray<>(NUM_STATUS_CLASSES);
+
+            @Nullable
+            ServiceRequestMetrics serviceRequestMetrics(int statusCode) {
+                if (statusCode < 0 || statusCode >= NUM_STATUS_CLASSES * NUM_STATUS_CODES_PER_CLASS) {
+                    return null;
+                }
+                final AtomicReferenceArray<ServiceRequestMetrics> byStatusCode =
+                        byStatusClass.get(statusCode / NUM_STATUS_CODES_PER_CLASS);
+                if (byStatusCode == null) {
+                    return null;
+                }
+                return byStatusCode.get(statusCode % NUM_STATUS_CODES_PER_CLASS);
+            }
+
+            void setServiceRequestMetrics(int statusCode, ServiceRequestMetrics metrics) {
+                if (statusCode < 0 || statusCode >= NUM_STATUS_CLASSES * NUM_STATUS_CODES_PER_CLASS) {
+                    return;
+                }
+                final int statusClass = statusCode / NUM_STATUS_CODES_PER_CLASS;
+                AtomicReferenceArray<ServiceRequestMetrics> byStatusCode = byStatusClass.get(statusClass);
+                if (byStatusCode == null) {
+                    byStatusClass.compareAndSet(statusClass, null,
+                                                new AtomicReferenceArray<>(NUM_STATUS_CODES_PER_CLASS));
+                    byStatusCode = byStatusClass.get(statusClass);
+                }
+                // MicrometerUtil.register() returns the same instance for the same MeterIdPrefix,
+                // so it is fine to overwrite the value set by another thread.
+                byStatusCode.set(statusCode % NUM_STATUS_CODES_PER_CLASS, metrics);
+            }
+        }
+    }
+
     // metrics that only needed to be called when a request completed
     private interface RequestMetrics {
         Counter success();
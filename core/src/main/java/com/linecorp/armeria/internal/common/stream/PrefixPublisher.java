@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.StreamMessage;
+
+/**
+ * A {@link Publisher} which publishes the leading elements of a {@link StreamMessage} until the total
+ * length of the published {@link HttpData}s reaches the specified maximum length, and then cancels
+ * the {@link StreamMessage} and completes. The other elements do not count.
+ */
+public final class PrefixPublisher<T> implements Publisher<T> {
+
+    private final StreamMessage<T> delegate;
+    private final long maxLength;
+
+    public PrefixPublisher(StreamMessage<T> delegate, long maxLength) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        checkArgument(maxLength > 0, "maxLength: %s (expected: > 0)", maxLength);
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber, "subscriber");
+        delegate.subscribe(new PrefixSubscriber<>(subscriber, maxLength));
+    }
+
+    private static final class PrefixSubscriber<T> implements Subscriber<T> {
+
+        private final Subscriber<? super T> downstream;
+        private final long maxLength;
+        @Nullable
+        private Subscription upstream;
+        private long length;
+        private boolean completed;
+
+        PrefixSubscriber(Subscriber<? super T> downstream, long maxLength) {
+            this.downstream = downstream;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            downstream.onSubscribe(s);
+        }
+
+        @Override
+        public void onNext(T obj) {
+            if (completed) {
+                StreamMessageUtil.closeOrAbort(obj);
+                return;
+            }
+            if (obj instanceof HttpData) {
+                length += ((HttpData) obj).length();
+            }
+            downstream.onNext(obj);
+            if (length >= maxLength && !completed) {
+                completed = true;
+                assert upstream != null;
+                upstream.cancel();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!completed) {
+                completed = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!completed) {
+                completed = true;
+                downstream.onComplete();
+            }
+        }
+    }
+}
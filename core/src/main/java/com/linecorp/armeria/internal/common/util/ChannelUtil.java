@@ -110,6 +110,10 @@ public final class ChannelUtil {
     private static ChannelOption<Integer> ioUringTcpKeepidle;
     @Nullable
     private static ChannelOption<Integer> ioUringTcpKeepintvl;
+    @Nullable
+    private static ChannelOption<Boolean> epollReusePort;
+    @Nullable
+    private static ChannelOption<Boolean> ioUringReusePort;
 
     private static final Set<ChannelOption<?>> tcpOptions;
 
@@ -125,6 +129,8 @@ public final class ChannelUtil {
             epollTcpKeepidle = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPIDLE");
             //noinspection unchecked
             epollTcpKeepintvl = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPINTVL");
+            //noinspection unchecked
+            epollReusePort = (ChannelOption<Boolean>) findChannelOption(clazz, "SO_REUSEPORT");
 
             tcpOptionsBuilder.add(epollTcpUserTimeout);
             tcpOptionsBuilder.add(epollTcpKeepidle);
@@ -144,6 +150,8 @@ public final class ChannelUtil {
                 ioUringTcpKeepidle = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPIDLE");
                 //noinspection unchecked
                 ioUringTcpKeepintvl = (ChannelOption<Integer>) findChannelOption(clazz, "TCP_KEEPINTVL");
+                //noinspection unchecked
+                ioUringReusePort = (ChannelOption<Boolean>) findChannelOption(clazz, "SO_REUSEPORT");
 
                 tcpOptionsBuilder.add(ioUringTcpUserTimeout);
                 tcpOptionsBuilder.add(ioUringTcpKeepidle);
@@ -167,6 +175,22 @@ public final class ChannelUtil {
         }
     }
 
+    /**
+     * Returns the {@code SO_REUSEPORT} {@link ChannelOption} of the specified {@link TransportType},
+     * or {@code null} if the {@link TransportType} does not support it.
+     */
+    @Nullable
+    public static ChannelOption<Boolean> reusePortOption(TransportType transportType) {
+        switch (transportType) {
+            case EPOLL:
+                return epollReusePort;
+            case IO_URING:
+                return ioUringReusePort;
+            default:
+                return null;
+        }
+    }
+
     public static Set<ChannelOption<?>> prohibitedOptions() {
         return PROHIBITED_OPTIONS;
     }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.common.util.Ticker;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Periodically schedules a task on an {@link EventExecutor} and measures how late it runs, which is
+ * the time a newly submitted task waits for the tasks ahead of it. The lag is smoothed with
+ * an exponentially weighted moving average, and each measured lag is also passed to the optional listener.
+ * The probe runs until it is {@linkplain #close() closed} or the {@link EventExecutor} is shut down.
+ */
+public final class EventLoopLagProbe implements Runnable, SafeCloseable {
+
+    private static final double ALPHA = 0.25;
+
+    private final EventExecutor eventLoop;
+    private final Ticker ticker;
+    private final long intervalNanos;
+    @Nullable
+    private final LongConsumer lagListener;
+
+    private long expectedRunTimeNanos;
+    private volatile long lagNanos;
+    @Nullable
+    private volatile ScheduledFuture<?> future;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param eventLoop the {@link EventExecutor} to probe
+     * @param ticker the {@link Ticker} which measures the lag
+     * @param intervalNanos the interval between the probe tasks
+     * @param lagListener the {@link LongConsumer} which is invoked with each measured lag in nanoseconds
+     *                    from the {@link EventExecutor}
+     */
+    public EventLoopLagProbe(EventExecutor eventLoop, Ticker ticker, long intervalNanos,
+                             @Nullable LongConsumer lagListener) {
+        this.eventLoop = requireNonNull(eventLoop, "eventLoop");
+        this.ticker = requireNonNull(ticker, "ticker");
+        checkArgument(intervalNanos > 0, "intervalNanos: %s (expected: > 0)", intervalNanos);
+        this.intervalNanos = intervalNanos;
+        this.lagListener = lagListener;
+    }
+
+    /**
+     * Starts probing the {@link EventExecutor}.
+     */
+    public void start() {
+        scheduleNext();
+    }
+
+    /**
+     * Returns the smoothed lag of the {@link EventExecutor} in nanoseconds.
+     */
+    public long lagNanos() {
+        return lagNanos;
+    }
+
+    @Override
+    public void run() {
+        final long lag = Math.max(0, ticker.read() - expectedRunTimeNanos);
+        lagNanos = (long) (ALPHA * lag + (1 - ALPHA) * lagNanos);
+        if (lagListener != null) {
+            lagListener.accept(lag);
+        }
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        if (closed || eventLoop.isShuttingDown()) {
+            return;
+        }
+        expectedRunTimeNanos = ticker.read() + intervalNanos;
+        final ScheduledFuture<?> future;
+        try {
+            future = eventLoop.schedule(this, intervalNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // The event loop is shutting down.
+            return;
+        }
+        this.future = future;
+        if (closed) {
+            // Closed while scheduling.
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Stops probing the {@link EventExecutor}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        final ScheduledFuture<?> future = this.future;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.linecorp.armeria.internal.common.util;
 
+import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.RequestContextStorage;
 import com.linecorp.armeria.common.annotation.Nullable;
 
 import io.netty.util.concurrent.FastThreadLocal;
@@ -23,16 +25,36 @@ import reactor.core.scheduler.NonBlocking;
 
 /**
  * An event loop thread with support for {@link TemporaryThreadLocals}, Netty {@link FastThreadLocal} and
- * Project Reactor {@link NonBlocking}.
+ * Project Reactor {@link NonBlocking}. The current {@link RequestContext} is kept in a field of this thread
+ * rather than in a {@link FastThreadLocal} because it is pushed and popped very frequently.
  */
 public final class EventLoopThread extends FastThreadLocalThread implements NonBlocking {
 
     final TemporaryThreadLocals temporaryThreadLocals = new TemporaryThreadLocals();
 
+    @Nullable
+    private RequestContext requestContext;
+
     /**
      * Creates a new instance.
      */
     public EventLoopThread(@Nullable ThreadGroup threadGroup, Runnable r, String name) {
         super(threadGroup, r, name);
     }
+
+    /**
+     * Returns the {@link RequestContext} of this thread which is stored by
+     * {@link RequestContextStorage#threadLocal()}. Must be invoked from this thread.
+     */
+    @Nullable
+    public RequestContext requestContext() {
+        return requestContext;
+    }
+
+    /**
+     * Sets the {@link RequestContext} of this thread. Must be invoked from this thread.
+     */
+    public void requestContext(@Nullable RequestContext requestContext) {
+        this.requestContext = requestContext;
+    }
 }
@@ -57,6 +57,13 @@ public final class TransportTypeProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(TransportTypeProvider.class);
 
+    // The defaults of the io_uring transport, used when only one of the ring size and
+    // the IOSQE_ASYNC threshold is specified.
+    private static final int DEFAULT_IO_URING_RING_SIZE =
+            Math.max(64, Integer.getInteger("io.netty.iouring.ringSize", 4096));
+    private static final int DEFAULT_IO_URING_IOSQE_ASYNC_THRESHOLD =
+            Math.max(0, Integer.getInteger("io.netty.iouring.iosqeAsyncThreshold", 25));
+
     static {
         if (Flags.warnNettyVersions()) {
             final String howToDisableWarning =
@@ -184,7 +191,8 @@ public final class TransportTypeProvider {
             final Class<? extends EventLoop> el =
                     findClass(channelPackageName, eventLoopTypeName);
             final BiFunction<Integer, ThreadFactory, ? extends EventLoopGroup> elgc =
-                    findEventLoopGroupConstructor(elg);
+                    "IO_URING".equals(name) ? findIoUringEventLoopGroupConstructor(elg)
+                                            : findEventLoopGroupConstructor(elg);
 
             return new TransportTypeProvider(name, ssc, sc, sdsc, dsc, dc, elg, el, elgc, null);
         } catch (Throwable cause) {
@@ -220,6 +228,44 @@ public final class TransportTypeProvider {
         };
     }
 
+    /**
+     * Finds the constructor of {@code IOUringEventLoopGroup} which accepts the ring size and the
+     * {@code IOSQE_ASYNC} threshold, so that {@link Flags#ioUringRingSize()} and
+     * {@link Flags#ioUringIosqeAsyncThreshold()} are applied. The flags are read when an
+     * {@link EventLoopGroup} is created rather than here because this class may be initialized while
+     * {@link Flags} is being initialized.
+     */
+    private static BiFunction<Integer, ThreadFactory, ? extends EventLoopGroup>
+    findIoUringEventLoopGroupConstructor(Class<? extends EventLoopGroup> eventLoopGroupType) throws Exception {
+        final BiFunction<Integer, ThreadFactory, ? extends EventLoopGroup> defaultConstructor =
+                findEventLoopGroupConstructor(eventLoopGroupType);
+        final MethodHandle constructor;
+        try {
+            constructor = MethodHandles.lookup().unreflectConstructor(
+                    eventLoopGroupType.getConstructor(int.class, ThreadFactory.class, int.class, int.class));
+        } catch (NoSuchMethodException e) {
+            // An io_uring transport which does not allow tuning the ring.
+            return defaultConstructor;
+        }
+
+        return (nThreads, threadFactory) -> {
+            final int ringSize = Flags.ioUringRingSize();
+            final int iosqeAsyncThreshold = Flags.ioUringIosqeAsyncThreshold();
+            if (ringSize == 0 && iosqeAsyncThreshold < 0) {
+                return defaultConstructor.apply(nThreads, threadFactory);
+            }
+            try {
+                return (EventLoopGroup) constructor.invoke(
+                        nThreads, threadFactory,
+                        ringSize > 0 ? ringSize : DEFAULT_IO_URING_RING_SIZE,
+                        iosqeAsyncThreshold >= 0 ? iosqeAsyncThreshold
+                                                 : DEFAULT_IO_URING_IOSQE_ASYNC_THRESHOLD);
+            } catch (Throwable t) {
+                return Exceptions.throwUnsafely(Exceptions.peel(t));
+            }
+        };
+    }
+
     private final String name;
     @Nullable
     private final Class<? extends ServerSocketChannel> serverChannelType;
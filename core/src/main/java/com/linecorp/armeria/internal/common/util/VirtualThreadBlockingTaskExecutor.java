@@ -0,0 +1,434 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.BlockingTaskExecutor;
+import com.linecorp.armeria.common.util.ThreadFactories;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+/**
+ * A {@link BlockingTaskExecutor} which runs each task in a new virtual thread. Delayed and periodic tasks
+ * are kept by a single platform thread until they are due and then handed over to a new virtual thread.
+ * A periodic task is scheduled again only after its previous run completes, so its runs never overlap.
+ * This class does not use {@code synchronized} blocks so that the caller does not pin its carrier thread.
+ */
+public final class VirtualThreadBlockingTaskExecutor extends AbstractExecutorService
+        implements BlockingTaskExecutor {
+
+    private final ThreadFactory threadFactory;
+    private final Function<? super Runnable, ? extends Runnable> taskFunction;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+    private final LongAdder completedTasks = new LongAdder();
+    private final CompletableFuture<Void> terminationFuture = new CompletableFuture<>();
+    private volatile boolean shutdown;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param threadFactory the {@link ThreadFactory} which creates virtual threads
+     * @param threadNamePrefix the prefix of the name of the thread which schedules delayed tasks
+     * @param taskFunction the {@link Function} which decorates a task
+     */
+    public VirtualThreadBlockingTaskExecutor(ThreadFactory threadFactory, String threadNamePrefix,
+                                             Function<? super Runnable, ? extends Runnable> taskFunction) {
+        this.threadFactory = requireNonNull(threadFactory, "threadFactory");
+        this.taskFunction = requireNonNull(taskFunction, "taskFunction");
+        scheduler = new ScheduledThreadPoolExecutor(
+                1, ThreadFactories.newThreadFactory(threadNamePrefix + "-scheduler", true));
+        scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        requireNonNull(command, "command");
+        if (shutdown) {
+            throw new RejectedExecutionException("executor shut down already");
+        }
+        final Runnable task = taskFunction.apply(command);
+        final Thread thread = threadFactory.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                completedTasks.increment();
+                runningThreads.remove(Thread.currentThread());
+                tryTerminate();
+            }
+        });
+        runningThreads.add(thread);
+        thread.start();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(requireNonNull(command, "command")), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        final FutureTask<V> task = new FutureTask<>(requireNonNull(callable, "callable"));
+        final ScheduledFuture<?> handOff = scheduler.schedule(() -> executeOrCancel(task), delay, unit);
+        return new VirtualScheduledFuture<>(handOff, task);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+                                                  TimeUnit unit) {
+        requireNonNull(command, "command");
+        requireNonNull(unit, "unit");
+        checkArgument(period > 0, "period: %s (expected: > 0)", period);
+        final PeriodicTask task = new PeriodicTask(command, unit.toNanos(period));
+        task.schedule(unit.toNanos(initialDelay));
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                     TimeUnit unit) {
+        requireNonNull(command, "command");
+        requireNonNull(unit, "unit");
+        checkArgument(delay > 0, "delay: %s (expected: > 0)", delay);
+        final PeriodicTask task = new PeriodicTask(command, -unit.toNanos(delay));
+        task.schedule(unit.toNanos(initialDelay));
+        return task;
+    }
+
+    private void executeOrCancel(FutureTask<?> task) {
+        try {
+            execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        scheduler.shutdown();
+        tryTerminate();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        final List<Runnable> pending = new ArrayList<>(scheduler.shutdownNow());
+        for (Thread thread : runningThreads) {
+            thread.interrupt();
+        }
+        tryTerminate();
+        return pending;
+    }
+
+    private void tryTerminate() {
+        if (shutdown && runningThreads.isEmpty() && scheduler.isTerminated()) {
+            terminationFuture.complete(null);
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        tryTerminate();
+        return terminationFuture.isDone();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        if (!scheduler.awaitTermination(timeout, unit)) {
+            return false;
+        }
+        tryTerminate();
+        try {
+            terminationFuture.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            throw new Error(e); // Never completed exceptionally.
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public ScheduledExecutorService unwrap() {
+        return this;
+    }
+
+    /**
+     * Returns the number of the tasks running now.
+     */
+    public int activeCount() {
+        return runningThreads.size();
+    }
+
+    /**
+     * Returns the number of the tasks which have been completed.
+     */
+    public long completedTaskCount() {
+        return completedTasks.sum();
+    }
+
+    /**
+     * Registers the meters which have the same names with what
+     * {@link io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics} registers for
+     * a thread pool executor.
+     */
+    public void bindTo(MeterRegistry registry, String metricPrefix, String executorName) {
+        final List<Tag> tags = ImmutableList.of(Tag.of("name", executorName));
+        final String prefix = metricPrefix.isEmpty() ? "" : metricPrefix + '.';
+        FunctionCounter.builder(prefix + "executor.completed", this,
+                                VirtualThreadBlockingTaskExecutor::completedTaskCount)
+                       .tags(tags)
+                       .description("The approximate total number of tasks that have completed execution")
+                       .baseUnit("tasks")
+                       .register(registry);
+        Gauge.builder(prefix + "executor.active", this, VirtualThreadBlockingTaskExecutor::activeCount)
+             .tags(tags)
+             .description("The approximate number of threads that are actively executing tasks")
+             .baseUnit("threads")
+             .register(registry);
+        Gauge.builder(prefix + "executor.queued", scheduler, executor -> executor.getQueue().size())
+             .tags(tags)
+             .description("The approximate number of tasks that are waiting for their delay")
+             .baseUnit("tasks")
+             .register(registry);
+        Gauge.builder(prefix + "executor.pool.size", this, VirtualThreadBlockingTaskExecutor::activeCount)
+             .tags(tags)
+             .description("The current number of virtual threads")
+             .baseUnit("threads")
+             .register(registry);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("active", activeCount())
+                          .add("completed", completedTaskCount())
+                          .add("shutdown", shutdown)
+                          .toString();
+    }
+
+    private static final class VirtualScheduledFuture<V> implements ScheduledFuture<V> {
+
+        private final ScheduledFuture<?> handOff;
+        private final FutureTask<V> task;
+
+        VirtualScheduledFuture(ScheduledFuture<?> handOff, FutureTask<V> task) {
+            this.handOff = handOff;
+            this.task = task;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return handOff.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return handOff.compareTo(o);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            handOff.cancel(false);
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+
+    /**
+     * A periodic task which schedules its next run when the current run completes, as
+     * {@link ScheduledThreadPoolExecutor} does, so that the runs do not overlap and the fixed delay is
+     * measured from the end of the previous run. An exception raised by the command cancels the subsequent
+     * runs and completes this future exceptionally.
+     */
+    private final class PeriodicTask implements ScheduledFuture<Object>, Runnable {
+
+        private final Runnable command;
+        // A positive value for a fixed rate and a negative value for a fixed delay.
+        private final long periodNanos;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long nextRunNanos;
+        @Nullable
+        private volatile ScheduledFuture<?> handOff;
+        @Nullable
+        private volatile Thread runner;
+
+        PeriodicTask(Runnable command, long periodNanos) {
+            this.command = command;
+            this.periodNanos = periodNanos;
+        }
+
+        void schedule(long delayNanos) {
+            nextRunNanos = System.nanoTime() + delayNanos;
+            final ScheduledFuture<?> handOff =
+                    scheduler.schedule(this::handOff, delayNanos, TimeUnit.NANOSECONDS);
+            this.handOff = handOff;
+            if (result.isDone()) {
+                // Cancelled while scheduling.
+                handOff.cancel(false);
+            }
+        }
+
+        private void handOff() {
+            try {
+                execute(this);
+            } catch (RejectedExecutionException e) {
+                result.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            runner = Thread.currentThread();
+            try {
+                command.run();
+            } catch (Throwable cause) {
+                result.completeExceptionally(cause);
+                return;
+            } finally {
+                runner = null;
+            }
+
+            if (result.isDone()) {
+                return;
+            }
+            if (shutdown) {
+                // Do not run the periodic tasks after shutdown, as ScheduledThreadPoolExecutor does.
+                result.cancel(false);
+                return;
+            }
+            final long delayNanos;
+            if (periodNanos > 0) {
+                delayNanos = Math.max(0, nextRunNanos + periodNanos - System.nanoTime());
+            } else {
+                delayNanos = -periodNanos;
+            }
+            try {
+                schedule(delayNanos);
+            } catch (RejectedExecutionException e) {
+                result.cancel(false);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(nextRunNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean cancelled = result.cancel(false);
+            final ScheduledFuture<?> handOff = this.handOff;
+            if (handOff != null) {
+                handOff.cancel(false);
+            }
+            if (cancelled && mayInterruptIfRunning) {
+                final Thread runner = this.runner;
+                if (runner != null) {
+                    runner.interrupt();
+                }
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return result.get();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return result.get(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpResponseWriter;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.stream.ClosedStreamException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * An {@link OutputStream} which writes its content into pooled {@link ByteBuf}s of a fixed size and
+ * sends each of them to an {@link HttpResponseWriter} as soon as it is filled up.
+ *
+ * <p>Only one chunk is allowed to be in flight. If the previously written chunk has not been consumed yet,
+ * {@link #write(byte[], int, int)} blocks until it is, so this stream must be used from a thread that is
+ * allowed to block, such as a blocking task executor.
+ */
+public final class ChunkedHttpDataOutputStream extends OutputStream {
+
+    private final HttpResponseWriter writer;
+    private final ByteBufAllocator alloc;
+    private final int chunkSize;
+
+    @Nullable
+    private ByteBuf buf;
+    @Nullable
+    private CompletableFuture<Void> lastChunkConsumed;
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param writer the {@link HttpResponseWriter} which the headers have been already written to
+     * @param alloc the {@link ByteBufAllocator} which allocates the chunks
+     * @param chunkSize the maximum number of bytes in a chunk
+     */
+    public ChunkedHttpDataOutputStream(HttpResponseWriter writer, ByteBufAllocator alloc, int chunkSize) {
+        this.writer = requireNonNull(writer, "writer");
+        this.alloc = requireNonNull(alloc, "alloc");
+        checkArgument(chunkSize > 0, "chunkSize: %s (expected: > 0)", chunkSize);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        final ByteBuf buf = ensureBuffer();
+        buf.writeByte(b);
+        if (!buf.isWritable()) {
+            sendChunk();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        requireNonNull(b, "b");
+        while (len > 0) {
+            final ByteBuf buf = ensureBuffer();
+            final int n = Math.min(len, buf.writableBytes());
+            buf.writeBytes(b, off, n);
+            off += n;
+            len -= n;
+            if (!buf.isWritable()) {
+                sendChunk();
+            }
+        }
+    }
+
+    /**
+     * Sends the bytes written so far as a chunk, even if it is not filled up yet.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (buf != null && buf.isReadable()) {
+            sendChunk();
+        }
+    }
+
+    /**
+     * Sends the remaining bytes, if any. Note that this method does not close the {@link HttpResponseWriter}
+     * so that a caller can write trailers.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            if (buf != null) {
+                buf.release();
+                buf = null;
+            }
+        }
+    }
+
+    private ByteBuf ensureBuffer() throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+        if (buf == null) {
+            buf = alloc.buffer(chunkSize, chunkSize);
+        }
+        return buf;
+    }
+
+    private void sendChunk() throws IOException {
+        assert buf != null;
+        final ByteBuf chunk = buf;
+        buf = null;
+        try {
+            awaitLastChunkConsumed();
+        } catch (Throwable t) {
+            chunk.release();
+            throw t;
+        }
+        // tryWrite() releases the chunk if the writer is closed already.
+        if (!writer.tryWrite(HttpData.wrap(chunk))) {
+            throw new IOException("response closed already", ClosedStreamException.get());
+        }
+        lastChunkConsumed = writer.whenConsumed();
+    }
+
+    private void awaitLastChunkConsumed() throws IOException {
+        final CompletableFuture<Void> lastChunkConsumed = this.lastChunkConsumed;
+        if (lastChunkConsumed == null) {
+            return;
+        }
+        this.lastChunkConsumed = null;
+        try {
+            lastChunkConsumed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException("response closed before a chunk is consumed", e.getCause());
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.linecorp.armeria.internal.server;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -26,19 +27,27 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 
-import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.Flags;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.multipart.Multipart;
 import com.linecorp.armeria.common.multipart.MultipartFile;
+import com.linecorp.armeria.common.util.UnmodifiableFuture;
+import com.linecorp.armeria.internal.server.MultipartMemoryBudget.RequestBudget;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
 import io.netty.channel.EventLoop;
 
 public final class FileAggregatedMultipart {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileAggregatedMultipart.class);
+
     private final ListMultimap<String, String> params;
     private final ListMultimap<String, MultipartFile> files;
 
@@ -59,6 +68,8 @@ public final class FileAggregatedMultipart {
     public static CompletableFuture<FileAggregatedMultipart> aggregateMultipart(ServiceRequestContext ctx,
                                                                                 HttpRequest req) {
         final Path destination = ctx.config().multipartUploadsLocation();
+        final RequestBudget budget = MultipartMemoryBudget.of(ctx.config().server()).newRequestBudget(
+                Flags.defaultMultipartMaxInMemoryLength());
         return Multipart.from(req).collect(bodyPart -> {
             final String name = bodyPart.name();
             assert name != null;
@@ -78,11 +89,11 @@ public final class FileAggregatedMultipart {
                 });
             }
 
-            return bodyPart.aggregateWithPooledObjects(eventLoop, ctx.alloc()).thenApply(aggregatedBodyPart -> {
-                try (HttpData httpData = aggregatedBodyPart.content()) {
-                    return Maps.<String, Object>immutableEntry(name, httpData.toStringUtf8());
-                }
-            });
+            // Keep the parameter in memory unless the memory budget is exhausted.
+            final ScheduledExecutorService executor = ctx.blockingTaskExecutor().withoutContext();
+            return SpillingBodyPartAggregator.aggregate(bodyPart, budget, destination.resolve("incomplete"),
+                                                        eventLoop, ctx.alloc(), executor)
+                                             .thenCompose(aggregated -> toParam(name, aggregated, executor));
         }).thenApply(results -> {
             final ImmutableListMultimap.Builder<String, String> params = ImmutableListMultimap.builder();
             final ImmutableListMultimap.Builder<String, MultipartFile> files =
@@ -101,6 +112,31 @@ public final class FileAggregatedMultipart {
         });
     }
 
+    private static CompletableFuture<Object> toParam(String name, Object aggregated,
+                                                     ExecutorService blockingExecutorService) {
+        if (aggregated instanceof String) {
+            return UnmodifiableFuture.completedFuture(Maps.immutableEntry(name, (String) aggregated));
+        }
+
+        // A spilled parameter is still a parameter. Read it back once it is received completely, so that
+        // the pooled buffers are not held while the part is being uploaded.
+        final Path spilled = (Path) aggregated;
+        return CompletableFuture.<Object>supplyAsync(() -> {
+            try {
+                final String value = new String(Files.readAllBytes(spilled), StandardCharsets.UTF_8);
+                return Maps.immutableEntry(name, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                try {
+                    Files.deleteIfExists(spilled);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete a spilled multipart parameter: {}", spilled, e);
+                }
+            }
+        }, blockingExecutorService);
+    }
+
     private static CompletableFuture<Path> moveFile(Path file, Path targetDirectory,
                                                     ExecutorService blockingExecutorService) {
         return CompletableFuture.supplyAsync(() -> {
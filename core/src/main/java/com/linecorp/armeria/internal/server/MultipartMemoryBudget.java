@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.MapMaker;
+
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.server.Server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps track of the number of bytes which are aggregated in memory by the in-flight
+ * {@code multipart/form-data} requests of a {@link Server}, so that the parts beyond the budget are
+ * spilled to files.
+ */
+public final class MultipartMemoryBudget {
+
+    private static final ConcurrentMap<Server, MultipartMemoryBudget> budgets =
+            new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Returns the {@link MultipartMemoryBudget} of the specified {@link Server}. The budget is created and
+     * bound to the {@link Server#meterRegistry()} when it is first requested.
+     */
+    public static MultipartMemoryBudget of(Server server) {
+        requireNonNull(server, "server");
+        return budgets.computeIfAbsent(server, unused -> {
+            final MultipartMemoryBudget budget =
+                    new MultipartMemoryBudget(Flags.multipartMaxTotalInMemoryLength());
+            budget.bindTo(server.meterRegistry());
+            return budget;
+        });
+    }
+
+    private final long maxTotalLength;
+    private final AtomicLong usedLength = new AtomicLong();
+    private final LongAdder spilledBytes = new LongAdder();
+    private final LongAdder spilledParts = new LongAdder();
+
+    @VisibleForTesting
+    MultipartMemoryBudget(long maxTotalLength) {
+        checkArgument(maxTotalLength >= 0, "maxTotalLength: %s (expected: >= 0)", maxTotalLength);
+        this.maxTotalLength = maxTotalLength;
+    }
+
+    private void bindTo(MeterRegistry registry) {
+        Gauge.builder("armeria.server.multipart.memory.used", this, MultipartMemoryBudget::usedLength)
+             .description("The number of bytes aggregated in memory by in-flight multipart requests")
+             .baseUnit("bytes")
+             .register(registry);
+        FunctionCounter.builder("armeria.server.multipart.spilled", this, MultipartMemoryBudget::spilledBytes)
+                       .description("The number of multipart bytes spilled to temporary files")
+                       .baseUnit("bytes")
+                       .register(registry);
+        FunctionCounter.builder("armeria.server.multipart.spilled.parts", this,
+                                MultipartMemoryBudget::spilledParts)
+                       .description("The number of multipart parts spilled to temporary files")
+                       .register(registry);
+    }
+
+    /**
+     * Returns a new {@link RequestBudget} which allows a single request to aggregate up to the
+     * specified number of bytes in memory.
+     */
+    public RequestBudget newRequestBudget(long maxRequestLength) {
+        checkArgument(maxRequestLength >= 0, "maxRequestLength: %s (expected: >= 0)", maxRequestLength);
+        return new RequestBudget(maxRequestLength);
+    }
+
+    /**
+     * Returns the number of bytes currently aggregated in memory.
+     */
+    public long usedLength() {
+        return usedLength.get();
+    }
+
+    /**
+     * Returns the total number of bytes spilled to files so far.
+     */
+    public long spilledBytes() {
+        return spilledBytes.sum();
+    }
+
+    /**
+     * Returns the total number of parts spilled to files so far.
+     */
+    public long spilledParts() {
+        return spilledParts.sum();
+    }
+
+    private boolean tryReserve(long length) {
+        for (;;) {
+            final long used = usedLength.get();
+            final long newUsed = used + length;
+            if (newUsed > maxTotalLength || newUsed < 0) {
+                return false;
+            }
+            if (usedLength.compareAndSet(used, newUsed)) {
+                return true;
+            }
+        }
+    }
+
+    private void release(long length) {
+        final long newUsed = usedLength.addAndGet(-length);
+        assert newUsed >= 0 : newUsed;
+    }
+
+    /**
+     * The memory budget of a single request. This class is not thread-safe and is expected to be
+     * accessed from the event loop of the request.
+     */
+    public final class RequestBudget {
+
+        private final long maxRequestLength;
+        private long reservedLength;
+
+        private RequestBudget(long maxRequestLength) {
+            this.maxRequestLength = maxRequestLength;
+        }
+
+        /**
+         * Reserves the specified number of bytes from both this request and the {@link Server} budget.
+         *
+         * @return {@code true} if reserved, or {@code false} if either budget has been exhausted.
+         */
+        public boolean tryReserve(long length) {
+            if (reservedLength + length > maxRequestLength) {
+                return false;
+            }
+            if (!MultipartMemoryBudget.this.tryReserve(length)) {
+                return false;
+            }
+            reservedLength += length;
+            return true;
+        }
+
+        /**
+         * Gives back the specified number of bytes reserved by {@link #tryReserve(long)}.
+         */
+        public void release(long length) {
+            assert reservedLength >= length : reservedLength + " < " + length;
+            reservedLength -= length;
+            MultipartMemoryBudget.this.release(length);
+        }
+
+        /**
+         * Records that the specified number of bytes of a part have been spilled to a file.
+         */
+        public void recordSpill(long length) {
+            spilledBytes.add(length);
+            spilledParts.increment();
+        }
+    }
+}
@@ -15,9 +15,11 @@
  */
 package com.linecorp.armeria.internal.server;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.linecorp.armeria.internal.common.util.ObjectCollectingUtil.collectFrom;
 import static java.util.Objects.requireNonNull;
 
+import java.io.OutputStream;
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -36,6 +38,8 @@ import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * A utility class which helps to send a streaming {@link HttpResponse}.
  */
@@ -169,6 +173,60 @@ public final class ResponseConversionUtil {
         return writer;
     }
 
+    /**
+     * Returns a new {@link HttpResponseWriter} which sends the content produced by the specified
+     * {@code contentWriter} in fixed-size chunks. Each chunk is written into a pooled {@link ByteBuf}
+     * and sent as soon as it is filled up, so that the response starts to flow before the whole content
+     * is produced. The {@code contentWriter} is invoked by the
+     * {@link ServiceRequestContext#blockingTaskExecutor()} because it is blocked until the previous chunk
+     * is consumed.
+     *
+     * @param headers to be written to the returned {@link HttpResponseWriter}
+     * @param trailers to be written to the returned {@link HttpResponseWriter}
+     * @param contentWriter writes the content of the response into the given {@link OutputStream}
+     * @param ctx {@link ServiceRequestContext}
+     * @param chunkSize the maximum number of bytes in a chunk
+     */
+    public static HttpResponseWriter chunkedFrom(ResponseHeaders headers, HttpHeaders trailers,
+                                                 ContentWriter contentWriter,
+                                                 ServiceRequestContext ctx, int chunkSize) {
+        requireNonNull(headers, "headers");
+        requireNonNull(trailers, "trailers");
+        requireNonNull(contentWriter, "contentWriter");
+        requireNonNull(ctx, "ctx");
+        checkArgument(chunkSize > 0, "chunkSize: %s (expected: > 0)", chunkSize);
+
+        final HttpResponseWriter writer = HttpResponse.streaming();
+        ctx.blockingTaskExecutor().execute(() -> {
+            try (ChunkedHttpDataOutputStream out =
+                         new ChunkedHttpDataOutputStream(writer, ctx.alloc(), chunkSize)) {
+                writer.write(headers);
+                contentWriter.write(out);
+            } catch (Throwable cause) {
+                writer.close(cause);
+                return;
+            }
+            if (!trailers.isEmpty()) {
+                if (!writer.tryWrite(trailers)) {
+                    return;
+                }
+            }
+            writer.close();
+        });
+        return writer;
+    }
+
+    /**
+     * Writes the content of a response into an {@link OutputStream}.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the content into the specified {@link OutputStream}.
+         */
+        void write(OutputStream out) throws Exception;
+    }
+
     /**
      * A {@link Subscriber} implementation which writes a streaming response with the contents converted from
      * the objects published from a publisher.
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.multipart.BodyPart;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.stream.StreamMessages;
+import com.linecorp.armeria.common.stream.StreamWriter;
+import com.linecorp.armeria.common.stream.SubscriptionOption;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.internal.server.MultipartMemoryBudget.RequestBudget;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * Aggregates the content of a non-file {@link BodyPart}. The content is kept in memory as long as
+ * the {@link RequestBudget} allows, and spilled to a temporary file once the budget is exhausted, so that
+ * a large or slow upload does not hold pooled buffers. The temporary file is removed if the part is not
+ * received completely.
+ */
+final class SpillingBodyPartAggregator implements Subscriber<HttpData> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpillingBodyPartAggregator.class);
+
+    /**
+     * Aggregates the specified {@link BodyPart}. The returned future is completed with a UTF-8
+     * {@link String} if the part was kept in memory, or with the {@link Path} of the temporary file
+     * if it was spilled. The caller is responsible for the temporary file.
+     */
+    static CompletableFuture<Object> aggregate(BodyPart bodyPart, RequestBudget budget, Path spillDir,
+                                               EventExecutor eventLoop, ByteBufAllocator alloc,
+                                               ExecutorService blockingExecutor) {
+        final SpillingBodyPartAggregator aggregator =
+                new SpillingBodyPartAggregator(budget, spillDir, eventLoop, alloc, blockingExecutor);
+        bodyPart.content().subscribe(aggregator, eventLoop, SubscriptionOption.WITH_POOLED_OBJECTS);
+        return aggregator.future;
+    }
+
+    private final CompletableFuture<Object> future = new CompletableFuture<>();
+    private final RequestBudget budget;
+    private final Path spillDir;
+    private final EventExecutor eventLoop;
+    private final ByteBufAllocator alloc;
+    private final ExecutorService blockingExecutor;
+
+    private final List<HttpData> buffered = new ArrayList<>();
+    private long reservedLength;
+
+    @Nullable
+    private Subscription subscription;
+    @Nullable
+    private StreamWriter<HttpData> spillWriter;
+    @Nullable
+    private CompletableFuture<Path> spillFuture;
+    private long spilledLength;
+
+    private SpillingBodyPartAggregator(RequestBudget budget, Path spillDir, EventExecutor eventLoop,
+                                       ByteBufAllocator alloc, ExecutorService blockingExecutor) {
+        this.budget = requireNonNull(budget, "budget");
+        this.spillDir = requireNonNull(spillDir, "spillDir");
+        this.eventLoop = requireNonNull(eventLoop, "eventLoop");
+        this.alloc = requireNonNull(alloc, "alloc");
+        this.blockingExecutor = requireNonNull(blockingExecutor, "blockingExecutor");
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        subscription = s;
+        s.request(1);
+    }
+
+    @Override
+    public void onNext(HttpData data) {
+        assert subscription != null;
+        final int length = data.length();
+        if (spillWriter == null) {
+            if (budget.tryReserve(length)) {
+                reservedLength += length;
+                buffered.add(data);
+                subscription.request(1);
+                return;
+            }
+            startSpilling();
+        }
+        assert spillWriter != null;
+        spilledLength += length;
+        if (!spillWriter.tryWrite(data)) {
+            // The spill file has failed, which completes the future as well.
+            data.close();
+            subscription.cancel();
+            return;
+        }
+        final Subscription subscription = this.subscription;
+        spillWriter.whenConsumed().handle((unused, cause) -> {
+            if (cause == null) {
+                subscription.request(1);
+            }
+            return null;
+        });
+    }
+
+    private void startSpilling() {
+        final StreamWriter<HttpData> spillWriter = StreamMessage.streaming();
+        this.spillWriter = spillWriter;
+        // Hand the buffered chunks over to the file writer and give back the reserved memory.
+        for (HttpData data : buffered) {
+            spilledLength += data.length();
+            spillWriter.write(data);
+        }
+        buffered.clear();
+        releaseReservation();
+
+        final CompletableFuture<Path> spillFuture = CompletableFuture.supplyAsync(() -> {
+            try {
+                Files.createDirectories(spillDir);
+                return Files.createTempFile(spillDir, null, ".multipart-part");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, blockingExecutor).thenCompose(path -> {
+            return StreamMessages.writeTo(spillWriter, path, eventLoop, blockingExecutor,
+                                          StandardOpenOption.WRITE)
+                                 .handle((unused, cause) -> {
+                                     if (cause != null) {
+                                         // Aborted by onError() or failed to write.
+                                         blockingExecutor.execute(() -> deleteSpillFile(path));
+                                         return Exceptions.throwUnsafely(cause);
+                                     }
+                                     return path;
+                                 });
+        });
+        spillFuture.exceptionally(cause -> {
+            spillWriter.abort(cause);
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            future.completeExceptionally(cause);
+            return null;
+        });
+        this.spillFuture = spillFuture;
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+        releaseBuffered();
+        if (spillWriter != null) {
+            spillWriter.abort(cause);
+        }
+        future.completeExceptionally(cause);
+    }
+
+    @Override
+    public void onComplete() {
+        if (spillWriter == null) {
+            try {
+                future.complete(toStringUtf8());
+            } finally {
+                releaseBuffered();
+            }
+            return;
+        }
+
+        spillWriter.close();
+        assert spillFuture != null;
+        budget.recordSpill(spilledLength);
+        spillFuture.thenAccept(future::complete);
+    }
+
+    private static void deleteSpillFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete a spilled multipart part: {}", path, e);
+        }
+    }
+
+    private String toStringUtf8() {
+        switch (buffered.size()) {
+            case 0:
+                return "";
+            case 1:
+                return buffered.get(0).toStringUtf8();
+            default:
+                final CompositeByteBuf composite = alloc.compositeBuffer(buffered.size());
+                try {
+                    for (HttpData data : buffered) {
+                        composite.addComponent(true, data.byteBuf().retain());
+                    }
+                    return composite.toString(StandardCharsets.UTF_8);
+                } finally {
+                    composite.release();
+                }
+        }
+    }
+
+    private void releaseBuffered() {
+        for (HttpData data : buffered) {
+            data.close();
+        }
+        buffered.clear();
+        releaseReservation();
+    }
+
+    private void releaseReservation() {
+        if (reservedLength > 0) {
+            budget.release(reservedLength);
+            reservedLength = 0;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.linecorp.armeria.server;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
@@ -46,6 +47,7 @@ import io.netty.channel.EventLoopGroup;
 abstract class AbstractServiceBindingBuilder extends AbstractBindingBuilder implements ServiceConfigSetters {
 
     private final DefaultServiceConfigSetters defaultServiceConfigSetters = new DefaultServiceConfigSetters();
+    private boolean useVirtualThreads;
 
     AbstractServiceBindingBuilder(Set<String> contextPaths) {
         super(contextPaths);
@@ -235,6 +237,43 @@ abstract class AbstractServiceBindingBuilder extends AbstractBindingBuilder impl
         return this;
     }
 
+    /**
+     * Sets the HTTP/2 weight of the streams that serve the {@link HttpService}, between {@code 1} and
+     * {@code 256}. When an HTTP/2 connection is congested, the {@link Http2StreamScheduler} gives a larger
+     * share of the connection to the streams with larger weights, so that the latency-sensitive services
+     * are not starved by large responses.
+     */
+    public AbstractServiceBindingBuilder http2StreamWeight(int http2StreamWeight) {
+        defaultServiceConfigSetters.http2StreamWeight(http2StreamWeight);
+        return this;
+    }
+
+    /**
+     * Sets whether to invoke the {@link HttpService} from a new virtual thread for each request. This option
+     * cannot be used with {@link #blockingTaskExecutor(BlockingTaskExecutor, boolean)}.
+     */
+    public AbstractServiceBindingBuilder useVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+        return this;
+    }
+
+    /**
+     * Returns the specified {@link HttpService} decorated to be invoked from a virtual thread if
+     * {@link #useVirtualThreads(boolean)} is enabled.
+     */
+    final HttpService maybeUseVirtualThreads(HttpService service) {
+        if (!useVirtualThreads) {
+            return service;
+        }
+        checkState(!defaultServiceConfigSetters.hasBlockingTaskExecutor(),
+                   "useVirtualThreads() and blockingTaskExecutor() are mutually exclusive.");
+        blockingTaskExecutor(BlockingTaskExecutor.builder()
+                                                 .threadNamePrefix("armeria-virtual-service")
+                                                 .useVirtualThreads(true)
+                                                 .build(), true);
+        return new BlockingTaskExecutorHttpService(service);
+    }
+
     abstract void serviceConfigBuilder(ServiceConfigBuilder serviceConfigBuilder);
 
     final void build0(HttpService service) {
@@ -46,10 +46,12 @@ final class AggregatingDecodedHttpRequest extends AggregatingStreamMessage<HttpO
     private final ExchangeType exchangeType;
     private final long requestStartTimeNanos;
     private final long requestStartTimeMicros;
+    private final AggregationMemoryAccountant memoryAccountant;
 
     @Nullable
     private ServiceRequestContext ctx;
     private long transferredBytes;
+    private long reservedBytes;
 
     @Nullable
     private HttpResponse response;
@@ -61,7 +63,8 @@ final class AggregatingDecodedHttpRequest extends AggregatingStreamMessage<HttpO
     AggregatingDecodedHttpRequest(EventLoop eventLoop, int id, int streamId, RequestHeaders headers,
                                   boolean keepAlive, long maxRequestLength,
                                   RoutingContext routingCtx, ExchangeType exchangeType,
-                                  long requestStartTimeNanos, long requestStartTimeMicros) {
+                                  long requestStartTimeNanos, long requestStartTimeMicros,
+                                  AggregationMemoryAccountant memoryAccountant) {
         super(4);
         this.headers = headers;
         this.eventLoop = eventLoop;
@@ -74,11 +77,16 @@ final class AggregatingDecodedHttpRequest extends AggregatingStreamMessage<HttpO
         this.exchangeType = exchangeType;
         this.requestStartTimeNanos = requestStartTimeNanos;
         this.requestStartTimeMicros = requestStartTimeMicros;
+        this.memoryAccountant = memoryAccountant;
     }
 
     @Override
     public void init(ServiceRequestContext ctx) {
         this.ctx = ctx;
+        if (memoryAccountant.isEnabled()) {
+            // The aggregated content is referenced until the request is handled completely.
+            ctx.log().whenComplete().thenRunAsync(this::releaseAggregationMemory, eventLoop);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -132,6 +140,21 @@ final class AggregatingDecodedHttpRequest extends AggregatingStreamMessage<HttpO
         }
     }
 
+    @Override
+    public boolean tryReserveAggregationMemory(int length) {
+        if (!memoryAccountant.tryReserve(length)) {
+            return false;
+        }
+        reservedBytes += length;
+        return true;
+    }
+
+    private void releaseAggregationMemory() {
+        final long reservedBytes = this.reservedBytes;
+        this.reservedBytes = 0;
+        memoryAccountant.release(reservedBytes);
+    }
+
     @Override
     public EventLoop defaultSubscriberExecutor() {
         return eventLoop;
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Keeps track of the number of bytes aggregated by all in-flight requests of a {@link Server}, so that
+ * a burst of large requests is rejected before the aggregated content exhausts the memory.
+ *
+ * @see ServerBuilder#maxTotalAggregatedRequestLength(long)
+ */
+final class AggregationMemoryAccountant {
+
+    private static final AggregationMemoryAccountant UNLIMITED = new AggregationMemoryAccountant(0);
+
+    static AggregationMemoryAccountant of(long maxTotalLength) {
+        if (maxTotalLength == 0) {
+            return UNLIMITED;
+        }
+        return new AggregationMemoryAccountant(maxTotalLength);
+    }
+
+    private final long maxTotalLength;
+    private final AtomicLong usedLength = new AtomicLong();
+    private final LongAdder numRejectedRequests = new LongAdder();
+
+    private AggregationMemoryAccountant(long maxTotalLength) {
+        this.maxTotalLength = maxTotalLength;
+    }
+
+    /**
+     * Returns whether the total length is limited.
+     */
+    boolean isEnabled() {
+        return maxTotalLength > 0;
+    }
+
+    /**
+     * Reserves the specified number of bytes.
+     *
+     * @return {@code true} if reserved, or {@code false} if the budget has been exhausted.
+     */
+    boolean tryReserve(int length) {
+        if (!isEnabled()) {
+            return true;
+        }
+        for (;;) {
+            final long used = usedLength.get();
+            final long newUsed = used + length;
+            if (newUsed > maxTotalLength) {
+                numRejectedRequests.increment();
+                return false;
+            }
+            if (usedLength.compareAndSet(used, newUsed)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back the specified number of bytes reserved by {@link #tryReserve(int)}.
+     */
+    void release(long length) {
+        if (!isEnabled() || length == 0) {
+            return;
+        }
+        final long newUsed = usedLength.addAndGet(-length);
+        assert newUsed >= 0 : newUsed;
+    }
+
+    long maxTotalLength() {
+        return maxTotalLength;
+    }
+
+    long usedLength() {
+        return usedLength.get();
+    }
+
+    long numRejectedRequests() {
+        return numRejectedRequests.sum();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("used", usedLength())
+                          .add("max", maxTotalLength)
+                          .toString();
+    }
+}
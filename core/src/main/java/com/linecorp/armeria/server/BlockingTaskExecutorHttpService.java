@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.util.Exceptions;
+
+/**
+ * Invokes the delegate {@link HttpService} from {@link ServiceRequestContext#blockingTaskExecutor()}
+ * so that the delegate is allowed to block.
+ *
+ * @see ServiceBindingBuilder#useVirtualThreads(boolean)
+ */
+final class BlockingTaskExecutorHttpService extends SimpleDecoratingHttpService {
+
+    BlockingTaskExecutorHttpService(HttpService delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        return HttpResponse.of(() -> {
+            try {
+                return unwrap().serve(ctx, req);
+            } catch (Exception e) {
+                return Exceptions.throwUnsafely(e);
+            }
+        }, ctx.blockingTaskExecutor());
+    }
+}
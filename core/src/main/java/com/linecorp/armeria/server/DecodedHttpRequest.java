@@ -58,7 +58,8 @@ interface DecodedHttpRequest extends HttpRequest {
                 } else {
                     return new AggregatingDecodedHttpRequest(
                             eventLoop, id, streamId, headers, keepAlive, config.maxRequestLength(), routingCtx,
-                            exchangeType, requestStartTimeNanos, requestStartTimeMicros);
+                            exchangeType, requestStartTimeNanos, requestStartTimeMicros,
+                            config.virtualHost().aggregationMemoryAccountant());
                 }
             }
         }
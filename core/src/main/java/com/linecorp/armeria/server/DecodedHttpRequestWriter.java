@@ -25,4 +25,15 @@ interface DecodedHttpRequestWriter extends DecodedHttpRequest, HttpRequestWriter
     long transferredBytes();
 
     void increaseTransferredBytes(long delta);
+
+    /**
+     * Reserves the specified number of bytes from the server-wide budget for aggregating requests.
+     *
+     * @return {@code false} if the budget has been exhausted and thus the request has to be rejected.
+     *
+     * @see ServerBuilder#maxTotalAggregatedRequestLength(long)
+     */
+    default boolean tryReserveAggregationMemory(int length) {
+        return true;
+    }
 }
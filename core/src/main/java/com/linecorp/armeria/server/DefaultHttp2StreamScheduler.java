@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.StreamByteDistributor;
+import io.netty.handler.codec.http2.UniformStreamByteDistributor;
+import io.netty.handler.codec.http2.WeightedFairQueueByteDistributor;
+
+/**
+ * The built-in {@link Http2StreamScheduler}s.
+ */
+enum DefaultHttp2StreamScheduler implements Http2StreamScheduler {
+
+    WEIGHTED_FAIR_QUEUEING {
+        @Override
+        public StreamByteDistributor newDistributor(Http2Connection connection) {
+            return new WeightedFairQueueByteDistributor(connection);
+        }
+    },
+    ROUND_ROBIN {
+        @Override
+        public StreamByteDistributor newDistributor(Http2Connection connection) {
+            return new UniformStreamByteDistributor(connection);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.linecorp.armeria.server;
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_PRIORITY_WEIGHT;
 import static java.util.Objects.requireNonNull;
 
 import java.net.InetAddress;
@@ -30,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -41,6 +43,7 @@ import com.linecorp.armeria.common.Http1HeaderNaming;
 import com.linecorp.armeria.common.RequestId;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.BlockingTaskExecutor;
+import com.linecorp.armeria.internal.common.util.VirtualThreadBlockingTaskExecutor;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
@@ -116,6 +119,13 @@ final class DefaultServerConfig implements ServerConfig {
     private final Function<String, String> absoluteUriTransformer;
     private final long unhandledExceptionsReportIntervalMillis;
     private final List<ShutdownSupport> shutdownSupports;
+    private final long maxTotalAggregatedRequestLength;
+    private final AggregationMemoryAccountant aggregationMemoryAccountant;
+    private final boolean reusePortPerEventLoop;
+    private final int http2MaxFlowControlWindowSize;
+    private final Http2StreamScheduler http2StreamScheduler;
+    private final boolean meterHttp2Streams;
+    private final boolean http1FlushConsolidation;
 
     @Nullable
     private final Mapping<String, SslContext> sslContexts;
@@ -151,7 +161,12 @@ final class DefaultServerConfig implements ServerConfig {
             DependencyInjector dependencyInjector,
             Function<? super String, String> absoluteUriTransformer,
             long unhandledExceptionsReportIntervalMillis,
-            List<ShutdownSupport> shutdownSupports) {
+            List<ShutdownSupport> shutdownSupports,
+            long maxTotalAggregatedRequestLength,
+            boolean reusePortPerEventLoop,
+            int http2MaxFlowControlWindowSize,
+            Http2StreamScheduler http2StreamScheduler,
+            boolean http1FlushConsolidation) {
         requireNonNull(ports, "ports");
         requireNonNull(defaultVirtualHost, "defaultVirtualHost");
         requireNonNull(virtualHosts, "virtualHosts");
@@ -271,6 +286,16 @@ final class DefaultServerConfig implements ServerConfig {
         this.absoluteUriTransformer = castAbsoluteUriTransformer;
         this.unhandledExceptionsReportIntervalMillis = unhandledExceptionsReportIntervalMillis;
         this.shutdownSupports = ImmutableList.copyOf(requireNonNull(shutdownSupports, "shutdownSupports"));
+        this.http1FlushConsolidation = http1FlushConsolidation;
+        this.http2StreamScheduler = http2StreamScheduler;
+        meterHttp2Streams = http2StreamScheduler != Http2StreamScheduler.weightedFairQueueing() ||
+                            services.stream().anyMatch(
+                                    c -> c.http2StreamWeight() != DEFAULT_PRIORITY_WEIGHT);
+        this.http2MaxFlowControlWindowSize = http2MaxFlowControlWindowSize;
+        this.reusePortPerEventLoop = reusePortPerEventLoop;
+        this.maxTotalAggregatedRequestLength =
+                validateNonNegative(maxTotalAggregatedRequestLength, "maxTotalAggregatedRequestLength");
+        aggregationMemoryAccountant = AggregationMemoryAccountant.of(maxTotalAggregatedRequestLength);
     }
 
     private static Int2ObjectMap<Mapping<String, VirtualHost>> buildDomainAndPortMapping(
@@ -326,8 +351,14 @@ final class DefaultServerConfig implements ServerConfig {
 
     private static BlockingTaskExecutor monitorBlockingTaskExecutor(BlockingTaskExecutor executor,
                                                                     MeterRegistry meterRegistry) {
+        final ScheduledExecutorService unwrapped = executor.unwrap();
+        if (unwrapped instanceof VirtualThreadBlockingTaskExecutor) {
+            ((VirtualThreadBlockingTaskExecutor) unwrapped).bindTo(meterRegistry, "armeria",
+                                                                   "blockingTaskExecutor");
+            return executor;
+        }
         new ExecutorServiceMetrics(
-                executor.unwrap(),
+                unwrapped,
                 "blockingTaskExecutor", "armeria", ImmutableList.of())
                 .bindTo(meterRegistry);
         return executor;
@@ -656,6 +687,14 @@ final class DefaultServerConfig implements ServerConfig {
         return sslContexts;
     }
 
+    /**
+     * Returns whether the fairness of the HTTP/2 stream scheduling has to be recorded, i.e. a custom
+     * {@link Http2StreamScheduler} or a non-default HTTP/2 stream weight is configured.
+     */
+    boolean meterHttp2Streams() {
+        return meterHttp2Streams;
+    }
+
     @Override
     public Http1HeaderNaming http1HeaderNaming() {
         return http1HeaderNaming;
@@ -680,6 +719,35 @@ final class DefaultServerConfig implements ServerConfig {
         return shutdownSupports;
     }
 
+    @Override
+    public long maxTotalAggregatedRequestLength() {
+        return maxTotalAggregatedRequestLength;
+    }
+
+    AggregationMemoryAccountant aggregationMemoryAccountant() {
+        return aggregationMemoryAccountant;
+    }
+
+    @Override
+    public boolean reusePortPerEventLoop() {
+        return reusePortPerEventLoop;
+    }
+
+    @Override
+    public int http2MaxFlowControlWindowSize() {
+        return http2MaxFlowControlWindowSize;
+    }
+
+    @Override
+    public Http2StreamScheduler http2StreamScheduler() {
+        return http2StreamScheduler;
+    }
+
+    @Override
+    public boolean http1FlushConsolidation() {
+        return http1FlushConsolidation;
+    }
+
     @Override
     public String toString() {
         String strVal = this.strVal;
@@ -77,6 +77,8 @@ final class DefaultServiceConfigSetters implements ServiceConfigSetters {
     @Nullable
     private Long requestAutoAbortDelayMillis;
     @Nullable
+    private Integer http2StreamWeight;
+    @Nullable
     private Path multipartUploadsLocation;
     @Nullable
     private EventLoopGroup serviceWorkerGroup;
@@ -205,6 +207,10 @@ final class DefaultServiceConfigSetters implements ServiceConfigSetters {
         return this;
     }
 
+    boolean hasBlockingTaskExecutor() {
+        return blockingTaskExecutor != null;
+    }
+
     @Override
     public ServiceConfigSetters blockingTaskExecutor(int numThreads) {
         checkArgument(numThreads >= 0, "numThreads: %s (expected: >= 0)", numThreads);
@@ -231,6 +237,11 @@ final class DefaultServiceConfigSetters implements ServiceConfigSetters {
         return this;
     }
 
+    DefaultServiceConfigSetters http2StreamWeight(int http2StreamWeight) {
+        this.http2StreamWeight = ServiceConfig.validateHttp2StreamWeight(http2StreamWeight);
+        return this;
+    }
+
     @Override
     public ServiceConfigSetters multipartUploadsLocation(Path multipartUploadsLocation) {
         this.multipartUploadsLocation = requireNonNull(multipartUploadsLocation, "multipartUploadsLocation");
@@ -374,6 +385,9 @@ final class DefaultServiceConfigSetters implements ServiceConfigSetters {
         if (requestAutoAbortDelayMillis != null) {
             serviceConfigBuilder.requestAutoAbortDelayMillis(requestAutoAbortDelayMillis);
         }
+        if (http2StreamWeight != null) {
+            serviceConfigBuilder.http2StreamWeight(http2StreamWeight);
+        }
         if (multipartUploadsLocation != null) {
             serviceConfigBuilder.multipartUploadsLocation(multipartUploadsLocation);
         }
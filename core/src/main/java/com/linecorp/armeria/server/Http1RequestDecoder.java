@@ -310,13 +310,8 @@ final class Http1RequestDecoder extends ChannelDuplexHandler {
                     decodedReq.increaseTransferredBytes(dataLength);
                     final long maxContentLength = decodedReq.maxRequestLength();
                     final long transferredLength = decodedReq.transferredBytes();
-                    if (maxContentLength > 0 && transferredLength > maxContentLength) {
-                        final ContentTooLargeException cause =
-                                ContentTooLargeException.builder()
-                                                        .maxContentLength(maxContentLength)
-                                                        .contentLength(req.headers())
-                                                        .transferred(transferredLength)
-                                                        .build();
+                    final boolean tooLarge = maxContentLength > 0 && transferredLength > maxContentLength;
+                    if (tooLarge || !decodedReq.tryReserveAggregationMemory(dataLength)) {
                         discarding = true;
                         req = null;
                         final boolean shouldReset;
@@ -328,10 +323,22 @@ final class Http1RequestDecoder extends ChannelDuplexHandler {
                             shouldReset = !endOfStream;
                         }
 
-                        // Wrap the cause with the returned status to let LoggingService correctly log the
-                        // status.
-                        final HttpStatusException httpStatusException =
-                                HttpStatusException.of(HttpStatus.REQUEST_ENTITY_TOO_LARGE, cause);
+                        final HttpStatusException httpStatusException;
+                        if (tooLarge) {
+                            final ContentTooLargeException cause =
+                                    ContentTooLargeException.builder()
+                                                            .maxContentLength(maxContentLength)
+                                                            .contentLength(decodedReq.headers())
+                                                            .transferred(transferredLength)
+                                                            .build();
+                            // Wrap the cause with the returned status to let LoggingService correctly log
+                            // the status.
+                            httpStatusException =
+                                    HttpStatusException.of(HttpStatus.REQUEST_ENTITY_TOO_LARGE, cause);
+                        } else {
+                            // The server-wide aggregation memory budget has been exhausted.
+                            httpStatusException = HttpStatusException.of(HttpStatus.SERVICE_UNAVAILABLE);
+                        }
                         decodedReq.setShouldResetOnlyIfRemoteIsOpen(shouldReset);
                         decodedReq.abortResponse(httpStatusException, true);
                         return;
@@ -38,6 +38,7 @@ import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.stream.ClosedStreamException;
 import com.linecorp.armeria.internal.common.ArmeriaHttpUtil;
+import com.linecorp.armeria.internal.common.Http2BdpEstimator;
 import com.linecorp.armeria.internal.common.Http2GoAwayHandler;
 import com.linecorp.armeria.internal.common.InboundTrafficController;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
@@ -71,18 +72,22 @@ final class Http2RequestDecoder extends Http2EventAdapter {
 
     private final InboundTrafficController inboundTrafficController;
     private final KeepAliveHandler keepAliveHandler;
+    @Nullable
+    private final Http2BdpEstimator bdpEstimator;
     private final Http2GoAwayHandler goAwayHandler;
     private final IntObjectMap<@Nullable DecodedHttpRequest> requests = new IntObjectHashMap<>();
     private int nextId;
 
     Http2RequestDecoder(ServerConfig cfg, Channel channel,
-                        AsciiString scheme, KeepAliveHandler keepAliveHandler) {
+                        AsciiString scheme, KeepAliveHandler keepAliveHandler,
+                        @Nullable Http2BdpEstimator bdpEstimator) {
         this.cfg = cfg;
         this.channel = channel;
         this.scheme = scheme;
-        inboundTrafficController =
-                InboundTrafficController.ofHttp2(channel, cfg.http2InitialConnectionWindowSize());
+        inboundTrafficController = InboundTrafficController.ofHttp2(
+                channel, Math.max(cfg.http2InitialConnectionWindowSize(), cfg.http2MaxFlowControlWindowSize()));
         this.keepAliveHandler = keepAliveHandler;
+        this.bdpEstimator = bdpEstimator;
         goAwayHandler = new Http2GoAwayHandler();
     }
 
@@ -276,6 +281,9 @@ final class Http2RequestDecoder extends Http2EventAdapter {
         keepAliveChannelRead(false);
 
         final int dataLength = data.readableBytes();
+        if (bdpEstimator != null) {
+            bdpEstimator.onDataRead(ctx, dataLength + padding);
+        }
         final DecodedHttpRequest req = requests.get(streamId);
         final boolean logInvalidStream;
         if (req == null) {
@@ -334,6 +342,10 @@ final class Http2RequestDecoder extends Http2EventAdapter {
                     HttpStatusException.of(HttpStatus.REQUEST_ENTITY_TOO_LARGE, cause);
             decodedReq.setShouldResetOnlyIfRemoteIsOpen(shouldReset);
             decodedReq.abortResponse(httpStatusException, true);
+        } else if (!decodedReq.tryReserveAggregationMemory(dataLength)) {
+            // The server-wide aggregation memory budget has been exhausted.
+            decodedReq.setShouldResetOnlyIfRemoteIsOpen(!endOfStream);
+            decodedReq.abortResponse(HttpStatusException.of(HttpStatus.SERVICE_UNAVAILABLE), true);
         } else if (decodedReq.isOpen()) {
             try {
                 // The decodedReq will be automatically closed if endOfStream is true.
@@ -406,7 +418,10 @@ final class Http2RequestDecoder extends Http2EventAdapter {
     }
 
     @Override
-    public void onPingAckRead(final ChannelHandlerContext ctx, final long data) {
+    public void onPingAckRead(final ChannelHandlerContext ctx, final long data) throws Http2Exception {
+        if (bdpEstimator != null && bdpEstimator.onPingAckRead(ctx, data)) {
+            return;
+        }
         if (keepAliveHandler.isHttp2()) {
             keepAliveHandler.onPingAck(data);
         }
@@ -17,10 +17,13 @@
 package com.linecorp.armeria.server;
 
 import static com.linecorp.armeria.internal.common.KeepAliveHandlerUtil.needsKeepAliveHandler;
+import static com.linecorp.armeria.server.HttpServerPipelineConfigurator.SCHEME_HTTP;
 
+import com.linecorp.armeria.common.SessionProtocol;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.internal.common.AbstractHttp2ConnectionHandler;
 import com.linecorp.armeria.internal.common.GracefulConnectionShutdownHandler;
+import com.linecorp.armeria.internal.common.Http2BdpEstimator;
 import com.linecorp.armeria.internal.common.InitiateConnectionShutdown;
 import com.linecorp.armeria.internal.common.KeepAliveHandler;
 import com.linecorp.armeria.internal.common.NoopKeepAliveHandler;
@@ -57,7 +60,8 @@ final class Http2ServerConnectionHandler extends AbstractHttp2ConnectionHandler
         gracefulConnectionShutdownHandler = new Http2GracefulConnectionShutdownHandler(
                 cfg.connectionDrainDurationMicros());
 
-        requestDecoder = new Http2RequestDecoder(cfg, channel, scheme, keepAliveHandler());
+        requestDecoder = new Http2RequestDecoder(cfg, channel, scheme, keepAliveHandler(),
+                                                 newBdpEstimator(encoder, cfg, scheme));
         connection().addListener(requestDecoder);
         decoder().frameListener(requestDecoder);
     }
@@ -82,6 +86,18 @@ final class Http2ServerConnectionHandler extends AbstractHttp2ConnectionHandler
                 pingIntervalMillis, maxConnectionAgeMillis, maxNumRequestsPerConnection, keepAliveOnPing);
     }
 
+    @Nullable
+    private static Http2BdpEstimator newBdpEstimator(
+            Http2ConnectionEncoder encoder, ServerConfig cfg, AsciiString scheme) {
+        final int maxWindowSize = cfg.http2MaxFlowControlWindowSize();
+        if (maxWindowSize == 0) {
+            return null;
+        }
+        return new Http2BdpEstimator(encoder, maxWindowSize, cfg.meterRegistry(),
+                                     "armeria.server.connections",
+                                     scheme == SCHEME_HTTP ? SessionProtocol.H2C : SessionProtocol.H2);
+    }
+
     ServerHttp2ObjectEncoder getOrCreateResponseEncoder(ChannelHandlerContext connectionHandlerCtx) {
         if (responseEncoder == null) {
             assert connectionHandlerCtx.handler() == this;
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.StreamByteDistributor;
+import io.netty.handler.codec.http2.UniformStreamByteDistributor;
+import io.netty.handler.codec.http2.WeightedFairQueueByteDistributor;
+
+/**
+ * Creates a {@link StreamByteDistributor} which determines the order in which the flow-controlled frames of
+ * the streams multiplexed on an HTTP/2 connection are written when the connection-level flow-control window
+ * is not large enough to write all of them.
+ *
+ * @see ServerBuilder#http2StreamScheduler(Http2StreamScheduler)
+ * @see ServiceBindingBuilder#http2StreamWeight(int)
+ */
+@UnstableApi
+@FunctionalInterface
+public interface Http2StreamScheduler {
+
+    /**
+     * Returns the {@link Http2StreamScheduler} which shares the connection between the streams in proportion
+     * to their weights, so that a stream with a larger {@linkplain ServiceBindingBuilder#http2StreamWeight(int)
+     * weight} is written more often than the streams with smaller weights. The weights and dependencies
+     * sent by clients in {@code PRIORITY} frames are also respected. This is the default.
+     *
+     * @see WeightedFairQueueByteDistributor
+     */
+    static Http2StreamScheduler weightedFairQueueing() {
+        return DefaultHttp2StreamScheduler.WEIGHTED_FAIR_QUEUEING;
+    }
+
+    /**
+     * Returns the {@link Http2StreamScheduler} which writes the same number of bytes to each stream in
+     * a round-robin fashion, ignoring the weights and dependencies of the streams.
+     *
+     * @see UniformStreamByteDistributor
+     */
+    static Http2StreamScheduler roundRobin() {
+        return DefaultHttp2StreamScheduler.ROUND_ROBIN;
+    }
+
+    /**
+     * Returns a new {@link StreamByteDistributor} for the specified {@link Http2Connection}.
+     */
+    StreamByteDistributor newDistributor(Http2Connection connection);
+}
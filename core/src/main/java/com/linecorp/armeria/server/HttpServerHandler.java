@@ -22,6 +22,7 @@ import static com.linecorp.armeria.common.SessionProtocol.H2;
 import static com.linecorp.armeria.common.SessionProtocol.H2C;
 import static com.linecorp.armeria.internal.common.HttpHeadersUtil.CLOSE_STRING;
 import static com.linecorp.armeria.internal.common.RequestContextUtil.NOOP_CONTEXT_HOOK;
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_PRIORITY_WEIGHT;
 import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
 import static java.util.Objects.requireNonNull;
 
@@ -383,6 +384,12 @@ final class HttpServerHandler extends ChannelInboundHandlerAdapter implements Ht
                 req, sslSession, proxiedAddresses, clientAddress, remoteAddress, localAddress,
                 req.requestStartTimeNanos(), req.requestStartTimeMicros(), serviceCfg.contextHook());
 
+        final int http2StreamWeight = serviceCfg.http2StreamWeight();
+        if (http2StreamWeight != DEFAULT_PRIORITY_WEIGHT &&
+            responseEncoder instanceof ServerHttp2ObjectEncoder) {
+            ((ServerHttp2ObjectEncoder) responseEncoder).updateStreamWeight(req.streamId(), http2StreamWeight);
+        }
+
         final HttpResponse res;
         req.init(reqCtx);
         final CompletableFuture<Void> whenAggregated = req.whenAggregated();
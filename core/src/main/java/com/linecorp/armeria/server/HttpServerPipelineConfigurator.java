@@ -56,6 +56,7 @@ import com.linecorp.armeria.internal.common.ReadSuppressingHandler;
 import com.linecorp.armeria.internal.common.TrafficLoggingHandler;
 import com.linecorp.armeria.internal.common.util.CertificateUtil;
 import com.linecorp.armeria.internal.common.util.ChannelUtil;
+import com.linecorp.armeria.server.HttpServerUpgradeHandler.UpgradeCodec;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Tag;
@@ -73,11 +74,13 @@ import io.netty.handler.codec.MessageToMessageDecoder;
 import io.netty.handler.codec.haproxy.HAProxyMessage;
 import io.netty.handler.codec.haproxy.HAProxyMessageDecoder;
 import io.netty.handler.codec.haproxy.HAProxyProxiedProtocol.AddressFamily;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http2.DefaultHttp2Connection;
 import io.netty.handler.codec.http2.DefaultHttp2ConnectionDecoder;
 import io.netty.handler.codec.http2.DefaultHttp2ConnectionEncoder;
 import io.netty.handler.codec.http2.DefaultHttp2FrameReader;
 import io.netty.handler.codec.http2.DefaultHttp2FrameWriter;
+import io.netty.handler.codec.http2.DefaultHttp2RemoteFlowController;
 import io.netty.handler.codec.http2.Http2CodecUtil;
 import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2ConnectionDecoder;
@@ -89,6 +92,7 @@ import io.netty.handler.codec.http2.Http2FrameWriter;
 import io.netty.handler.codec.http2.Http2InboundFrameLogger;
 import io.netty.handler.codec.http2.Http2OutboundFrameLogger;
 import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.StreamByteDistributor;
 import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.ssl.ApplicationProtocolNames;
@@ -224,6 +228,27 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
         p.addLast(httpServerHandler);
     }
 
+    /**
+     * Replaces the {@link FlushConsolidationHandler} so that the flushes requested outside of a read are
+     * also deferred to a task, so that the responses to pipelined requests completed in the same event loop
+     * iteration are written with a single writev. Must be called only after HTTP/1 has been chosen.
+     */
+    private void maybeConsolidateHttp1Flushes(ChannelPipeline p) {
+        if (config.http1FlushConsolidation()) {
+            replaceFlushConsolidationHandler(p, true);
+        }
+    }
+
+    private static void replaceFlushConsolidationHandler(ChannelPipeline p,
+                                                         boolean consolidateWhenNoReadInProgress) {
+        final ChannelHandlerContext ctx = p.context(FlushConsolidationHandler.class);
+        if (ctx != null) {
+            p.replace(ctx.handler(), ctx.name(), new FlushConsolidationHandler(
+                    FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES,
+                    consolidateWhenNoReadInProgress));
+        }
+    }
+
     private Timer newKeepAliveTimer(SessionProtocol protocol) {
         return MoreMeters.newTimer(config.meterRegistry(), "armeria.server.connections.lifespan",
                                    ImmutableList.of(Tag.of("protocol", protocol.uriText())));
@@ -238,10 +263,11 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
     }
 
     private Http2ConnectionHandler newHttp2ConnectionHandler(ChannelPipeline pipeline, AsciiString scheme) {
-        final Timer keepAliveTimer = newKeepAliveTimer(scheme == SCHEME_HTTP ? H2C : H2);
+        final SessionProtocol protocol = scheme == SCHEME_HTTP ? H2C : H2;
+        final Timer keepAliveTimer = newKeepAliveTimer(protocol);
 
         final Http2Connection connection = new DefaultHttp2Connection(/* server */ true);
-        final Http2ConnectionEncoder encoder = encoder(connection);
+        final Http2ConnectionEncoder encoder = encoder(connection, protocol);
         final Http2ConnectionDecoder decoder = decoder(connection, encoder);
         return new Http2ServerConnectionHandlerBuilder(pipeline.channel(), config, keepAliveTimer,
                                                        gracefulShutdownSupport, scheme)
@@ -250,7 +276,14 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
                 .build();
     }
 
-    private static Http2ConnectionEncoder encoder(Http2Connection connection) {
+    private Http2ConnectionEncoder encoder(Http2Connection connection, SessionProtocol protocol) {
+        StreamByteDistributor distributor = config.http2StreamScheduler().newDistributor(connection);
+        if (config.meterHttp2Streams()) {
+            distributor = new MeteredStreamByteDistributor(connection, distributor,
+                                                           config.meterRegistry(), protocol);
+        }
+        connection.remote().flowController(new DefaultHttp2RemoteFlowController(connection, distributor));
+
         Http2FrameWriter writer = new DefaultHttp2FrameWriter();
         writer = new Http2OutboundFrameLogger(writer, frameLogger);
         return new DefaultHttp2ConnectionEncoder(connection, writer);
@@ -523,6 +556,7 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
 
             final ServerHttp1ObjectEncoder encoder = new ServerHttp1ObjectEncoder(
                     ch, H1, keepAliveHandler, config.http1HeaderNaming());
+            maybeConsolidateHttp1Flushes(p);
             p.addLast(new HttpServerCodec(
                     config.http1MaxInitialLineLength(),
                     config.http1MaxHeaderSize(),
@@ -678,6 +712,7 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
 
         private void configureHttp1WithUpgrade(ChannelHandlerContext ctx) {
             final ChannelPipeline p = ctx.pipeline();
+            maybeConsolidateHttp1Flushes(p);
             final HttpServerCodec http1codec = new HttpServerCodec(
                     config.http1MaxInitialLineLength(),
                     config.http1MaxHeaderSize(),
@@ -688,13 +723,33 @@ final class HttpServerPipelineConfigurator extends ChannelInitializer<Channel> {
             baseName = addAfter(p, baseName, http1codec);
             baseName = addAfter(p, baseName, new HttpServerUpgradeHandler(
                     http1codec,
-                    () -> new Http2ServerUpgradeCodec(newHttp2ConnectionHandler(p, SCHEME_HTTP))));
+                    () -> newHttp2UpgradeCodec(p)));
 
             final Http1RequestDecoder handler =
                     new Http1RequestDecoder(config, ctx.channel(), SCHEME_HTTP, responseEncoder, httpServer);
             addAfter(p, baseName, handler);
         }
 
+        private UpgradeCodec newHttp2UpgradeCodec(ChannelPipeline p) {
+            final UpgradeCodec codec = new Http2ServerUpgradeCodec(newHttp2ConnectionHandler(p, SCHEME_HTTP));
+            if (!config.http1FlushConsolidation()) {
+                return codec;
+            }
+            return new UpgradeCodec() {
+                @Override
+                public boolean prepareUpgradeResponse(ChannelHandlerContext ctx, HttpRequest upgradeRequest) {
+                    return codec.prepareUpgradeResponse(ctx, upgradeRequest);
+                }
+
+                @Override
+                public void upgradeTo(ChannelHandlerContext ctx) {
+                    // HTTP/2 multiplexes the streams by itself. Restore the default flush consolidation.
+                    replaceFlushConsolidationHandler(p, false);
+                    codec.upgradeTo(ctx);
+                }
+            };
+        }
+
         private void configureHttp2(ChannelHandlerContext ctx) {
             final ChannelPipeline p = ctx.pipeline();
             assert name != null;
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_PRIORITY_WEIGHT;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.metric.MoreMeters;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionAdapter;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2Stream;
+import io.netty.handler.codec.http2.StreamByteDistributor;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+
+/**
+ * A {@link StreamByteDistributor} which records how fairly the streams of an HTTP/2 connection are scheduled
+ * by the delegate {@link StreamByteDistributor}:
+ * <ul>
+ *   <li>{@code armeria.server.http2.stream.wait} - the time a stream waited for its turn since its frames
+ *       became ready to be written</li>
+ *   <li>{@code armeria.server.http2.stream.bytes} - the number of the bytes written to the streams</li>
+ * </ul>
+ * Both meters are tagged with the weight of the streams. This is installed only when a custom
+ * {@link Http2StreamScheduler} or a non-default HTTP/2 stream weight is configured.
+ */
+final class MeteredStreamByteDistributor implements StreamByteDistributor, StreamByteDistributor.Writer {
+
+    private final Http2Connection connection;
+    private final StreamByteDistributor delegate;
+    private final MeterRegistry meterRegistry;
+    private final Tag protocolTag;
+    private final IntObjectMap<StreamInfo> streams = new IntObjectHashMap<>();
+    private final IntObjectMap<Meters> meters = new IntObjectHashMap<>(4);
+
+    @Nullable
+    private Writer writer;
+
+    MeteredStreamByteDistributor(Http2Connection connection, StreamByteDistributor delegate,
+                                 MeterRegistry meterRegistry, SessionProtocol protocol) {
+        this.connection = connection;
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        protocolTag = Tag.of("protocol", protocol.uriText());
+        connection.addListener(new Http2ConnectionAdapter() {
+            @Override
+            public void onStreamRemoved(Http2Stream stream) {
+                streams.remove(stream.id());
+            }
+        });
+    }
+
+    @Override
+    public void updateStreamableBytes(StreamState state) {
+        if (state.hasFrame()) {
+            final StreamInfo info = streamInfo(state.stream().id());
+            if (info.pendingSinceNanos == 0) {
+                info.pendingSinceNanos = System.nanoTime();
+            }
+        }
+        delegate.updateStreamableBytes(state);
+    }
+
+    @Override
+    public void updateDependencyTree(int childStreamId, int parentStreamId, short weight, boolean exclusive) {
+        // Do not track the idle streams a client may refer to in PRIORITY frames, so that the number of
+        // the entries is bounded by the number of the streams which are open.
+        if (connection.stream(childStreamId) != null) {
+            streamInfo(childStreamId).weight = weight;
+        }
+        delegate.updateDependencyTree(childStreamId, parentStreamId, weight, exclusive);
+    }
+
+    @Override
+    public boolean distribute(int maxBytes, Writer writer) throws Http2Exception {
+        this.writer = writer;
+        try {
+            return delegate.distribute(maxBytes, this);
+        } finally {
+            this.writer = null;
+        }
+    }
+
+    @Override
+    public void write(Http2Stream stream, int numBytes) {
+        final StreamInfo info = streams.get(stream.id());
+        if (info != null) {
+            final Meters meters = meters(info.weight);
+            if (info.pendingSinceNanos != 0) {
+                meters.wait.record(System.nanoTime() - info.pendingSinceNanos, TimeUnit.NANOSECONDS);
+                info.pendingSinceNanos = 0;
+            }
+            meters.bytes.increment(numBytes);
+        }
+        assert writer != null;
+        writer.write(stream, numBytes);
+    }
+
+    private StreamInfo streamInfo(int streamId) {
+        StreamInfo info = streams.get(streamId);
+        if (info == null) {
+            info = new StreamInfo();
+            streams.put(streamId, info);
+        }
+        return info;
+    }
+
+    private Meters meters(int weight) {
+        Meters meters = this.meters.get(weight);
+        if (meters == null) {
+            meters = new Meters(meterRegistry, ImmutableList.of(protocolTag,
+                                                                Tag.of("weight", String.valueOf(weight))));
+            this.meters.put(weight, meters);
+        }
+        return meters;
+    }
+
+    private static final class StreamInfo {
+        short weight = DEFAULT_PRIORITY_WEIGHT;
+        long pendingSinceNanos;
+    }
+
+    private static final class Meters {
+        final Timer wait;
+        final Counter bytes;
+
+        Meters(MeterRegistry meterRegistry, Iterable<Tag> tags) {
+            wait = MoreMeters.newTimer(meterRegistry, "armeria.server.http2.stream.wait", tags);
+            bytes = Counter.builder("armeria.server.http2.stream.bytes")
+                           .tags(tags)
+                           .baseUnit("bytes")
+                           .register(meterRegistry);
+        }
+    }
+}
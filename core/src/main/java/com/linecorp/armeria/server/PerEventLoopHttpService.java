@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.util.Exceptions;
+
+import io.netty.channel.EventLoop;
+
+/**
+ * An {@link HttpService} which keeps an instance of a service per {@link EventLoop} and serves a request
+ * with the instance of {@link ServiceRequestContext#eventLoop()}. Because an instance is always invoked
+ * from the same thread, the state of an instance can be accessed without synchronization.
+ * This is useful especially with {@link ServerBuilder#reusePortPerEventLoop(boolean)} which keeps all
+ * requests of a connection on the same {@link EventLoop}.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * Server.builder()
+ *       .reusePortPerEventLoop(true)
+ *       .service("/counter", PerEventLoopHttpService.of(() -> new HttpService() {
+ *           // No need to be an AtomicLong.
+ *           private long counter;
+ *
+ *           @Override
+ *           public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) {
+ *               return HttpResponse.of(String.valueOf(++counter));
+ *           }
+ *       }))
+ *       .build();
+ * }</pre>
+ *
+ * <p>Note that the instances have to be stateless with respect to each other; a request is served by
+ * the instance of the {@link EventLoop} which handles it. {@link #exchangeType(RoutingContext)} and
+ * {@link #shouldCachePath(String, String, Route)} are determined by the first instance.
+ * {@link #as(Class)} and {@link #unwrap()} return the instance of the current {@link EventLoop}, or
+ * the first instance if called from outside of the {@link EventLoop}s which served a request.
+ */
+@UnstableApi
+public final class PerEventLoopHttpService implements HttpService {
+
+    /**
+     * Returns a new {@link PerEventLoopHttpService} which creates an instance of a service for each
+     * {@link EventLoop} with the specified {@link Supplier}.
+     */
+    public static PerEventLoopHttpService of(Supplier<? extends HttpService> serviceFactory) {
+        return new PerEventLoopHttpService(requireNonNull(serviceFactory, "serviceFactory"));
+    }
+
+    private final Supplier<? extends HttpService> serviceFactory;
+    private final HttpService firstService;
+    private final AtomicBoolean firstServiceClaimed = new AtomicBoolean();
+    private final ConcurrentMap<EventLoop, HttpService> services = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile ServiceConfig serviceConfig;
+
+    private PerEventLoopHttpService(Supplier<? extends HttpService> serviceFactory) {
+        this.serviceFactory = serviceFactory;
+        firstService = newService();
+    }
+
+    private HttpService newService() {
+        final HttpService service = serviceFactory.get();
+        if (service == null) {
+            throw new NullPointerException("serviceFactory.get() returned null: " + serviceFactory);
+        }
+        return service;
+    }
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        return service(ctx.eventLoop().withoutContext()).serve(ctx, req);
+    }
+
+    private HttpService service(EventLoop eventLoop) {
+        final HttpService service = services.get(eventLoop);
+        if (service != null) {
+            return service;
+        }
+        return services.computeIfAbsent(eventLoop, unused -> {
+            if (firstServiceClaimed.compareAndSet(false, true)) {
+                return firstService;
+            }
+            final HttpService newService = newService();
+            final ServiceConfig serviceConfig = this.serviceConfig;
+            if (serviceConfig != null) {
+                try {
+                    newService.serviceAdded(serviceConfig);
+                } catch (Exception e) {
+                    return Exceptions.throwUnsafely(e);
+                }
+            }
+            return newService;
+        });
+    }
+
+    @Override
+    public void serviceAdded(ServiceConfig cfg) throws Exception {
+        serviceConfig = cfg;
+        firstService.serviceAdded(cfg);
+        for (HttpService service : services.values()) {
+            if (service != firstService) {
+                service.serviceAdded(cfg);
+            }
+        }
+    }
+
+    /**
+     * Returns the instance of the current {@link EventLoop}, or the first instance if the current thread
+     * is not an {@link EventLoop} which has served a request yet.
+     */
+    private HttpService currentService() {
+        for (Map.Entry<EventLoop, HttpService> entry : services.entrySet()) {
+            if (entry.getKey().inEventLoop()) {
+                return entry.getValue();
+            }
+        }
+        return firstService;
+    }
+
+    @Override
+    public <T> T as(Class<T> type) {
+        requireNonNull(type, "type");
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        return currentService().as(type);
+    }
+
+    @Override
+    public HttpService unwrap() {
+        return currentService();
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return firstService.exchangeType(routingContext);
+    }
+
+    @Override
+    public boolean shouldCachePath(String path, @Nullable String query, Route route) {
+        return firstService.shouldCachePath(path, query, route);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("service", firstService)
+                          .add("numInstances", services.size())
+                          .toString();
+    }
+}
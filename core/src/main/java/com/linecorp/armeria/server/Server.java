@@ -26,6 +26,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -59,6 +60,7 @@ import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Streams;
 import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.spotify.futures.CompletableFutures;
 
@@ -80,7 +82,9 @@ import com.linecorp.armeria.internal.common.util.ChannelUtil;
 import com.linecorp.armeria.internal.common.util.ReentrantShortLock;
 import com.linecorp.armeria.server.websocket.WebSocketService;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.netty.bootstrap.ServerBootstrap;
@@ -88,6 +92,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
@@ -121,6 +126,12 @@ public final class Server implements ListenableAsyncCloseable {
     private final Map<InetSocketAddress, ServerPort> activePorts = new LinkedHashMap<>();
     private final ConnectionLimitingHandler connectionLimitingHandler;
     private boolean hasWebSocketService;
+    @Nullable
+    @GuardedBy("lock")
+    private MeterRegistry aggregationMemoryMeterRegistry;
+    @Nullable
+    @GuardedBy("lock")
+    private List<Meter> aggregationMemoryMeters;
 
     @Nullable
     @VisibleForTesting
@@ -394,6 +405,14 @@ public final class Server implements ListenableAsyncCloseable {
         }
     }
 
+    /**
+     * Returns the {@link ServerChannel}s this {@link Server} is listening on.
+     */
+    @VisibleForTesting
+    Set<ServerChannel> serverChannels() {
+        return ImmutableSet.copyOf(serverChannels);
+    }
+
     /**
      * Sets up the version metrics.
      */
@@ -461,6 +480,51 @@ public final class Server implements ListenableAsyncCloseable {
         // add a listener to it.
         config.serviceConfigs().forEach(cfg -> ServiceCallbackInvoker.invokeServiceAdded(cfg, cfg.service()));
         hasWebSocketService = hasWebSocketService(config);
+        // The new config has a new AggregationMemoryAccountant.
+        bindAggregationMemoryMeters(false);
+    }
+
+    /**
+     * Binds the meters of the {@link AggregationMemoryAccountant} of the current config, removing the meters
+     * of the previous accountant which is not used anymore since the server was reconfigured.
+     *
+     * @param setup whether the server metrics are being set up. If {@code false}, the meters are bound
+     *              only if they were set up before.
+     */
+    private void bindAggregationMemoryMeters(boolean setup) {
+        lock.lock();
+        try {
+            if (aggregationMemoryMeters == null) {
+                if (!setup) {
+                    // The server has not started yet.
+                    return;
+                }
+                aggregationMemoryMeters = new ArrayList<>(2);
+            } else {
+                assert aggregationMemoryMeterRegistry != null;
+                for (Meter meter : aggregationMemoryMeters) {
+                    aggregationMemoryMeterRegistry.remove(meter);
+                }
+                aggregationMemoryMeters.clear();
+            }
+
+            final MeterRegistry meterRegistry = config.meterRegistry();
+            aggregationMemoryMeterRegistry = meterRegistry;
+            final AggregationMemoryAccountant accountant = config.aggregationMemoryAccountant();
+            if (!accountant.isEnabled()) {
+                return;
+            }
+            aggregationMemoryMeters.add(
+                    Gauge.builder("armeria.server.aggregating.requests.memory", accountant,
+                                  AggregationMemoryAccountant::usedLength)
+                         .register(meterRegistry));
+            aggregationMemoryMeters.add(
+                    FunctionCounter.builder("armeria.server.aggregating.requests.rejected", accountant,
+                                            AggregationMemoryAccountant::numRejectedRequests)
+                                   .register(meterRegistry));
+        } finally {
+            lock.unlock();
+        }
     }
 
     private static boolean hasWebSocketService(UpdatableServerConfig config) {
@@ -540,13 +604,6 @@ public final class Server implements ListenableAsyncCloseable {
                 }
             });
 
-            final EventLoopGroup bossGroup = EventLoopGroups.newEventLoopGroup(1, r -> {
-                final FastThreadLocalThread thread = new FastThreadLocalThread(r, bossThreadName(port));
-                thread.setDaemon(false);
-                return thread;
-            });
-
-            b.group(bossGroup, config.workerGroup());
             b.handler(connectionLimitingHandler);
             b.childHandler(new HttpServerPipelineConfigurator(config, port, gracefulShutdownSupport,
                                                               hasWebSocketService));
@@ -570,9 +627,69 @@ public final class Server implements ListenableAsyncCloseable {
             }
 
             b.channel(channelType);
+
+            if (config.reusePortPerEventLoop() && !port.isDomainSocket()) {
+                final ChannelOption<Boolean> reusePortOption = ChannelUtil.reusePortOption(transportType);
+                if (reusePortOption != null) {
+                    b.option(reusePortOption, true);
+                    return bindPerEventLoop(b, port.localAddress());
+                }
+                logger.warn("SO_REUSEPORT is not supported by the current transport type: {}. " +
+                            "Binding a single listener at {}", transportType.name(), port.localAddress());
+            }
+
+            final EventLoopGroup bossGroup = EventLoopGroups.newEventLoopGroup(1, r -> {
+                final FastThreadLocalThread thread = new FastThreadLocalThread(r, bossThreadName(port));
+                thread.setDaemon(false);
+                return thread;
+            });
+            b.group(bossGroup, config.workerGroup());
             return b.bind(localAddress);
         }
 
+        /**
+         * Binds a listener on each worker {@link EventLoop} with {@code SO_REUSEPORT}, so that the connections
+         * accepted by a listener are handled by the {@link EventLoop} of the listener. The returned
+         * {@link ChannelFuture} belongs to the first listener and is completed when all listeners are bound.
+         */
+        private ChannelFuture bindPerEventLoop(ServerBootstrap b, InetSocketAddress localAddress) {
+            final List<EventLoop> eventLoops = Streams.stream(config.workerGroup())
+                                                      .map(EventLoop.class::cast)
+                                                      .collect(toImmutableList());
+            final EventLoop firstEventLoop = eventLoops.get(0);
+            final ChannelFuture firstFuture =
+                    b.clone().group(firstEventLoop, firstEventLoop).bind(localAddress);
+            final ChannelPromise promise = firstFuture.channel().newPromise();
+            firstFuture.addListener((ChannelFutureListener) f -> {
+                if (!f.isSuccess()) {
+                    promise.setFailure(f.cause());
+                    return;
+                }
+                final int numOthers = eventLoops.size() - 1;
+                if (numOthers == 0) {
+                    promise.setSuccess();
+                    return;
+                }
+
+                // Use the port bound by the first listener in case of an ephemeral port.
+                final InetSocketAddress actualAddress = new InetSocketAddress(
+                        localAddress.getAddress(), ((InetSocketAddress) f.channel().localAddress()).getPort());
+                final AtomicInteger remaining = new AtomicInteger(numOthers);
+                for (EventLoop eventLoop : eventLoops.subList(1, eventLoops.size())) {
+                    b.clone().group(eventLoop, eventLoop).bind(actualAddress).addListener(
+                            (ChannelFutureListener) f2 -> {
+                                serverChannels.add((ServerChannel) f2.channel());
+                                if (!f2.isSuccess()) {
+                                    promise.tryFailure(f2.cause());
+                                } else if (remaining.decrementAndGet() == 0) {
+                                    promise.trySuccess();
+                                }
+                            });
+                }
+            });
+            return promise;
+        }
+
         private void setupServerMetrics() {
             final MeterRegistry meterRegistry = config().meterRegistry();
             final GracefulShutdownSupport gracefulShutdownSupport = this.gracefulShutdownSupport;
@@ -582,6 +699,7 @@ public final class Server implements ListenableAsyncCloseable {
                                 GracefulShutdownSupport::pendingResponses);
             meterRegistry.gauge("armeria.server.connections", connectionLimitingHandler,
                                 ConnectionLimitingHandler::numConnections);
+            bindAggregationMemoryMeters(true);
         }
 
         @Override
@@ -660,9 +778,11 @@ public final class Server implements ListenableAsyncCloseable {
                     }
 
                     workerShutdownFuture.addListener(unused5 -> {
+                        // The listeners bound with SO_REUSEPORT run on the worker group.
                         final Set<EventLoopGroup> bossGroups =
                                 Server.this.serverChannels.stream()
                                                           .map(ch -> ch.eventLoop().parent())
+                                                          .filter(group -> group != config.workerGroup())
                                                           .collect(toImmutableSet());
 
                         // If started to shutdown before initializing a boss group,
@@ -794,8 +914,10 @@ public final class Server implements ListenableAsyncCloseable {
                     return;
                 }
 
-                // Update the boss thread so its name contains the actual port.
-                Thread.currentThread().setName(bossThreadName(actualPort));
+                if (ch.eventLoop().parent() != config.workerGroup()) {
+                    // Update the boss thread so its name contains the actual port.
+                    Thread.currentThread().setName(bossThreadName(actualPort));
+                }
 
                 lock.lock();
                 try {
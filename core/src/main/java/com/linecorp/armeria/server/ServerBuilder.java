@@ -29,6 +29,7 @@ import static com.linecorp.armeria.server.DefaultServerConfig.validateMaxNumConn
 import static com.linecorp.armeria.server.DefaultServerConfig.validateNonNegative;
 import static com.linecorp.armeria.server.VirtualHost.normalizeHostnamePattern;
 import static com.linecorp.armeria.server.VirtualHost.validateHostnamePattern;
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_PRIORITY_WEIGHT;
 import static io.netty.handler.codec.http2.Http2CodecUtil.MAX_FRAME_SIZE_LOWER_BOUND;
 import static io.netty.handler.codec.http2.Http2CodecUtil.MAX_FRAME_SIZE_UPPER_BOUND;
 import static java.util.Objects.requireNonNull;
@@ -93,6 +94,7 @@ import com.linecorp.armeria.common.util.EventLoopGroups;
 import com.linecorp.armeria.common.util.SystemInfo;
 import com.linecorp.armeria.common.util.ThreadFactories;
 import com.linecorp.armeria.common.util.TlsEngineType;
+import com.linecorp.armeria.common.util.TransportType;
 import com.linecorp.armeria.internal.common.BuiltInDependencyInjector;
 import com.linecorp.armeria.internal.common.ReflectiveDependencyInjector;
 import com.linecorp.armeria.internal.common.RequestContextUtil;
@@ -109,6 +111,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -209,12 +212,15 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
     private int maxNumRequestsPerConnection = Flags.defaultMaxServerNumRequestsPerConnection();
     private int http2InitialConnectionWindowSize = Flags.defaultHttp2InitialConnectionWindowSize();
     private int http2InitialStreamWindowSize = Flags.defaultHttp2InitialStreamWindowSize();
+    private int http2MaxFlowControlWindowSize = Flags.defaultHttp2MaxFlowControlWindowSize();
+    private Http2StreamScheduler http2StreamScheduler = Http2StreamScheduler.weightedFairQueueing();
     private long http2MaxStreamsPerConnection = Flags.defaultHttp2MaxStreamsPerConnection();
     private int http2MaxFrameSize = Flags.defaultHttp2MaxFrameSize();
     private long http2MaxHeaderListSize = Flags.defaultHttp2MaxHeaderListSize();
     private int http1MaxInitialLineLength = Flags.defaultHttp1MaxInitialLineLength();
     private int http1MaxHeaderSize = Flags.defaultHttp1MaxHeaderSize();
     private int http1MaxChunkSize = Flags.defaultHttp1MaxChunkSize();
+    private boolean http1FlushConsolidation;
     private int proxyProtocolMaxTlvSize = PROXY_PROTOCOL_DEFAULT_MAX_TLV_SIZE;
     private Duration gracefulShutdownQuietPeriod = DEFAULT_GRACEFUL_SHUTDOWN_QUIET_PERIOD;
     private Duration gracefulShutdownTimeout = DEFAULT_GRACEFUL_SHUTDOWN_TIMEOUT;
@@ -237,6 +243,8 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
     private final List<ShutdownSupport> shutdownSupports = new ArrayList<>();
     private int http2MaxResetFramesPerWindow = Flags.defaultServerHttp2MaxResetFramesPerMinute();
     private int http2MaxResetFramesWindowSeconds = 60;
+    private long maxTotalAggregatedRequestLength;
+    private boolean reusePortPerEventLoop;
 
     ServerBuilder() {
         // Set the default host-level properties.
@@ -254,6 +262,7 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
         virtualHostTemplate.blockingTaskExecutor(CommonPools.blockingTaskExecutor(), false);
         virtualHostTemplate.successFunction(SuccessFunction.ofDefault());
         virtualHostTemplate.requestAutoAbortDelayMillis(0);
+        virtualHostTemplate.http2StreamWeight(DEFAULT_PRIORITY_WEIGHT);
         virtualHostTemplate.multipartUploadsLocation(Flags.defaultMultipartUploadsLocation());
         virtualHostTemplate.requestIdGenerator(routingContext -> RequestId.random());
     }
@@ -791,6 +800,36 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum size the HTTP/2 connection-level and stream-level flow-control windows are grown to
+     * as the bandwidth-delay product of a connection is estimated from the round trip time of PING frames.
+     * The windows start from {@link #http2InitialConnectionWindowSize(int)} and
+     * {@link #http2InitialStreamWindowSize(int)}, and never shrink. {@code 0} disables the auto-tuning.
+     * Defaults to {@link Flags#defaultHttp2MaxFlowControlWindowSize()}.
+     */
+    @UnstableApi
+    public ServerBuilder http2MaxFlowControlWindowSize(int http2MaxFlowControlWindowSize) {
+        checkArgument(http2MaxFlowControlWindowSize >= 0,
+                      "http2MaxFlowControlWindowSize: %s (expected: >= 0)",
+                      http2MaxFlowControlWindowSize);
+        this.http2MaxFlowControlWindowSize = http2MaxFlowControlWindowSize;
+        return this;
+    }
+
+    /**
+     * Sets the {@link Http2StreamScheduler} which determines the order in which the frames of the streams
+     * multiplexed on an HTTP/2 connection are written, so that a large response does not starve the other
+     * responses on the same connection. The relative priority of a service can be specified with
+     * {@link ServiceBindingBuilder#http2StreamWeight(int)} or
+     * {@link VirtualHostBuilder#http2StreamWeight(int)}.
+     * If unspecified, {@link Http2StreamScheduler#weightedFairQueueing()} is used.
+     */
+    @UnstableApi
+    public ServerBuilder http2StreamScheduler(Http2StreamScheduler http2StreamScheduler) {
+        this.http2StreamScheduler = requireNonNull(http2StreamScheduler, "http2StreamScheduler");
+        return this;
+    }
+
     /**
      * Sets the maximum number of concurrent streams per HTTP/2 connection. Unset means there is
      * no limit on the number of concurrent streams. Note, this differs from {@link #maxNumConnections()},
@@ -879,6 +918,21 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
         return this;
     }
 
+    /**
+     * Sets whether the flushes requested outside of a read on an HTTP/1 connection are consolidated.
+     * The flushes requested while a read is in progress are always deferred until the read is complete,
+     * so the responses to pipelined requests which are handled synchronously are written with a single
+     * {@code writev()}. When enabled, the other flushes are also deferred to a task scheduled on the event
+     * loop, so the responses to pipelined requests which are completed asynchronously in the same event loop
+     * iteration are written together as well, at the cost of a slight delay. This option is disabled by
+     * default.
+     */
+    @UnstableApi
+    public ServerBuilder http1FlushConsolidation(boolean http1FlushConsolidation) {
+        this.http1FlushConsolidation = http1FlushConsolidation;
+        return this;
+    }
+
     /**
      * Sets the amount of time to wait after calling {@link Server#stop()} for
      * requests to go away before actually shutting down.
@@ -941,6 +995,20 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
         return this;
     }
 
+    /**
+     * Sets the default HTTP/2 weight of the streams that serve the {@link HttpService}s, between {@code 1}
+     * and {@code 256}. When an HTTP/2 connection is congested, the
+     * {@link #http2StreamScheduler(Http2StreamScheduler)} gives a larger share of the connection to
+     * the streams with larger weights. The weight can be overridden for a {@link VirtualHost} with
+     * {@link VirtualHostBuilder#http2StreamWeight(int)} and for a service with
+     * {@link ServiceBindingBuilder#http2StreamWeight(int)}. The default weight is {@code 16}.
+     */
+    @UnstableApi
+    public ServerBuilder http2StreamWeight(int http2StreamWeight) {
+        virtualHostTemplate.http2StreamWeight(http2StreamWeight);
+        return this;
+    }
+
     /**
      * Sets the {@link Path} for storing upload file through multipart/form-data.
      *
@@ -2012,6 +2080,44 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of bytes which all in-flight requests are allowed to aggregate in total.
+     * Unlike {@link #maxRequestLength(long)} which limits a single request, this limits the sum of the content
+     * of all the requests being aggregated for the services which do not stream a request, so that a burst
+     * of large requests does not exhaust the memory. A request whose content does not fit into the remaining
+     * budget is rejected with a {@code 503 Service Unavailable} response. The current usage is exported as
+     * the {@code armeria.server.aggregating.requests.memory} gauge.
+     *
+     * @param maxTotalAggregatedRequestLength the maximum total length. {@code 0} disables the limit.
+     */
+    @UnstableApi
+    public ServerBuilder maxTotalAggregatedRequestLength(long maxTotalAggregatedRequestLength) {
+        this.maxTotalAggregatedRequestLength =
+                validateNonNegative(maxTotalAggregatedRequestLength, "maxTotalAggregatedRequestLength");
+        return this;
+    }
+
+    /**
+     * Sets whether to bind a listener with {@code SO_REUSEPORT} on each worker {@link EventLoop} instead of
+     * accepting connections on a single boss thread per {@link ServerPort}. The kernel distributes
+     * the incoming connections among the listeners, and a connection accepted by a listener is handled by
+     * the {@link EventLoop} of the listener, so the accept path does not hand connections over between
+     * threads and all requests of a connection, including their {@link ServiceRequestContext#eventLoop()},
+     * stay on the same thread unless a service has its own
+     * {@linkplain ServiceBindingBuilder#serviceWorkerGroup(EventLoopGroup, boolean) service worker group}.
+     * Use {@link PerEventLoopHttpService} to keep a service instance per {@link EventLoop} so that the state
+     * of a service is not shared between threads.
+     *
+     * <p>This mode requires the {@link TransportType#EPOLL} or {@link TransportType#IO_URING} transport.
+     * A {@link ServerPort} of a Unix domain socket or other transports fall back to a single listener.
+     * This mode is disabled by default.
+     */
+    @UnstableApi
+    public ServerBuilder reusePortPerEventLoop(boolean reusePortPerEventLoop) {
+        this.reusePortPerEventLoop = reusePortPerEventLoop;
+        return this;
+    }
+
     /**
      * Sets whether the verbose response mode is enabled. When enabled, the server responses will contain
      * the exception type and its full stack trace, which may be useful for debugging while potentially
@@ -2283,7 +2389,12 @@ public final class ServerBuilder implements TlsSetters, ServiceConfigsBuilder {
                 clientAddressSources, clientAddressTrustedProxyFilter, clientAddressFilter, clientAddressMapper,
                 enableServerHeader, enableDateHeader, errorHandler, sslContexts,
                 http1HeaderNaming, dependencyInjector, absoluteUriTransformer,
-                unhandledExceptionsReportIntervalMillis, ImmutableList.copyOf(shutdownSupports));
+                unhandledExceptionsReportIntervalMillis, ImmutableList.copyOf(shutdownSupports),
+                maxTotalAggregatedRequestLength,
+                reusePortPerEventLoop,
+                http2MaxFlowControlWindowSize,
+                http2StreamScheduler,
+                http1FlushConsolidation);
     }
 
     /**
@@ -339,4 +339,48 @@ public interface ServerConfig {
      * Returns the interval between reporting unhandled exceptions in milliseconds.
      */
     long unhandledExceptionsReportIntervalMillis();
+
+    /**
+     * Returns the maximum number of bytes which all in-flight requests are allowed to aggregate in total.
+     * {@code 0} means unlimited.
+     *
+     * @see ServerBuilder#maxTotalAggregatedRequestLength(long)
+     */
+    @UnstableApi
+    long maxTotalAggregatedRequestLength();
+
+    /**
+     * Returns whether the {@link Server} binds a listener with {@code SO_REUSEPORT} on each worker
+     * event loop so that the connections accepted by a listener are handled by the same event loop.
+     *
+     * @see ServerBuilder#reusePortPerEventLoop(boolean)
+     */
+    @UnstableApi
+    boolean reusePortPerEventLoop();
+
+    /**
+     * Returns the maximum size the HTTP/2 connection-level and stream-level flow-control windows are
+     * grown to as the bandwidth-delay product of a connection is estimated. {@code 0} means the windows
+     * are not auto-tuned.
+     */
+    @UnstableApi
+    int http2MaxFlowControlWindowSize();
+
+    /**
+     * Returns the {@link Http2StreamScheduler} which schedules the writes of the streams multiplexed
+     * on an HTTP/2 connection.
+     *
+     * @see ServerBuilder#http2StreamScheduler(Http2StreamScheduler)
+     */
+    @UnstableApi
+    Http2StreamScheduler http2StreamScheduler();
+
+    /**
+     * Returns whether the flushes requested outside of a read on an HTTP/1 connection are consolidated
+     * so that the responses completed in the same event loop iteration are written together.
+     *
+     * @see ServerBuilder#http1FlushConsolidation(boolean)
+     */
+    @UnstableApi
+    boolean http1FlushConsolidation();
 }
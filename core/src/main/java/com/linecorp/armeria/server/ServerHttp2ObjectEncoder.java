@@ -15,6 +15,8 @@
  */
 package com.linecorp.armeria.server;
 
+import static io.netty.handler.codec.http2.Http2CodecUtil.CONNECTION_STREAM_ID;
+
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpHeaders;
 import com.linecorp.armeria.common.HttpHeadersBuilder;
@@ -76,6 +78,17 @@ final class ServerHttp2ObjectEncoder extends Http2ObjectEncoder implements Serve
         return encoder().connection().stream(streamId);
     }
 
+    /**
+     * Updates the weight of the specified stream which is used by the {@link Http2StreamScheduler} to
+     * schedule the writes of the response.
+     */
+    void updateStreamWeight(int streamId, int weight) {
+        if (findStream(streamId) == null) {
+            return;
+        }
+        encoder().flowController().updateDependencyTree(streamId, CONNECTION_STREAM_ID, (short) weight, false);
+    }
+
     private static Http2Headers convertHeaders(ResponseHeaders inputHeaders, boolean isTrailersEmpty) {
         final HttpHeadersBuilder builder = inputHeaders.toBuilder();
         if (!isTrailersEmpty && inputHeaders.contains(HttpHeaderNames.CONTENT_LENGTH)) {
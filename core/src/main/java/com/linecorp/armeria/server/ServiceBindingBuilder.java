@@ -32,7 +32,9 @@ import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.RequestId;
 import com.linecorp.armeria.common.SuccessFunction;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.BlockingTaskExecutor;
+import com.linecorp.armeria.common.util.BlockingTaskExecutorBuilder;
 import com.linecorp.armeria.server.logging.AccessLogWriter;
 
 import io.netty.channel.EventLoopGroup;
@@ -366,6 +368,40 @@ public final class ServiceBindingBuilder extends AbstractServiceBindingBuilder {
         return (ServiceBindingBuilder) super.contextHook(contextHook);
     }
 
+    /**
+     * Sets the HTTP/2 weight of the streams that serve the {@link HttpService}, between {@code 1} and
+     * {@code 256}. When an HTTP/2 connection is congested, the
+     * {@link ServerBuilder#http2StreamScheduler(Http2StreamScheduler)} gives a larger share of
+     * the connection to the streams with larger weights, so that the latency-sensitive services are not
+     * starved by large responses multiplexed on the same connection. If unspecified,
+     * {@link VirtualHostBuilder#http2StreamWeight(int)} is used.
+     */
+    @UnstableApi
+    @Override
+    public ServiceBindingBuilder http2StreamWeight(int http2StreamWeight) {
+        return (ServiceBindingBuilder) super.http2StreamWeight(http2StreamWeight);
+    }
+
+    /**
+     * Sets whether to invoke the {@link HttpService} from a new virtual thread for each request, so that
+     * the {@link HttpService} can block on I/O, e.g. JDBC, without occupying an event loop or a platform
+     * thread. The {@link ServiceRequestContext} is propagated to the virtual thread. When enabled,
+     * a new {@link BlockingTaskExecutor} backed by virtual threads is set as
+     * the {@link #blockingTaskExecutor(BlockingTaskExecutor, boolean)} of the {@link HttpService}, so this
+     * option cannot be used with a {@link #blockingTaskExecutor(BlockingTaskExecutor, boolean)} specified
+     * explicitly. The decorators are still invoked from the event loop.
+     *
+     * <p>Virtual threads are available since Java 21. If the current version of Java does not support
+     * virtual threads, a pool of platform threads is used instead.
+     *
+     * @see BlockingTaskExecutorBuilder#useVirtualThreads(boolean)
+     */
+    @UnstableApi
+    @Override
+    public ServiceBindingBuilder useVirtualThreads(boolean useVirtualThreads) {
+        return (ServiceBindingBuilder) super.useVirtualThreads(useVirtualThreads);
+    }
+
     /**
      * Sets the {@link HttpService} and returns the {@link ServerBuilder} that this
      * {@link ServiceBindingBuilder} was created from.
@@ -374,12 +410,13 @@ public final class ServiceBindingBuilder extends AbstractServiceBindingBuilder {
      */
     public ServerBuilder build(HttpService service) {
         requireNonNull(service, "service");
+        final HttpService actualService = maybeUseVirtualThreads(service);
         if (mappedRoute != null) {
             // mappedRoute is only set when the service is an HttpServiceWithRoutes
             assert service.as(HttpServiceWithRoutes.class) != null;
-            build0(service, mappedRoute);
+            build0(actualService, mappedRoute);
         } else {
-            build0(service);
+            build0(actualService);
         }
         return serverBuilder;
     }
@@ -16,6 +16,9 @@
 
 package com.linecorp.armeria.server;
 
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_PRIORITY_WEIGHT;
+import static io.netty.handler.codec.http2.Http2CodecUtil.MAX_WEIGHT;
+import static io.netty.handler.codec.http2.Http2CodecUtil.MIN_WEIGHT;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
@@ -88,6 +91,7 @@ public final class ServiceConfig {
     private final Function<RoutingContext, RequestId> requestIdGenerator;
     private final ServiceErrorHandler serviceErrorHandler;
     private final Supplier<AutoCloseable> contextHook;
+    private final int http2StreamWeight;
 
     /**
      * Creates a new instance.
@@ -103,12 +107,34 @@ public final class ServiceConfig {
                   HttpHeaders defaultHeaders,
                   Function<? super RoutingContext, ? extends RequestId> requestIdGenerator,
                   ServiceErrorHandler serviceErrorHandler, Supplier<? extends AutoCloseable> contextHook) {
+        this(route, mappedRoute, service, defaultLogName, defaultServiceName, defaultServiceNaming,
+             requestTimeoutMillis, maxRequestLength, verboseResponses, accessLogWriter,
+             blockingTaskExecutor, successFunction, requestAutoAbortDelayMillis,
+             multipartUploadsLocation, serviceWorkerGroup, shutdownSupports, defaultHeaders,
+             requestIdGenerator, serviceErrorHandler, contextHook, DEFAULT_PRIORITY_WEIGHT);
+    }
+
+    /**
+     * Creates a new instance.
+     */
+    ServiceConfig(Route route, Route mappedRoute, HttpService service, @Nullable String defaultLogName,
+                  @Nullable String defaultServiceName, ServiceNaming defaultServiceNaming,
+                  long requestTimeoutMillis, long maxRequestLength,
+                  boolean verboseResponses, AccessLogWriter accessLogWriter,
+                  BlockingTaskExecutor blockingTaskExecutor,
+                  SuccessFunction successFunction, long requestAutoAbortDelayMillis,
+                  Path multipartUploadsLocation, EventLoopGroup serviceWorkerGroup,
+                  List<ShutdownSupport> shutdownSupports,
+                  HttpHeaders defaultHeaders,
+                  Function<? super RoutingContext, ? extends RequestId> requestIdGenerator,
+                  ServiceErrorHandler serviceErrorHandler, Supplier<? extends AutoCloseable> contextHook,
+                  int http2StreamWeight) {
         this(null, route, mappedRoute, service, defaultLogName, defaultServiceName, defaultServiceNaming,
              requestTimeoutMillis, maxRequestLength, verboseResponses, accessLogWriter,
              extractTransientServiceOptions(service),
              blockingTaskExecutor, successFunction, requestAutoAbortDelayMillis,
              multipartUploadsLocation, serviceWorkerGroup, shutdownSupports, defaultHeaders,
-                     requestIdGenerator, serviceErrorHandler, contextHook);
+             requestIdGenerator, serviceErrorHandler, contextHook, http2StreamWeight);
     }
 
     /**
@@ -128,7 +154,7 @@ public final class ServiceConfig {
                           List<ShutdownSupport> shutdownSupports, HttpHeaders defaultHeaders,
                           Function<? super RoutingContext, ? extends RequestId> requestIdGenerator,
                           ServiceErrorHandler serviceErrorHandler,
-                          Supplier<? extends AutoCloseable> contextHook) {
+                          Supplier<? extends AutoCloseable> contextHook, int http2StreamWeight) {
         this.virtualHost = virtualHost;
         this.route = requireNonNull(route, "route");
         this.mappedRoute = requireNonNull(mappedRoute, "mappedRoute");
@@ -155,6 +181,7 @@ public final class ServiceConfig {
         this.serviceErrorHandler = requireNonNull(serviceErrorHandler, "serviceErrorHandler");
         //noinspection unchecked
         this.contextHook = (Supplier<AutoCloseable>) requireNonNull(contextHook, "contextHook");
+        this.http2StreamWeight = validateHttp2StreamWeight(http2StreamWeight);
 
         handlesCorsPreflight = service.as(CorsService.class) != null;
     }
@@ -186,6 +213,15 @@ public final class ServiceConfig {
         return maxRequestLength;
     }
 
+    static int validateHttp2StreamWeight(int http2StreamWeight) {
+        if (http2StreamWeight < MIN_WEIGHT || http2StreamWeight > MAX_WEIGHT) {
+            throw new IllegalArgumentException(
+                    "http2StreamWeight: " + http2StreamWeight +
+                    " (expected: >= " + MIN_WEIGHT + " and <= " + MAX_WEIGHT + ')');
+        }
+        return http2StreamWeight;
+    }
+
     ServiceConfig withVirtualHost(VirtualHost virtualHost) {
         requireNonNull(virtualHost, "virtualHost");
         return new ServiceConfig(virtualHost, route, mappedRoute, service, defaultLogName, defaultServiceName,
@@ -193,7 +229,7 @@ public final class ServiceConfig {
                                  accessLogWriter, transientServiceOptions,
                                  blockingTaskExecutor, successFunction, requestAutoAbortDelayMillis,
                                  multipartUploadsLocation, serviceWorkerGroup, shutdownSupports, defaultHeaders,
-                                 requestIdGenerator, serviceErrorHandler, contextHook);
+                                 requestIdGenerator, serviceErrorHandler, contextHook, http2StreamWeight);
     }
 
     ServiceConfig withDecoratedService(Function<? super HttpService, ? extends HttpService> decorator) {
@@ -204,7 +240,7 @@ public final class ServiceConfig {
                                  accessLogWriter, transientServiceOptions,
                                  blockingTaskExecutor, successFunction, requestAutoAbortDelayMillis,
                                  multipartUploadsLocation, serviceWorkerGroup, shutdownSupports, defaultHeaders,
-                                 requestIdGenerator, serviceErrorHandler, contextHook);
+                                 requestIdGenerator, serviceErrorHandler, contextHook, http2StreamWeight);
     }
 
     ServiceConfig withRoute(Route route) {
@@ -214,7 +250,7 @@ public final class ServiceConfig {
                                  accessLogWriter, transientServiceOptions,
                                  blockingTaskExecutor, successFunction, requestAutoAbortDelayMillis,
                                  multipartUploadsLocation, serviceWorkerGroup, shutdownSupports, defaultHeaders,
-                                 requestIdGenerator, serviceErrorHandler, contextHook);
+                                 requestIdGenerator, serviceErrorHandler, contextHook, http2StreamWeight);
     }
 
     /**
@@ -459,6 +495,18 @@ public final class ServiceConfig {
         return shutdownSupports;
     }
 
+    /**
+     * Returns the HTTP/2 weight of the streams that serve the {@link #service()}, which is between
+     * {@code 1} and {@code 256}. The larger the weight is, the larger share of an HTTP/2 connection is given
+     * to the streams by the {@link Http2StreamScheduler}.
+     *
+     * @see ServiceBindingBuilder#http2StreamWeight(int)
+     */
+    @UnstableApi
+    public int http2StreamWeight() {
+        return http2StreamWeight;
+    }
+
     /**
      * Returns the {@link EventLoopGroup} dedicated to the execution of services' methods.
      */
@@ -497,6 +545,7 @@ public final class ServiceConfig {
                              .add("successFunction", successFunction)
                              .add("requestAutoAbortDelayMillis", requestAutoAbortDelayMillis)
                              .add("multipartUploadsLocation", multipartUploadsLocation)
+                             .add("http2StreamWeight", http2StreamWeight)
                              .add("serviceErrorHandler", serviceErrorHandler)
                              .add("shutdownSupports", shutdownSupports)
                              .toString();
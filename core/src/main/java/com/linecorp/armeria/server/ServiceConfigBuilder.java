@@ -77,6 +77,8 @@ final class ServiceConfigBuilder implements ServiceConfigSetters {
     @Nullable
     private Long requestAutoAbortDelayMillis;
     @Nullable
+    private Integer http2StreamWeight;
+    @Nullable
     private Path multipartUploadsLocation;
     @Nullable
     private EventLoopGroup serviceWorkerGroup;
@@ -212,6 +214,11 @@ final class ServiceConfigBuilder implements ServiceConfigSetters {
         return this;
     }
 
+    ServiceConfigBuilder http2StreamWeight(int http2StreamWeight) {
+        this.http2StreamWeight = ServiceConfig.validateHttp2StreamWeight(http2StreamWeight);
+        return this;
+    }
+
     @Override
     public ServiceConfigBuilder multipartUploadsLocation(Path multipartUploadsLocation) {
         this.multipartUploadsLocation = multipartUploadsLocation;
@@ -328,6 +335,7 @@ final class ServiceConfigBuilder implements ServiceConfigSetters {
                         BlockingTaskExecutor defaultBlockingTaskExecutor,
                         SuccessFunction defaultSuccessFunction,
                         long defaultRequestAutoAbortDelayMillis,
+                        int defaultHttp2StreamWeight,
                         Path defaultMultipartUploadsLocation,
                         EventLoopGroup defaultServiceWorkerGroup,
                         HttpHeaders virtualHostDefaultHeaders,
@@ -392,7 +400,8 @@ final class ServiceConfigBuilder implements ServiceConfigSetters {
                 ImmutableList.copyOf(shutdownSupports),
                 mergeDefaultHeaders(virtualHostDefaultHeaders.toBuilder(), defaultHeaders.build()),
                 requestIdGenerator != null ? requestIdGenerator : defaultRequestIdGenerator, errorHandler,
-                mergedContextHook);
+                mergedContextHook,
+                http2StreamWeight != null ? http2StreamWeight : defaultHttp2StreamWeight);
     }
 
     @Override
@@ -408,6 +417,7 @@ final class ServiceConfigBuilder implements ServiceConfigSetters {
                           .add("blockingTaskExecutor", blockingTaskExecutor)
                           .add("successFunction", successFunction)
                           .add("multipartUploadsLocation", multipartUploadsLocation)
+                          .add("http2StreamWeight", http2StreamWeight)
                           .add("serviceWorkerGroup", serviceWorkerGroup)
                           .add("shutdownSupports", shutdownSupports)
                           .add("defaultHeaders", defaultHeaders)
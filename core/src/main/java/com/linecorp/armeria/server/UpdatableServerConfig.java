@@ -67,6 +67,13 @@ final class UpdatableServerConfig implements ServerConfig {
         return delegate.sslContextMapping();
     }
 
+    /**
+     * Returns whether the fairness of the HTTP/2 stream scheduling has to be recorded.
+     */
+    boolean meterHttp2Streams() {
+        return delegate.meterHttp2Streams();
+    }
+
     /**
      * Returns the {@link Executor} which will invoke the callbacks of {@link Server#start()},
      * {@link Server#stop()} and {@link ServerListener}.
@@ -315,6 +322,35 @@ final class UpdatableServerConfig implements ServerConfig {
         return delegate.unhandledExceptionsReportIntervalMillis();
     }
 
+    @Override
+    public long maxTotalAggregatedRequestLength() {
+        return delegate.maxTotalAggregatedRequestLength();
+    }
+
+    AggregationMemoryAccountant aggregationMemoryAccountant() {
+        return delegate.aggregationMemoryAccountant();
+    }
+
+    @Override
+    public boolean reusePortPerEventLoop() {
+        return delegate.reusePortPerEventLoop();
+    }
+
+    @Override
+    public int http2MaxFlowControlWindowSize() {
+        return delegate.http2MaxFlowControlWindowSize();
+    }
+
+    @Override
+    public Http2StreamScheduler http2StreamScheduler() {
+        return delegate.http2StreamScheduler();
+    }
+
+    @Override
+    public boolean http1FlushConsolidation() {
+        return delegate.http1FlushConsolidation();
+    }
+
     @Override
     public String toString() {
         return delegate.toString();
@@ -272,6 +272,13 @@ public final class VirtualHost {
         return serverConfig.server();
     }
 
+    AggregationMemoryAccountant aggregationMemoryAccountant() {
+        if (serverConfig instanceof DefaultServerConfig) {
+            return ((DefaultServerConfig) serverConfig).aggregationMemoryAccountant();
+        }
+        return AggregationMemoryAccountant.of(0);
+    }
+
     void setServerConfig(ServerConfig serverConfig) {
         if (this.serverConfig != null) {
             throw new IllegalStateException("VirtualHost cannot be added to more than one Server.");
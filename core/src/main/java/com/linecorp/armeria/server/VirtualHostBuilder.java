@@ -163,6 +163,8 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
     @Nullable
     private Long requestAutoAbortDelayMillis;
     @Nullable
+    private Integer http2StreamWeight;
+    @Nullable
     private Path multipartUploadsLocation;
     @Nullable
     private EventLoopGroup serviceWorkerGroup;
@@ -1174,6 +1176,19 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
         return this;
     }
 
+    /**
+     * Sets the HTTP/2 weight of the streams that serve the {@link HttpService}s of this {@link VirtualHost},
+     * between {@code 1} and {@code 256}. When an HTTP/2 connection is congested, the
+     * {@link ServerBuilder#http2StreamScheduler(Http2StreamScheduler)} gives a larger share of the connection
+     * to the streams with larger weights. The weight of a service can be overridden with
+     * {@link VirtualHostServiceBindingBuilder#http2StreamWeight(int)}. The default weight is {@code 16}.
+     */
+    @UnstableApi
+    public VirtualHostBuilder http2StreamWeight(int http2StreamWeight) {
+        this.http2StreamWeight = ServiceConfig.validateHttp2StreamWeight(http2StreamWeight);
+        return this;
+    }
+
     /**
      * Sets the {@link Path} for storing the files uploaded from
      * {@code multipart/form-data} requests.
@@ -1317,6 +1332,9 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
         final long requestAutoAbortDelayMillis =
                 this.requestAutoAbortDelayMillis != null ?
                 this.requestAutoAbortDelayMillis : template.requestAutoAbortDelayMillis;
+        final int http2StreamWeight =
+                this.http2StreamWeight != null ?
+                this.http2StreamWeight : template.http2StreamWeight;
         final RejectedRouteHandler rejectedRouteHandler =
                 this.rejectedRouteHandler != null ?
                 this.rejectedRouteHandler : template.rejectedRouteHandler;
@@ -1400,7 +1418,7 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
                 }).map(cfgBuilder -> {
                     return cfgBuilder.build(defaultServiceNaming, requestTimeoutMillis, maxRequestLength,
                                             verboseResponses, accessLogWriter, blockingTaskExecutor,
-                                            successFunction, requestAutoAbortDelayMillis,
+                                            successFunction, requestAutoAbortDelayMillis, http2StreamWeight,
                                             multipartUploadsLocation, serviceWorkerGroup, defaultHeaders,
                                             requestIdGenerator, defaultErrorHandler,
                                             unhandledExceptionsReporter, baseContextPath, contextHook);
@@ -1410,8 +1428,8 @@ public final class VirtualHostBuilder implements TlsSetters, ServiceConfigsBuild
                 new ServiceConfigBuilder(RouteBuilder.FALLBACK_ROUTE, "/", FallbackService.INSTANCE)
                         .build(defaultServiceNaming, requestTimeoutMillis, maxRequestLength, verboseResponses,
                                accessLogWriter, blockingTaskExecutor, successFunction,
-                               requestAutoAbortDelayMillis, multipartUploadsLocation, serviceWorkerGroup,
-                               defaultHeaders, requestIdGenerator,
+                               requestAutoAbortDelayMillis, http2StreamWeight, multipartUploadsLocation,
+                               serviceWorkerGroup, defaultHeaders, requestIdGenerator,
                                defaultErrorHandler, unhandledExceptionsReporter, "/", contextHook);
 
         final ImmutableList.Builder<ShutdownSupport> builder = ImmutableList.builder();
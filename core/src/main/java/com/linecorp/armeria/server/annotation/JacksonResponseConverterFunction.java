@@ -15,11 +15,14 @@
  */
 package com.linecorp.armeria.server.annotation;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.linecorp.armeria.internal.server.ResponseConversionUtil.aggregateFrom;
+import static com.linecorp.armeria.internal.server.ResponseConversionUtil.chunkedFrom;
 import static com.linecorp.armeria.internal.server.annotation.ClassUtil.typeToClass;
 import static com.linecorp.armeria.internal.server.annotation.ClassUtil.unwrapUnaryAsyncType;
 import static java.util.Objects.requireNonNull;
 
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -36,11 +39,15 @@ import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.server.streaming.JsonTextSequences;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+
 /**
  * A response converter implementation which creates an {@link HttpResponse} with
  * {@code content-type: application/json; charset=utf-8} or {@code content-type: application/json-seq}.
@@ -56,6 +63,7 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
     private static final ObjectMapper defaultObjectMapper = JacksonUtil.newDefaultObjectMapper();
 
     private final ObjectMapper mapper;
+    private final int chunkSize;
 
     /**
      * Creates an instance with the default {@link ObjectMapper}.
@@ -69,6 +77,25 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
      */
     public JacksonResponseConverterFunction(ObjectMapper mapper) {
         this.mapper = requireNonNull(mapper, "mapper");
+        chunkSize = 0;
+    }
+
+    /**
+     * Creates an instance with the specified {@link ObjectMapper} which streams a non-streaming
+     * {@code application/json} response in chunks of the specified size. The JSON document is serialized
+     * directly into pooled buffers by the {@link ServiceRequestContext#blockingTaskExecutor()}, and each chunk
+     * is sent as soon as it is filled up, so that a large response starts to flow before its serialization
+     * is finished. The serialization pauses until the previous chunk is consumed by the client.
+     *
+     * <p>Note that the response is not sent with a {@code content-length} header when this mode is used.
+     *
+     * @param chunkSize the maximum number of bytes in a chunk
+     */
+    @UnstableApi
+    public JacksonResponseConverterFunction(ObjectMapper mapper, int chunkSize) {
+        this.mapper = requireNonNull(mapper, "mapper");
+        checkArgument(chunkSize > 0, "chunkSize: %s (expected: > 0)", chunkSize);
+        this.chunkSize = chunkSize;
     }
 
     @Override
@@ -109,13 +136,17 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
                 if (charset.contains(StandardCharsets.UTF_8)) {
                     if (result instanceof Publisher) {
                         return aggregateFrom((Publisher<?>) result, headers, trailers,
-                                             this::toJsonHttpData, ctx);
+                                             value -> toJsonHttpData(ctx, value), ctx);
                     }
                     if (result instanceof Stream) {
                         return aggregateFrom((Stream<?>) result, headers, trailers,
-                                             this::toJsonHttpData, ctx.blockingTaskExecutor());
+                                             value -> toJsonHttpData(ctx, value), ctx.blockingTaskExecutor());
                     }
-                    return HttpResponse.of(headers, toJsonHttpData(result), trailers);
+                    if (chunkSize > 0) {
+                        return chunkedFrom(headers, trailers, out -> mapper.writeValue(out, result),
+                                           ctx, chunkSize);
+                    }
+                    return HttpResponse.of(headers, toJsonHttpData(ctx, result), trailers);
                 }
             }
 
@@ -133,17 +164,26 @@ public final class JacksonResponseConverterFunction implements ResponseConverter
         } else if (result instanceof JsonNode) {
             // No media type is specified, but the result is a JsonNode type.
             return HttpResponse.of(headers.toBuilder().contentType(MediaType.JSON_UTF_8).build(),
-                                   toJsonHttpData(result), trailers);
+                                   toJsonHttpData(ctx, result), trailers);
         }
 
         return ResponseConverterFunction.fallthrough();
     }
 
-    private HttpData toJsonHttpData(@Nullable Object value) {
-        try {
-            return HttpData.wrap(mapper.writeValueAsBytes(value));
+    private HttpData toJsonHttpData(ServiceRequestContext ctx, @Nullable Object value) {
+        // Serialize into a pooled buffer directly rather than copying a byte array.
+        final ByteBuf buf = ctx.alloc().buffer();
+        boolean success = false;
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
+            mapper.writeValue((OutputStream) out, value);
+            success = true;
         } catch (Exception e) {
             return Exceptions.throwUnsafely(e);
+        } finally {
+            if (!success) {
+                buf.release();
+            }
         }
+        return HttpData.wrap(buf);
     }
 }
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.logging.LogLevel;
 import com.linecorp.armeria.common.logging.LogWriter;
 import com.linecorp.armeria.common.logging.RequestLog;
@@ -61,7 +62,8 @@ public final class LoggingService extends SimpleDecoratingHttpService {
 
     LoggingService(HttpService delegate, LogWriter logWriter,
                    Sampler<? super ServiceRequestContext> successSampler,
-                   Sampler<? super ServiceRequestContext> failureSampler) {
+                   Sampler<? super ServiceRequestContext> failureSampler,
+                   @Nullable Sampler<? super RequestLog> slowRequestSampler) {
         super(requireNonNull(delegate, "delegate"));
         this.logWriter = requireNonNull(logWriter, "logWriter");
         requireNonNull(successSampler, "successSampler");
@@ -69,6 +71,9 @@ public final class LoggingService extends SimpleDecoratingHttpService {
         sampler = requestLog -> {
             final ServiceRequestContext ctx = (ServiceRequestContext) requestLog.context();
             if (ctx.config().successFunction().isSuccess(ctx, requestLog)) {
+                if (slowRequestSampler != null) {
+                    return slowRequestSampler.isSampled(requestLog);
+                }
                 return successSampler.isSampled(ctx);
             }
             return failureSampler.isSampled(ctx);
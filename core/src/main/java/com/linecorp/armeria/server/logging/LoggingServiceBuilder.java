@@ -30,6 +30,7 @@ import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.HttpStatusClass;
 import com.linecorp.armeria.common.RequestContext;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.logging.LogLevel;
 import com.linecorp.armeria.common.logging.LogWriter;
 import com.linecorp.armeria.common.logging.LoggingDecoratorBuilder;
@@ -39,6 +40,7 @@ import com.linecorp.armeria.common.logging.RequestOnlyLog;
 import com.linecorp.armeria.common.logging.ResponseLogLevelMapper;
 import com.linecorp.armeria.common.util.Sampler;
 import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.Route;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
 /**
@@ -46,10 +48,16 @@ import com.linecorp.armeria.server.ServiceRequestContext;
  */
 public final class LoggingServiceBuilder extends LoggingDecoratorBuilder {
 
+    private static final double DEFAULT_SLOW_REQUEST_QUANTILE = 0.99;
+    private static final int DEFAULT_MAX_SLOW_REQUEST_LOGS_PER_SECOND = 10;
+
     private Sampler<? super ServiceRequestContext> successSampler = Sampler.always();
 
     private Sampler<? super ServiceRequestContext> failureSampler = Sampler.always();
 
+    @Nullable
+    private SlowRequestSampler slowRequestSampler;
+
     LoggingServiceBuilder() {}
 
     /**
@@ -62,6 +70,7 @@ public final class LoggingServiceBuilder extends LoggingDecoratorBuilder {
         requireNonNull(sampler, "sampler");
         successSampler = sampler;
         failureSampler = sampler;
+        slowRequestSampler = null;
         return this;
     }
 
@@ -84,6 +93,7 @@ public final class LoggingServiceBuilder extends LoggingDecoratorBuilder {
     public LoggingServiceBuilder successSampler(
             Sampler<? super ServiceRequestContext> successSampler) {
         this.successSampler = requireNonNull(successSampler, "successSampler");
+        slowRequestSampler = null;
         return this;
     }
 
@@ -98,6 +108,42 @@ public final class LoggingServiceBuilder extends LoggingDecoratorBuilder {
         return successSampler(Sampler.random(successSamplingRate));
     }
 
+    /**
+     * Logs only the success requests which are slower than the 99th percentile of the recent requests
+     * to the same {@link Route}, up to 10 requests per second. This is a shortcut for
+     * {@code slowRequestSampling(0.99, 10)}.
+     *
+     * @see #slowRequestSampling(double, int)
+     */
+    @UnstableApi
+    public LoggingServiceBuilder slowRequestSampling() {
+        return slowRequestSampling(DEFAULT_SLOW_REQUEST_QUANTILE, DEFAULT_MAX_SLOW_REQUEST_LOGS_PER_SECOND);
+    }
+
+    /**
+     * Logs only the success requests which are slower than the specified {@code quantile} of the recent
+     * requests to the same {@link Route}, up to {@code maxLogsPerSecond} requests per second. The latencies
+     * of each {@link Route} are tracked with a streaming histogram which follows the recent traffic, so that
+     * only the outliers are logged at a fraction of the cost of logging all requests. No request to a
+     * {@link Route} is logged until it has served enough requests to estimate the quantile.
+     *
+     * <p>This replaces the {@link Sampler} set by {@link #successSampler(Sampler)} and vice versa.
+     * The failure requests are still sampled by {@link #failureSampler(Sampler)}. Decorate the service
+     * with {@link ContentPreviewingService} as well to log the previews of the contents of the slow requests.
+     *
+     * @param quantile the quantile of the latencies above which a request is logged,
+     *                 e.g. {@code 0.99} for the 99th percentile
+     * @param maxLogsPerSecond the maximum number of the slow requests to log per second
+     */
+    @UnstableApi
+    public LoggingServiceBuilder slowRequestSampling(double quantile, int maxLogsPerSecond) {
+        checkArgument(0.0 < quantile && quantile < 1.0,
+                      "quantile: %s (expected: 0.0 < quantile < 1.0)", quantile);
+        checkArgument(maxLogsPerSecond > 0, "maxLogsPerSecond: %s (expected: > 0)", maxLogsPerSecond);
+        slowRequestSampler = new SlowRequestSampler(quantile, maxLogsPerSecond);
+        return this;
+    }
+
     /**
      * Sets the {@link Sampler} that determines which failure request needs logging.
      */
@@ -123,7 +169,7 @@ public final class LoggingServiceBuilder extends LoggingDecoratorBuilder {
      * of this builder.
      */
     public LoggingService build(HttpService delegate) {
-        return new LoggingService(delegate, logWriter(), successSampler, failureSampler);
+        return new LoggingService(delegate, logWriter(), successSampler, failureSampler, slowRequestSampler);
     }
 
     /**
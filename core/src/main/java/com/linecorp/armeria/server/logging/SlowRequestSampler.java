@@ -0,0 +1,145 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+
+import com.linecorp.armeria.common.logging.RequestLog;
+import com.linecorp.armeria.common.util.Sampler;
+import com.linecorp.armeria.server.Route;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * A {@link Sampler} which samples the requests slower than the specified quantile of the recent requests
+ * to the same {@link Route}, up to the specified number of requests per second.
+ *
+ * <p>The latencies are kept in a log-scale histogram per {@link Route} whose counts are halved every
+ * {@value #DECAY_INTERVAL_SECONDS} seconds, so that the quantile follows the recent traffic. A bucket
+ * covers about 19% of its lower bound, which is precise enough to find outliers. No request is sampled
+ * until the {@link Route} has served {@value #MIN_SAMPLES} requests.
+ */
+final class SlowRequestSampler implements Sampler<RequestLog> {
+
+    @VisibleForTesting
+    static final int MIN_SAMPLES = 100;
+    private static final long DECAY_INTERVAL_SECONDS = 60;
+    private static final long DECAY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(DECAY_INTERVAL_SECONDS);
+
+    private final double quantile;
+    private final int maxSamplesPerSecond;
+    private final Sampler<Object> rateLimiter;
+    private final ConcurrentMap<Route, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    SlowRequestSampler(double quantile, int maxSamplesPerSecond) {
+        this.quantile = quantile;
+        this.maxSamplesPerSecond = maxSamplesPerSecond;
+        rateLimiter = Sampler.rateLimiting(maxSamplesPerSecond);
+    }
+
+    @Override
+    public boolean isSampled(RequestLog log) {
+        final ServiceRequestContext ctx = (ServiceRequestContext) log.context();
+        final Route route = ctx.config().route();
+        LatencyHistogram histogram = histograms.get(route);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(route, unused -> new LatencyHistogram());
+        }
+        final boolean slow = histogram.isSlow(log.totalDurationNanos(), quantile);
+        return slow && rateLimiter.isSampled(log);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("quantile", quantile)
+                          .add("maxSamplesPerSecond", maxSamplesPerSecond)
+                          .toString();
+    }
+
+    /**
+     * A log-scale latency histogram with 4 sub-buckets per power of two.
+     */
+    @VisibleForTesting
+    static final class LatencyHistogram {
+
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int NUM_BUCKETS = 64 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong lastDecayNanos = new AtomicLong(System.nanoTime());
+
+        /**
+         * Returns whether the specified latency is in a bucket above the bucket of the specified quantile,
+         * and then records the latency.
+         */
+        boolean isSlow(long latencyNanos, double quantile) {
+            maybeDecay();
+            final int bucket = bucket(latencyNanos);
+            final boolean slow = total.get() >= MIN_SAMPLES && bucket > quantileBucket(quantile);
+            counts.incrementAndGet(bucket);
+            total.incrementAndGet();
+            return slow;
+        }
+
+        @VisibleForTesting
+        int quantileBucket(double quantile) {
+            final long threshold = (long) Math.ceil(total.get() * quantile);
+            long sum = 0;
+            for (int i = 0; i < NUM_BUCKETS; i++) {
+                sum += counts.get(i);
+                if (sum >= threshold) {
+                    return i;
+                }
+            }
+            return NUM_BUCKETS - 1;
+        }
+
+        @VisibleForTesting
+        static int bucket(long latencyNanos) {
+            if (latencyNanos < (1L << SUB_BUCKET_BITS)) {
+                return (int) Math.max(0, latencyNanos);
+            }
+            final int exponent = 63 - Long.numberOfLeadingZeros(latencyNanos);
+            final int subBucket = (int) (latencyNanos >>> (exponent - SUB_BUCKET_BITS)) &
+                                  ((1 << SUB_BUCKET_BITS) - 1);
+            return (exponent << SUB_BUCKET_BITS) | subBucket;
+        }
+
+        private void maybeDecay() {
+            final long lastDecayNanos = this.lastDecayNanos.get();
+            final long currentNanos = System.nanoTime();
+            if (currentNanos - lastDecayNanos < DECAY_INTERVAL_NANOS ||
+                !this.lastDecayNanos.compareAndSet(lastDecayNanos, currentNanos)) {
+                return;
+            }
+            // Halve the counts so that the old latencies fade out. The concurrent increments may be
+            // halved or not, which doesn't matter for an estimation.
+            long newTotal = 0;
+            for (int i = 0; i < NUM_BUCKETS; i++) {
+                newTotal += counts.updateAndGet(i, count -> count >>> 1);
+            }
+            total.set(newTotal);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import static com.spotify.futures.CompletableFutures.allAsList;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.RoutingContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+
+/**
+ * Reports the current state of the worker event loops of the {@link com.linecorp.armeria.server.Server}.
+ * A no-op task is submitted to each event loop and the time it took to run is reported as the lag,
+ * along with the number of the pending tasks and the GC stats of the JVM.
+ */
+enum EventLoopService implements HttpService {
+
+    INSTANCE;
+
+    /**
+     * An event loop which does not run the probe task within this duration is reported as blocked.
+     */
+    private static final long PROBE_TIMEOUT_SECONDS = 10;
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        final EventLoopGroup workerGroup = ctx.config().server().config().workerGroup();
+        final ImmutableList.Builder<CompletableFuture<Map<String, Object>>> futures = ImmutableList.builder();
+        int index = 0;
+        for (EventExecutor eventLoop : workerGroup) {
+            futures.add(probe(ctx, eventLoop, index++));
+        }
+
+        return HttpResponse.of(allAsList(futures.build()).thenApply(eventLoops -> {
+            return HttpResponse.ofJson(ImmutableMap.of("eventLoops", eventLoops, "gc", gcStats()));
+        }));
+    }
+
+    private static CompletableFuture<Map<String, Object>> probe(ServiceRequestContext ctx,
+                                                                EventExecutor eventLoop, int index) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        if (eventLoop instanceof SingleThreadEventExecutor) {
+            result.put("pendingTasks", ((SingleThreadEventExecutor) eventLoop).pendingTasks());
+        }
+
+        final CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        final long submittedNanos = System.nanoTime();
+        try {
+            eventLoop.execute(() -> {
+                final long lagNanos = System.nanoTime() - submittedNanos;
+                final Map<String, Object> probed = new LinkedHashMap<>(result);
+                probed.put("thread", Thread.currentThread().getName());
+                probed.put("lagNanos", lagNanos);
+                probed.put("blocked", false);
+                future.complete(probed);
+            });
+        } catch (RejectedExecutionException e) {
+            result.put("shutdown", true);
+            future.complete(result);
+            return future;
+        }
+
+        final ScheduledFuture<?> timeoutFuture = ctx.blockingTaskExecutor().schedule(() -> {
+            final Map<String, Object> blocked = new LinkedHashMap<>(result);
+            blocked.put("blocked", true);
+            future.complete(blocked);
+        }, PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        future.whenComplete((unused1, unused2) -> timeoutFuture.cancel(false));
+        return future;
+    }
+
+    private static List<Map<String, Object>> gcStats() {
+        final ImmutableList.Builder<Map<String, Object>> builder = ImmutableList.builder();
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            builder.add(ImmutableMap.of("name", bean.getName(),
+                                        "count", bean.getCollectionCount(),
+                                        "timeMillis", bean.getCollectionTime()));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return ExchangeType.UNARY;
+    }
+}
@@ -22,10 +22,16 @@ import com.linecorp.armeria.common.HttpResponse;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.metric.MeterIdPrefix;
+import com.linecorp.armeria.common.metric.MoreMeterBinders;
 import com.linecorp.armeria.server.AbstractHttpService;
 import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.Server;
+import com.linecorp.armeria.server.ServiceConfig;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
+import io.netty.channel.EventLoopGroup;
+
 /**
  * An {@link HttpService} that provides monitoring and management features.
  * First, you need to bind a {@link ManagementService} under a path.
@@ -54,11 +60,34 @@ import com.linecorp.armeria.server.ServiceRequestContext;
  * // Dump only live objects that are reachable from others
  * curl -L http://my-service.com/internal/management/jvm/heapdump?live=true -o heapdump.hprof
  * }</pre>
+ *
+ * <h2>Event loops</h2>
+ * You can check whether the worker event loops of the {@link Server} are blocked or overloaded by accessing
+ * {@code "/eventloops"}. A no-op task is submitted to each event loop and the time it took to run is
+ * reported as a JSON, along with the number of the pending tasks and the GC stats of the JVM.
+ * Use {@link MoreMeterBinders#eventLoopProbe(EventLoopGroup, MeterIdPrefix)} to export the lags
+ * continuously.
+ * <pre>{@code
+ * curl -L http://my-service.com/internal/management/eventloops
+ * }</pre>
+ *
+ * <h2>Profiling</h2>
+ * You can sample the stack traces of the running threads with JDK Flight Recorder for a bounded duration by
+ * accessing {@code "/jvm/profile"}. The stack traces are returned as collapsed stacks which can be rendered
+ * as a flame graph. Only one profiling session can run at a time and Java 14 or later is required.
+ * If {@link ManagementServiceBuilder#profileRoutes(boolean)} is enabled, the root frame of each stack is
+ * the route which the thread was serving.
+ * <pre>{@code
+ * // Sample for 30 seconds every 20 milliseconds.
+ * curl -L "http://my-service.com/internal/management/jvm/profile?seconds=30&intervalMillis=20" \
+ *      -o profile.collapsed
+ * flamegraph.pl profile.collapsed > profile.svg
+ * }</pre>
  */
 @UnstableApi
 public final class ManagementService extends AbstractHttpService {
 
-    private static final ManagementService INSTANCE = new ManagementService();
+    private static final ManagementService INSTANCE = new ManagementService(false);
 
     /**
      * Returns a singleton {@link ManagementService}.
@@ -67,7 +96,26 @@ public final class ManagementService extends AbstractHttpService {
         return INSTANCE;
     }
 
-    ManagementService() {}
+    /**
+     * Returns a new {@link ManagementServiceBuilder}.
+     */
+    public static ManagementServiceBuilder builder() {
+        return new ManagementServiceBuilder();
+    }
+
+    private final boolean profileRoutes;
+
+    ManagementService(boolean profileRoutes) {
+        this.profileRoutes = profileRoutes;
+    }
+
+    @Override
+    public void serviceAdded(ServiceConfig cfg) throws Exception {
+        if (profileRoutes) {
+            // Record the routes served by each thread for the profiler before serving any requests.
+            RouteTimeline.install();
+        }
+    }
 
     @Override
     public HttpResponse doGet(ServiceRequestContext ctx, HttpRequest req) throws Exception {
@@ -77,6 +125,10 @@ public final class ManagementService extends AbstractHttpService {
                 return ThreadDumpService.INSTANCE.serve(ctx, req);
             case "/jvm/heapdump":
                 return HeapDumpService.INSTANCE.serve(ctx, req);
+            case "/jvm/profile":
+                return ProfilerService.INSTANCE.serve(ctx, req);
+            case "/eventloops":
+                return EventLoopService.INSTANCE.serve(ctx, req);
             default:
                 return HttpResponse.of(HttpStatus.NOT_FOUND);
         }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import com.linecorp.armeria.common.RequestContextStorage;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+
+/**
+ * A builder for {@link ManagementService}.
+ */
+@UnstableApi
+public final class ManagementServiceBuilder {
+
+    private boolean profileRoutes;
+
+    ManagementServiceBuilder() {}
+
+    /**
+     * Sets whether the stack traces sampled by {@code "/jvm/profile"} are attributed to the route which
+     * the thread was serving. If enabled, a {@link RequestContextStorage} hook which records the context
+     * transitions of each thread is installed when the {@link ManagementService} is added to a server.
+     * The hook costs a volatile read per context switch while no profiling session is running.
+     * This option is disabled by default.
+     */
+    public ManagementServiceBuilder profileRoutes(boolean profileRoutes) {
+        this.profileRoutes = profileRoutes;
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link ManagementService} based on the properties of this builder.
+     */
+    public ManagementService build() {
+        if (!profileRoutes) {
+            return ManagementService.of();
+        }
+        return new ManagementService(true);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.QueryParams;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.common.util.TimeoutMode;
+import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.RoutingContext;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Samples the stack traces of the running threads with JDK Flight Recorder for a bounded duration and
+ * returns them as collapsed stacks, which can be rendered as a flame graph by tools like
+ * <a href="https://github.com/brendangregg/FlameGraph">FlameGraph</a>. If the {@link RouteTimeline} is
+ * installed, the root frame of each stack is the route which the thread was serving when the stack was
+ * sampled.
+ *
+ * <p>JFR event streaming requires Java 14 or later. The APIs are accessed reflectively because Armeria is
+ * built against Java 8.
+ */
+enum ProfilerService implements HttpService {
+
+    INSTANCE;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilerService.class);
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    private static final long DEFAULT_SECONDS = 10;
+    private static final long MAX_SECONDS = 300;
+    private static final long DEFAULT_INTERVAL_MILLIS = 20;
+
+    @Nullable
+    private static final Jfr jfr = Jfr.load();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+        if (jfr == null) {
+            return HttpResponse.of(HttpStatus.NOT_IMPLEMENTED, MediaType.PLAIN_TEXT_UTF_8,
+                                   "JFR event streaming is not available. Java 14 or later is required.");
+        }
+
+        final QueryParams params = ctx.queryParams();
+        final long seconds = params.getLong("seconds", DEFAULT_SECONDS);
+        final long intervalMillis = params.getLong("intervalMillis", DEFAULT_INTERVAL_MILLIS);
+        if (seconds <= 0 || seconds > MAX_SECONDS || intervalMillis <= 0) {
+            return HttpResponse.of(HttpStatus.BAD_REQUEST, MediaType.PLAIN_TEXT_UTF_8,
+                                   "seconds: %s (expected: 0 < seconds <= %s), " +
+                                   "intervalMillis: %s (expected: > 0)",
+                                   seconds, MAX_SECONDS, intervalMillis);
+        }
+        if (!running.compareAndSet(false, true)) {
+            return HttpResponse.of(HttpStatus.CONFLICT, MediaType.PLAIN_TEXT_UTF_8,
+                                   "Another profiling session is running.");
+        }
+
+        final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        try {
+            final Profile profile = new Profile();
+            final AutoCloseable stream = jfr.start(Duration.ofMillis(intervalMillis), profile::add);
+            if (profile.profileRoutes) {
+                RouteTimeline.startRecording();
+            }
+            ctx.setRequestTimeout(TimeoutMode.EXTEND, Duration.ofSeconds(seconds));
+            ctx.blockingTaskExecutor().schedule(() -> {
+                RouteTimeline.stopRecording();
+                try {
+                    stream.close();
+                    future.complete(HttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT_UTF_8,
+                                                    profile.collapsedStacks()));
+                } catch (Throwable cause) {
+                    future.completeExceptionally(cause);
+                } finally {
+                    RouteTimeline.clear();
+                    running.set(false);
+                }
+            }, seconds, TimeUnit.SECONDS);
+        } catch (Throwable cause) {
+            RouteTimeline.stopRecording();
+            RouteTimeline.clear();
+            running.set(false);
+            throw cause;
+        }
+        return HttpResponse.of(future);
+    }
+
+    @Override
+    public ExchangeType exchangeType(RoutingContext routingContext) {
+        return ExchangeType.UNARY;
+    }
+
+    /**
+     * Aggregates the samples into collapsed stacks.
+     */
+    private static final class Profile {
+
+        private final Map<String, Integer> counts = new HashMap<>();
+        private final boolean profileRoutes = RouteTimeline.isInstalled();
+
+        void add(Sample sample) {
+            final StringBuilder buf = new StringBuilder(256);
+            if (profileRoutes) {
+                buf.append(RouteTimeline.routeAt(sample.threadId, sample.epochNanos)).append(';');
+            }
+            // The frames are ordered from the top of the stack while the collapsed stack begins from the root.
+            for (int i = sample.frames.size() - 1; i >= 0; i--) {
+                if (i != sample.frames.size() - 1) {
+                    buf.append(';');
+                }
+                buf.append(sample.frames.get(i));
+            }
+            final String stack = buf.toString();
+            synchronized (this) {
+                counts.merge(stack, 1, Integer::sum);
+            }
+        }
+
+        synchronized String collapsedStacks() {
+            final StringBuilder buf = new StringBuilder(counts.size() * 256);
+            counts.forEach((stack, count) -> buf.append(stack).append(' ').append(count).append('\n'));
+            return buf.toString();
+        }
+    }
+
+    private static final class Sample {
+        final long threadId;
+        final long epochNanos;
+        final List<String> frames;
+
+        Sample(long threadId, long epochNanos, List<String> frames) {
+            this.threadId = threadId;
+            this.epochNanos = epochNanos;
+            this.frames = frames;
+        }
+    }
+
+    /**
+     * Accesses {@code jdk.jfr.consumer.RecordingStream} and the recorded events reflectively.
+     */
+    private static final class Jfr {
+
+        @Nullable
+        static Jfr load() {
+            try {
+                return new Jfr();
+            } catch (Throwable t) {
+                logger.debug("JFR event streaming is not available:", t);
+                return null;
+            }
+        }
+
+        private final Class<?> recordingStreamClass;
+        private final Method enable;
+        private final Method withPeriod;
+        private final Method onEvent;
+        private final Method startAsync;
+        private final Method getStartTime;
+        private final Method getThread;
+        private final Method getJavaThreadId;
+        private final Method getStackTrace;
+        private final Method getFrames;
+        private final Method getMethod;
+        private final Method getType;
+        private final Method getClassName;
+        private final Method getMethodName;
+
+        private Jfr() throws Exception {
+            recordingStreamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            enable = recordingStreamClass.getMethod("enable", String.class);
+            withPeriod = Class.forName("jdk.jfr.EventSettings").getMethod("withPeriod", Duration.class);
+            onEvent = recordingStreamClass.getMethod("onEvent", String.class, Consumer.class);
+            startAsync = recordingStreamClass.getMethod("startAsync");
+
+            final Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            getStartTime = recordedEvent.getMethod("getStartTime");
+            getThread = recordedEvent.getMethod("getThread", String.class);
+            getStackTrace = recordedEvent.getMethod("getStackTrace");
+            getJavaThreadId = Class.forName("jdk.jfr.consumer.RecordedThread").getMethod("getJavaThreadId");
+            getFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+            getMethod = Class.forName("jdk.jfr.consumer.RecordedFrame").getMethod("getMethod");
+            final Class<?> recordedMethod = Class.forName("jdk.jfr.consumer.RecordedMethod");
+            getType = recordedMethod.getMethod("getType");
+            getMethodName = recordedMethod.getMethod("getName");
+            getClassName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+        }
+
+        AutoCloseable start(Duration interval, Consumer<Sample> consumer) throws Exception {
+            final AutoCloseable stream = (AutoCloseable) recordingStreamClass.getConstructor().newInstance();
+            try {
+                withPeriod.invoke(enable.invoke(stream, EXECUTION_SAMPLE), interval);
+                onEvent.invoke(stream, EXECUTION_SAMPLE, (Consumer<Object>) event -> {
+                    try {
+                        final Sample sample = toSample(event);
+                        if (sample != null) {
+                            consumer.accept(sample);
+                        }
+                    } catch (Throwable t) {
+                        logger.debug("Failed to read a JFR event: {}", event, t);
+                    }
+                });
+                startAsync.invoke(stream);
+                return stream;
+            } catch (Throwable t) {
+                stream.close();
+                return Exceptions.throwUnsafely(Exceptions.peel(t));
+            }
+        }
+
+        @Nullable
+        private Sample toSample(Object event) throws Exception {
+            final Object thread = getThread.invoke(event, "sampledThread");
+            final Object stackTrace = getStackTrace.invoke(event);
+            if (thread == null || stackTrace == null) {
+                return null;
+            }
+            final Instant startTime = (Instant) getStartTime.invoke(event);
+            final long epochNanos = TimeUnit.SECONDS.toNanos(startTime.getEpochSecond()) + startTime.getNano();
+
+            final List<?> frames = (List<?>) getFrames.invoke(stackTrace);
+            final String[] names = new String[frames.size()];
+            for (int i = 0; i < names.length; i++) {
+                final Object method = getMethod.invoke(frames.get(i));
+                final String className = (String) getClassName.invoke(getType.invoke(method));
+                names[i] = className + '.' + getMethodName.invoke(method);
+            }
+            return new Sample((long) getJavaThreadId.invoke(thread), epochNanos, Arrays.asList(names));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.RequestContextStorage;
+import com.linecorp.armeria.common.RequestContextStorageWrapper;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Records which route each thread was serving over time while {@link ProfilerService} is running, so that
+ * a stack trace sampled at a certain time can be attributed to the route of the {@link RequestContext}
+ * which was active on the thread. The samples are delivered to {@link ProfilerService} with a delay, so
+ * the transitions of the last {@value #WINDOW_SECONDS} seconds are kept per thread rather than looking up
+ * the current context. The transitions are recorded only when the hook is {@linkplain #install() installed}
+ * with {@link ManagementServiceBuilder#profileRoutes(boolean)}.
+ */
+final class RouteTimeline {
+
+    static final String NO_CONTEXT = "[no context]";
+    static final String UNKNOWN = "[unknown]";
+
+    private static final int INITIAL_CAPACITY = 16;
+    @VisibleForTesting
+    static final int MAX_CAPACITY = 4096;
+    private static final long WINDOW_SECONDS = 5;
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(WINDOW_SECONDS);
+
+    private static final AtomicBoolean installed = new AtomicBoolean();
+    private static final Map<Long, RouteTimeline> timelines = new ConcurrentHashMap<>();
+
+    // Converts System.nanoTime() into the epoch time in nanoseconds which JFR uses for the samples.
+    private static volatile long baseEpochNanos;
+    private static volatile long startEpochNanos;
+    private static volatile boolean recording;
+
+    /**
+     * Installs the {@link RequestContextStorage} hook which records the transitions. This has to be
+     * invoked before serving requests as {@link RequestContextStorage#hook(java.util.function.Function)}
+     * requires. The hook costs only a volatile read per push and pop unless recording.
+     */
+    static void install() {
+        if (installed.compareAndSet(false, true)) {
+            RequestContextStorage.hook(RecordingStorage::new);
+        }
+    }
+
+    static boolean isInstalled() {
+        return installed.get();
+    }
+
+    static void startRecording() {
+        baseEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - System.nanoTime();
+        startEpochNanos = baseEpochNanos + System.nanoTime();
+        recording = true;
+    }
+
+    static void stopRecording() {
+        recording = false;
+    }
+
+    static void clear() {
+        timelines.clear();
+    }
+
+    /**
+     * Returns the route which the specified thread was serving at the specified time.
+     */
+    static String routeAt(long threadId, long epochNanos) {
+        final RouteTimeline timeline = timelines.get(threadId);
+        if (timeline == null) {
+            // The thread did not switch the context since the recording started, so it may be running
+            // in a context which was pushed before.
+            return UNKNOWN;
+        }
+        return timeline.find(epochNanos);
+    }
+
+    @VisibleForTesting
+    static void record(@Nullable RequestContext previous, @Nullable RequestContext next) {
+        final long now = baseEpochNanos + System.nanoTime();
+        final RouteTimeline timeline = timelines.computeIfAbsent(Thread.currentThread().getId(), unused -> {
+            // Record the context which was active when the recording started, so that the thread is not
+            // reported as having no context until its first transition.
+            final RouteTimeline newTimeline = new RouteTimeline();
+            newTimeline.add(Math.min(startEpochNanos, now), routeOf(previous));
+            return newTimeline;
+        });
+        timeline.add(now, routeOf(next));
+    }
+
+    private static String routeOf(@Nullable RequestContext ctx) {
+        if (ctx == null) {
+            return NO_CONTEXT;
+        }
+        final ServiceRequestContext root = ctx.root();
+        if (root == null) {
+            return "[client]";
+        }
+        return root.config().route().patternString();
+    }
+
+    // A ring of the transitions sorted by time. Only the owner thread adds to it.
+    private long[] timesNanos = new long[INITIAL_CAPACITY];
+    private String[] routes = new String[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private boolean truncated;
+
+    private RouteTimeline() {}
+
+    private int index(int i) {
+        return (head + i) & (timesNanos.length - 1);
+    }
+
+    private synchronized void add(long epochNanos, String route) {
+        if (size > 0 && routes[index(size - 1)].equals(route)) {
+            // No transition.
+            return;
+        }
+
+        // Evict the transitions that are older than the window, keeping the latest of them because
+        // it tells the route at the beginning of the window.
+        final long windowStartNanos = epochNanos - WINDOW_NANOS;
+        while (size > 1 && timesNanos[index(1)] <= windowStartNanos) {
+            evictOldest();
+        }
+
+        if (size == timesNanos.length) {
+            if (size < MAX_CAPACITY) {
+                grow();
+            } else {
+                evictOldest();
+            }
+        }
+        final int tail = index(size);
+        timesNanos[tail] = epochNanos;
+        routes[tail] = route;
+        size++;
+    }
+
+    private void evictOldest() {
+        routes[head] = null;
+        head = index(1);
+        size--;
+        truncated = true;
+    }
+
+    private void grow() {
+        final int newCapacity = timesNanos.length << 1;
+        final long[] newTimesNanos = new long[newCapacity];
+        final String[] newRoutes = new String[newCapacity];
+        for (int i = 0; i < size; i++) {
+            final int index = index(i);
+            newTimesNanos[i] = timesNanos[index];
+            newRoutes[i] = routes[index];
+        }
+        timesNanos = newTimesNanos;
+        routes = newRoutes;
+        head = 0;
+    }
+
+    private synchronized String find(long epochNanos) {
+        // Find the latest transition at or before the specified time.
+        int low = 0;
+        int high = size - 1;
+        int found = -1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (timesNanos[index(mid)] <= epochNanos) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (found >= 0) {
+            return routes[index(found)];
+        }
+        // The transitions at the time have been evicted or the sample was taken before recording.
+        return truncated ? UNKNOWN : NO_CONTEXT;
+    }
+
+    private static final class RecordingStorage extends RequestContextStorageWrapper {
+
+        RecordingStorage(RequestContextStorage delegate) {
+            super(delegate);
+        }
+
+        @Nullable
+        @Override
+        public <T extends RequestContext> T push(RequestContext toPush) {
+            if (recording) {
+                record(super.currentOrNull(), toPush);
+            }
+            return super.push(toPush);
+        }
+
+        @Override
+        public void pop(RequestContext current, @Nullable RequestContext toRestore) {
+            if (recording) {
+                record(current, toRestore);
+            }
+            super.pop(current, toRestore);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.internal.common.metric.RequestMetricSupport;
+import com.linecorp.armeria.internal.common.metric.RequestMetricSupport.ServiceMeterBindings;
 import com.linecorp.armeria.internal.server.RouteDecoratingService;
 import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.Route;
@@ -86,16 +87,20 @@ public final class MetricCollectingService extends SimpleDecoratingHttpService {
     private final BiPredicate<? super RequestContext, ? super RequestLog> successFunction;
     private final ConcurrentMap<Route, Boolean> routeCache = new ConcurrentHashMap<>();
     private final DistributionStatisticConfig distributionStatisticConfig;
+    @Nullable
+    private final ServiceMeterBindings meterBindings;
 
     MetricCollectingService(HttpService delegate,
                             MeterIdPrefixFunction meterIdPrefixFunction,
                             @Nullable BiPredicate<? super RequestContext, ? super RequestLog> successFunction,
-                            DistributionStatisticConfig distributionStatisticConfig) {
+                            DistributionStatisticConfig distributionStatisticConfig,
+                            boolean preBindMeters) {
         super(delegate);
         this.meterIdPrefixFunction = requireNonNull(meterIdPrefixFunction, "meterIdPrefixFunction");
         this.successFunction = successFunction;
         this.distributionStatisticConfig =
                 requireNonNull(distributionStatisticConfig, "distributionStatisticConfig");
+        meterBindings = preBindMeters ? new ServiceMeterBindings() : null;
     }
 
     @Override
@@ -104,7 +109,7 @@ public final class MetricCollectingService extends SimpleDecoratingHttpService {
             RequestMetricSupport.setup(ctx, REQUEST_METRICS_SET, meterIdPrefixFunction, true,
                                        successFunction != null ? successFunction::test
                                                                : ctx.config().successFunction(),
-                                       distributionStatisticConfig);
+                                       distributionStatisticConfig, meterBindings);
         }
         return unwrap().serve(ctx, req);
     }
@@ -142,5 +147,8 @@ public final class MetricCollectingService extends SimpleDecoratingHttpService {
         super.serviceAdded(cfg);
         // Server.reconfigure() may change services bound to routes.
         routeCache.clear();
+        if (meterBindings != null) {
+            meterBindings.clear();
+        }
     }
 }
@@ -20,12 +20,16 @@ import static java.util.Objects.requireNonNull;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 
+import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.logging.RequestLog;
 import com.linecorp.armeria.common.metric.AbstractMetricCollectingBuilder;
 import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.server.HttpService;
+import com.linecorp.armeria.server.ServiceConfig;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 
 /**
@@ -33,10 +37,30 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
  */
 public final class MetricCollectingServiceBuilder extends AbstractMetricCollectingBuilder {
 
+    private boolean preBindMeters;
+
     MetricCollectingServiceBuilder(MeterIdPrefixFunction meterIdPrefixFunction) {
         super(meterIdPrefixFunction);
     }
 
+    /**
+     * Sets whether to bind the meters once for each combination of a {@link ServiceConfig},
+     * a {@link RequestLog#serviceName()}, a {@link RequestLog#name()}, an {@link HttpMethod} and
+     * a response status, and reuse them for the subsequent requests. It avoids creating the meter tags and
+     * looking up the {@link MeterRegistry} for every request, which is noticeable for a server with many
+     * routes.
+     *
+     * <p>Enable this option only when the {@link MeterIdPrefixFunction} yields the same meter ID for
+     * the same combination, as {@link MeterIdPrefixFunction#ofDefault(String)} does. Otherwise, the meters
+     * of the first request would be used for all the subsequent requests of the same combination.
+     * This option is disabled by default.
+     */
+    @UnstableApi
+    public MetricCollectingServiceBuilder preBindMeters(boolean preBindMeters) {
+        this.preBindMeters = preBindMeters;
+        return this;
+    }
+
     @Override
     public MetricCollectingServiceBuilder successFunction(
             BiPredicate<? super RequestContext, ? super RequestLog> successFunction) {
@@ -56,7 +80,7 @@ public final class MetricCollectingServiceBuilder extends AbstractMetricCollecti
     public MetricCollectingService build(HttpService delegate) {
         requireNonNull(delegate, "delegate");
         return new MetricCollectingService(delegate, meterIdPrefixFunction(), successFunction(),
-                                           distributionStatisticConfig());
+                                           distributionStatisticConfig(), preBindMeters);
     }
 
     /**
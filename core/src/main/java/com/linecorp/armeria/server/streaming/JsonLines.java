@@ -18,7 +18,7 @@ package com.linecorp.armeria.server.streaming;
 import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingFrom;
 import static java.util.Objects.requireNonNull;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -42,6 +42,10 @@ import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+
 /**
  * A utility class which helps to create a <a href="https://jsonlines.org/">JavaScript Object
  * Notation (JSON) Lines text</a> from a content {@link Publisher} or {@link Stream}.
@@ -379,20 +383,26 @@ public final class JsonLines {
     }
 
     private static HttpData toHttpData(ObjectMapper mapper, @Nullable Object value) {
-        try {
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+        boolean success = false;
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
             // If the mapper is same don't need disable indentation.
             if (mapper == defaultMapper) {
-                mapper.writeValue(out, value);
+                mapper.writeValue((OutputStream) out, value);
             } else {
                 final JsonNode root = mapper.valueToTree(value);
-                defaultMapper.writeValue(out, root);
+                defaultMapper.writeValue((OutputStream) out, root);
             }
             out.write(LINE_FEED);
-            return HttpData.wrap(out.toByteArray());
+            success = true;
         } catch (Exception e) {
             return Exceptions.throwUnsafely(e);
+        } finally {
+            if (!success) {
+                buf.release();
+            }
         }
+        return HttpData.wrap(buf);
     }
 
     private static <T> HttpData toHttpData(Function<? super T, String> contentConverter, @Nullable T value) {
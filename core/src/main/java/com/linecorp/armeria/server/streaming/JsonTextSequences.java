@@ -18,7 +18,7 @@ package com.linecorp.armeria.server.streaming;
 import static com.linecorp.armeria.internal.server.ResponseConversionUtil.streamingFrom;
 import static java.util.Objects.requireNonNull;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Executor;
 import java.util.function.Function;
@@ -40,6 +40,10 @@ import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.util.Exceptions;
 import com.linecorp.armeria.internal.common.JacksonUtil;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+
 /**
  * A utility class which helps to create a <a href="https://datatracker.ietf.org/doc/rfc7464/">JavaScript Object
  * Notation (JSON) Text Sequences</a> from a content {@link Publisher} or {@link Stream}.
@@ -381,15 +385,21 @@ public final class JsonTextSequences {
     }
 
     private static HttpData toHttpData(ObjectMapper mapper, @Nullable Object value) {
-        try {
-            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteBuf buf = ByteBufAllocator.DEFAULT.buffer();
+        boolean success = false;
+        try (ByteBufOutputStream out = new ByteBufOutputStream(buf)) {
             out.write(RECORD_SEPARATOR);
-            mapper.writeValue(out, value);
+            mapper.writeValue((OutputStream) out, value);
             out.write(LINE_FEED);
-            return HttpData.wrap(out.toByteArray());
+            success = true;
         } catch (Exception e) {
             return Exceptions.throwUnsafely(e);
+        } finally {
+            if (!success) {
+                buf.release();
+            }
         }
+        return HttpData.wrap(buf);
     }
 
     private static <T> HttpData toHttpData(Function<? super T, String> contentConverter, @Nullable T value) {
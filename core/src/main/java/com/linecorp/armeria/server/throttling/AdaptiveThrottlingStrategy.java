@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.throttling;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import com.linecorp.armeria.common.Request;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Ticker;
+import com.linecorp.armeria.common.util.UnmodifiableFuture;
+import com.linecorp.armeria.internal.common.util.EventLoopLagProbe;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * A {@link ThrottlingStrategy} which rejects requests when the server is saturated.
+ *
+ * @see AdaptiveThrottlingStrategyBuilder
+ */
+final class AdaptiveThrottlingStrategy<T extends Request> extends ThrottlingStrategy<T> {
+
+    private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final long targetEventLoopLagNanos;
+    private final int maxBlockingTaskQueueSize;
+    private final int maxConcurrentRequests;
+    private final long intervalNanos;
+    private final int numPriorities;
+    @Nullable
+    private final ToIntFunction<? super ServiceRequestContext> priorityClassifier;
+    private final Ticker ticker;
+
+    private final ConcurrentMap<EventExecutor, EventLoopState> states = new ConcurrentHashMap<>();
+    private final AtomicInteger numConcurrentRequests = new AtomicInteger();
+
+    AdaptiveThrottlingStrategy(long targetEventLoopLagNanos, int maxBlockingTaskQueueSize,
+                               int maxConcurrentRequests, long intervalNanos, int numPriorities,
+                               @Nullable ToIntFunction<? super ServiceRequestContext> priorityClassifier,
+                               Ticker ticker, @Nullable String name) {
+        super(name);
+        this.targetEventLoopLagNanos = targetEventLoopLagNanos;
+        this.maxBlockingTaskQueueSize = maxBlockingTaskQueueSize;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.intervalNanos = intervalNanos;
+        this.numPriorities = numPriorities;
+        this.priorityClassifier = priorityClassifier;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public CompletionStage<Boolean> accept(ServiceRequestContext ctx, T request) {
+        final EventLoopState state = state(ctx.eventLoop().withoutContext());
+        final double load = load(state, ctx);
+        final boolean accept = shouldAccept(state, load, priority(ctx), ticker.read(),
+                                            ThreadLocalRandom.current().nextDouble());
+        if (accept) {
+            numConcurrentRequests.incrementAndGet();
+            ctx.log().whenComplete().thenRun(numConcurrentRequests::decrementAndGet);
+        }
+        return UnmodifiableFuture.completedFuture(accept);
+    }
+
+    /**
+     * Returns the load of the server relative to the targets, as seen from the {@link EventLoopState} of
+     * the request. {@code 1.0} means the server is exactly at one of the targets.
+     */
+    private double load(EventLoopState state, ServiceRequestContext ctx) {
+        double load = 0;
+        final EventLoopLagProbe probe = state.probe;
+        if (probe != null) {
+            load = (double) probe.lagNanos() / targetEventLoopLagNanos;
+        }
+        if (maxBlockingTaskQueueSize > 0) {
+            final ScheduledExecutorService executor = ctx.blockingTaskExecutor().withoutContext().unwrap();
+            if (executor instanceof ThreadPoolExecutor) {
+                final int queueSize = ((ThreadPoolExecutor) executor).getQueue().size();
+                load = Math.max(load, (double) queueSize / maxBlockingTaskQueueSize);
+            }
+        }
+        if (maxConcurrentRequests > 0) {
+            load = Math.max(load, (double) numConcurrentRequests.get() / maxConcurrentRequests);
+        }
+        return load;
+    }
+
+    private EventLoopState state(EventExecutor eventLoop) {
+        final EventLoopState state = states.get(eventLoop);
+        if (state != null) {
+            return state;
+        }
+        return states.computeIfAbsent(eventLoop, key -> {
+            EventLoopLagProbe probe = null;
+            if (targetEventLoopLagNanos > 0) {
+                probe = new EventLoopLagProbe(key, ticker, PROBE_INTERVAL_NANOS, null);
+                probe.start();
+            }
+            key.terminationFuture().addListener(unused -> {
+                final EventLoopState removed = states.remove(key);
+                if (removed != null && removed.probe != null) {
+                    removed.probe.close();
+                }
+            });
+            return new EventLoopState(probe);
+        });
+    }
+
+    private int priority(ServiceRequestContext ctx) {
+        if (priorityClassifier == null) {
+            return 0;
+        }
+        final int priority = priorityClassifier.applyAsInt(ctx);
+        return Math.min(Math.max(priority, 0), numPriorities - 1);
+    }
+
+    /**
+     * Determines whether a request should be accepted. As CoDel does, requests are rejected only after
+     * the load stays above the target for the interval, so that a short burst is absorbed. Then,
+     * requests are rejected with the probability of {@code 1 - 1 / load}, which brings the arrival rate
+     * back to what the server completed within the targets according to Little's law. The rejections are
+     * assigned to the lowest priority first; a priority is rejected only after all lower priorities
+     * are rejected completely.
+     *
+     * <p>The interval is tracked per event loop because the lag of an event loop is measured separately;
+     * a request on an idle event loop must not restart the interval of a saturated one.
+     */
+    @VisibleForTesting
+    boolean shouldAccept(EventLoopState state, double load, int priority, long nowNanos, double random) {
+        if (load <= 1) {
+            state.firstOverloadedTimeNanos = 0;
+            return true;
+        }
+
+        final long firstOverloadedTimeNanos = state.firstOverloadedTimeNanos;
+        if (firstOverloadedTimeNanos == 0) {
+            // Ensure a non-zero value because zero means 'not overloaded'.
+            state.firstOverloadedTimeNanos = nowNanos != 0 ? nowNanos : 1;
+            return true;
+        }
+        if (nowNanos - firstOverloadedTimeNanos < intervalNanos) {
+            return true;
+        }
+
+        final double rejectProbability = 1 - 1 / load;
+        final double priorityRejectProbability =
+                Math.min(Math.max(rejectProbability * numPriorities - priority, 0), 1);
+        return random >= priorityRejectProbability;
+    }
+
+    @VisibleForTesting
+    int numConcurrentRequests() {
+        return numConcurrentRequests.get();
+    }
+
+    /**
+     * The lag probe and the overload state of an event loop.
+     */
+    @VisibleForTesting
+    static final class EventLoopState {
+
+        @Nullable
+        final EventLoopLagProbe probe;
+
+        /**
+         * The time when the load exceeded the target for the first time since the load was under
+         * the target last time, or {@code 0} if the load is under the target.
+         */
+        volatile long firstOverloadedTimeNanos;
+
+        EventLoopState(@Nullable EventLoopLagProbe probe) {
+            this.probe = probe;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.throttling;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+import com.linecorp.armeria.common.Request;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
+import com.linecorp.armeria.common.util.BlockingTaskExecutor;
+import com.linecorp.armeria.common.util.Ticker;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+/**
+ * Builds a {@link ThrottlingStrategy} which rejects requests when the server is saturated.
+ * The saturation is measured with the following signals:
+ * <ul>
+ *   <li>the lag of the event loop which handles a request, i.e. how long a task waits before it runs</li>
+ *   <li>the number of tasks queued in the {@link BlockingTaskExecutor} of a service</li>
+ *   <li>the number of requests accepted by the {@link ThrottlingStrategy} but not completed yet</li>
+ * </ul>
+ *
+ * <p>Once any of the signals stays above its target for the {@linkplain #interval(Duration) interval},
+ * requests are rejected with a probability proportional to the excess load, starting from the lowest
+ * priority classified by {@link #priorityClassifier(int, ToIntFunction)}. The short bursts under
+ * the interval are accepted as they are.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * ThrottlingStrategy<HttpRequest> strategy =
+ *     ThrottlingStrategy.adaptiveBuilder()
+ *                       .targetEventLoopLagMillis(20)
+ *                       .maxBlockingTaskQueueSize(1000)
+ *                       .priorityClassifier(2, ctx -> ctx.path().startsWith("/admin") ? 1 : 0)
+ *                       .build();
+ * serverBuilder.decorator(ThrottlingService.newDecorator(strategy));
+ * }</pre>
+ */
+@UnstableApi
+public final class AdaptiveThrottlingStrategyBuilder {
+
+    private static final long DEFAULT_TARGET_EVENT_LOOP_LAG_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long DEFAULT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long targetEventLoopLagNanos = DEFAULT_TARGET_EVENT_LOOP_LAG_NANOS;
+    private int maxBlockingTaskQueueSize;
+    private int maxConcurrentRequests;
+    private long intervalNanos = DEFAULT_INTERVAL_NANOS;
+    private int numPriorities = 1;
+    @Nullable
+    private ToIntFunction<? super ServiceRequestContext> priorityClassifier;
+    private Ticker ticker = Ticker.systemTicker();
+    @Nullable
+    private String name;
+
+    AdaptiveThrottlingStrategyBuilder() {}
+
+    /**
+     * Sets the target lag of an event loop. The lag is measured by scheduling a task on each event loop
+     * periodically. {@code 0} disables the signal. The default is 50 milliseconds.
+     */
+    public AdaptiveThrottlingStrategyBuilder targetEventLoopLag(Duration targetEventLoopLag) {
+        requireNonNull(targetEventLoopLag, "targetEventLoopLag");
+        checkArgument(!targetEventLoopLag.isNegative(),
+                      "targetEventLoopLag: %s (expected: >= 0)", targetEventLoopLag);
+        targetEventLoopLagNanos = targetEventLoopLag.toNanos();
+        return this;
+    }
+
+    /**
+     * Sets the target lag of an event loop in milliseconds. The lag is measured by scheduling a task on
+     * each event loop periodically. {@code 0} disables the signal. The default is 50 milliseconds.
+     */
+    public AdaptiveThrottlingStrategyBuilder targetEventLoopLagMillis(long targetEventLoopLagMillis) {
+        checkArgument(targetEventLoopLagMillis >= 0,
+                      "targetEventLoopLagMillis: %s (expected: >= 0)", targetEventLoopLagMillis);
+        targetEventLoopLagNanos = TimeUnit.MILLISECONDS.toNanos(targetEventLoopLagMillis);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks queued in the {@link BlockingTaskExecutor} of a service.
+     * The signal is available only when the {@link BlockingTaskExecutor} is backed by
+     * a {@link java.util.concurrent.ThreadPoolExecutor}. {@code 0} disables the signal, which is
+     * the default.
+     */
+    public AdaptiveThrottlingStrategyBuilder maxBlockingTaskQueueSize(int maxBlockingTaskQueueSize) {
+        checkArgument(maxBlockingTaskQueueSize >= 0,
+                      "maxBlockingTaskQueueSize: %s (expected: >= 0)", maxBlockingTaskQueueSize);
+        this.maxBlockingTaskQueueSize = maxBlockingTaskQueueSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of requests which were accepted but have not been completed yet.
+     * {@code 0} disables the signal, which is the default.
+     */
+    public AdaptiveThrottlingStrategyBuilder maxConcurrentRequests(int maxConcurrentRequests) {
+        checkArgument(maxConcurrentRequests >= 0,
+                      "maxConcurrentRequests: %s (expected: >= 0)", maxConcurrentRequests);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    /**
+     * Sets the duration for which the load has to stay above the target before requests are rejected.
+     * The default is 100 milliseconds.
+     */
+    public AdaptiveThrottlingStrategyBuilder interval(Duration interval) {
+        requireNonNull(interval, "interval");
+        checkArgument(!interval.isNegative(), "interval: %s (expected: >= 0)", interval);
+        intervalNanos = interval.toNanos();
+        return this;
+    }
+
+    /**
+     * Sets the duration in milliseconds for which the load has to stay above the target before requests
+     * are rejected. The default is 100 milliseconds.
+     */
+    public AdaptiveThrottlingStrategyBuilder intervalMillis(long intervalMillis) {
+        checkArgument(intervalMillis >= 0, "intervalMillis: %s (expected: >= 0)", intervalMillis);
+        intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        return this;
+    }
+
+    /**
+     * Sets the classifier which determines the priority of a request. The classifier returns
+     * a value from {@code 0}, the lowest priority which is rejected first, to {@code numPriorities - 1},
+     * the highest priority which is rejected last. A value out of the range is clamped.
+     * If unspecified, all requests have the same priority.
+     */
+    public AdaptiveThrottlingStrategyBuilder priorityClassifier(
+            int numPriorities, ToIntFunction<? super ServiceRequestContext> priorityClassifier) {
+        checkArgument(numPriorities > 0, "numPriorities: %s (expected: > 0)", numPriorities);
+        this.numPriorities = numPriorities;
+        this.priorityClassifier = requireNonNull(priorityClassifier, "priorityClassifier");
+        return this;
+    }
+
+    /**
+     * Sets the {@link Ticker} which measures the event loop lag and the interval.
+     * The default is {@link Ticker#systemTicker()}.
+     */
+    public AdaptiveThrottlingStrategyBuilder ticker(Ticker ticker) {
+        this.ticker = requireNonNull(ticker, "ticker");
+        return this;
+    }
+
+    /**
+     * Sets the name of the {@link ThrottlingStrategy}.
+     */
+    public AdaptiveThrottlingStrategyBuilder name(String name) {
+        this.name = requireNonNull(name, "name");
+        return this;
+    }
+
+    /**
+     * Returns a newly-created {@link ThrottlingStrategy} based on the properties of this builder.
+     */
+    public <T extends Request> ThrottlingStrategy<T> build() {
+        return new AdaptiveThrottlingStrategy<>(targetEventLoopLagNanos, maxBlockingTaskQueueSize,
+                                                maxConcurrentRequests, intervalNanos, numPriorities,
+                                                priorityClassifier, ticker, name);
+    }
+}
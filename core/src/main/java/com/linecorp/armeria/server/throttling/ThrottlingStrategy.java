@@ -21,6 +21,7 @@ import java.util.function.BiFunction;
 
 import com.linecorp.armeria.common.Request;
 import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.annotation.UnstableApi;
 import com.linecorp.armeria.common.util.UnmodifiableFuture;
 import com.linecorp.armeria.server.ServiceRequestContext;
 
@@ -113,6 +114,25 @@ public abstract class ThrottlingStrategy<T extends Request> {
         return new RateLimitingThrottlingStrategy<>(requestsPerSecond, name);
     }
 
+    /**
+     * Returns a new {@link ThrottlingStrategy} that rejects requests when the server is saturated,
+     * measured by the lag of event loops. Use {@link #adaptiveBuilder()} to customize the targets and
+     * the priorities of requests.
+     */
+    @UnstableApi
+    public static <T extends Request> ThrottlingStrategy<T> adaptive() {
+        return adaptiveBuilder().build();
+    }
+
+    /**
+     * Returns a new {@link AdaptiveThrottlingStrategyBuilder} that builds a {@link ThrottlingStrategy}
+     * which rejects requests when the server is saturated.
+     */
+    @UnstableApi
+    public static AdaptiveThrottlingStrategyBuilder adaptiveBuilder() {
+        return new AdaptiveThrottlingStrategyBuilder();
+    }
+
     private final String name;
 
     /**
@@ -18,15 +18,21 @@ package com.linecorp.armeria.internal.common;
 
 import static java.util.Objects.requireNonNull;
 
+import java.lang.invoke.MethodHandle;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
 
 import com.linecorp.armeria.common.RequestContext;
+import com.linecorp.armeria.common.annotation.Nullable;
 
 /**
  * Implementation of {@link JavaVersionSpecific} using Java 12 APIs.
  */
 class Java12VersionSpecific extends JavaVersionSpecific {
 
+    @Nullable
+    private static final MethodHandle isVirtualMH = java21IsVirtualMethodHandle();
+
     @Override
     String name() {
         return "Java 12+";
@@ -41,4 +47,22 @@ class Java12VersionSpecific extends JavaVersionSpecific {
     public <T> CompletableFuture<T> newContextAwareFuture(RequestContext ctx) {
         return new Java12ContextAwareFuture<>(requireNonNull(ctx, "ctx"));
     }
+
+    @Nullable
+    @Override
+    public ThreadFactory newVirtualThreadFactory(String threadNamePrefix) {
+        return java21VirtualThreadFactory(threadNamePrefix);
+    }
+
+    @Override
+    public boolean isVirtualThread(Thread thread) {
+        if (isVirtualMH == null) {
+            return false;
+        }
+        try {
+            return (boolean) isVirtualMH.invokeExact(thread);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.annotation.Nullable;
+import com.linecorp.armeria.common.util.Exceptions;
+import com.linecorp.armeria.internal.common.JavaVersionSpecific;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class BlockingWebClientVirtualThreadTest {
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.service("/hello", (ctx, req) -> HttpResponse.of("Hello, Armeria!"));
+            sb.route()
+              .path("/proxy")
+              .useVirtualThreads(true)
+              .build((ctx, req) -> {
+                  assertThat(JavaVersionSpecific.get().isVirtualThread(Thread.currentThread())).isTrue();
+                  final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+                  try (ClientRequestContextCaptor captor = Clients.newContextCaptor()) {
+                      final AggregatedHttpResponse res = client.get("/hello");
+                      // The RequestContext of the caller should be propagated.
+                      assertThat(captor.get().root()).isSameAs(ctx);
+                      assertThat(ServiceRequestContext.current()).isSameAs(ctx);
+                      return res.toHttpResponse();
+                  }
+              });
+        }
+    };
+
+    @Nullable
+    private ThreadFactory virtualThreadFactory;
+
+    @BeforeEach
+    void setUp() {
+        virtualThreadFactory = JavaVersionSpecific.get().newVirtualThreadFactory("blocking-client-test");
+        assumeThat(virtualThreadFactory).isNotNull();
+    }
+
+    @Test
+    void aggregateOnVirtualThread() {
+        final BlockingWebClient client = BlockingWebClient.of(server.httpUri());
+        final AggregatedHttpResponse res = runOnVirtualThread(() -> client.get("/hello"));
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("Hello, Armeria!");
+    }
+
+    @Test
+    void propagateRequestContext() {
+        final AggregatedHttpResponse res = BlockingWebClient.of(server.httpUri()).get("/proxy");
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("Hello, Armeria!");
+    }
+
+    @Test
+    void propagateException() {
+        final BlockingWebClient client = BlockingWebClient.of("http://127.0.0.1:1");
+        assertThatThrownBy(() -> runOnVirtualThread(() -> client.get("/hello")))
+                .isInstanceOf(UnprocessedRequestException.class);
+    }
+
+    private <T> T runOnVirtualThread(ThrowingSupplier<T> task) {
+        assert virtualThreadFactory != null;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        virtualThreadFactory.newThread(() -> {
+            try {
+                assertThat(JavaVersionSpecific.get().isVirtualThread(Thread.currentThread())).isTrue();
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }).start();
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            return Exceptions.throwUnsafely(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
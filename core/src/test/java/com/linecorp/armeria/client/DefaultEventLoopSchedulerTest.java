@@ -281,6 +281,54 @@ class DefaultEventLoopSchedulerTest {
         assertThat(entries[0].id()).isZero();
     }
 
+    @Test
+    void loadAwareAvoidsLoopsUsedByOtherEndpoints() {
+        final DefaultEventLoopScheduler s = loadAwareEventLoopScheduler();
+        final List<AbstractEventLoopEntry> hot = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            hot.add(acquireEntry(s, Endpoint.of("hot.com")));
+        }
+        final EventLoop hotLoop = hot.get(0).get();
+        assertThat(hot).allSatisfy(e -> assertThat(e.get()).isSameAs(hotLoop));
+
+        final AbstractEventLoopEntry foo = acquireEntry(s, Endpoint.of("foo.com"));
+        final AbstractEventLoopEntry bar = acquireEntry(s, Endpoint.of("bar.com"));
+        assertThat(foo.get()).isNotSameAs(hotLoop);
+        assertThat(bar.get()).isNotSameAs(hotLoop).isNotSameAs(foo.get());
+        assertThat(s.loads()).extracting(EventLoopLoad::activeRequests)
+                             .containsExactlyInAnyOrder(10, 1, 1);
+        hot.forEach(AbstractEventLoopEntry::release);
+        foo.release();
+        bar.release();
+        assertThat(s.loads()).extracting(EventLoopLoad::activeRequests).containsOnly(0);
+    }
+
+    @Test
+    void loadAwareMigratesIdleEndpointAwayFromHotLoop() {
+        final DefaultEventLoopScheduler s = loadAwareEventLoopScheduler();
+        final AbstractEventLoopEntry e0 = acquireEntry(s, endpoint);
+        final EventLoop oldLoop = e0.get();
+        final EventLoopLoad oldLoad = s.loads().stream()
+                                       .filter(load -> load.eventLoop() == oldLoop)
+                                       .findFirst().get();
+        // Another client makes the event loop hot.
+        for (int i = 0; i < 10; i++) {
+            oldLoad.incrementActiveRequests();
+        }
+
+        // Stays in the hot event loop while it has an active request.
+        final AbstractEventLoopEntry e1 = acquireEntry(s, endpoint);
+        assertThat(e1.get()).isSameAs(oldLoop);
+        e0.release();
+        e1.release();
+
+        // Moves to another event loop once it becomes idle.
+        final AbstractEventLoopEntry e2 = acquireEntry(s, endpoint);
+        assertThat(e2.get()).isNotSameAs(oldLoop);
+        assertThat(s.entries(SessionProtocol.HTTP, endpoint, endpoint)).containsExactly(e2);
+        e2.release();
+    }
+
     private static void stressTest(DefaultEventLoopScheduler s, List<AbstractEventLoopEntry> acquiredEntries,
                                    double acquireRatio) {
         final AbstractEventLoopEntry[] entries = s.entries(SessionProtocol.HTTP, endpoint, endpoint);
@@ -318,6 +366,10 @@ class DefaultEventLoopSchedulerTest {
         return new DefaultEventLoopScheduler(group, GROUP_SIZE, GROUP_SIZE, ImmutableList.of());
     }
 
+    private static DefaultEventLoopScheduler loadAwareEventLoopScheduler() {
+        return new DefaultEventLoopScheduler(group, 1, 1, ImmutableList.of(), true);
+    }
+
     static AbstractEventLoopEntry acquireEntry(DefaultEventLoopScheduler s,
                                                @Nullable Endpoint endpoint) {
         final ReleasableHolder<EventLoop> acquired;
@@ -200,4 +200,33 @@ class DefaultCookieJarTest {
         assertThat(cookieJar.state(expectCookie, currentTimeMillis + 1000)).isEqualTo(CookieState.EXISTENT);
         assertThat(cookieJar.state(expectCookie, currentTimeMillis + 1001)).isEqualTo(CookieState.EXPIRED);
     }
+
+    @Test
+    void replaceCookieWithSameNameDomainAndPath() {
+        final CookieJar cookieJar = new DefaultCookieJar();
+        final URI foo = URI.create("https://foo.com");
+
+        cookieJar.set(foo, Cookies.of(Cookie.ofSecure("name", "value1")));
+        cookieJar.set(foo, Cookies.of(Cookie.ofSecure("name", "value2")));
+        assertThat(cookieJar.get(foo)).containsExactly(
+                Cookie.secureBuilder("name", "value2").domain("foo.com").path("/").build());
+        assertThat(cookieJar.state(Cookie.secureBuilder("name", "value1").domain("foo.com").path("/").build()))
+                .isEqualTo(CookieState.NON_EXISTENT);
+    }
+
+    @Test
+    void maxNumCookies() {
+        final CookieJar cookieJar = CookieJar.builder()
+                                             .maxNumCookies(5)
+                                             .build();
+        for (int i = 0; i < 10; i++) {
+            cookieJar.set(URI.create("https://foo" + i + ".com"), Cookies.of(Cookie.ofSecure("name", "value")));
+        }
+
+        int numCookies = 0;
+        for (int i = 0; i < 10; i++) {
+            numCookies += cookieJar.get(URI.create("https://foo" + i + ".com")).size();
+        }
+        assertThat(numCookies).isEqualTo(5);
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.client.mirroring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.BlockingQueue;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpRequest;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpRequestWriter;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.RequestHeaders;
+import com.linecorp.armeria.common.util.Sampler;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+class MirroringClientTest {
+
+    private static final BlockingQueue<AggregatedHttpRequest> mirroredRequests = new LinkedBlockingQueue<>();
+    private static final CompletableFuture<HttpResponse> slowResponse = new CompletableFuture<>();
+
+    @RegisterExtension
+    static final ServerExtension primary = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.service("/echo", (ctx, req) -> HttpResponse.of(req.aggregate().thenApply(
+                    aggregated -> HttpResponse.of(HttpStatus.OK, MediaType.PLAIN_TEXT_UTF_8,
+                                                  aggregated.contentUtf8()))));
+        }
+    };
+
+    @RegisterExtension
+    static final ServerExtension mirror = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.service("/echo", (ctx, req) -> HttpResponse.of(req.aggregate().thenApply(aggregated -> {
+                mirroredRequests.add(aggregated);
+                return HttpResponse.of(HttpStatus.INTERNAL_SERVER_ERROR);
+            })));
+            sb.service("/slow", (ctx, req) -> HttpResponse.of(slowResponse));
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        mirroredRequests.clear();
+    }
+
+    @Test
+    void mirrorRequest() throws Exception {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final BlockingWebClient client =
+                WebClient.builder(primary.httpUri())
+                         .decorator(MirroringClient.builder(WebClient.of(mirror.httpUri()))
+                                                   .meterRegistry(meterRegistry)
+                                                   .newDecorator())
+                         .build()
+                         .blocking();
+
+        final AggregatedHttpResponse res = client.prepare()
+                                                 .post("/echo")
+                                                 .content(MediaType.PLAIN_TEXT_UTF_8, "Hello, Armeria!")
+                                                 .execute();
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).isEqualTo("Hello, Armeria!");
+
+        final AggregatedHttpRequest mirrored = mirroredRequests.poll(10, TimeUnit.SECONDS);
+        assertThat(mirrored).isNotNull();
+        assertThat(mirrored.path()).isEqualTo("/echo");
+        assertThat(mirrored.contentUtf8()).isEqualTo("Hello, Armeria!");
+
+        await().untilAsserted(() -> {
+            assertThat(meterRegistry.get("armeria.client.mirroring.requests")
+                                    .tag("result", "mirrored").counter().count()).isOne();
+            // The mirror responds with 500 Internal Server Error.
+            assertThat(meterRegistry.get("armeria.client.mirroring.status")
+                                    .tag("result", "mismatched").counter().count()).isOne();
+        });
+    }
+
+    @Test
+    void notSampled() throws Exception {
+        final BlockingWebClient client =
+                WebClient.builder(primary.httpUri())
+                         .decorator(MirroringClient.builder(WebClient.of(mirror.httpUri()))
+                                                   .sampler(Sampler.never())
+                                                   .newDecorator())
+                         .build()
+                         .blocking();
+
+        assertThat(client.post("/echo", "Hello").contentUtf8()).isEqualTo("Hello");
+        assertThat(mirroredRequests.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void skipWhenConcurrencyLimitReached() {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final WebClient mirrorClient = WebClient.builder(mirror.httpUri())
+                                                .decorator((delegate, ctx, req) -> {
+                                                    // Send all mirrored requests to the slow service.
+                                                    final HttpRequest newReq = req.withHeaders(
+                                                            req.headers().toBuilder().path("/slow"));
+                                                    ctx.updateRequest(newReq);
+                                                    return delegate.execute(ctx, newReq);
+                                                })
+                                                .responseTimeoutMillis(0)
+                                                .build();
+        final BlockingWebClient client =
+                WebClient.builder(primary.httpUri())
+                         .decorator(MirroringClient.builder(mirrorClient)
+                                                   .maxConcurrency(1)
+                                                   .meterRegistry(meterRegistry)
+                                                   .newDecorator())
+                         .build()
+                         .blocking();
+
+        assertThat(client.post("/echo", "1").contentUtf8()).isEqualTo("1");
+        await().untilAsserted(() -> assertThat(meterRegistry.get("armeria.client.mirroring.requests")
+                                                            .tag("result", "mirrored").counter().count())
+                .isOne());
+
+        // The primary request is served even if the mirrored request is not sent.
+        assertThat(client.post("/echo", "2").contentUtf8()).isEqualTo("2");
+        assertThat(meterRegistry.get("armeria.client.mirroring.requests")
+                                .tag("result", "skipped").counter().count()).isOne();
+        slowResponse.complete(HttpResponse.of(HttpStatus.OK));
+    }
+
+    @Test
+    void abortedMirrorDoesNotReleasePrimaryContent() {
+        final CompletableFuture<Void> mirrorAborted = new CompletableFuture<>();
+        final WebClient mirrorClient = WebClient.builder(mirror.httpUri())
+                                                .decorator((delegate, ctx, req) -> {
+                                                    req.abort();
+                                                    req.whenComplete().handle((unused1, unused2) -> {
+                                                        mirrorAborted.complete(null);
+                                                        return null;
+                                                    });
+                                                    return HttpResponse.of(HttpStatus.OK);
+                                                })
+                                                .build();
+        final WebClient client =
+                WebClient.builder(primary.httpUri())
+                         .decorator(MirroringClient.newDecorator(mirrorClient))
+                         .build();
+
+        final HttpRequestWriter req = HttpRequest.streaming(RequestHeaders.of(HttpMethod.POST, "/echo"));
+        final CompletableFuture<AggregatedHttpResponse> res = client.execute(req).aggregate();
+        final ByteBuf[] bufs = new ByteBuf[3];
+        for (int i = 0; i < bufs.length; i++) {
+            bufs[i] = PooledByteBufAllocator.DEFAULT.buffer()
+                                                    .writeBytes(("chunk" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        req.write(HttpData.wrap(bufs[0]));
+        // The rest of the content is published after the mirrored request is aborted.
+        mirrorAborted.join();
+        req.write(HttpData.wrap(bufs[1]));
+        req.write(HttpData.wrap(bufs[2]));
+        req.close();
+
+        assertThat(res.join().contentUtf8()).isEqualTo("chunk0chunk1chunk2");
+        for (ByteBuf buf : bufs) {
+            await().untilAsserted(() -> assertThat(buf.refCnt()).isZero());
+        }
+    }
+}
@@ -58,6 +58,81 @@ class DefaultHttpRequestDuplicatorTest {
         }
     };
 
+    @Test
+    void duplicatePrefix() {
+        final HttpRequestWriter publisher = HttpRequest.streaming(HttpMethod.POST, "/foo");
+        final HttpRequestDuplicator reqDuplicator = publisher.toDuplicator();
+        final HttpRequest prefix = reqDuplicator.duplicatePrefix(5);
+        final HttpRequest full = reqDuplicator.duplicate();
+        reqDuplicator.close();
+
+        publisher.write(HttpData.ofUtf8("Hello, "));
+        publisher.write(HttpData.ofUtf8("Armeria"));
+        publisher.write(HttpHeaders.of(CONTENT_MD5, "37b51d194a7513e45b56f6524f2d51f2"));
+        publisher.close();
+
+        final AggregatedHttpRequest prefixReq = prefix.aggregate().join();
+        assertThat(prefixReq.headers()).isEqualTo(publisher.headers());
+        assertThat(prefixReq.contentUtf8()).isEqualTo("Hello, ");
+        assertThat(prefixReq.trailers().isEmpty()).isTrue();
+
+        final AggregatedHttpRequest fullReq = full.aggregate().join();
+        assertThat(fullReq.contentUtf8()).isEqualTo("Hello, Armeria");
+        assertThat(fullReq.trailers().get(CONTENT_MD5)).isEqualTo("37b51d194a7513e45b56f6524f2d51f2");
+    }
+
+    @Test
+    void defaultDuplicatePrefix() {
+        final HttpRequestWriter publisher = HttpRequest.streaming(HttpMethod.POST, "/foo");
+        final HttpRequestDuplicator delegate = publisher.toDuplicator();
+        // A third-party duplicator which does not override duplicatePrefix().
+        final HttpRequestDuplicator reqDuplicator = new HttpRequestDuplicator() {
+            @Override
+            public RequestHeaders headers() {
+                return delegate.headers();
+            }
+
+            @Override
+            public HttpRequest duplicate() {
+                return delegate.duplicate();
+            }
+
+            @Override
+            public HttpRequest duplicate(RequestHeaders newHeaders) {
+                return delegate.duplicate(newHeaders);
+            }
+
+            @Override
+            public void close() {
+                delegate.close();
+            }
+
+            @Override
+            public void abort() {
+                delegate.abort();
+            }
+
+            @Override
+            public void abort(Throwable cause) {
+                delegate.abort(cause);
+            }
+        };
+        final HttpRequest prefix = reqDuplicator.duplicatePrefix(5);
+        final HttpRequest full = reqDuplicator.duplicate();
+        reqDuplicator.close();
+
+        publisher.write(HttpData.ofUtf8("Hello, "));
+        publisher.write(HttpData.ofUtf8("Armeria"));
+        publisher.write(HttpHeaders.of(CONTENT_MD5, "37b51d194a7513e45b56f6524f2d51f2"));
+        publisher.close();
+
+        final AggregatedHttpRequest prefixReq = prefix.aggregate().join();
+        assertThat(prefixReq.headers()).isEqualTo(publisher.headers());
+        assertThat(prefixReq.contentUtf8()).isEqualTo("Hello, ");
+        assertThat(prefixReq.trailers().isEmpty()).isTrue();
+        assertThat(full.aggregate().join().contentUtf8()).isEqualTo("Hello, Armeria");
+    }
+
     @Test
     void aggregateTwice() {
         final AggregatedHttpRequest aReq = AggregatedHttpRequest.of(
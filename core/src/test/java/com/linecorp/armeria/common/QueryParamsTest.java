@@ -103,6 +103,37 @@ class QueryParamsTest {
         assertThat(params.get("media-type")).isEqualTo("text/plain; charset=utf-8");
     }
 
+    @Test
+    @SuppressWarnings("checkstyle:AvoidEscapedUnicodeCharacters")
+    void testLazyDecoding() {
+        final QueryParams params = QueryParams.fromQueryString("a=1&b=x+y&%61=2&c&d=%E2%82%AC&b=3#e=4");
+        assertThat(params.size()).isEqualTo(6);
+        assertThat(params.get("a")).isEqualTo("1");
+        assertThat(params.getLast("a")).isEqualTo("2");
+        assertThat(params.getAll("a")).containsExactly("1", "2");
+        assertThat(params.getInt("a")).isEqualTo(1);
+        assertThat(params.containsInt("a", 2)).isTrue();
+        assertThat(params.getAll("b")).containsExactly("x y", "3");
+        assertThat(params.get("c")).isEmpty();
+        assertThat(params.get("d")).isEqualTo("\u20AC");
+        assertThat(params.contains("e")).isFalse();
+        assertThat(params.getAll("e")).isEmpty();
+
+        final QueryParams expected = QueryParams.builder()
+                                                .add("a", "1")
+                                                .add("b", "x y")
+                                                .add("a", "2")
+                                                .add("c", "")
+                                                .add("d", "\u20AC")
+                                                .add("b", "3")
+                                                .build();
+        assertThat(params).isEqualTo(expected);
+        assertThat(expected).isEqualTo(params);
+        assertThat(params.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(params.toQueryString()).isEqualTo(expected.toQueryString());
+        assertThat(params.toBuilder().add("f", "5").build().get("f")).isEqualTo("5");
+    }
+
     // Tests forked from netty-4.1.43
     // https://github.com/netty/netty/blob/7d6d953153697bd66c3b01ca8ec73c4494a81788/codec-http/src/test/java/io/netty/handler/codec/http/QueryStringDecoderTest.java
 
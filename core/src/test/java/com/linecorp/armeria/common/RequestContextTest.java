@@ -152,6 +152,29 @@ class RequestContextTest {
         assertCurrentContext(null);
     }
 
+    @Test
+    void makeContextAwareDoesNotWrapTwice() {
+        final RequestContext context = createContext();
+        final Runnable runnable = context.makeContextAware(() -> assertCurrentContext(context));
+        assertThat(context.makeContextAware(runnable)).isSameAs(runnable);
+        final Callable<String> callable = context.makeContextAware(() -> "success");
+        assertThat(context.makeContextAware(callable)).isSameAs(callable);
+
+        // A task of another context should be wrapped.
+        final RequestContext otherContext = createContext();
+        final Runnable otherRunnable = otherContext.makeContextAware(runnable);
+        assertThat(otherRunnable).isNotSameAs(runnable);
+        assertThat(((ContextAwareRunnable) otherRunnable).context()).isSameAs(otherContext);
+
+        final AtomicBoolean callbackCalled = new AtomicBoolean(false);
+        context.makeContextAware(MoreExecutors.directExecutor()).execute(context.makeContextAware(() -> {
+            assertCurrentContext(context);
+            callbackCalled.set(true);
+        }));
+        assertThat(callbackCalled.get()).isTrue();
+        assertCurrentContext(null);
+    }
+
     @Test
     void contextAwareScheduledExecutorService() throws Exception {
         final RequestContext context = createContext();
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.util.ThreadFactories;
+import com.linecorp.armeria.internal.common.util.EventLoopThread;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+class ThreadLocalRequestContextStorageTest {
+
+    @Test
+    void eventLoopThread() throws Exception {
+        final ThreadFactory factory = ThreadFactories.builder("storage-test").eventLoop(true).build();
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final Thread thread = factory.newThread(() -> {
+            try {
+                assertThat(Thread.currentThread()).isInstanceOf(EventLoopThread.class);
+                pushAndPop();
+                future.complete(null);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        thread.start();
+        future.join();
+    }
+
+    @Test
+    void otherThread() {
+        assertThat(Thread.currentThread()).isNotInstanceOf(EventLoopThread.class);
+        pushAndPop();
+    }
+
+    private static void pushAndPop() {
+        final RequestContextStorage storage = RequestContextStorage.threadLocal();
+        final ServiceRequestContext ctx1 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/1"));
+        final ServiceRequestContext ctx2 = ServiceRequestContext.of(HttpRequest.of(HttpMethod.GET, "/2"));
+
+        assertThat((RequestContext) storage.currentOrNull()).isNull();
+        assertThat((RequestContext) storage.push(ctx1)).isNull();
+        assertThat((RequestContext) storage.push(ctx2)).isSameAs(ctx1);
+        assertThat((RequestContext) storage.currentOrNull()).isSameAs(ctx2);
+        assertThatThrownBy(() -> storage.pop(ctx1, null)).isInstanceOf(IllegalStateException.class);
+        storage.pop(ctx2, ctx1);
+        assertThat((RequestContext) storage.currentOrNull()).isSameAs(ctx1);
+        storage.pop(ctx1, null);
+        assertThat((RequestContext) storage.currentOrNull()).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.common.metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.testing.junit5.common.EventLoopGroupExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EventLoopProbeTest {
+
+    @RegisterExtension
+    static EventLoopGroupExtension eventLoopGroup = new EventLoopGroupExtension(2);
+
+    @Test
+    void recordLagAndSpikes() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final EventLoopProbe probe = MoreMeterBinders.eventLoopProbe(
+                eventLoopGroup.get(), new MeterIdPrefix("foo"),
+                Duration.ofMillis(10), Duration.ofMillis(100));
+        probe.bindTo(registry);
+
+        // Wait until the probe tasks run on both event loops.
+        await().untilAsserted(() -> assertThat(MoreMeters.measureAll(registry))
+                .hasEntrySatisfying("foo.event.loop.lag#count{event.loop=0}",
+                                    count -> assertThat(count).isPositive())
+                .hasEntrySatisfying("foo.event.loop.lag#count{event.loop=1}",
+                                    count -> assertThat(count).isPositive()));
+
+        // Block both event loops so that the probe tasks are delayed.
+        eventLoopGroup.get().forEach(eventLoop -> eventLoop.execute(probe.wrap(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException ignored) {
+            }
+        })));
+
+        await().untilAsserted(() -> {
+            final Map<String, Double> measurements = MoreMeters.measureAll(registry);
+            assertThat(measurements).containsEntry("foo.event.loop.long.tasks#count", 2.0)
+                                    .containsEntry("foo.event.loop.task.duration#count", 2.0);
+            // A GC may happen while the event loops are blocked.
+            assertThat(measurements.get("foo.event.loop.lag.spikes#count{cause=gc}") +
+                       measurements.get("foo.event.loop.lag.spikes#count{cause=other}"))
+                    .isGreaterThanOrEqualTo(2.0);
+        });
+    }
+
+    @Test
+    void attributeSpikesToGc() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final EventLoopProbe probe = new EventLoopProbe(
+                eventLoopGroup.get(), new MeterIdPrefix("bar"), Duration.ofDays(1), Duration.ofMillis(100));
+        probe.bindTo(registry);
+
+        probe.recordLag(0, TimeUnit.MILLISECONDS.toNanos(1), true);
+        probe.recordLag(0, TimeUnit.MILLISECONDS.toNanos(200), true);
+        probe.recordLag(1, TimeUnit.MILLISECONDS.toNanos(200), false);
+        assertThat(MoreMeters.measureAll(registry))
+                .containsEntry("bar.event.loop.lag#count{event.loop=0}", 2.0)
+                .containsEntry("bar.event.loop.lag#count{event.loop=1}", 1.0)
+                .containsEntry("bar.event.loop.lag.spikes#count{cause=gc}", 1.0)
+                .containsEntry("bar.event.loop.lag.spikes#count{cause=other}", 1.0);
+    }
+}
@@ -47,6 +47,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Charsets;
 
+import com.linecorp.armeria.common.CommonPools;
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.annotation.Nullable;
 import com.linecorp.armeria.common.stream.DefaultStreamMessageDuplicator.DownstreamSubscription;
@@ -420,6 +421,64 @@ class StreamMessageDuplicatorTest {
         assertRefCnt(0, 30, 0);  // rest of them are cleared after calling duplicator.abort()
     }
 
+    @Test
+    void spillSignalsToFile() {
+        final StreamWriter<HttpData> publisher = StreamMessage.streaming();
+        // Use an event loop because the spilled data are read back asynchronously.
+        final StreamMessageDuplicator<HttpData> duplicator = new DefaultStreamMessageDuplicator<>(
+                publisher, HttpData::length, CommonPools.workerGroup().next(), 0, 8);
+
+        final CompletableFuture<String> future1 = new CompletableFuture<>();
+        duplicator.duplicate().subscribe(new HttpDataSubscriber(future1));
+
+        final HttpData data1 = httpData("Armeria ");
+        final HttpData data2 = httpData("is ");
+        final HttpData data3 = httpData("awesome.");
+        publisher.write(data1);
+        publisher.write(data2);
+        publisher.write(data3);
+
+        // The data beyond the in-memory limit are released once they are written to the file
+        // by the blocking task executor.
+        assertThat(data1.byteBuf().refCnt()).isOne();
+        await().untilAsserted(() -> {
+            assertThat(data2.byteBuf().refCnt()).isZero();
+            assertThat(data3.byteBuf().refCnt()).isZero();
+        });
+
+        // A late subscriber reads the spilled data back from the file.
+        final CompletableFuture<String> future2 = new CompletableFuture<>();
+        duplicator.duplicate().subscribe(new HttpDataSubscriber(future2));
+        publisher.close();
+
+        assertThat(future1.join()).isEqualTo("Armeria is awesome.");
+        assertThat(future2.join()).isEqualTo("Armeria is awesome.");
+        duplicator.abort();
+    }
+
+    @Test
+    void duplicatePrefix() {
+        final StreamWriter<HttpData> publisher = StreamMessage.streaming();
+        final StreamMessageDuplicator<HttpData> duplicator = new DefaultStreamMessageDuplicator<>(
+                publisher, HttpData::length, ImmediateEventExecutor.INSTANCE, 0);
+        assertThatThrownBy(() -> duplicator.duplicatePrefix(0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        final CompletableFuture<String> prefixFuture = new CompletableFuture<>();
+        duplicator.duplicatePrefix(10).subscribe(new HttpDataSubscriber(prefixFuture));
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        duplicator.duplicate().subscribe(new HttpDataSubscriber(future));
+
+        writeData(publisher);
+        // Completes once the published data reach 10 bytes without waiting for the end of the stream.
+        assertThat(prefixFuture.join()).isEqualTo("Armeria is ");
+        assertThat(future.isDone()).isFalse();
+
+        publisher.close();
+        assertThat(future.join()).isEqualTo("Armeria is awesome.");
+        duplicator.abort();
+    }
+
     @Test
     void closingDuplicatorDoesNotAbortDuplicatedStream() {
         final StreamWriter<HttpData> publisher = StreamMessage.streaming();
@@ -304,6 +304,25 @@ class CancellationSchedulerTest {
         whenTimedOutRef.get().join();
     }
 
+    @Test
+    void timeoutWithTimerWheel() {
+        final AtomicReference<DefaultCancellationScheduler> schedulerRef = new AtomicReference<>();
+        final AtomicBoolean completed = new AtomicBoolean();
+        eventExecutor.execute(() -> {
+            final DefaultCancellationScheduler scheduler =
+                    new DefaultCancellationScheduler(MILLISECONDS.toNanos(1000), true, true);
+            scheduler.initAndStart(eventExecutor, noopTask);
+            scheduler.setTimeoutNanos(EXTEND, MILLISECONDS.toNanos(-500));
+            scheduler.clearTimeout(false);
+            scheduler.setTimeoutNanos(SET_FROM_NOW, MILLISECONDS.toNanos(100));
+            schedulerRef.set(scheduler);
+            completed.set(true);
+        });
+        await().untilTrue(completed);
+        assertThat(schedulerRef.get().whenCancelled().join()).isInstanceOf(RequestTimeoutException.class);
+        assertThat(schedulerRef.get().isFinished()).isTrue();
+    }
+
     @CsvSource({ "true", "false" })
     @ParameterizedTest
     void whenCancellingAndWhenCancelled(boolean server) {
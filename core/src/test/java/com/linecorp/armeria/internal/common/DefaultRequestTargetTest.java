@@ -260,6 +260,26 @@ class DefaultRequestTargetTest {
                 "/query%2F/with/%2F/consecutive//%2F%2Fslashes");
     }
 
+    @Test
+    void serverShouldNotCopyCleanPath() {
+        final String path = "/armeria/services/hello-world.json";
+        final RequestTarget res = forServer(path);
+        assertAccepted(res, path);
+        assertThat(res.path()).isSameAs(path);
+        assertThat(res.maybePathWithMatrixVariables()).isSameAs(path);
+
+        assertAccepted(forServer("/armeria/services/hello-world?name=armeria&greeting=hello"),
+                       "/armeria/services/hello-world", "name=armeria&greeting=hello");
+        // The paths with the characters to normalize fall back to the slow path.
+        assertAccepted(forServer("/armeria//hello-world?a=b"), "/armeria/hello-world", "a=b");
+        assertAccepted(forServer("/armeria/hello%2dworld?a=b"), "/armeria/hello-world", "a=b");
+        assertAccepted(forServer("/armeria/hello-world;a=b"), "/armeria/hello-world");
+        assertAccepted(forServer("/armeria/hello world?a=b"), "/armeria/hello%20world", "a=b");
+        assertAccepted(forServer("/armeria/hello-world?a=b+c"), "/armeria/hello-world", "a=b+c");
+        assertRejected(forServer("/armeria/../hello-world"));
+        assertRejected(forServer("/armeria/hello-world?a=.."));
+    }
+
     @Test
     void clientShouldNotCleanUpConsecutiveSlashes() {
         assertAccepted(
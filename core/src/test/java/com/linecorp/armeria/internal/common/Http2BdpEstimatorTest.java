@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static com.linecorp.armeria.internal.common.Http2BdpEstimator.BDP_PING_PAYLOAD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.SessionProtocol;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.DefaultHttp2LocalFlowController;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionEncoder;
+import io.netty.handler.codec.http2.Http2FrameWriter;
+import io.netty.handler.codec.http2.Http2LocalFlowController;
+import io.netty.handler.codec.http2.Http2Settings;
+
+class Http2BdpEstimatorTest {
+
+    private static final int MAX_WINDOW_SIZE = 1024 * 1024;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+    private final Http2ConnectionEncoder encoder = mock(Http2ConnectionEncoder.class);
+    private Http2Connection connection;
+    private Http2LocalFlowController flowController;
+    private Http2BdpEstimator estimator;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = new DefaultHttp2Connection(false);
+        flowController = new DefaultHttp2LocalFlowController(connection)
+                .frameWriter(mock(Http2FrameWriter.class));
+        connection.local().flowController(flowController);
+        flowController.channelHandlerContext(ctx);
+        when(encoder.connection()).thenReturn(connection);
+        estimator = new Http2BdpEstimator(encoder, MAX_WINDOW_SIZE, meterRegistry,
+                                          "armeria.client.connections", SessionProtocol.H2C);
+    }
+
+    @Test
+    void growWindowsWithinBounds() throws Exception {
+        estimator.onDataRead(ctx, 20_000);
+        estimator.onDataRead(ctx, 20_000);
+        // Only one PING is outstanding at a time.
+        verify(encoder, times(1)).writePing(eq(ctx), eq(false), eq(BDP_PING_PAYLOAD), any());
+
+        // The ACK of a PING not sent by the estimator.
+        assertThat(estimator.onPingAckRead(ctx, 42)).isFalse();
+        verify(encoder, never()).writeSettings(any(), any(), any());
+
+        assertThat(estimator.onPingAckRead(ctx, BDP_PING_PAYLOAD)).isTrue();
+        assertThat(flowController.initialWindowSize(connection.connectionStream())).isEqualTo(80_000);
+        verify(encoder).writeSettings(eq(ctx), argThat(settings -> settingsWindowSize(settings) == 80_000),
+                                      any());
+
+        // A much larger sample is bounded by the maximum window size.
+        estimator.onDataRead(ctx, 500_000_000);
+        assertThat(estimator.onPingAckRead(ctx, BDP_PING_PAYLOAD)).isTrue();
+        assertThat(flowController.initialWindowSize(connection.connectionStream()))
+                .isEqualTo(MAX_WINDOW_SIZE);
+        verify(encoder).writeSettings(eq(ctx),
+                                      argThat(settings -> settingsWindowSize(settings) == MAX_WINDOW_SIZE),
+                                      any());
+
+        final DistributionSummary bdp = meterRegistry.get("armeria.client.connections.http2.bdp")
+                                                     .tag("protocol", "h2c").summary();
+        assertThat(bdp.count()).isEqualTo(2);
+        assertThat(bdp.max()).isEqualTo(500_000_000);
+        final DistributionSummary windowSize =
+                meterRegistry.get("armeria.client.connections.http2.window.size").summary();
+        assertThat(windowSize.count()).isEqualTo(2);
+        assertThat(windowSize.max()).isEqualTo(MAX_WINDOW_SIZE);
+    }
+
+    @Test
+    void doNotGrowWindowsForSmallSamples() throws Exception {
+        estimator.onDataRead(ctx, 1000);
+        assertThat(estimator.onPingAckRead(ctx, BDP_PING_PAYLOAD)).isTrue();
+        assertThat(flowController.initialWindowSize(connection.connectionStream()))
+                .isEqualTo(Http2CodecUtil.DEFAULT_WINDOW_SIZE);
+        verify(encoder, never()).writeSettings(any(), any(), any());
+
+        // A late ACK is ignored.
+        assertThat(estimator.onPingAckRead(ctx, BDP_PING_PAYLOAD)).isFalse();
+    }
+
+    private static long settingsWindowSize(Http2Settings settings) {
+        final Integer initialWindowSize = settings.initialWindowSize();
+        return initialWindowSize != null ? initialWindowSize : -1;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.internal.common.TimeoutWheel.Timeout;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+
+class TimeoutWheelTest {
+
+    private static final long TICK_NANOS = MILLISECONDS.toNanos(10);
+
+    private static final EventLoop eventLoop = new DefaultEventLoop();
+
+    @AfterAll
+    static void shutdown() {
+        eventLoop.shutdownGracefully();
+    }
+
+    @Test
+    void expireAfterDeadline() throws Exception {
+        final AtomicLong nanos = new AtomicLong();
+        final List<String> expired = new ArrayList<>();
+        eventLoop.submit(() -> {
+            final TimeoutWheel wheel = new TimeoutWheel(eventLoop, TICK_NANOS, nanos::get);
+            wheel.schedule(() -> expired.add("a"), TICK_NANOS / 2);
+            wheel.schedule(() -> expired.add("b"), TICK_NANOS * 3);
+            assertThat(wheel.size()).isEqualTo(2);
+
+            nanos.set(TICK_NANOS - 1);
+            wheel.onTick();
+            assertThat(expired).isEmpty();
+
+            nanos.set(TICK_NANOS);
+            wheel.onTick();
+            assertThat(expired).containsExactly("a");
+
+            // Never expires before the deadline even if the tick is delayed.
+            nanos.set(TICK_NANOS * 3 - 1);
+            wheel.onTick();
+            assertThat(expired).containsExactly("a");
+
+            nanos.set(TICK_NANOS * 5);
+            wheel.onTick();
+            assertThat(expired).containsExactly("a", "b");
+            assertThat(wheel.size()).isZero();
+        }).get();
+    }
+
+    @Test
+    void keepTimeoutsOfLaterRotation() throws Exception {
+        final AtomicLong nanos = new AtomicLong();
+        final AtomicBoolean expired = new AtomicBoolean();
+        eventLoop.submit(() -> {
+            final TimeoutWheel wheel = new TimeoutWheel(eventLoop, TICK_NANOS, nanos::get);
+            // Lands on the same bucket as the first tick, but a rotation later.
+            wheel.schedule(() -> expired.set(true), TICK_NANOS * 513);
+
+            nanos.set(TICK_NANOS);
+            wheel.onTick();
+            assertThat(expired).isFalse();
+            assertThat(wheel.size()).isOne();
+
+            nanos.set(TICK_NANOS * 513);
+            wheel.onTick();
+            assertThat(expired).isTrue();
+        }).get();
+    }
+
+    @Test
+    void cancel() throws Exception {
+        final AtomicLong nanos = new AtomicLong();
+        final AtomicBoolean expired = new AtomicBoolean();
+        eventLoop.submit(() -> {
+            final TimeoutWheel wheel = new TimeoutWheel(eventLoop, TICK_NANOS, nanos::get);
+            final Timeout timeout = wheel.schedule(() -> expired.set(true), TICK_NANOS);
+            assertThat(timeout.cancel()).isTrue();
+            assertThat(timeout.cancel()).isFalse();
+            assertThat(wheel.size()).isZero();
+
+            nanos.set(TICK_NANOS * 2);
+            wheel.onTick();
+            assertThat(expired).isFalse();
+        }).get();
+    }
+
+    @Test
+    void cancelByTimeoutOfSameTick() throws Exception {
+        final AtomicLong nanos = new AtomicLong();
+        final AtomicBoolean expired = new AtomicBoolean();
+        eventLoop.submit(() -> {
+            final TimeoutWheel wheel = new TimeoutWheel(eventLoop, TICK_NANOS, nanos::get);
+            final Timeout victim = wheel.schedule(() -> expired.set(true), TICK_NANOS);
+            // A bucket is a stack, so the timeout scheduled later runs first.
+            final AtomicBoolean cancelled = new AtomicBoolean();
+            wheel.schedule(() -> cancelled.set(victim.cancel()), TICK_NANOS);
+
+            nanos.set(TICK_NANOS);
+            wheel.onTick();
+            assertThat(cancelled).isTrue();
+            assertThat(expired).isFalse();
+        }).get();
+    }
+
+    @Test
+    void expireWithEventLoop() {
+        final AtomicBoolean expired = new AtomicBoolean();
+        eventLoop.execute(() -> TimeoutWheel.of(eventLoop).schedule(() -> expired.set(true),
+                                                                    MILLISECONDS.toNanos(50)));
+        await().untilTrue(expired);
+    }
+}
@@ -35,6 +35,8 @@ import com.linecorp.armeria.common.logging.ClientConnectionTimings;
 import com.linecorp.armeria.common.metric.MeterIdPrefixFunction;
 import com.linecorp.armeria.common.metric.PrometheusMeterRegistries;
 import com.linecorp.armeria.common.util.SafeCloseable;
+import com.linecorp.armeria.internal.common.metric.RequestMetricSupport.ServiceMeterBindings;
+import com.linecorp.armeria.internal.common.metric.RequestMetricSupport.ServiceMeterBindings.Binding;
 import com.linecorp.armeria.internal.testing.ImmediateEventLoop;
 import com.linecorp.armeria.server.RequestTimeoutException;
 import com.linecorp.armeria.server.ServiceRequestContext;
@@ -352,6 +354,45 @@ class RequestMetricSupportTest {
                                serviceTag + '}', 1.0);
     }
 
+    @Test
+    void preBoundServiceMeters() {
+        final MeterRegistry registry = PrometheusMeterRegistries.newRegistry();
+        final ServiceRequestContext ctx =
+                ServiceRequestContext.builder(HttpRequest.of(HttpMethod.POST, "/foo"))
+                                     .meterRegistry(registry)
+                                     .eventLoop(ImmediateEventLoop.INSTANCE)
+                                     .build();
+        final String serviceTag = "service=" + ctx.config().service().getClass().getName();
+
+        final ServiceMeterBindings bindings = new ServiceMeterBindings();
+        final MeterIdPrefixFunction meterIdPrefixFunction = MeterIdPrefixFunction.ofDefault("foo");
+        RequestMetricSupport.setup(ctx, REQUEST_METRICS_SET, meterIdPrefixFunction, true,
+                                   SuccessFunction.ofDefault(), Flags.distributionStatisticConfig(),
+                                   bindings);
+
+        ctx.logBuilder().requestFirstBytesTransferred();
+        ctx.logBuilder().endRequest();
+        ctx.logBuilder().responseHeaders(ResponseHeaders.of(200));
+        ctx.logBuilder().responseLength(456);
+        ctx.logBuilder().endResponse();
+
+        final Binding binding = bindings.binding(ctx.log().ensureComplete());
+        assertThat(binding.activeRequestMetrics).isNotNull();
+        assertThat(binding.serviceRequestMetrics(200)).isNotNull();
+        assertThat(binding.serviceRequestMetrics(500)).isNull();
+        // The same binding is returned for the same combination.
+        assertThat(bindings.binding(ctx.log().ensureComplete())).isSameAs(binding);
+
+        final Map<String, Double> measurements = measureAll(registry);
+        assertThat(measurements)
+                .containsEntry("foo.active.requests#value{hostname.pattern=*,method=POST," + serviceTag + '}',
+                               0.0)
+                .containsEntry("foo.requests#count{hostname.pattern=*,http.status=200,method=POST," +
+                               "result=success," + serviceTag + '}', 1.0)
+                .containsEntry("foo.response.length#count{hostname.pattern=*,http.status=200,method=POST," +
+                               serviceTag + '}', 1.0);
+    }
+
     @Test
     void rpc() {
         final MeterRegistry registry = PrometheusMeterRegistries.newRegistry();
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+
+class EventLoopLagProbeTest {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void notifyLag() throws Exception {
+        final EventLoop eventLoop = new DefaultEventLoop();
+        try {
+            final AtomicLong maxLagNanos = new AtomicLong();
+            final EventLoopLagProbe probe = new EventLoopLagProbe(
+                    eventLoop, System::nanoTime, INTERVAL_NANOS,
+                    lagNanos -> maxLagNanos.accumulateAndGet(lagNanos, Math::max));
+            eventLoop.submit(probe::start).sync();
+            // Block the event loop so that the probe task is delayed.
+            eventLoop.execute(() -> {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {
+                }
+            });
+            await().untilAsserted(() -> assertThat(maxLagNanos.get())
+                    .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100)));
+            probe.close();
+        } finally {
+            eventLoop.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void stopWhenClosed() throws Exception {
+        final EventLoop eventLoop = new DefaultEventLoop();
+        try {
+            final AtomicInteger numRuns = new AtomicInteger();
+            final EventLoopLagProbe probe = new EventLoopLagProbe(
+                    eventLoop, System::nanoTime, INTERVAL_NANOS, unused -> numRuns.incrementAndGet());
+            eventLoop.submit(probe::start).sync();
+            await().until(() -> numRuns.get() > 3);
+
+            eventLoop.submit(probe::close).sync();
+            final int numRunsAfterClose = numRuns.get();
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(INTERVAL_NANOS) * 5);
+            assertThat(numRuns).hasValue(numRunsAfterClose);
+        } finally {
+            eventLoop.shutdownGracefully();
+        }
+    }
+}
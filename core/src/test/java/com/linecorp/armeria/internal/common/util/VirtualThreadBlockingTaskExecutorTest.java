@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.common.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.internal.common.JavaVersionSpecific;
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadBlockingTaskExecutorTest {
+
+    // Platform threads are used when virtual threads are not available, e.g. Java 17.
+    private static VirtualThreadBlockingTaskExecutor newExecutor() {
+        ThreadFactory threadFactory =
+                JavaVersionSpecific.get().newVirtualThreadFactory("virtual-test");
+        if (threadFactory == null) {
+            threadFactory = Executors.defaultThreadFactory();
+        }
+        return new VirtualThreadBlockingTaskExecutor(threadFactory, "virtual-test", Function.identity());
+    }
+
+    @Test
+    void executeAndSchedule() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(latch::countDown);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        final ScheduledFuture<String> future = executor.schedule(() -> "foo", 10, TimeUnit.MILLISECONDS);
+        assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("foo");
+        assertThat(executor.submit(() -> "bar").get(10, TimeUnit.SECONDS)).isEqualTo("bar");
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.completedTaskCount()).isEqualTo(3);
+    }
+
+    @Test
+    void cancelScheduledTask() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        final ScheduledFuture<?> future = executor.schedule(() -> {}, 1, TimeUnit.DAYS);
+        assertThat(future.cancel(false)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.completedTaskCount()).isZero();
+    }
+
+    @Test
+    void rejectAfterShutdown() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.isTerminated()).isTrue();
+        assertThatThrownBy(() -> executor.execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shutdownNowInterruptsRunningTasks() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdownNow();
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void periodicRunsDoNotOverlap() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final CountDownLatch latch = new CountDownLatch(5);
+        final ScheduledFuture<?> future = executor.scheduleAtFixedRate(() -> {
+            if (running.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            try {
+                // Take longer than the period.
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                latch.countDown();
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(future.cancel(false)).isTrue();
+        assertThat(overlapped).isFalse();
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void periodicTaskStopsOnException() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
+            if (runs.incrementAndGet() == 3) {
+                throw new AnticipatedException();
+            }
+        }, 0, 1, TimeUnit.MILLISECONDS);
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AnticipatedException.class);
+        Thread.sleep(100);
+        assertThat(runs).hasValue(3);
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void metrics() throws Exception {
+        final VirtualThreadBlockingTaskExecutor executor = newExecutor();
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        executor.bindTo(registry, "armeria", "blockingTaskExecutor");
+        executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        await().untilAsserted(() -> assertThat(registry.get("armeria.executor.completed")
+                                                       .tag("name", "blockingTaskExecutor")
+                                                       .functionCounter()
+                                                       .count()).isOne());
+        assertThat(registry.get("armeria.executor.active").gauge()).isNotNull();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.internal.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.linecorp.armeria.common.CommonPools;
+import com.linecorp.armeria.common.ContentDisposition;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.multipart.BodyPart;
+import com.linecorp.armeria.common.stream.StreamMessage;
+import com.linecorp.armeria.common.stream.StreamWriter;
+import com.linecorp.armeria.internal.server.MultipartMemoryBudget.RequestBudget;
+import com.linecorp.armeria.internal.testing.AnticipatedException;
+
+import io.netty.buffer.ByteBufAllocator;
+
+class SpillingBodyPartAggregatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void aggregateInMemory() {
+        final MultipartMemoryBudget globalBudget = new MultipartMemoryBudget(1024);
+        final RequestBudget budget = globalBudget.newRequestBudget(1024);
+        final Object result = aggregate(budget, "foo", "bar", "baz");
+        assertThat(result).isEqualTo("foobarbaz");
+        assertThat(globalBudget.usedLength()).isZero();
+        assertThat(globalBudget.spilledParts()).isZero();
+        assertThat(tempDir.toFile().list()).isNullOrEmpty();
+    }
+
+    @Test
+    void spillWhenRequestBudgetIsExhausted() throws Exception {
+        final MultipartMemoryBudget globalBudget = new MultipartMemoryBudget(1024);
+        final RequestBudget budget = globalBudget.newRequestBudget(4);
+        final Object result = aggregate(budget, "foo", "bar", "baz");
+        // The spilled part is handed over as a file rather than being read back into memory.
+        assertThat(result).isInstanceOf(Path.class);
+        assertThat(Files.readAllLines((Path) result)).containsExactly("foobarbaz");
+        assertThat(globalBudget.usedLength()).isZero();
+        assertThat(globalBudget.spilledParts()).isOne();
+        assertThat(globalBudget.spilledBytes()).isEqualTo(9);
+    }
+
+    @Test
+    void spillWhenGlobalBudgetIsExhausted() {
+        final MultipartMemoryBudget globalBudget = new MultipartMemoryBudget(2);
+        final RequestBudget budget = globalBudget.newRequestBudget(1024);
+        assertThat(aggregate(budget, "foo", "bar")).isInstanceOf(Path.class);
+        assertThat(globalBudget.usedLength()).isZero();
+        assertThat(globalBudget.spilledBytes()).isEqualTo(6);
+    }
+
+    @Test
+    void deleteSpilledFileOnError() {
+        final MultipartMemoryBudget globalBudget = new MultipartMemoryBudget(1024);
+        final RequestBudget budget = globalBudget.newRequestBudget(4);
+        final StreamWriter<HttpData> content = StreamMessage.streaming();
+        final BodyPart bodyPart = BodyPart.of(ContentDisposition.of("form-data", "param"), content);
+        final CompletableFuture<Object> future = aggregate(bodyPart, budget);
+        content.write(HttpData.ofUtf8("foo"));
+        content.write(HttpData.ofUtf8("bar"));
+        final File incompleteDir = tempDir.resolve("incomplete").toFile();
+        await().until(() -> {
+            final String[] files = incompleteDir.list();
+            return files != null && files.length > 0;
+        });
+        content.abort(new AnticipatedException());
+
+        assertThatThrownBy(future::join).isInstanceOf(CompletionException.class)
+                                        .hasCauseInstanceOf(AnticipatedException.class);
+        assertThat(globalBudget.usedLength()).isZero();
+        await().untilAsserted(() -> {
+            final File[] dirs = tempDir.toFile().listFiles();
+            assertThat(dirs).isNotNull();
+            for (File dir : dirs) {
+                assertThat(dir.list()).isNullOrEmpty();
+            }
+        });
+    }
+
+    private Object aggregate(RequestBudget budget, String... chunks) {
+        final HttpData[] data = new HttpData[chunks.length];
+        for (int i = 0; i < chunks.length; i++) {
+            data[i] = HttpData.ofUtf8(chunks[i]);
+        }
+        final BodyPart bodyPart = BodyPart.of(ContentDisposition.of("form-data", "param"),
+                                              StreamMessage.of(data));
+        return aggregate(bodyPart, budget).join();
+    }
+
+    private CompletableFuture<Object> aggregate(BodyPart bodyPart, RequestBudget budget) {
+        return SpillingBodyPartAggregator.aggregate(bodyPart, budget, tempDir.resolve("incomplete"),
+                                                    CommonPools.workerGroup().next(),
+                                                    ByteBufAllocator.DEFAULT,
+                                                    CommonPools.blockingTaskExecutor());
+    }
+}
@@ -30,6 +30,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
 
@@ -89,6 +90,18 @@ class AnnotatedServiceMultipartTest {
                            "\"param1\":\"armeria\"}");
     }
 
+    @Test
+    void largeParamIsStillParam() {
+        // Larger than Flags.defaultMultipartMaxInMemoryLength(), so the parameter is spilled to a file.
+        final String param = Strings.repeat("a", 1024 * 1024);
+        final Multipart multipart = Multipart.of(
+                BodyPart.of(ContentDisposition.of("form-data", "param1"), param));
+        final AggregatedHttpResponse response =
+                server.blockingWebClient().execute(multipart.toHttpRequest("/uploadLargeParam"));
+        assertThat(response.status()).isSameAs(HttpStatus.OK);
+        assertThat(response.contentUtf8()).isEqualTo(String.valueOf(param.length()));
+    }
+
     @Test
     void emptyBodyPart() {
         final Multipart multipart = Multipart.of();
@@ -167,6 +180,13 @@ class AnnotatedServiceMultipartTest {
             return HttpResponse.ofJson(content);
         }
 
+        @Post
+        @Path("/uploadLargeParam")
+        public HttpResponse uploadLargeParam(@Param String param1) {
+            assertThat(param1).matches("a+");
+            return HttpResponse.of(String.valueOf(param1.length()));
+        }
+
         @Post
         @Path("/uploadWithMultipartObject")
         public HttpResponse uploadWithMultipartObject(Multipart multipart) {
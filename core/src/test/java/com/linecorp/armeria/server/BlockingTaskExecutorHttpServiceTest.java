@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.internal.testing.MockAddressResolverGroup;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+class BlockingTaskExecutorHttpServiceTest {
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.route()
+              .get("/virtual")
+              .useVirtualThreads(true)
+              .build((ctx, req) -> {
+                  if (ctx.eventLoop().inEventLoop() || ServiceRequestContext.currentOrNull() != ctx) {
+                      return HttpResponse.of(HttpStatus.INTERNAL_SERVER_ERROR);
+                  }
+                  // Blocking is allowed.
+                  Thread.sleep(10);
+                  return HttpResponse.of(Thread.currentThread().getName());
+              });
+            sb.virtualHost("foo.com")
+              .route()
+              .get("/virtual")
+              .useVirtualThreads(true)
+              .build((ctx, req) -> HttpResponse.of(Thread.currentThread().getName()));
+        }
+    };
+
+    @Test
+    void serveFromBlockingTaskExecutor() {
+        final AggregatedHttpResponse res = BlockingWebClient.of(server.httpUri()).get("/virtual");
+        assertThat(res.status()).isEqualTo(HttpStatus.OK);
+        assertThat(res.contentUtf8()).startsWith("armeria-virtual-service");
+    }
+
+    @Test
+    void serveFromBlockingTaskExecutorOfVirtualHost() {
+        try (ClientFactory factory =
+                     ClientFactory.builder()
+                                  .addressResolverGroupFactory(
+                                          eventLoop -> MockAddressResolverGroup.localhost())
+                                  .build()) {
+            final AggregatedHttpResponse res =
+                    WebClient.builder("http://foo.com:" + server.httpPort())
+                             .factory(factory)
+                             .build()
+                             .blocking()
+                             .get("/virtual");
+            assertThat(res.status()).isEqualTo(HttpStatus.OK);
+            assertThat(res.contentUtf8()).startsWith("armeria-virtual-service");
+        }
+    }
+
+    @Test
+    void cannotUseVirtualThreadsWithBlockingTaskExecutor() {
+        assertThatThrownBy(() -> Server.builder()
+                                       .route()
+                                       .get("/")
+                                       .blockingTaskExecutor(1)
+                                       .useVirtualThreads(true)
+                                       .build((ctx, req) -> HttpResponse.of(200)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("mutually exclusive");
+    }
+}
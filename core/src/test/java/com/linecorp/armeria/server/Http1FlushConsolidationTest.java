@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.google.common.io.ByteStreams;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.common.logging.RequestLogProperty;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.NetUtil;
+
+class Http1FlushConsolidationTest {
+
+    private static final int NUM_REQUESTS = 10;
+
+    private static final AtomicInteger consolidatedFlushes = new AtomicInteger();
+    private static final AtomicInteger defaultFlushes = new AtomicInteger();
+    private static final Map<Channel, ChannelHandler> initialFlushHandlers = new ConcurrentHashMap<>();
+
+    @RegisterExtension
+    static ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.http1FlushConsolidation(true);
+            configureServer(sb, consolidatedFlushes);
+        }
+    };
+
+    @RegisterExtension
+    static ServerExtension defaultServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            configureServer(sb, defaultFlushes);
+        }
+    };
+
+    private static void configureServer(ServerBuilder sb, AtomicInteger flushes) {
+        sb.childChannelPipelineCustomizer(p -> {
+            initialFlushHandlers.put(p.channel(), p.get(FlushConsolidationHandler.class));
+            // Count the flushes which pass through the FlushConsolidationHandler.
+            p.addFirst(new ChannelOutboundHandlerAdapter() {
+                @Override
+                public void flush(ChannelHandlerContext ctx) throws Exception {
+                    flushes.incrementAndGet();
+                    super.flush(ctx);
+                }
+            });
+        });
+        sb.service("/sync/{n}", (ctx, req) -> HttpResponse.of(ctx.pathParam("n")));
+        sb.service("/async/{n}", (ctx, req) -> {
+            // Complete the later requests first so that their responses are written all at once
+            // when the first response is complete.
+            final int n = Integer.parseInt(ctx.pathParam("n"));
+            return HttpResponse.delayed(HttpResponse.of(String.valueOf(n)),
+                                        Duration.ofMillis((NUM_REQUESTS - n) * 20L));
+        });
+        sb.service("/flush-handler", (ctx, req) -> {
+            final Channel ch = ctx.log().ensureAvailable(RequestLogProperty.SESSION).channel();
+            assertThat(ch).isNotNull();
+            final ChannelHandler handler = ch.pipeline().get(FlushConsolidationHandler.class);
+            return HttpResponse.of(handler == initialFlushHandlers.get(ch) ? "default" : "replaced");
+        });
+    }
+
+    @CsvSource({ "sync", "async" })
+    @ParameterizedTest
+    void pipelinedResponsesAreWrittenInOrder(String type) throws Exception {
+        sendPipelinedRequests(server, type);
+    }
+
+    @Test
+    void flushesAreConsolidated() throws Exception {
+        consolidatedFlushes.set(0);
+        defaultFlushes.set(0);
+        sendPipelinedRequests(server, "async");
+        sendPipelinedRequests(defaultServer, "async");
+        assertThat(consolidatedFlushes.get()).isLessThan(defaultFlushes.get());
+        assertThat(consolidatedFlushes.get()).isLessThan(NUM_REQUESTS);
+    }
+
+    @CsvSource({ "H1C, replaced", "H2C, default" })
+    @ParameterizedTest
+    void consolidateOnlyHttp1Flushes(SessionProtocol protocol, String expected) {
+        final WebClient client = WebClient.of(server.uri(protocol));
+        assertThat(client.get("/flush-handler").aggregate().join().contentUtf8()).isEqualTo(expected);
+    }
+
+    @Test
+    void restoreFlushConsolidationOnUpgrade() {
+        try (ClientFactory factory = ClientFactory.builder().useHttp2Preface(false).build()) {
+            final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                              .factory(factory)
+                                              .build();
+            final AggregatedHttpResponse res = client.get("/flush-handler").aggregate().join();
+            assertThat(res.contentUtf8()).isEqualTo("default");
+        }
+    }
+
+    private static void sendPipelinedRequests(ServerExtension target, String type) throws Exception {
+        final StringBuilder requests = new StringBuilder();
+        for (int i = 0; i < NUM_REQUESTS; i++) {
+            requests.append("GET /").append(type).append('/').append(i).append(" HTTP/1.1\r\n")
+                    .append("host: localhost\r\n");
+            if (i == NUM_REQUESTS - 1) {
+                requests.append("connection: close\r\n");
+            }
+            requests.append("\r\n");
+        }
+
+        try (Socket s = new Socket(NetUtil.LOCALHOST, target.httpPort())) {
+            s.setSoTimeout(10000);
+            final InputStream in = s.getInputStream();
+            final OutputStream out = s.getOutputStream();
+            out.write(requests.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            final String responses = new String(ByteStreams.toByteArray(in), StandardCharsets.US_ASCII);
+            final String[] split = responses.split("HTTP/1\\.1 200 OK\r\n", -1);
+            assertThat(split).hasSize(NUM_REQUESTS + 1);
+            for (int i = 0; i < NUM_REQUESTS; i++) {
+                assertThat(split[i + 1]).endsWith("\r\n\r\n" + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static io.netty.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class Http2StreamSchedulerTest {
+
+    private static final int LARGE_CONTENT_LENGTH = 4 * 1024 * 1024;
+    private static final byte[] LARGE_CONTENT = new byte[LARGE_CONTENT_LENGTH];
+
+    private static final MeterRegistry wfqMeterRegistry = new SimpleMeterRegistry();
+    private static final MeterRegistry roundRobinMeterRegistry = new SimpleMeterRegistry();
+    private static final MeterRegistry defaultMeterRegistry = new SimpleMeterRegistry();
+
+    @RegisterExtension
+    static ServerExtension wfqServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.meterRegistry(wfqMeterRegistry);
+            configureServices(sb);
+        }
+    };
+
+    @RegisterExtension
+    static ServerExtension roundRobinServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.meterRegistry(roundRobinMeterRegistry);
+            sb.http2StreamScheduler(Http2StreamScheduler.roundRobin());
+            configureServices(sb);
+        }
+    };
+
+    @RegisterExtension
+    static ServerExtension defaultServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.meterRegistry(defaultMeterRegistry);
+            sb.service("/", (ctx, req) -> HttpResponse.of("default"));
+        }
+    };
+
+    private static void configureServices(ServerBuilder sb) {
+        sb.requestTimeoutMillis(0);
+        sb.service("/large", (ctx, req) -> HttpResponse.of(HttpStatus.OK, MediaType.OCTET_STREAM,
+                                                           HttpData.wrap(LARGE_CONTENT)));
+        sb.route()
+          .path("/small")
+          .http2StreamWeight(256)
+          .build((ctx, req) -> HttpResponse.of("small"));
+    }
+
+    @Test
+    void serviceWeights() {
+        final ServerConfig config = wfqServer.server().config();
+        for (ServiceConfig serviceConfig : config.serviceConfigs()) {
+            final String path = serviceConfig.route().patternString();
+            if ("/small".equals(path)) {
+                assertThat(serviceConfig.http2StreamWeight()).isEqualTo(256);
+            } else {
+                assertThat(serviceConfig.http2StreamWeight()).isEqualTo(16);
+            }
+        }
+    }
+
+    @Test
+    void invalidWeight() {
+        assertThatThrownBy(() -> Server.builder().http2StreamWeight(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Server.builder().http2StreamWeight(257))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void smallStreamsCompleteWhileLargeStreamIsWritten(boolean weightedFairQueueing) {
+        final ServerExtension server = weightedFairQueueing ? wfqServer : roundRobinServer;
+        final MeterRegistry meterRegistry = weightedFairQueueing ? wfqMeterRegistry : roundRobinMeterRegistry;
+        // Keep the connection window at the minimum so that the large stream has to wait for many
+        // WINDOW_UPDATEs and the streams contend for the connection window.
+        try (ClientFactory factory = ClientFactory.builder()
+                                                  .http2InitialConnectionWindowSize(DEFAULT_WINDOW_SIZE)
+                                                  .http2InitialStreamWindowSize(DEFAULT_WINDOW_SIZE)
+                                                  .build()) {
+            final WebClient client = WebClient.builder(server.uri(SessionProtocol.H2C))
+                                              .factory(factory)
+                                              .build();
+            final CompletableFuture<AggregatedHttpResponse> large = client.get("/large").aggregate();
+            // Make sure the large stream is being written before the small streams are requested.
+            await().until(() -> meterRegistry.find("armeria.server.http2.stream.bytes")
+                                             .tag("weight", "16")
+                                             .counter() != null);
+            final List<CompletableFuture<AggregatedHttpResponse>> smalls = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                smalls.add(client.get("/small").aggregate());
+            }
+
+            for (CompletableFuture<AggregatedHttpResponse> small : smalls) {
+                assertThat(small.join().contentUtf8()).isEqualTo("small");
+            }
+            // The small streams were scheduled while the large stream was still being written,
+            // rather than after the large stream drained the connection window.
+            assertThat(large).isNotDone();
+            assertThat(large.join().content().length()).isEqualTo(LARGE_CONTENT_LENGTH);
+        }
+
+        await().untilAsserted(() -> {
+            assertThat(meterRegistry.find("armeria.server.http2.stream.bytes")
+                                    .tag("protocol", "h2c")
+                                    .tag("weight", "256")
+                                    .counter())
+                    .isNotNull()
+                    .satisfies(counter -> assertThat(counter.count()).isEqualTo(10 * "small".length()));
+            assertThat(meterRegistry.find("armeria.server.http2.stream.bytes")
+                                    .tag("weight", "16")
+                                    .counter())
+                    .isNotNull()
+                    .satisfies(counter -> assertThat(counter.count())
+                            .isGreaterThanOrEqualTo(LARGE_CONTENT_LENGTH));
+            assertThat(meterRegistry.find("armeria.server.http2.stream.wait")
+                                    .tag("weight", "256")
+                                    .timer())
+                    .isNotNull()
+                    .satisfies(timer -> assertThat(timer.count()).isPositive());
+        });
+    }
+
+    @Test
+    void noMetersWithoutCustomScheduling() {
+        final WebClient client = WebClient.of(defaultServer.uri(SessionProtocol.H2C));
+        assertThat(client.get("/").aggregate().join().contentUtf8()).isEqualTo("default");
+        assertThat(defaultMeterRegistry.find("armeria.server.http2.stream.bytes").meters()).isEmpty();
+        assertThat(defaultMeterRegistry.find("armeria.server.http2.stream.wait").meters()).isEmpty();
+    }
+}
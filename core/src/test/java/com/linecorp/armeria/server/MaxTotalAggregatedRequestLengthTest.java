@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.google.common.base.Strings;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.ExchangeType;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.SessionProtocol;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MaxTotalAggregatedRequestLengthTest {
+
+    private static volatile CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.maxTotalAggregatedRequestLength(100);
+            sb.service("/unary", new PendingService());
+        }
+    };
+
+    private static final class PendingService implements HttpService {
+        @Override
+        public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
+            return HttpResponse.of(pending);
+        }
+
+        @Override
+        public ExchangeType exchangeType(RoutingContext routingContext) {
+            return ExchangeType.UNARY;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pending.complete(HttpResponse.of(HttpStatus.OK));
+        pending = new CompletableFuture<>();
+    }
+
+    @EnumSource(value = SessionProtocol.class, names = { "H1C", "H2C" })
+    @ParameterizedTest
+    void rejectWhenBudgetExhausted(SessionProtocol protocol) {
+        final WebClient client = WebClient.of(server.uri(protocol));
+        final AggregationMemoryAccountant accountant =
+                server.server().config().defaultVirtualHost().aggregationMemoryAccountant();
+
+        // Occupies 80 bytes of the budget until the response is sent.
+        final CompletableFuture<AggregatedHttpResponse> first =
+                client.post("/unary", Strings.repeat("a", 80)).aggregate();
+        await().untilAsserted(() -> assertThat(accountant.usedLength()).isEqualTo(80));
+
+        // Does not fit into the remaining 20 bytes.
+        final AggregatedHttpResponse rejected =
+                client.post("/unary", Strings.repeat("b", 40)).aggregate().join();
+        assertThat(rejected.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(accountant.numRejectedRequests()).isPositive();
+
+        pending.complete(HttpResponse.of(HttpStatus.OK));
+        assertThat(first.join().status()).isEqualTo(HttpStatus.OK);
+        await().untilAsserted(() -> assertThat(accountant.usedLength()).isZero());
+
+        // The budget is available again.
+        final AggregatedHttpResponse accepted =
+                BlockingWebClient.of(server.uri(protocol))
+                                 .post("/unary", Strings.repeat("c", 40));
+        assertThat(accepted.status()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void metersFollowReconfiguredAccountant() {
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final Server server = Server.builder()
+                                    .http(0)
+                                    .meterRegistry(meterRegistry)
+                                    .maxTotalAggregatedRequestLength(100)
+                                    .service("/unary", new PendingService())
+                                    .build();
+        server.start().join();
+        try {
+            server.reconfigure(sb -> sb.meterRegistry(meterRegistry)
+                                       .maxTotalAggregatedRequestLength(200)
+                                       .service("/unary", new PendingService()));
+            final WebClient client = WebClient.of("http://127.0.0.1:" + server.activeLocalPort());
+            final CompletableFuture<AggregatedHttpResponse> first =
+                    client.post("/unary", Strings.repeat("a", 150)).aggregate();
+            // The meters report the accountant of the new config.
+            await().untilAsserted(() -> assertThat(
+                    meterRegistry.get("armeria.server.aggregating.requests.memory").gauge().value())
+                    .isEqualTo(150));
+            assertThat(meterRegistry.find("armeria.server.aggregating.requests.memory").meters()).hasSize(1);
+
+            final AggregatedHttpResponse rejected =
+                    client.post("/unary", Strings.repeat("b", 100)).aggregate().join();
+            assertThat(rejected.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(meterRegistry.get("armeria.server.aggregating.requests.rejected")
+                                    .functionCounter().count()).isOne();
+
+            pending.complete(HttpResponse.of(HttpStatus.OK));
+            assertThat(first.join().status()).isEqualTo(HttpStatus.OK);
+        } finally {
+            server.stop().join();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.linecorp.armeria.client.BlockingWebClient;
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.common.Flags;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.internal.common.util.ChannelUtil;
+import com.linecorp.armeria.server.logging.LoggingService;
+import com.linecorp.armeria.testing.junit5.server.ServerExtension;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.ServerChannel;
+
+class ReusePortPerEventLoopTest {
+
+    private static final Map<EventLoop, Set<HttpService>> instances = new ConcurrentHashMap<>();
+
+    @RegisterExtension
+    static final ServerExtension server = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.workerGroup(4);
+            sb.reusePortPerEventLoop(true);
+            sb.service("/", PerEventLoopHttpService.of(CountingService::new)
+                                                   .decorate(LoggingService.newDecorator()));
+        }
+    };
+
+    private static final class CountingService implements HttpService {
+        private int counter;
+
+        @Override
+        public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) {
+            final EventLoop eventLoop = ctx.eventLoop().withoutContext();
+            assertThat(eventLoop.inEventLoop()).isTrue();
+            instances.computeIfAbsent(eventLoop, unused -> ConcurrentHashMap.newKeySet()).add(this);
+            // The instance of the current event loop is found through the decorators.
+            final HttpService service = ctx.config().service();
+            assertThat(service.as(CountingService.class)).isSameAs(this);
+            assertThat(service.as(PerEventLoopHttpService.class).unwrap()).isSameAs(this);
+            return HttpResponse.of(String.valueOf(++counter));
+        }
+    }
+
+    @Test
+    void bindListenerPerEventLoop() {
+        assumeThat(ChannelUtil.reusePortOption(Flags.transportType())).isNotNull();
+        final Set<ServerChannel> serverChannels = server.server().serverChannels();
+        assertThat(serverChannels).hasSize(4);
+        assertThat(serverChannels.stream().map(Channel::eventLoop).distinct()).hasSize(4);
+        assertThat(serverChannels.stream().map(Channel::localAddress).distinct()).hasSize(1);
+    }
+
+    @Test
+    void serveWithInstancePerEventLoop() {
+        for (int i = 0; i < 20; i++) {
+            // Use a new connection for each request so that the requests are spread over event loops.
+            try (ClientFactory factory = ClientFactory.builder().build()) {
+                final WebClient client = WebClient.builder(server.httpUri()).factory(factory).build();
+                assertThat(client.blocking().get("/").status()).isEqualTo(HttpStatus.OK);
+            }
+        }
+        assertThat(server.server().activePorts()).hasSize(1);
+        assertThat(instances).isNotEmpty();
+        // An event loop always uses the same instance.
+        instances.values().forEach(services -> assertThat(services).hasSize(1));
+        assertThat(instances.values().stream().flatMap(Set::stream).distinct()).hasSize(instances.size());
+        if (ChannelUtil.reusePortOption(Flags.transportType()) != null) {
+            // The connections are accepted by more than one listener.
+            assertThat(instances).hasSizeGreaterThan(1);
+        }
+    }
+
+    @Test
+    void keepConnectionOnSameEventLoop() {
+        final BlockingWebClient client = WebClient.of(server.httpUri()).blocking();
+        final String first = client.get("/").contentUtf8();
+        final String second = client.get("/").contentUtf8();
+        // Served by the same instance because the connection is served by the same event loop.
+        assertThat(Integer.parseInt(second)).isEqualTo(Integer.parseInt(first) + 1);
+    }
+}
@@ -16,12 +16,16 @@
 package com.linecorp.armeria.server.annotation;
 
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpHeaders;
@@ -126,6 +130,44 @@ class JacksonResponseConverterFunctionTest {
                     .verify();
     }
 
+    @Test
+    void chunkedJson() throws Exception {
+        final ResponseConverterFunction chunkedFunction =
+                new JacksonResponseConverterFunction(new ObjectMapper(), 4);
+        final HttpHeaders trailer = HttpHeaders.of(AsciiString.of("x-trailer"), "value");
+        // ["foo","bar","baz","qux"] is 25 bytes long.
+        final HttpResponse response =
+                chunkedFunction.convertResponse(ctx, JSON_HEADERS, Arrays.asList(TEST_STRINGS), trailer);
+        Step<HttpObject> step = StepVerifier.create(response).expectNext(JSON_HEADERS);
+        for (String chunk : new String[] { "[\"fo", "o\",\"", "bar\"", ",\"ba", "z\",\"", "qux\"", "]" }) {
+            step = expectChunk(step, chunk);
+        }
+        step.expectNext(trailer)
+            .expectComplete()
+            .verify();
+    }
+
+    @Test
+    void chunkedJson_serializationError() throws Exception {
+        final ResponseConverterFunction chunkedFunction =
+                new JacksonResponseConverterFunction(new ObjectMapper(), 4);
+        // An arbitrary object cannot be serialized by Jackson.
+        StepVerifier.create(chunkedFunction.convertResponse(
+                ctx, JSON_HEADERS, new Object(), DEFAULT_TRAILERS))
+                    .expectNext(JSON_HEADERS)
+                    .expectError(JsonMappingException.class)
+                    .verify();
+    }
+
+    private static Step<HttpObject> expectChunk(Step<HttpObject> step, String expected) {
+        return step.consumeNextWith(obj -> {
+            // Release the chunk which may be pooled.
+            try (HttpData data = (HttpData) obj) {
+                assertThat(data.toStringUtf8()).isEqualTo(expected);
+            }
+        });
+    }
+
     private static Step<HttpObject> expectAggregatedJson(Object publisherOrStream) throws Exception {
         return expectAggregatedJson(publisherOrStream, JSON_HEADERS, DEFAULT_TRAILERS);
     }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.server.logging.SlowRequestSampler.LatencyHistogram;
+
+class SlowRequestSamplerTest {
+
+    @Test
+    void bucketsAreMonotonic() {
+        int lastBucket = -1;
+        for (long latency = 0; latency < TimeUnit.SECONDS.toNanos(100); latency = latency * 5 / 4 + 1) {
+            final int bucket = LatencyHistogram.bucket(latency);
+            assertThat(bucket).isGreaterThanOrEqualTo(lastBucket);
+            lastBucket = bucket;
+        }
+        assertThat(LatencyHistogram.bucket(Long.MAX_VALUE)).isLessThan(64 << 2);
+    }
+
+    @Test
+    void slowerThanQuantile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final long fast = TimeUnit.MILLISECONDS.toNanos(1);
+        final long slow = TimeUnit.MILLISECONDS.toNanos(100);
+
+        // Not slow until enough samples are recorded.
+        for (int i = 0; i < SlowRequestSampler.MIN_SAMPLES; i++) {
+            assertThat(histogram.isSlow(slow, 0.99)).isFalse();
+        }
+
+        final LatencyHistogram histogram2 = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(histogram2.isSlow(fast + i, 0.99)).isFalse();
+        }
+        assertThat(histogram2.isSlow(slow, 0.99)).isTrue();
+        assertThat(histogram2.isSlow(fast, 0.99)).isFalse();
+    }
+}
@@ -17,15 +17,20 @@
 package com.linecorp.armeria.server.management;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterables;
 
 import com.linecorp.armeria.client.WebClient;
 import com.linecorp.armeria.common.AggregatedHttpResponse;
@@ -34,9 +39,11 @@ import com.linecorp.armeria.common.HttpHeaderNames;
 import com.linecorp.armeria.common.HttpMethod;
 import com.linecorp.armeria.common.HttpRequest;
 import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.MediaType;
 import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.SplitHttpResponse;
+import com.linecorp.armeria.common.util.SystemInfo;
 import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.server.ServiceRequestContext;
 import com.linecorp.armeria.testing.junit5.server.ServerExtension;
@@ -49,7 +56,16 @@ class ManagementServiceTest {
         @Override
         protected void configure(ServerBuilder sb) {
             sb.requestTimeout(Duration.ofSeconds(45)); // Heap dump can take time.
-            sb.serviceUnder("/internal/management", ManagementService.of());
+            sb.serviceUnder("/internal/management",
+                            ManagementService.builder().profileRoutes(true).build());
+            sb.service("/spin", (ctx, req) -> {
+                // Keep the event loop busy so that the profiler samples this route.
+                final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                while (System.nanoTime() < deadline) {
+                    continue;
+                }
+                return HttpResponse.of(200);
+            });
         }
     };
 
@@ -103,4 +119,35 @@ class ManagementServiceTest {
         // Make sure that the returned file has a valid hprof format
         assertThat(Arrays.copyOf(actual, fileHeader.length)).isEqualTo(fileHeader);
     }
+
+    @Test
+    void eventLoops() throws Exception {
+        final AggregatedHttpResponse response =
+                server.blockingWebClient().get("/internal/management/eventloops");
+        assertThat(response.contentType()).isEqualTo(MediaType.JSON);
+        final JsonNode json = mapper.readTree(response.contentUtf8());
+        final JsonNode eventLoops = json.get("eventLoops");
+        assertThat(eventLoops.size()).isEqualTo(Iterables.size(server.server().config().workerGroup()));
+        for (JsonNode eventLoop : eventLoops) {
+            assertThat(eventLoop.get("blocked").asBoolean()).isFalse();
+            assertThat(eventLoop.get("lagNanos").asLong()).isNotNegative();
+            assertThat(eventLoop.get("thread").asText()).isNotEmpty();
+        }
+        assertThat(json.get("gc").isArray()).isTrue();
+    }
+
+    @Test
+    void profile() {
+        assumeThat(SystemInfo.javaVersion()).isGreaterThanOrEqualTo(14);
+        final WebClient client = server.webClient();
+        final CompletableFuture<AggregatedHttpResponse> future =
+                client.get("/internal/management/jvm/profile?seconds=3&intervalMillis=10").aggregate();
+        for (int i = 0; i < 10; i++) {
+            client.get("/spin").aggregate().join();
+        }
+        final AggregatedHttpResponse response = future.join();
+        assertThat(response.status()).isEqualTo(HttpStatus.OK);
+        // The collapsed stacks begin with the route.
+        assertThat(response.contentUtf8()).contains("/spin;");
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.server.Route;
+import com.linecorp.armeria.server.ServiceRequestContext;
+
+class RouteTimelineTest {
+
+    private static final long threadId = Thread.currentThread().getId();
+
+    @AfterEach
+    void tearDown() {
+        RouteTimeline.stopRecording();
+        RouteTimeline.clear();
+    }
+
+    @Test
+    void contextPushedBeforeRecording() throws Exception {
+        final ServiceRequestContext ctx = newContext("/foo");
+        final long beforeStartNanos = epochNanos();
+        TimeUnit.MILLISECONDS.sleep(10);
+        RouteTimeline.startRecording();
+        final long duringContextNanos = epochNanos();
+        TimeUnit.MILLISECONDS.sleep(10);
+        // Pop the context which was pushed before the recording started.
+        RouteTimeline.record(ctx, null);
+        final long afterPopNanos = epochNanos();
+
+        assertThat(RouteTimeline.routeAt(threadId, beforeStartNanos)).isEqualTo(RouteTimeline.NO_CONTEXT);
+        assertThat(RouteTimeline.routeAt(threadId, duringContextNanos)).isEqualTo("/foo");
+        assertThat(RouteTimeline.routeAt(threadId, afterPopNanos)).isEqualTo(RouteTimeline.NO_CONTEXT);
+    }
+
+    @Test
+    void threadWithoutTransitions() throws Exception {
+        RouteTimeline.startRecording();
+        assertThat(RouteTimeline.routeAt(threadId, epochNanos())).isEqualTo(RouteTimeline.UNKNOWN);
+    }
+
+    @Test
+    void oldTransitionsAreEvicted() throws Exception {
+        final ServiceRequestContext foo = newContext("/foo");
+        final ServiceRequestContext bar = newContext("/bar");
+        RouteTimeline.startRecording();
+        final long startNanos = epochNanos();
+        for (int i = 0; i < RouteTimeline.MAX_CAPACITY * 2; i++) {
+            RouteTimeline.record(null, i % 2 == 0 ? foo : bar);
+        }
+        // The oldest transitions were overwritten.
+        assertThat(RouteTimeline.routeAt(threadId, startNanos)).isEqualTo(RouteTimeline.UNKNOWN);
+        // The last transition is still found.
+        assertThat(RouteTimeline.routeAt(threadId, epochNanos())).isEqualTo("/bar");
+    }
+
+    private static ServiceRequestContext newContext(String path) {
+        return ServiceRequestContext.builder(HttpRequest.of(HttpMethod.GET, path))
+                                    .route(Route.builder().path(path).build())
+                                    .build();
+    }
+
+    private static long epochNanos() throws InterruptedException {
+        // Sleep a little so that the time differs from the time of the adjacent transitions.
+        TimeUnit.MILLISECONDS.sleep(2);
+        final long nanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        TimeUnit.MILLISECONDS.sleep(2);
+        return nanos;
+    }
+}
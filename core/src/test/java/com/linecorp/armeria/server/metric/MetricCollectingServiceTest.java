@@ -61,6 +61,42 @@ class MetricCollectingServiceTest {
         }
     };
 
+    private static final PrometheusMeterRegistry preBoundRegistry = PrometheusMeterRegistries.newRegistry();
+
+    @RegisterExtension
+    static final ServerExtension preBoundServer = new ServerExtension() {
+        @Override
+        protected void configure(ServerBuilder sb) throws Exception {
+            sb.meterRegistry(preBoundRegistry)
+              .route().path("/preBound")
+              .decorator((delegate, ctx, req) -> {
+                  // The same ServiceConfig serves the requests of different service names.
+                  ctx.logBuilder().name(ctx.queryParam("service"), "hello");
+                  return delegate.serve(ctx, req);
+              })
+              .decorator(MetricCollectingService.builder(MeterIdPrefixFunction.ofDefault("bar"))
+                                                .preBindMeters(true)
+                                                .newDecorator())
+              .build((ctx, req) -> HttpResponse.of(200));
+        }
+    };
+
+    @Test
+    void preBoundMetersAreBoundPerServiceName() {
+        preBoundServer.webClient().blocking().get("/preBound?service=a");
+        preBoundServer.webClient().blocking().get("/preBound?service=b");
+        preBoundServer.webClient().blocking().get("/preBound?service=b");
+
+        await().untilAsserted(() -> {
+            final Map<String, Double> measurements = measureAll(preBoundRegistry);
+            assertThat(measurements)
+                    .containsEntry("bar.requests#count{hostname.pattern=*,http.status=200,method=hello," +
+                                   "result=success,service=a}", 1.0)
+                    .containsEntry("bar.requests#count{hostname.pattern=*,http.status=200,method=hello," +
+                                   "result=success,service=b}", 2.0);
+        });
+    }
+
     @Test
     void countResponseAsSuccessByServerBuilderSuccessFunction() throws InterruptedException {
         server.webClient().blocking().get("/success401");
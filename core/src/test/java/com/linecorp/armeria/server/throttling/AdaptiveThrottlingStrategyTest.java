@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 LINE Corporation
+ *
+ * LINE Corporation licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package com.linecorp.armeria.server.throttling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.linecorp.armeria.common.HttpMethod;
+import com.linecorp.armeria.common.HttpRequest;
+import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.throttling.AdaptiveThrottlingStrategy.EventLoopState;
+
+class AdaptiveThrottlingStrategyTest {
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void acceptWhenUnderTarget() {
+        final AdaptiveThrottlingStrategy<HttpRequest> strategy = newStrategy(1);
+        final EventLoopState state = new EventLoopState(null);
+        assertThat(strategy.shouldAccept(state, 0.5, 0, 1000, 0)).isTrue();
+        assertThat(strategy.shouldAccept(state, 1.0, 0, 2000, 0)).isTrue();
+    }
+
+    @Test
+    void absorbShortBurst() {
+        final AdaptiveThrottlingStrategy<HttpRequest> strategy = newStrategy(1);
+        final EventLoopState state = new EventLoopState(null);
+        // The load has to stay above the target for the interval.
+        assertThat(strategy.shouldAccept(state, 10, 0, 1000, 0)).isTrue();
+        assertThat(strategy.shouldAccept(state, 10, 0, 1000 + INTERVAL_NANOS - 1, 0)).isTrue();
+        // Back to normal resets the interval.
+        assertThat(strategy.shouldAccept(state, 0.5, 0, 1000 + INTERVAL_NANOS, 0)).isTrue();
+        assertThat(strategy.shouldAccept(state, 10, 0, 1000 + INTERVAL_NANOS + 1, 0)).isTrue();
+    }
+
+    @Test
+    void rejectProportionallyToLoad() {
+        final AdaptiveThrottlingStrategy<HttpRequest> strategy = newStrategy(1);
+        final EventLoopState state = new EventLoopState(null);
+        assertThat(strategy.shouldAccept(state, 2, 0, 1000, 0)).isTrue();
+        final long now = 1000 + INTERVAL_NANOS;
+        // Rejects half of the requests when the load is twice the target.
+        assertThat(strategy.shouldAccept(state, 2, 0, now, 0.49)).isFalse();
+        assertThat(strategy.shouldAccept(state, 2, 0, now, 0.51)).isTrue();
+    }
+
+    @Test
+    void rejectLowerPriorityFirst() {
+        final AdaptiveThrottlingStrategy<HttpRequest> strategy = newStrategy(2);
+        final EventLoopState state = new EventLoopState(null);
+        assertThat(strategy.shouldAccept(state, 2, 0, 1000, 0)).isTrue();
+        final long now = 1000 + INTERVAL_NANOS;
+        // Half of the requests have to be rejected, so all low priority requests are rejected
+        // and all high priority requests are accepted.
+        assertThat(strategy.shouldAccept(state, 2, 0, now, 0.99)).isFalse();
+        assertThat(strategy.shouldAccept(state, 2, 1, now, 0)).isTrue();
+
+        // Three quarters: the high priority requests are rejected by half.
+        assertThat(strategy.shouldAccept(state, 4, 1, now, 0.49)).isFalse();
+        assertThat(strategy.shouldAccept(state, 4, 1, now, 0.51)).isTrue();
+    }
+
+    @Test
+    void trackOverloadPerEventLoop() {
+        final AdaptiveThrottlingStrategy<HttpRequest> strategy = newStrategy(1);
+        final EventLoopState busy = new EventLoopState(null);
+        final EventLoopState idle = new EventLoopState(null);
+        assertThat(strategy.shouldAccept(busy, 2, 0, 1000, 0)).isTrue();
+        // The requests on an idle event loop do not restart the interval of the busy one.
+        assertThat(strategy.shouldAccept(idle, 0.1, 0, 1000 + INTERVAL_NANOS / 2, 0)).isTrue();
+        final long now = 1000 + INTERVAL_NANOS;
+        assertThat(strategy.shouldAccept(idle, 0.1, 0, now, 0)).isTrue();
+        assertThat(strategy.shouldAccept(busy, 2, 0, now, 0.49)).isFalse();
+        assertThat(strategy.shouldAccept(busy, 2, 0, now, 0.51)).isTrue();
+        assertThat(strategy.shouldAccept(idle, 0.1, 0, now, 0)).isTrue();
+    }
+
+    @Test
+    void trackConcurrentRequests() {
+        final AdaptiveThrottlingStrategy<HttpRequest> strategy =
+                (AdaptiveThrottlingStrategy<HttpRequest>)
+                        ThrottlingStrategy.adaptiveBuilder()
+                                          .targetEventLoopLagMillis(0)
+                                          .maxConcurrentRequests(1)
+                                          .<HttpRequest>build();
+        final HttpRequest req = HttpRequest.of(HttpMethod.GET, "/");
+        final ServiceRequestContext ctx = ServiceRequestContext.of(req);
+        assertThat(strategy.accept(ctx, req).toCompletableFuture().join()).isTrue();
+        assertThat(strategy.numConcurrentRequests()).isOne();
+
+        ctx.logBuilder().endRequest();
+        ctx.logBuilder().endResponse();
+        assertThat(strategy.numConcurrentRequests()).isZero();
+    }
+
+    private static AdaptiveThrottlingStrategy<HttpRequest> newStrategy(int numPriorities) {
+        return (AdaptiveThrottlingStrategy<HttpRequest>)
+                ThrottlingStrategy.adaptiveBuilder()
+                                  .interval(Duration.ofNanos(INTERVAL_NANOS))
+                                  .priorityClassifier(numPriorities, ctx -> 0)
+                                  .<HttpRequest>build();
+    }
+}